@@ -0,0 +1,141 @@
+package br.com.drinkwater.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (a committed baseline and a fresh run) and prints, per
+ * benchmark, the throughput and allocation deltas. Exits with status 1 when any benchmark regresses
+ * beyond the given tolerance so it can gate a PR in CI.
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar br.com.drinkwater.benchmark.BaselineComparator
+ * baseline/jmh-baseline.json target/jmh-result.json [tolerancePercent]}
+ */
+public final class BaselineComparator {
+
+    static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    static final double MIN_ALLOCATION_REGRESSION_BYTES = 1.0;
+    private static final double DEFAULT_TOLERANCE_PERCENT = 10.0;
+
+    private BaselineComparator() {}
+
+    /**
+     * A single benchmark measurement: throughput (ops/s) and normalized allocation (bytes/op).
+     *
+     * @param score the primary metric score
+     * @param bytesPerOp the normalized allocation, or {@link Double#NaN} if not profiled
+     */
+    record Measurement(double score, double bytesPerOp) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println(
+                    "Usage: BaselineComparator <baseline.json> <current.json> [tolerancePercent]");
+            System.exit(2);
+        }
+
+        double tolerance =
+                args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT;
+        var mapper = new ObjectMapper();
+        var baseline = read(mapper.readTree(Path.of(args[0]).toFile()));
+        var current = read(mapper.readTree(Path.of(args[1]).toFile()));
+
+        boolean regressed = compare(baseline, current, tolerance, System.out);
+        System.exit(regressed ? 1 : 0);
+    }
+
+    /**
+     * Indexes a JMH JSON result array by benchmark name plus parameters.
+     *
+     * @param results the root array of a JMH JSON result file
+     * @return the measurements keyed by benchmark identity, in file order
+     */
+    static Map<String, Measurement> read(JsonNode results) {
+        var measurements = new LinkedHashMap<String, Measurement>();
+        for (JsonNode result : results) {
+            var key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params")
+                    .properties()
+                    .forEach(
+                            param ->
+                                    key.append(' ')
+                                            .append(param.getKey())
+                                            .append('=')
+                                            .append(param.getValue().asText()));
+
+            JsonNode allocation = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            measurements.put(
+                    key.toString(),
+                    new Measurement(
+                            result.path("primaryMetric").path("score").asDouble(),
+                            allocation.isMissingNode()
+                                    ? Double.NaN
+                                    : allocation.path("score").asDouble()));
+        }
+        return measurements;
+    }
+
+    /**
+     * Prints a delta table and reports whether any benchmark regressed, i.e. lost more than {@code
+     * tolerancePercent} throughput or allocated more than {@code tolerancePercent} extra bytes per
+     * operation. Growth of less than one byte per operation never counts, so a benchmark whose
+     * baseline allocated nothing regresses once it allocates a whole byte per operation rather than
+     * on sub-byte measurement noise. Benchmarks missing from the baseline are listed but never
+     * count as regressions.
+     *
+     * @param baseline the baseline measurements
+     * @param current the measurements of the run under review
+     * @param tolerancePercent the accepted relative change, in percent
+     * @param out where to print the report
+     * @return {@code true} if at least one benchmark regressed
+     */
+    static boolean compare(
+            Map<String, Measurement> baseline,
+            Map<String, Measurement> current,
+            double tolerancePercent,
+            PrintStream out) {
+        boolean regressed = false;
+        for (var entry : current.entrySet()) {
+            Measurement before = baseline.get(entry.getKey());
+            Measurement after = entry.getValue();
+            if (before == null) {
+                out.printf(Locale.ROOT, "%-90s NEW%n", entry.getKey());
+                continue;
+            }
+
+            double scoreDelta = percentChange(before.score(), after.score());
+            double allocationDelta = percentChange(before.bytesPerOp(), after.bytesPerOp());
+            boolean slower = scoreDelta < -tolerancePercent;
+            boolean heavier =
+                    allocationDelta > tolerancePercent
+                            && after.bytesPerOp() - before.bytesPerOp()
+                                    >= MIN_ALLOCATION_REGRESSION_BYTES;
+            regressed |= slower || heavier;
+
+            out.printf(
+                    Locale.ROOT,
+                    "%-90s ops/s %+7.1f%%  B/op %+7.1f%%%s%n",
+                    entry.getKey(),
+                    scoreDelta,
+                    allocationDelta,
+                    slower || heavier ? "  REGRESSION" : "");
+        }
+        return regressed;
+    }
+
+    private static double percentChange(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after)) {
+            return 0;
+        }
+        if (before == 0) {
+            return after > 0 ? Double.POSITIVE_INFINITY : 0;
+        }
+        return (after - before) / before * 100;
+    }
+}
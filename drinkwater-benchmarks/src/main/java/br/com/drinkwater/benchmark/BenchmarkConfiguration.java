@@ -0,0 +1,126 @@
+package br.com.drinkwater.benchmark;
+
+import br.com.drinkwater.config.CacheConfig;
+import br.com.drinkwater.config.properties.CacheProperties;
+import br.com.drinkwater.config.properties.DailyTotalsProperties;
+import br.com.drinkwater.config.properties.TodayProgressCacheProperties;
+import br.com.drinkwater.core.MessageResolver;
+import br.com.drinkwater.hydrationtracking.mapper.WaterIntakeMapper;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepositoryImpl;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeSearchRepositoryImpl;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeWriteRepositoryImpl;
+import br.com.drinkwater.hydrationtracking.service.TodayProgressAccumulator;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeDailyTotalsService;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeService;
+import br.com.drinkwater.usermanagement.mapper.AlarmSettingsMapper;
+import br.com.drinkwater.usermanagement.mapper.PersonalMapper;
+import br.com.drinkwater.usermanagement.mapper.PhysicalMapper;
+import br.com.drinkwater.usermanagement.mapper.UserMapper;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import br.com.drinkwater.usermanagement.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.data.jdbc.repository.config.AbstractJdbcConfiguration;
+import org.springframework.data.jdbc.repository.config.EnableJdbcRepositories;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Minimal Spring context for the benchmarks. Wires the production hydration tracking and user
+ * management beans (services, mappers, Spring Data JDBC repositories and the Caffeine cache) on top
+ * of an in-memory H2 database in PostgreSQL mode migrated with the production Flyway scripts, while
+ * leaving out web, security and Keycloak infrastructure that is not part of the measured path.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableJdbcRepositories(basePackageClasses = {WaterIntakeRepository.class, UserRepository.class})
+@Import({
+    CacheConfig.class,
+    MessageResolver.class,
+    WaterIntakeMapper.class,
+    WaterIntakeSearchRepositoryImpl.class,
+    WaterIntakeWriteRepositoryImpl.class,
+    WaterIntakeDailyTotalsRepositoryImpl.class,
+    WaterIntakeDailyTotalsService.class,
+    TodayProgressAccumulator.class,
+    WaterIntakeService.class,
+    PersonalMapper.class,
+    PhysicalMapper.class,
+    AlarmSettingsMapper.class,
+    UserMapper.class,
+    UserService.class
+})
+public class BenchmarkConfiguration extends AbstractJdbcConfiguration {
+
+    private static final String JDBC_URL =
+            "jdbc:h2:mem:drink_water_bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+                    + "DATABASE_TO_LOWER=TRUE";
+
+    @Bean
+    DataSource dataSource() {
+        var dataSource = new DriverManagerDataSource(JDBC_URL, "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        return dataSource;
+    }
+
+    @Bean
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
+        return new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager(DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    @Bean
+    TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    @Bean
+    CacheProperties cacheProperties() {
+        return new CacheProperties(10_000, 60);
+    }
+
+    @Bean
+    DailyTotalsProperties dailyTotalsProperties() {
+        return new DailyTotalsProperties(List.of("UTC"), "-");
+    }
+
+    @Bean
+    TodayProgressCacheProperties todayProgressCacheProperties() {
+        return new TodayProgressCacheProperties(10_000, 15);
+    }
+
+    @Bean
+    MessageSource messageSource() {
+        var messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return messageSource;
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.drinkwater.benchmark;
+
+import br.com.drinkwater.usermanagement.model.AlarmSettings;
+import br.com.drinkwater.usermanagement.model.BiologicalSex;
+import br.com.drinkwater.usermanagement.model.HeightUnit;
+import br.com.drinkwater.usermanagement.model.Personal;
+import br.com.drinkwater.usermanagement.model.Physical;
+import br.com.drinkwater.usermanagement.model.User;
+import br.com.drinkwater.usermanagement.model.WeightUnit;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Shared JMH state that boots {@link BenchmarkConfiguration} once per trial and seeds a single user
+ * with {@link #historySize} water intake records spaced 15 minutes apart, ending one hour before
+ * the trial starts. Benchmarks look up the beans they measure from {@link #context()}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    public static final UUID PUBLIC_ID = UUID.fromString("7b0c5c8e-2f3e-4d1a-9b6c-1f2e3d4c5b6a");
+
+    /** Number of water intake rows seeded for the benchmark user. */
+    @Param({"1000"})
+    public int historySize;
+
+    private AnnotationConfigApplicationContext context;
+    private Long userId;
+    private Instant newestDateTime;
+    private Instant oldestDateTime;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new AnnotationConfigApplicationContext(BenchmarkConfiguration.class);
+
+        User user = context.getBean(UserRepository.class).save(benchmarkUser());
+        userId = Objects.requireNonNull(user.getId(), "Seeded user must have an ID");
+
+        newestDateTime = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(1, ChronoUnit.HOURS);
+        oldestDateTime = newestDateTime.minus(15L * (historySize - 1), ChronoUnit.MINUTES);
+
+        jdbcTemplate()
+                .batchUpdate(
+                        "INSERT INTO water_intakes (date_time_utc, volume, volume_unit, user_id)"
+                                + " VALUES (?, ?, ?, ?)",
+                        IntStream.range(0, historySize)
+                                .mapToObj(
+                                        i ->
+                                                new Object[] {
+                                                    Timestamp.from(
+                                                            newestDateTime.minus(
+                                                                    15L * i, ChronoUnit.MINUTES)),
+                                                    100 + (i % 40) * 50,
+                                                    1,
+                                                    userId
+                                                })
+                                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        jdbcTemplate().execute("DROP ALL OBJECTS");
+        context.close();
+    }
+
+    public AnnotationConfigApplicationContext context() {
+        return context;
+    }
+
+    public Long userId() {
+        return userId;
+    }
+
+    public Instant newestDateTime() {
+        return newestDateTime;
+    }
+
+    public Instant oldestDateTime() {
+        return oldestDateTime;
+    }
+
+    private JdbcTemplate jdbcTemplate() {
+        return context.getBean(NamedParameterJdbcTemplate.class).getJdbcTemplate();
+    }
+
+    private static User benchmarkUser() {
+        return new User(
+                PUBLIC_ID,
+                "bench@drinkwater.com.br",
+                new Personal("Bench", "Mark", LocalDate.of(1990, 1, 1), BiologicalSex.MALE),
+                new Physical(
+                        BigDecimal.valueOf(70.5),
+                        WeightUnit.KG,
+                        BigDecimal.valueOf(175),
+                        HeightUnit.CM),
+                new AlarmSettings(2000, 30, LocalTime.of(8, 0), LocalTime.of(22, 0)));
+    }
+}
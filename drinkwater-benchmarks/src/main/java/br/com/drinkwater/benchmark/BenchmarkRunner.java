@@ -0,0 +1,39 @@
+package br.com.drinkwater.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark uber-jar. Accepts the regular JMH command line (benchmark regex,
+ * {@code -f}, {@code -wi}, {@code -rff}, ...) and always enables the GC profiler so every result
+ * carries {@code gc.alloc.rate.norm} (bytes allocated per operation) next to the ops/s score.
+ * Results are written as JSON to {@code target/jmh-result.json} unless {@code -rff} is given.
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        var commandLine = new CommandLineOptions(args);
+        var options =
+                new OptionsBuilder()
+                        .parent(commandLine)
+                        .addProfiler(GCProfiler.class)
+                        .resultFormat(ResultFormatType.JSON);
+
+        if (commandLine.getResult().hasValue()) {
+            options.result(commandLine.getResult().get());
+        } else {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.drinkwater.benchmark;
+
+import br.com.drinkwater.core.PageCursor;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the cost of encoding and decoding the opaque pagination cursor of search responses. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageCursorBenchmark {
+
+    private PageCursor cursor;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        cursor = new PageCursor("dateTimeUTC", Instant.parse("2025-06-15T14:30:00Z"), 123_456L);
+        encoded = cursor.encode();
+    }
+
+    @Benchmark
+    public String encode() {
+        return cursor.encode();
+    }
+
+    @Benchmark
+    public PageCursor decode() {
+        return PageCursor.decode(encoded);
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.drinkwater.benchmark;
+
+import br.com.drinkwater.config.security.KeycloakJwtAuthenticationConverter;
+import br.com.drinkwater.config.security.OAuthScope;
+import br.com.drinkwater.config.security.RequiresScope;
+import br.com.drinkwater.config.security.ScopeAuthorizationInterceptor;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Compares the per-request cost of the two ways an endpoint's OAuth scope is checked: the {@code
+ * hasAuthority('SCOPE_...')} SpEL expression of {@code @PreAuthorize}, evaluated by Spring
+ * Security's {@link PreAuthorizeAuthorizationManager}, and the precompiled bitmask of {@link
+ * ScopeAuthorizationInterceptor}. Both read the authentication produced by the production {@link
+ * KeycloakJwtAuthenticationConverter} for a token with the scopes of the mobile app.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScopeAuthorizationBenchmark {
+
+    private PreAuthorizeAuthorizationManager preAuthorizeManager;
+    private MethodInvocation invocation;
+    private ScopeAuthorizationInterceptor interceptor;
+    private HandlerMethod handlerMethod;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        var jwt =
+                Jwt.withTokenValue("token")
+                        .header("alg", "RS256")
+                        .subject("user-id")
+                        .claim(
+                                "scope",
+                                "openid profile email drinkwater:v1:user:profile:read"
+                                        + " drinkwater:v1:user:profile:update"
+                                        + " drinkwater:v1:waterintake:entry:read"
+                                        + " drinkwater:v1:waterintake:entry:create"
+                                        + " drinkwater:v1:waterintake:entries:search")
+                        .claim("realm_access", Map.of("roles", List.of("USER")))
+                        .issuedAt(Instant.now())
+                        .expiresAt(Instant.now().plusSeconds(300))
+                        .build();
+        SecurityContextHolder.getContext()
+                .setAuthentication(new KeycloakJwtAuthenticationConverter().convert(jwt));
+
+        var controller = new Controller();
+        Method search = Controller.class.getMethod("search");
+
+        preAuthorizeManager = new PreAuthorizeAuthorizationManager();
+        invocation = new SimpleMethodInvocation(controller, search);
+
+        interceptor =
+                new ScopeAuthorizationInterceptor(
+                        new StaticListableBeanFactory()
+                                .getBeanProvider(RequestMappingHandlerMapping.class));
+        handlerMethod = new HandlerMethod(controller, search);
+        interceptor.register(List.of(handlerMethod));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public AuthorizationResult preAuthorizeExpression() {
+        return preAuthorizeManager.authorize(
+                SecurityContextHolder.getContext()::getAuthentication, invocation);
+    }
+
+    @Benchmark
+    public boolean scopeBitmask() {
+        // The interceptor reads neither the request nor the response
+        return interceptor.preHandle(null, null, handlerMethod);
+    }
+
+    /** Stand-in for a controller method carrying both forms of the same scope requirement. */
+    public static class Controller {
+
+        @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:waterintake:entries:search')")
+        @RequiresScope(OAuthScope.WATERINTAKE_ENTRIES_SEARCH)
+        public void search() {}
+    }
+}
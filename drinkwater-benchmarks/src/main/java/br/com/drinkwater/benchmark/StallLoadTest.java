@@ -0,0 +1,266 @@
+package br.com.drinkwater.benchmark;
+
+import br.com.drinkwater.config.ConcurrencyLimitingDataSource;
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+
+/**
+ * Open-model load test comparing the two request execution modes while a dependency stalls. Each
+ * simulated request makes the blocking calls of a typical API request, a Keycloak HTTP call and/or
+ * a database query, on either
+ *
+ * <ul>
+ *   <li>{@code platform}: a pool of 200 platform threads, Tomcat's default {@code
+ *       server.tomcat.threads.max}, over a plain Hikari pool; or
+ *   <li>{@code virtual}: one virtual thread per request, with the Keycloak client on virtual
+ *       threads and the Hikari pool behind the production {@link ConcurrencyLimitingDataSource}.
+ * </ul>
+ *
+ * <p>Requests arrive at a fixed rate regardless of how fast earlier ones finish, and latency is
+ * measured from each request's scheduled start, so queueing in front of a saturated thread pool is
+ * counted rather than hidden (no coordinated omission). Scenarios:
+ *
+ * <ul>
+ *   <li>{@code keycloak}: every request calls a local stub of Keycloak and then queries the
+ *       database; one in four Keycloak calls stalls for 2 s.
+ *   <li>{@code database}: every request queries the database; one in fifty queries stalls inside
+ *       the database for 2 s while holding its connection.
+ * </ul>
+ *
+ * <p>The report gives the p50/p99/max latency of the requests that did not hit the stall
+ * themselves, i.e. the collateral damage of the stall, and how many requests failed fast (503 in
+ * the API) or timed out.
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar br.com.drinkwater.benchmark.StallLoadTest
+ * <platform|virtual> <keycloak|database> [requestsPerSecond=500] [seconds=20]}
+ */
+public final class StallLoadTest {
+
+    static final int PLATFORM_THREADS = 200;
+    static final int POOL_SIZE = 10;
+    static final int MAX_WAITING = 200;
+    static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(30);
+    static final Duration KEYCLOAK_TIMEOUT = Duration.ofSeconds(3);
+    static final long STALL_MILLIS = 2_000;
+    static final int KEYCLOAK_STALL_EVERY = 4;
+    static final int DATABASE_STALL_EVERY = 50;
+
+    private static final long FAILED = -1;
+
+    private StallLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println(
+                    "Usage: StallLoadTest <platform|virtual> <keycloak|database>"
+                            + " [requestsPerSecond] [seconds]");
+            System.exit(2);
+        }
+        boolean virtual = "virtual".equals(args[0]);
+        boolean keycloakStall = "keycloak".equals(args[1]);
+        int rate = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        long[] latencies = run(virtual, keycloakStall, rate, seconds);
+        report(args[0], args[1], keycloakStall, rate, latencies, System.out);
+    }
+
+    static long[] run(boolean virtual, boolean keycloakStall, int rate, int seconds)
+            throws IOException, InterruptedException, SQLException {
+        HttpServer keycloak = startKeycloakStub();
+        try (HikariDataSource pool = startPool();
+                ExecutorService requests =
+                        virtual
+                                ? Executors.newVirtualThreadPerTaskExecutor()
+                                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+                HttpClient httpClient = keycloakClient(virtual)) {
+            DataSource dataSource =
+                    virtual
+                            ? new ConcurrencyLimitingDataSource(
+                                    pool,
+                                    POOL_SIZE,
+                                    MAX_WAITING,
+                                    CONNECTION_TIMEOUT,
+                                    new SimpleMeterRegistry())
+                            : pool;
+            URI keycloakUri =
+                    URI.create("http://127.0.0.1:" + keycloak.getAddress().getPort() + "/realms/");
+
+            int total = rate * seconds;
+            long[] latencies = new long[total];
+            var done = new CountDownLatch(total);
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            long start = System.nanoTime();
+
+            for (int i = 0; i < total; i++) {
+                long scheduled = start + i * intervalNanos;
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+                int request = i;
+                requests.execute(
+                        () -> {
+                            boolean ok =
+                                    keycloakStall
+                                            ? callKeycloak(httpClient, keycloakUri, request)
+                                                    && query(dataSource, false)
+                                            : query(
+                                                    dataSource,
+                                                    request % DATABASE_STALL_EVERY == 0);
+                            latencies[request] = ok ? System.nanoTime() - scheduled : FAILED;
+                            done.countDown();
+                        });
+            }
+            done.await();
+            return latencies;
+        } finally {
+            keycloak.stop(0);
+        }
+    }
+
+    private static HttpServer startKeycloakStub() throws IOException {
+        HttpServer server =
+                HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(
+                "/realms/",
+                exchange -> {
+                    if (exchange.getRequestURI().getPath().endsWith("/stall")) {
+                        sleep(STALL_MILLIS);
+                    }
+                    exchange.sendResponseHeaders(200, -1);
+                    exchange.close();
+                });
+        server.start();
+        return server;
+    }
+
+    private static HikariDataSource startPool() throws SQLException {
+        var config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:stall;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        config.setConnectionTimeout(CONNECTION_TIMEOUT.toMillis());
+        var pool = new HikariDataSource(config);
+        try (Connection connection = pool.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CREATE ALIAS IF NOT EXISTS STALL FOR 'java.lang.Thread.sleep(long)'");
+        }
+        return pool;
+    }
+
+    private static HttpClient keycloakClient(boolean virtual) {
+        HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(KEYCLOAK_TIMEOUT);
+        if (virtual) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    private static boolean callKeycloak(HttpClient httpClient, URI base, int request) {
+        String path = request % KEYCLOAK_STALL_EVERY == 0 ? "drinkwater/stall" : "drinkwater";
+        try {
+            return httpClient
+                            .send(
+                                    HttpRequest.newBuilder(base.resolve(path))
+                                            .timeout(KEYCLOAK_TIMEOUT)
+                                            .GET()
+                                            .build(),
+                                    HttpResponse.BodyHandlers.discarding())
+                            .statusCode()
+                    == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean query(DataSource dataSource, boolean stall) {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(stall ? "CALL STALL(" + STALL_MILLIS + ")" : "SELECT 1");
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static void report(
+            String mode,
+            String scenario,
+            boolean keycloakStall,
+            int rate,
+            long[] latencies,
+            PrintStream out) {
+        int stallEvery = keycloakStall ? KEYCLOAK_STALL_EVERY : DATABASE_STALL_EVERY;
+        int failed = 0;
+        long[] unaffected = new long[latencies.length];
+        int count = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            if (latencies[i] == FAILED) {
+                failed++;
+            } else if (i % stallEvery != 0) {
+                unaffected[count++] = latencies[i];
+            }
+        }
+        long[] sorted = Arrays.copyOf(unaffected, count);
+        Arrays.sort(sorted);
+
+        out.printf(
+                Locale.ROOT,
+                "%-8s %-8s %5d req/s %7d requests  p50 %8.1f ms  p99 %8.1f ms  max %8.1f ms"
+                        + "  failed %d%n",
+                mode,
+                scenario,
+                rate,
+                latencies.length,
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.99)),
+                millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                failed);
+    }
+
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
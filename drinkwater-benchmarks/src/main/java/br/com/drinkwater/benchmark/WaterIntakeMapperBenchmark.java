@@ -0,0 +1,43 @@
+package br.com.drinkwater.benchmark;
+
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeResponseDTO;
+import br.com.drinkwater.hydrationtracking.mapper.WaterIntakeMapper;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures entity-to-response mapping, executed once per row returned by every read endpoint. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaterIntakeMapperBenchmark {
+
+    private WaterIntakeMapper mapper;
+    private WaterIntake entity;
+
+    @Setup
+    public void setUp() {
+        mapper = new WaterIntakeMapper();
+        entity =
+                new WaterIntake(42L, Instant.parse("2025-06-15T14:30:00Z"), 250, VolumeUnit.ML, 1L);
+    }
+
+    @Benchmark
+    public WaterIntakeResponseDTO toDto() {
+        return mapper.toDto(entity);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.drinkwater.benchmark;
+
+import br.com.drinkwater.core.PageCursor;
+import br.com.drinkwater.hydrationtracking.model.SearchSortField;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeSearchRepositoryImpl;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the dynamic search SQL (query building, execution and row mapping) directly against the
+ * embedded database, for the first page and for a page resumed from a cursor, on each sort field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaterIntakeSearchRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 11;
+
+    @Param({"dateTimeUTC", "volume"})
+    public String sortField;
+
+    private WaterIntakeSearchRepositoryImpl repository;
+    private Long userId;
+    private Instant startDate;
+    private Instant endDate;
+    private PageCursor cursor;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        repository = database.context().getBean(WaterIntakeSearchRepositoryImpl.class);
+        userId = database.userId();
+        startDate = database.oldestDateTime();
+        endDate = database.newestDateTime();
+        cursor =
+                SearchSortField.fromFieldName(sortField)
+                        .cursorAfter(
+                                new WaterIntake(
+                                        1L,
+                                        endDate.minus(1, ChronoUnit.DAYS),
+                                        1_000,
+                                        VolumeUnit.ML,
+                                        userId));
+    }
+
+    @Benchmark
+    public List<WaterIntake> firstPage() {
+        return repository.search(
+                userId, startDate, endDate, null, null, PAGE_SIZE, null, sortField, "DESC");
+    }
+
+    @Benchmark
+    public List<WaterIntake> firstPageWithVolumeFilter() {
+        return repository.search(
+                userId, startDate, endDate, 500, 1500, PAGE_SIZE, null, sortField, "DESC");
+    }
+
+    @Benchmark
+    public List<WaterIntake> pageAfterCursor() {
+        return repository.search(
+                userId, startDate, endDate, null, null, PAGE_SIZE, cursor, sortField, "DESC");
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.drinkwater.benchmark;
+
+import br.com.drinkwater.core.CursorPageResponse;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeResponseDTO;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures {@link WaterIntakeService} end to end below the web layer: user ID resolution through
+ * the cache, duplicate detection, persistence, mapping and cursor encoding.
+ *
+ * <p>{@link #create(Blackhole)} and {@link #createBatch(Blackhole)} run inside a transaction that
+ * is rolled back after each call so the table size, and therefore the cost of every statement,
+ * stays constant across iterations. {@link #createBatch(Blackhole)} reports throughput per item so
+ * it can be compared directly with {@link #create(Blackhole)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaterIntakeServiceBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    private WaterIntakeService service;
+    private TransactionTemplate transactionTemplate;
+    private WaterIntakeDTO createDTO;
+    private WaterIntakeBatchDTO createBatchDTO;
+    private WaterIntakeFilterDTO firstPageFilter;
+    private WaterIntakeFilterDTO nextPageFilter;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        service = database.context().getBean(WaterIntakeService.class);
+        transactionTemplate = database.context().getBean(TransactionTemplate.class);
+
+        createDTO =
+                new WaterIntakeDTO(database.newestDateTime().plusSeconds(1), 250, VolumeUnit.ML);
+        createBatchDTO =
+                new WaterIntakeBatchDTO(
+                        IntStream.range(0, BATCH_SIZE)
+                                .mapToObj(
+                                        i ->
+                                                new WaterIntakeDTO(
+                                                        database.newestDateTime()
+                                                                .plusSeconds(i + 1L),
+                                                        250,
+                                                        VolumeUnit.ML))
+                                .toList());
+        firstPageFilter =
+                new WaterIntakeFilterDTO(
+                        database.oldestDateTime(),
+                        database.newestDateTime(),
+                        null,
+                        null,
+                        null,
+                        10,
+                        "dateTimeUTC",
+                        "DESC");
+
+        String cursor = service.search(firstPageFilter, BenchmarkDatabase.PUBLIC_ID).nextCursor();
+        nextPageFilter =
+                new WaterIntakeFilterDTO(
+                        database.oldestDateTime(),
+                        database.newestDateTime(),
+                        null,
+                        null,
+                        cursor,
+                        10,
+                        "dateTimeUTC",
+                        "DESC");
+    }
+
+    @Benchmark
+    public void create(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(
+                status -> {
+                    blackhole.consume(service.create(createDTO, BenchmarkDatabase.PUBLIC_ID));
+                    status.setRollbackOnly();
+                });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void createBatch(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(
+                status -> {
+                    blackhole.consume(
+                            service.createAll(createBatchDTO, BenchmarkDatabase.PUBLIC_ID));
+                    status.setRollbackOnly();
+                });
+    }
+
+    @Benchmark
+    public CursorPageResponse<WaterIntakeResponseDTO> searchFirstPage() {
+        return service.search(firstPageFilter, BenchmarkDatabase.PUBLIC_ID);
+    }
+
+    @Benchmark
+    public CursorPageResponse<WaterIntakeResponseDTO> searchNextPage() {
+        return service.search(nextPageFilter, BenchmarkDatabase.PUBLIC_ID);
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.drinkwater.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+final class BaselineComparatorTest {
+
+    private static final String RESULT_JSON =
+            """
+            [
+              {
+                "benchmark": "br.com.drinkwater.benchmark.PageCursorBenchmark.encode",
+                "params": {"historySize": "1000"},
+                "primaryMetric": {"score": 1000.0},
+                "secondaryMetrics": {"gc.alloc.rate.norm": {"score": 240.0}}
+              },
+              {
+                "benchmark": "br.com.drinkwater.benchmark.PageCursorBenchmark.decode",
+                "primaryMetric": {"score": 500.0},
+                "secondaryMetrics": {}
+              }
+            ]
+            """;
+
+    @Test
+    void givenJmhJson_whenRead_thenIndexesByBenchmarkAndParams() throws Exception {
+        // When
+        var measurements = BaselineComparator.read(new ObjectMapper().readTree(RESULT_JSON));
+
+        // Then
+        assertThat(measurements)
+                .containsEntry(
+                        "br.com.drinkwater.benchmark.PageCursorBenchmark.encode historySize=1000",
+                        new BaselineComparator.Measurement(1000.0, 240.0));
+        assertThat(
+                        measurements
+                                .get("br.com.drinkwater.benchmark.PageCursorBenchmark.decode")
+                                .bytesPerOp())
+                .isNaN();
+    }
+
+    @Test
+    void givenThroughputDropBeyondTolerance_whenCompare_thenReportsRegression() {
+        // Given
+        var baseline = Map.of("encode", new BaselineComparator.Measurement(1000.0, 240.0));
+        var current = Map.of("encode", new BaselineComparator.Measurement(800.0, 240.0));
+        var out = new ByteArrayOutputStream();
+
+        // When
+        boolean regressed =
+                BaselineComparator.compare(
+                        baseline,
+                        current,
+                        10.0,
+                        new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(regressed).isTrue();
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("-20.0%").contains("REGRESSION");
+    }
+
+    @Test
+    void givenAllocationGrowthBeyondTolerance_whenCompare_thenReportsRegression() {
+        // Given
+        var baseline = Map.of("encode", new BaselineComparator.Measurement(1000.0, 200.0));
+        var current = Map.of("encode", new BaselineComparator.Measurement(1000.0, 260.0));
+
+        // When
+        boolean regressed =
+                BaselineComparator.compare(
+                        baseline, current, 10.0, new PrintStream(new ByteArrayOutputStream()));
+
+        // Then
+        assertThat(regressed).isTrue();
+    }
+
+    @Test
+    void givenAllocationFreeBaseline_whenCurrentAllocates_thenReportsRegression() {
+        // Given
+        var baseline = Map.of("encode", new BaselineComparator.Measurement(1000.0, 0.0));
+        var current = Map.of("encode", new BaselineComparator.Measurement(1000.0, 24.0));
+        var out = new ByteArrayOutputStream();
+
+        // When
+        boolean regressed =
+                BaselineComparator.compare(
+                        baseline,
+                        current,
+                        10.0,
+                        new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(regressed).isTrue();
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("REGRESSION");
+    }
+
+    @Test
+    void givenAllocationFreeBaseline_whenCurrentAllocatesUnderOneByte_thenNoRegression() {
+        // Given
+        var baseline = Map.of("encode", new BaselineComparator.Measurement(1000.0, 0.0));
+        var current = Map.of("encode", new BaselineComparator.Measurement(1000.0, 0.002));
+
+        // When
+        boolean regressed =
+                BaselineComparator.compare(
+                        baseline, current, 10.0, new PrintStream(new ByteArrayOutputStream()));
+
+        // Then
+        assertThat(regressed).isFalse();
+    }
+
+    @Test
+    void givenChangesWithinToleranceOrNewBenchmark_whenCompare_thenNoRegression() {
+        // Given
+        var baseline = Map.of("encode", new BaselineComparator.Measurement(1000.0, 240.0));
+        var current =
+                Map.of(
+                        "encode", new BaselineComparator.Measurement(950.0, 250.0),
+                        "decode", new BaselineComparator.Measurement(10.0, 9999.0));
+        var out = new ByteArrayOutputStream();
+
+        // When
+        boolean regressed =
+                BaselineComparator.compare(
+                        baseline,
+                        current,
+                        10.0,
+                        new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(regressed).isFalse();
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("NEW");
+    }
+}
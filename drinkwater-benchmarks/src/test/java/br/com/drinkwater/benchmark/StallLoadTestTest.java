@@ -0,0 +1,45 @@
+package br.com.drinkwater.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+final class StallLoadTestTest {
+
+    @Test
+    void givenSortedLatencies_whenPercentile_thenUsesNearestRank() {
+        // Given
+        long[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        // When & Then
+        assertThat(StallLoadTest.percentile(sorted, 0.50)).isEqualTo(5);
+        assertThat(StallLoadTest.percentile(sorted, 0.99)).isEqualTo(10);
+        assertThat(StallLoadTest.percentile(new long[0], 0.99)).isZero();
+    }
+
+    @Test
+    void givenStalledAndFailedRequests_whenReport_thenExcludesThemFromLatencies() {
+        // Given - requests 0 and 4 hit the stall, request 2 failed
+        long[] latencies = {2_000_000_000L, 1_000_000L, -1L, 3_000_000L, 2_000_000_000L};
+        var out = new ByteArrayOutputStream();
+
+        // When
+        StallLoadTest.report(
+                "virtual",
+                "keycloak",
+                true,
+                500,
+                latencies,
+                new PrintStream(out, true, StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains("virtual")
+                .contains("p50      1.0 ms")
+                .contains("max      3.0 ms")
+                .contains("failed 1");
+    }
+}
@@ -0,0 +1,261 @@
+package br.com.drinkwater.keycloak.spi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers webhook events to the API from a single background thread, so Keycloak request threads
+ * never wait on the API.
+ *
+ * <p>Events are journaled before they are queued and acknowledged once the API accepted them. The
+ * worker drains up to {@code batchSize} queued events into one POST to the batch endpoint and
+ * retries a failed batch with exponential backoff and full jitter. Events that cannot be delivered
+ * — the queue is full, the API rejected the batch or every attempt failed — stay in the {@link
+ * WebhookJournal} and are replayed when Keycloak restarts. The API deduplicates events by ID, so
+ * redelivering an event is safe.
+ */
+final class WebhookDispatcher implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(WebhookDispatcher.class.getName());
+
+    static final Duration HTTP_TIMEOUT = Duration.ofSeconds(10);
+    static final Duration BASE_BACKOFF = Duration.ofMillis(500);
+    static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private static final long POLL_MILLIS = 500;
+
+    /** Pauses between attempts; replaced in tests. */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+
+    private enum Outcome {
+        DELIVERED,
+        RETRY,
+        REJECTED
+    }
+
+    private final HttpClient httpClient;
+    private final URI batchUri;
+    private final String webhookSecret;
+    private final WebhookJournal journal;
+    private final BlockingQueue<WebhookEvent> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Sleeper sleeper;
+    private final DoubleSupplier jitter;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    WebhookDispatcher(
+            HttpClient httpClient,
+            URI batchUri,
+            String webhookSecret,
+            WebhookJournal journal,
+            int queueCapacity,
+            int batchSize,
+            int maxAttempts) {
+        this(
+                httpClient,
+                batchUri,
+                webhookSecret,
+                journal,
+                queueCapacity,
+                batchSize,
+                maxAttempts,
+                duration -> Thread.sleep(duration.toMillis()),
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    WebhookDispatcher(
+            HttpClient httpClient,
+            URI batchUri,
+            String webhookSecret,
+            WebhookJournal journal,
+            int queueCapacity,
+            int batchSize,
+            int maxAttempts,
+            Sleeper sleeper,
+            DoubleSupplier jitter) {
+        if (queueCapacity < 1 || batchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException(
+                    "queueCapacity, batchSize and maxAttempts must be at least 1");
+        }
+        this.httpClient = httpClient;
+        this.batchUri = batchUri;
+        this.webhookSecret = webhookSecret;
+        this.journal = journal;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.sleeper = sleeper;
+        this.jitter = jitter;
+        this.worker = new Thread(this::run, "webhook-dispatcher");
+        this.worker.setDaemon(true);
+    }
+
+    /** Queues the events left over from a previous run and starts the worker thread. */
+    void start(List<WebhookEvent> replayed) {
+        for (WebhookEvent event : replayed) {
+            if (!queue.offer(event)) {
+                LOG.warning(
+                        "Webhook queue full during replay; "
+                                + (replayed.size() - queue.size())
+                                + " events stay journaled until the next restart");
+                break;
+            }
+        }
+        worker.start();
+    }
+
+    /**
+     * Journals the event and queues it for delivery without blocking. If the queue is full the
+     * event is only journaled and is delivered after the next restart.
+     */
+    void submit(WebhookEvent event) {
+        try {
+            journal.append(event);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.log(Level.SEVERE, "Webhook event could not be journaled: " + event, e);
+        }
+        if (!queue.offer(event)) {
+            LOG.warning(
+                    "Webhook queue full, event kept in journal for replay: eventType="
+                            + event.eventType()
+                            + ", userId="
+                            + event.userId());
+        }
+    }
+
+    /** Stops the worker; a batch in flight stays journaled and is replayed on restart. */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(HTTP_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    private void run() {
+        while (running) {
+            WebhookEvent first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            List<WebhookEvent> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            deliver(batch);
+        }
+    }
+
+    void deliver(List<WebhookEvent> batch) {
+        for (int attempt = 1; attempt <= maxAttempts && running; attempt++) {
+            Outcome outcome = post(batch);
+            if (outcome == Outcome.DELIVERED) {
+                acknowledge(batch);
+                return;
+            }
+            if (outcome == Outcome.REJECTED) {
+                break;
+            }
+            if (attempt < maxAttempts) {
+                try {
+                    sleeper.sleep(backoff(attempt));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+        LOG.severe(
+                "Webhook batch of "
+                        + batch.size()
+                        + " events not delivered; kept in journal for replay on restart");
+    }
+
+    /** Full jitter: a uniform delay between zero and the capped exponential backoff. */
+    Duration backoff(int attempt) {
+        long ceiling =
+                Math.min(
+                        MAX_BACKOFF.toMillis(),
+                        BASE_BACKOFF.toMillis() << Math.min(attempt - 1, 16));
+        return Duration.ofMillis((long) (jitter.getAsDouble() * ceiling));
+    }
+
+    private Outcome post(List<WebhookEvent> batch) {
+        HttpRequest request =
+                HttpRequest.newBuilder()
+                        .uri(batchUri)
+                        .header("Content-Type", "application/json")
+                        .header("X-Webhook-Secret", webhookSecret)
+                        .timeout(HTTP_TIMEOUT)
+                        .POST(HttpRequest.BodyPublishers.ofString(toJson(batch)))
+                        .build();
+        try {
+            HttpResponse<String> response =
+                    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                LOG.info("Webhook batch dispatched: events=" + batch.size() + ", status=" + status);
+                return Outcome.DELIVERED;
+            }
+            LOG.log(
+                    Level.WARNING,
+                    "Webhook batch failed: events={0}, status={1}, body={2}",
+                    new Object[] {batch.size(), status, response.body()});
+            return status == 408 || status == 429 || status >= 500
+                    ? Outcome.RETRY
+                    : Outcome.REJECTED;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Webhook I/O error: url=" + batchUri, e);
+            return Outcome.RETRY;
+        } catch (InterruptedException e) {
+            running = false;
+            return Outcome.RETRY;
+        }
+    }
+
+    private void acknowledge(List<WebhookEvent> batch) {
+        try {
+            journal.acknowledge(batch);
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, "Webhook journal acknowledgement failed; events may repeat", e);
+        }
+    }
+
+    static String toJson(List<WebhookEvent> batch) {
+        StringBuilder json = new StringBuilder("{\"events\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(batch.get(i).toJson());
+        }
+        return json.append("]}").toString();
+    }
+}
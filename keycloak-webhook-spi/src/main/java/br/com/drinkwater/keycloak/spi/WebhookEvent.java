@@ -0,0 +1,29 @@
+package br.com.drinkwater.keycloak.spi;
+
+/**
+ * A user deletion to forward to the Drink Water API.
+ *
+ * @param id unique ID used to acknowledge the event in the {@link WebhookJournal}; the API uses it
+ *     to recognize a redelivered event
+ * @param eventType {@code DELETE_ACCOUNT} or {@code ADMIN_DELETE_USER}
+ * @param userId the Keycloak user ID
+ * @param realmId the realm the user belonged to
+ * @param timestamp the event time in epoch millis
+ */
+record WebhookEvent(String id, String eventType, String userId, String realmId, long timestamp) {
+
+    /** Serializes the event in the format expected by the API's webhook endpoints. */
+    String toJson() {
+        return "{\"eventId\":\""
+                + id
+                + "\",\"eventType\":\""
+                + eventType
+                + "\",\"userId\":\""
+                + userId
+                + "\",\"realmId\":\""
+                + realmId
+                + "\",\"timestamp\":"
+                + timestamp
+                + "}";
+    }
+}
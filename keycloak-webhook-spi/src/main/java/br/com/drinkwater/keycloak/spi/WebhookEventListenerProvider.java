@@ -1,12 +1,6 @@
 package br.com.drinkwater.keycloak.spi;
 
-import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
-import java.util.logging.Level;
+import java.util.UUID;
 import java.util.logging.Logger;
 import org.keycloak.events.Event;
 import org.keycloak.events.EventListenerProvider;
@@ -29,33 +23,28 @@ import org.keycloak.models.KeycloakSession;
  *       Console or REST API
  * </ul>
  *
- * <p>The HTTP call is enqueued via {@link
- * org.keycloak.models.KeycloakTransactionManager#enlistAfterCompletion} so it only fires after the
- * Keycloak transaction commits successfully, as recommended by the {@link EventListenerProvider}
- * contract.
+ * <p>The event is enqueued via {@link
+ * org.keycloak.models.KeycloakTransactionManager#enlistAfterCompletion} so it is only handed to the
+ * {@link WebhookDispatcher} after the Keycloak transaction commits successfully, as recommended by
+ * the {@link EventListenerProvider} contract. The dispatcher delivers it in the background, so the
+ * request thread never waits on the API.
  */
 public class WebhookEventListenerProvider implements EventListenerProvider {
 
     private static final Logger LOG =
             Logger.getLogger(WebhookEventListenerProvider.class.getName());
 
-    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(10);
     private static final String USERS_PATH_PREFIX = "users/";
 
     private final KeycloakSession session;
-    private final HttpClient httpClient;
-    private final String webhookUrl;
-    private final String webhookSecret;
-
-    public WebhookEventListenerProvider(
-            KeycloakSession session,
-            HttpClient httpClient,
-            String webhookUrl,
-            String webhookSecret) {
+    private final WebhookDispatcher dispatcher;
+
+    /**
+     * @param dispatcher the factory's dispatcher, or {@code null} when no webhook URL is configured
+     */
+    WebhookEventListenerProvider(KeycloakSession session, WebhookDispatcher dispatcher) {
         this.session = session;
-        this.httpClient = httpClient;
-        this.webhookUrl = webhookUrl;
-        this.webhookSecret = webhookSecret;
+        this.dispatcher = dispatcher;
     }
 
     @Override
@@ -93,7 +82,7 @@ public class WebhookEventListenerProvider implements EventListenerProvider {
 
     @Override
     public void close() {
-        // Provider is per-request; HttpClient is managed by the factory
+        // Provider is per-request; the dispatcher is managed by the factory
     }
 
     /**
@@ -111,6 +100,11 @@ public class WebhookEventListenerProvider implements EventListenerProvider {
     }
 
     private void enqueueWebhook(String eventType, String userId, String realmId, long timestamp) {
+        if (dispatcher == null) {
+            LOG.warning("Webhook URL not configured, event dropped for userId=" + userId);
+            return;
+        }
+
         LOG.info(
                 "Enqueuing webhook: eventType="
                         + eventType
@@ -124,7 +118,13 @@ public class WebhookEventListenerProvider implements EventListenerProvider {
                         new AbstractKeycloakTransaction() {
                             @Override
                             protected void commitImpl() {
-                                sendWebhook(eventType, userId, realmId, timestamp);
+                                dispatcher.submit(
+                                        new WebhookEvent(
+                                                UUID.randomUUID().toString(),
+                                                eventType,
+                                                userId,
+                                                realmId,
+                                                timestamp));
                             }
 
                             @Override
@@ -135,67 +135,4 @@ public class WebhookEventListenerProvider implements EventListenerProvider {
                             }
                         });
     }
-
-    private void sendWebhook(String eventType, String userId, String realmId, long timestamp) {
-        String json =
-                "{\"eventType\":\""
-                        + eventType
-                        + "\",\"userId\":\""
-                        + userId
-                        + "\",\"realmId\":\""
-                        + realmId
-                        + "\",\"timestamp\":"
-                        + timestamp
-                        + "}";
-
-        HttpRequest request =
-                HttpRequest.newBuilder()
-                        .uri(URI.create(webhookUrl))
-                        .header("Content-Type", "application/json")
-                        .header("X-Webhook-Secret", webhookSecret)
-                        .timeout(HTTP_TIMEOUT)
-                        .POST(HttpRequest.BodyPublishers.ofString(json))
-                        .build();
-
-        try {
-            HttpResponse<String> response =
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                LOG.info(
-                        "Webhook dispatched: eventType="
-                                + eventType
-                                + ", userId="
-                                + userId
-                                + ", status="
-                                + response.statusCode());
-            } else {
-                LOG.log(
-                        Level.SEVERE,
-                        "Webhook failed: eventType={0}, userId={1}, status={2}, body={3}",
-                        new Object[] {
-                            eventType, userId, response.statusCode(), response.body()
-                        });
-            }
-        } catch (IOException e) {
-            LOG.log(
-                    Level.SEVERE,
-                    "Webhook I/O error: eventType="
-                            + eventType
-                            + ", userId="
-                            + userId
-                            + ", url="
-                            + webhookUrl,
-                    e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LOG.log(
-                    Level.SEVERE,
-                    "Webhook interrupted: eventType="
-                            + eventType
-                            + ", userId="
-                            + userId,
-                    e);
-        }
-    }
 }
@@ -1,6 +1,10 @@
 package br.com.drinkwater.keycloak.spi;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.logging.Logger;
 import org.keycloak.Config;
@@ -18,6 +22,10 @@ import org.keycloak.models.KeycloakSessionFactory;
  * <pre>
  *   spi-events-listener--webhook-event-listener--webhook-url=http://...
  *   spi-events-listener--webhook-event-listener--webhook-secret=secret
+ *   spi-events-listener--webhook-event-listener--journal-dir=/opt/keycloak/data/webhook-journal
+ *   spi-events-listener--webhook-event-listener--queue-capacity=1000
+ *   spi-events-listener--webhook-event-listener--batch-size=50
+ *   spi-events-listener--webhook-event-listener--max-attempts=8
  * </pre>
  *
  * Or via environment variables:
@@ -25,7 +33,12 @@ import org.keycloak.models.KeycloakSessionFactory;
  * <pre>
  *   KC_SPI_EVENTS_LISTENER__WEBHOOK_EVENT_LISTENER__WEBHOOK_URL=http://...
  *   KC_SPI_EVENTS_LISTENER__WEBHOOK_EVENT_LISTENER__WEBHOOK_SECRET=secret
+ *   KC_SPI_EVENTS_LISTENER__WEBHOOK_EVENT_LISTENER__JOURNAL_DIR=/opt/keycloak/data/webhook-journal
  * </pre>
+ *
+ * Events are posted to {@code <webhook-url>/batch} by a {@link WebhookDispatcher}; the factory
+ * replays the journal left by a previous run before accepting new events. {@code batch-size} must
+ * not exceed the 100 events the API accepts per request.
  */
 public class WebhookEventListenerProviderFactory implements EventListenerProviderFactory {
 
@@ -34,33 +47,62 @@ public class WebhookEventListenerProviderFactory implements EventListenerProvide
 
     static final String PROVIDER_ID = "webhook-event-listener";
 
-    private HttpClient httpClient;
-    private String webhookUrl;
-    private String webhookSecret;
+    static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    static final int DEFAULT_BATCH_SIZE = 50;
+    static final int DEFAULT_MAX_ATTEMPTS = 8;
+
+    private WebhookDispatcher dispatcher;
 
     @Override
     public EventListenerProvider create(KeycloakSession session) {
-        return new WebhookEventListenerProvider(session, httpClient, webhookUrl, webhookSecret);
+        return new WebhookEventListenerProvider(session, dispatcher);
     }
 
     @Override
     public void init(Config.Scope config) {
-        webhookUrl = config.get("webhookUrl");
-        webhookSecret = config.get("webhookSecret", "");
+        String webhookUrl = config.get("webhookUrl");
+        String webhookSecret = config.get("webhookSecret", "");
 
         if (webhookUrl == null || webhookUrl.isBlank()) {
             LOG.warning(
                     "Webhook URL not configured — webhook-event-listener will be inactive. "
                             + "Set KC_SPI_EVENTS_LISTENER__WEBHOOK_EVENT_LISTENER__WEBHOOK_URL");
-        } else {
-            LOG.info("Webhook event listener configured: url=" + webhookUrl);
+            return;
         }
 
-        httpClient =
+        Path journalDir = Path.of(config.get("journalDir", defaultJournalDir()));
+        WebhookJournal journal;
+        try {
+            journal = WebhookJournal.open(journalDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open webhook journal in " + journalDir, e);
+        }
+
+        HttpClient httpClient =
                 HttpClient.newBuilder()
                         .connectTimeout(Duration.ofSeconds(5))
                         .followRedirects(HttpClient.Redirect.NEVER)
                         .build();
+        String baseUrl =
+                webhookUrl.endsWith("/")
+                        ? webhookUrl.substring(0, webhookUrl.length() - 1)
+                        : webhookUrl;
+
+        dispatcher =
+                new WebhookDispatcher(
+                        httpClient,
+                        URI.create(baseUrl + "/batch"),
+                        webhookSecret,
+                        journal,
+                        config.getInt("queueCapacity", DEFAULT_QUEUE_CAPACITY),
+                        config.getInt("batchSize", DEFAULT_BATCH_SIZE),
+                        config.getInt("maxAttempts", DEFAULT_MAX_ATTEMPTS));
+        dispatcher.start(journal.pendingEvents());
+        LOG.info(
+                "Webhook event listener configured: url="
+                        + webhookUrl
+                        + ", journalDir="
+                        + journalDir);
     }
 
     @Override
@@ -70,11 +112,23 @@ public class WebhookEventListenerProviderFactory implements EventListenerProvide
 
     @Override
     public void close() {
-        // HttpClient does not require explicit close in JDK 17+
+        if (dispatcher == null) {
+            return;
+        }
+        try {
+            dispatcher.close();
+        } catch (IOException e) {
+            LOG.warning("Webhook journal could not be closed: " + e.getMessage());
+        }
     }
 
     @Override
     public String getId() {
         return PROVIDER_ID;
     }
+
+    private static String defaultJournalDir() {
+        String home = System.getProperty("kc.home.dir", System.getProperty("java.io.tmpdir"));
+        return Path.of(home, "data", "webhook-journal").toString();
+    }
 }
@@ -0,0 +1,171 @@
+package br.com.drinkwater.keycloak.spi;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Append-only file journal of the webhook events that have not been delivered yet.
+ *
+ * <p>Every event is appended before it is queued for delivery ({@code E} line) and acknowledged
+ * once the API accepted it ({@code A} line), so an event survives a full queue, exhausted retries
+ * and a Keycloak restart. When the journal is opened, the events without an acknowledgement are
+ * returned for replay and the file is compacted to just those events. The file is also truncated
+ * whenever every event in it has been acknowledged.
+ *
+ * <p>Lines are flushed to the operating system on every write, which survives a crash of the
+ * Keycloak process but not of the host.
+ */
+final class WebhookJournal implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(WebhookJournal.class.getName());
+
+    static final String FILE_NAME = "webhook-events.journal";
+
+    private static final String EVENT = "E";
+    private static final String ACK = "A";
+    private static final String SEPARATOR = "\t";
+
+    private final Path file;
+    private final Map<String, WebhookEvent> pending;
+    private BufferedWriter writer;
+
+    private WebhookJournal(Path file, Map<String, WebhookEvent> pending) throws IOException {
+        this.file = file;
+        this.pending = pending;
+        this.writer = openWriter(StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Opens the journal in {@code directory}, creating it if needed, and compacts it to the events
+     * that were never acknowledged.
+     *
+     * @throws IOException if the directory or the journal cannot be read or written
+     */
+    static WebhookJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        Map<String, WebhookEvent> pending = new LinkedHashMap<>();
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                replay(line, pending);
+            }
+        }
+
+        Path compacted = directory.resolve(FILE_NAME + ".tmp");
+        List<String> lines = new ArrayList<>(pending.size());
+        for (WebhookEvent event : pending.values()) {
+            lines.add(eventLine(event));
+        }
+        Files.write(compacted, lines, StandardCharsets.UTF_8);
+        Files.move(
+                compacted,
+                file,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        if (!pending.isEmpty()) {
+            LOG.info("Replaying " + pending.size() + " undelivered webhook events from " + file);
+        }
+        return new WebhookJournal(file, pending);
+    }
+
+    /** Returns the events that were not acknowledged, oldest first. */
+    synchronized List<WebhookEvent> pendingEvents() {
+        return List.copyOf(pending.values());
+    }
+
+    /**
+     * Records an event before it is handed to the dispatcher.
+     *
+     * @throws IllegalArgumentException if a field contains a tab or a line break
+     */
+    synchronized void append(WebhookEvent event) throws IOException {
+        String line = eventLine(event);
+        if (line.indexOf('\n') >= 0 || line.indexOf('\r') >= 0 || fieldCount(line) != 6) {
+            throw new IllegalArgumentException("Event cannot be journaled: " + event);
+        }
+        write(line);
+        pending.put(event.id(), event);
+    }
+
+    /** Marks delivered events, truncating the file once nothing is pending. */
+    synchronized void acknowledge(Collection<WebhookEvent> events) throws IOException {
+        for (WebhookEvent event : events) {
+            writer.write(ACK + SEPARATOR + event.id());
+            writer.newLine();
+            pending.remove(event.id());
+        }
+        writer.flush();
+        if (pending.isEmpty()) {
+            writer.close();
+            writer = openWriter(StandardOpenOption.TRUNCATE_EXISTING);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void write(String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+        writer.flush();
+    }
+
+    private BufferedWriter openWriter(StandardOpenOption mode) throws IOException {
+        return Files.newBufferedWriter(
+                file, StandardCharsets.UTF_8, StandardOpenOption.WRITE, mode);
+    }
+
+    private static void replay(String line, Map<String, WebhookEvent> pending) {
+        String[] fields = line.split(SEPARATOR, -1);
+        try {
+            if (fields[0].equals(EVENT) && fields.length == 6) {
+                pending.put(
+                        fields[1],
+                        new WebhookEvent(
+                                fields[1],
+                                fields[2],
+                                fields[3],
+                                fields[4],
+                                Long.parseLong(fields[5])));
+                return;
+            }
+            if (fields[0].equals(ACK) && fields.length == 2) {
+                pending.remove(fields[1]);
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the warning below
+        }
+        // A line cut short by a crash while it was being written
+        LOG.warning("Skipping malformed webhook journal line: " + line);
+    }
+
+    private static String eventLine(WebhookEvent event) {
+        return String.join(
+                SEPARATOR,
+                EVENT,
+                event.id(),
+                event.eventType(),
+                event.userId(),
+                event.realmId(),
+                Long.toString(event.timestamp()));
+    }
+
+    private static int fieldCount(String line) {
+        return line.split(SEPARATOR, -1).length;
+    }
+}
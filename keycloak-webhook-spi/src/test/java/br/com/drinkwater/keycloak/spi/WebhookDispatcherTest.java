@@ -0,0 +1,202 @@
+package br.com.drinkwater.keycloak.spi;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+class WebhookDispatcherTest {
+
+    private static final URI BATCH_URI =
+            URI.create("http://localhost:8081/internal/webhooks/keycloak/batch");
+    private static final WebhookEvent FIRST =
+            new WebhookEvent("e1", "DELETE_ACCOUNT", "user-1", "drinkwater", 1L);
+    private static final WebhookEvent SECOND =
+            new WebhookEvent("e2", "ADMIN_DELETE_USER", "user-2", "drinkwater", 2L);
+
+    @TempDir Path directory;
+
+    private HttpClient httpClient;
+    private WebhookJournal journal;
+    private List<Duration> sleeps;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        httpClient = mock(HttpClient.class);
+        journal = WebhookJournal.open(directory);
+        sleeps = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    void givenBatch_whenDelivered_thenPostsEveryEventAndAcknowledgesThem() throws Exception {
+        // Given
+        journal.append(FIRST);
+        journal.append(SECOND);
+        respond(204);
+
+        // When
+        dispatcher(3).deliver(List.of(FIRST, SECOND));
+
+        // Then
+        var request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(request.capture(), any());
+        assertEquals(BATCH_URI, request.getValue().uri());
+        assertEquals("secret", request.getValue().headers().firstValue("X-Webhook-Secret").get());
+        assertTrue(journal.pendingEvents().isEmpty());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void givenServerErrors_whenDeliver_thenRetriesWithBackoffUntilDelivered() throws Exception {
+        // Given
+        journal.append(FIRST);
+        respond(503, 429, 200);
+
+        // When
+        dispatcher(5).deliver(List.of(FIRST));
+
+        // Then
+        verify(httpClient, times(3)).send(any(), any());
+        assertEquals(List.of(Duration.ofMillis(250), Duration.ofMillis(500)), sleeps);
+        assertTrue(journal.pendingEvents().isEmpty());
+    }
+
+    @Test
+    void givenIoErrorOnEveryAttempt_whenDeliver_thenKeepsBatchJournaled() throws Exception {
+        // Given
+        journal.append(FIRST);
+        when(httpClient.send(any(), any())).thenThrow(new IOException("connection refused"));
+
+        // When
+        dispatcher(3).deliver(List.of(FIRST));
+
+        // Then
+        verify(httpClient, times(3)).send(any(), any());
+        assertEquals(2, sleeps.size());
+        assertEquals(List.of(FIRST), journal.pendingEvents());
+    }
+
+    @Test
+    void givenClientError_whenDeliver_thenDoesNotRetry() throws Exception {
+        // Given
+        journal.append(FIRST);
+        respond(400);
+
+        // When
+        dispatcher(5).deliver(List.of(FIRST));
+
+        // Then
+        verify(httpClient, times(1)).send(any(), any());
+        assertTrue(sleeps.isEmpty());
+        assertEquals(List.of(FIRST), journal.pendingEvents());
+    }
+
+    @Test
+    void givenManyAttempts_whenBackoff_thenCapsTheDelay() {
+        var dispatcher = dispatcher(1);
+
+        assertEquals(Duration.ofMillis(250), dispatcher.backoff(1));
+        assertEquals(Duration.ofMillis(1000), dispatcher.backoff(3));
+        assertEquals(Duration.ofSeconds(15), dispatcher.backoff(40));
+    }
+
+    @Test
+    void givenSubmittedEvents_whenStarted_thenDeliversThemInBackground() throws Exception {
+        // Given
+        journal.append(FIRST);
+        respond(200, 200);
+        var dispatcher = dispatcher(3);
+
+        // When
+        dispatcher.start(journal.pendingEvents());
+        dispatcher.submit(SECOND);
+
+        // Then
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!journal.pendingEvents().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(journal.pendingEvents().isEmpty());
+        dispatcher.close();
+    }
+
+    @Test
+    void givenFullQueue_whenSubmit_thenKeepsEventJournaled() throws Exception {
+        // Given
+        var dispatcher =
+                new WebhookDispatcher(
+                        httpClient, BATCH_URI, "secret", journal, 1, 10, 1, sleeps::add, () -> 0.5);
+        dispatcher.submit(FIRST);
+
+        // When
+        dispatcher.submit(SECOND);
+
+        // Then
+        assertEquals(List.of(FIRST, SECOND), journal.pendingEvents());
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void givenInvalidSizes_whenCreated_thenThrowsIllegalArgumentException() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new WebhookDispatcher(httpClient, BATCH_URI, "secret", journal, 0, 1, 1));
+    }
+
+    @Test
+    void givenBatch_whenToJson_thenWrapsEventsInEnvelope() {
+        assertEquals(
+                "{\"events\":["
+                    + "{\"eventId\":\"e1\",\"eventType\":\"DELETE_ACCOUNT\",\"userId\":\"user-1\","
+                    + "\"realmId\":\"drinkwater\",\"timestamp\":1},"
+                    + "{\"eventId\":\"e2\",\"eventType\":\"ADMIN_DELETE_USER\",\"userId\":\"user-2\","
+                    + "\"realmId\":\"drinkwater\",\"timestamp\":2}]}",
+                WebhookDispatcher.toJson(List.of(FIRST, SECOND)));
+    }
+
+    private WebhookDispatcher dispatcher(int maxAttempts) {
+        return new WebhookDispatcher(
+                httpClient,
+                BATCH_URI,
+                "secret",
+                journal,
+                10,
+                10,
+                maxAttempts,
+                sleeps::add,
+                () -> 0.5);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respond(int... statuses) throws Exception {
+        var responses = new ArrayList<HttpResponse<Object>>();
+        for (int status : statuses) {
+            HttpResponse<Object> response = mock(HttpResponse.class);
+            when(response.statusCode()).thenReturn(status);
+            responses.add(response);
+        }
+        var stub = when(httpClient.send(any(), any())).thenReturn(responses.get(0));
+        for (int i = 1; i < responses.size(); i++) {
+            stub = stub.thenReturn(responses.get(i));
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package br.com.drinkwater.keycloak.spi;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.keycloak.Config;
 import org.keycloak.models.KeycloakSession;
 
 class WebhookEventListenerProviderFactoryTest {
 
+    @TempDir Path journalDir;
+
     @Test
     void givenFactory_whenGetId_thenReturnsExpectedId() {
         var factory = new WebhookEventListenerProviderFactory();
@@ -18,30 +24,61 @@ class WebhookEventListenerProviderFactoryTest {
     @Test
     void givenConfiguredFactory_whenCreate_thenReturnsProviderInstance() {
         var factory = new WebhookEventListenerProviderFactory();
-
-        var config = mock(Config.Scope.class);
-        when(config.get("webhookUrl")).thenReturn("http://localhost:8081/internal/webhooks/keycloak");
-        when(config.get("webhookSecret", "")).thenReturn("test-secret");
-
-        factory.init(config);
+        factory.init(config("http://localhost:8081/internal/webhooks/keycloak", "test-secret"));
 
         var session = mock(KeycloakSession.class);
         var provider = factory.create(session);
 
         assertNotNull(provider);
         assertInstanceOf(WebhookEventListenerProvider.class, provider);
+        factory.close();
     }
 
     @Test
-    void givenFactory_whenCloseAndPostInit_thenDoesNotThrow() {
+    void givenConfiguredFactory_whenInit_thenOpensJournal() {
         var factory = new WebhookEventListenerProviderFactory();
 
+        factory.init(config("http://localhost:8081/internal/webhooks/keycloak/", ""));
+
+        assertTrue(Files.exists(journalDir.resolve(WebhookJournal.FILE_NAME)));
+        factory.close();
+    }
+
+    @Test
+    void givenMissingWebhookUrl_whenInit_thenProviderIsInactive() {
+        var factory = new WebhookEventListenerProviderFactory();
         var config = mock(Config.Scope.class);
-        when(config.get("webhookUrl")).thenReturn("http://test");
         when(config.get("webhookSecret", "")).thenReturn("");
+
         factory.init(config);
 
+        assertNotNull(factory.create(mock(KeycloakSession.class)));
+        verify(config, never()).get(eq("journalDir"), anyString());
+        assertDoesNotThrow(factory::close);
+    }
+
+    @Test
+    void givenFactory_whenCloseAndPostInit_thenDoesNotThrow() {
+        var factory = new WebhookEventListenerProviderFactory();
+        factory.init(config("http://test", ""));
+
         assertDoesNotThrow(() -> factory.postInit(null));
         assertDoesNotThrow(factory::close);
     }
+
+    private Config.Scope config(String webhookUrl, String webhookSecret) {
+        var config = mock(Config.Scope.class);
+        when(config.get("webhookUrl")).thenReturn(webhookUrl);
+        when(config.get("webhookSecret", "")).thenReturn(webhookSecret);
+        when(config.get(eq("journalDir"), anyString())).thenReturn(journalDir.toString());
+        when(config.getInt(
+                        "queueCapacity",
+                        WebhookEventListenerProviderFactory.DEFAULT_QUEUE_CAPACITY))
+                .thenReturn(WebhookEventListenerProviderFactory.DEFAULT_QUEUE_CAPACITY);
+        when(config.getInt("batchSize", WebhookEventListenerProviderFactory.DEFAULT_BATCH_SIZE))
+                .thenReturn(WebhookEventListenerProviderFactory.DEFAULT_BATCH_SIZE);
+        when(config.getInt("maxAttempts", WebhookEventListenerProviderFactory.DEFAULT_MAX_ATTEMPTS))
+                .thenReturn(WebhookEventListenerProviderFactory.DEFAULT_MAX_ATTEMPTS);
+        return config;
+    }
 }
@@ -3,7 +3,6 @@ package br.com.drinkwater.keycloak.spi;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import java.net.http.HttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +12,7 @@ import org.keycloak.events.admin.AdminEvent;
 import org.keycloak.events.admin.OperationType;
 import org.keycloak.events.admin.ResourceType;
 import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.KeycloakTransaction;
 import org.keycloak.models.KeycloakTransactionManager;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
@@ -23,15 +23,13 @@ class WebhookEventListenerProviderTest {
 
     @Mock private KeycloakSession session;
     @Mock private KeycloakTransactionManager transactionManager;
-    @Mock private HttpClient httpClient;
+    @Mock private WebhookDispatcher dispatcher;
 
     private WebhookEventListenerProvider provider;
 
     @BeforeEach
     void setUp() {
-        provider =
-                new WebhookEventListenerProvider(
-                        session, httpClient, "http://localhost:8081/internal/webhooks/keycloak", "test-secret");
+        provider = new WebhookEventListenerProvider(session, dispatcher);
     }
 
     @Test
@@ -49,6 +47,56 @@ class WebhookEventListenerProviderTest {
         verify(transactionManager).enlistAfterCompletion(any());
     }
 
+    @Test
+    void givenCommittedTransaction_whenCompleted_thenSubmitsEventToDispatcher() {
+        when(session.getTransactionManager()).thenReturn(transactionManager);
+        var event = new Event();
+        event.setType(EventType.DELETE_ACCOUNT);
+        event.setUserId("550e8400-e29b-41d4-a716-446655440000");
+        event.setRealmId("drinkwater");
+        event.setTime(1234567890L);
+        provider.onEvent(event);
+        var transaction = ArgumentCaptor.forClass(KeycloakTransaction.class);
+        verify(transactionManager).enlistAfterCompletion(transaction.capture());
+
+        transaction.getValue().begin();
+        transaction.getValue().commit();
+
+        var submitted = ArgumentCaptor.forClass(WebhookEvent.class);
+        verify(dispatcher).submit(submitted.capture());
+        assertEquals("DELETE_ACCOUNT", submitted.getValue().eventType());
+        assertEquals("550e8400-e29b-41d4-a716-446655440000", submitted.getValue().userId());
+        assertEquals(1234567890L, submitted.getValue().timestamp());
+    }
+
+    @Test
+    void givenRolledBackTransaction_whenCompleted_thenDoesNotSubmit() {
+        when(session.getTransactionManager()).thenReturn(transactionManager);
+        var event = new Event();
+        event.setType(EventType.DELETE_ACCOUNT);
+        event.setUserId("550e8400-e29b-41d4-a716-446655440000");
+        provider.onEvent(event);
+        var transaction = ArgumentCaptor.forClass(KeycloakTransaction.class);
+        verify(transactionManager).enlistAfterCompletion(transaction.capture());
+
+        transaction.getValue().begin();
+        transaction.getValue().rollback();
+
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void givenNoDispatcher_whenOnEvent_thenDropsEvent() {
+        var inactive = new WebhookEventListenerProvider(session, null);
+        var event = new Event();
+        event.setType(EventType.DELETE_ACCOUNT);
+        event.setUserId("550e8400-e29b-41d4-a716-446655440000");
+
+        inactive.onEvent(event);
+
+        verifyNoInteractions(session);
+    }
+
     @Test
     void givenLoginEvent_whenOnEvent_thenDoesNotEnqueueWebhook() {
         var event = new Event();
@@ -0,0 +1,110 @@
+package br.com.drinkwater.keycloak.spi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WebhookJournalTest {
+
+    private static final WebhookEvent FIRST =
+            new WebhookEvent("e1", "DELETE_ACCOUNT", "user-1", "drinkwater", 1L);
+    private static final WebhookEvent SECOND =
+            new WebhookEvent("e2", "ADMIN_DELETE_USER", "user-2", "drinkwater", 2L);
+
+    @TempDir Path directory;
+
+    @Test
+    void givenUnacknowledgedEvents_whenReopened_thenReplaysThemInOrder() throws IOException {
+        // Given
+        try (var journal = WebhookJournal.open(directory)) {
+            journal.append(FIRST);
+            journal.append(SECOND);
+        }
+
+        // When
+        try (var reopened = WebhookJournal.open(directory)) {
+            // Then
+            assertEquals(List.of(FIRST, SECOND), reopened.pendingEvents());
+        }
+    }
+
+    @Test
+    void givenAcknowledgedEvent_whenReopened_thenOnlyReplaysTheRest() throws IOException {
+        // Given
+        try (var journal = WebhookJournal.open(directory)) {
+            journal.append(FIRST);
+            journal.append(SECOND);
+            journal.acknowledge(List.of(FIRST));
+        }
+
+        // When
+        try (var reopened = WebhookJournal.open(directory)) {
+            // Then
+            assertEquals(List.of(SECOND), reopened.pendingEvents());
+        }
+        assertEquals(1, Files.readAllLines(journalFile()).size());
+    }
+
+    @Test
+    void givenEveryEventAcknowledged_whenAcknowledge_thenTruncatesFile() throws IOException {
+        // Given
+        try (var journal = WebhookJournal.open(directory)) {
+            journal.append(FIRST);
+
+            // When
+            journal.acknowledge(List.of(FIRST));
+
+            // Then
+            assertEquals(0, Files.size(journalFile()));
+            assertTrue(journal.pendingEvents().isEmpty());
+        }
+    }
+
+    @Test
+    void givenTornLastLine_whenOpened_thenSkipsIt() throws IOException {
+        // Given
+        try (var journal = WebhookJournal.open(directory)) {
+            journal.append(FIRST);
+        }
+        Files.writeString(
+                journalFile(), "E\te2\tDELETE", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Files.writeString(
+                journalFile(),
+                "\nE\te3\tDELETE_ACCOUNT\tuser-3\tdrinkwater\tnot-a-number\nX\n",
+                StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        // When
+        try (var reopened = WebhookJournal.open(directory)) {
+            // Then
+            assertEquals(List.of(FIRST), reopened.pendingEvents());
+        }
+    }
+
+    @Test
+    void givenFieldWithTab_whenAppend_thenThrowsIllegalArgumentException() throws IOException {
+        try (var journal = WebhookJournal.open(directory)) {
+            var event = new WebhookEvent("e1", "DELETE_ACCOUNT", "user\t1", "drinkwater", 1L);
+
+            assertThrows(IllegalArgumentException.class, () -> journal.append(event));
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () ->
+                            journal.append(
+                                    new WebhookEvent(
+                                            "e2", "DELETE_ACCOUNT", "user\n2", "drinkwater", 1L)));
+            assertTrue(journal.pendingEvents().isEmpty());
+        }
+    }
+
+    private Path journalFile() {
+        return directory.resolve(WebhookJournal.FILE_NAME);
+    }
+}
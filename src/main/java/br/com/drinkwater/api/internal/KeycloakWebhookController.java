@@ -1,8 +1,15 @@
 package br.com.drinkwater.api.internal;
 
+import br.com.drinkwater.api.internal.dto.KeycloakEventBatchDTO;
+import br.com.drinkwater.api.internal.dto.KeycloakEventBatchResultDTO;
 import br.com.drinkwater.api.internal.dto.KeycloakEventDTO;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository.InboxEvent;
 import br.com.drinkwater.usermanagement.service.UserService;
+import br.com.drinkwater.usermanagement.service.WebhookInboxService;
 import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +24,9 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * <p>Handles user lifecycle events sent by Keycloak's webhook event listener SPI at {@code
  * /internal/webhooks/keycloak}. Currently supports user deletion events to synchronize local user
- * data cleanup. This endpoint is secured by a shared webhook secret, not by OAuth2 tokens.
+ * data cleanup, either one event per request or batched at {@code
+ * /internal/webhooks/keycloak/batch}. These endpoints are secured by a shared webhook secret, not
+ * by OAuth2 tokens.
  */
 @RestController
 @RequestMapping("/internal/webhooks")
@@ -25,10 +34,23 @@ public class KeycloakWebhookController {
 
     private static final Logger log = LoggerFactory.getLogger(KeycloakWebhookController.class);
 
+    /** Length of the {@code webhook_inbox.event_id} column. */
+    private static final int MAX_EVENT_ID_LENGTH = 64;
+
+    /** Length of the {@code webhook_inbox.event_type} column. */
+    private static final int MAX_EVENT_TYPE_LENGTH = 32;
+
+    /** Event types the SPI sends when a user is deleted. */
+    private static final Set<String> USER_DELETION_EVENT_TYPES =
+            Set.of("DELETE_ACCOUNT", "ADMIN_DELETE_USER");
+
     private final UserService userService;
+    private final WebhookInboxService webhookInboxService;
 
-    public KeycloakWebhookController(UserService userService) {
+    public KeycloakWebhookController(
+            UserService userService, WebhookInboxService webhookInboxService) {
         this.userService = userService;
+        this.webhookInboxService = webhookInboxService;
     }
 
     /**
@@ -43,11 +65,8 @@ public class KeycloakWebhookController {
                 event.userId(),
                 event.realmId());
 
-        UUID publicId;
-        try {
-            publicId = UUID.fromString(event.userId());
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid userId format in webhook: {}", event.userId());
+        UUID publicId = parsePublicId(event);
+        if (publicId == null) {
             return ResponseEntity.badRequest().build();
         }
 
@@ -56,4 +75,69 @@ public class KeycloakWebhookController {
 
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Receives a batch of user deletion events from the SPI's asynchronous dispatcher and stores
+     * them in the webhook inbox, answering 202 as soon as they are durable; the users are deleted
+     * in the background by {@link WebhookInboxService}. An event already in the inbox is counted as
+     * a duplicate, so a redelivered batch is harmless. Malformed events, including those whose type
+     * is not a user deletion, are listed in the response rather than failing the batch, since the
+     * SPI retries a failed batch as a whole.
+     */
+    @PostMapping("/keycloak/batch")
+    public ResponseEntity<KeycloakEventBatchResultDTO> handleKeycloakEventBatch(
+            @Valid @RequestBody KeycloakEventBatchDTO batch) {
+        log.info("Keycloak webhook batch received: events={}", batch.events().size());
+
+        List<InboxEvent> events = new ArrayList<>(batch.events().size());
+        List<String> rejected = new ArrayList<>();
+        for (KeycloakEventDTO event : batch.events()) {
+            UUID publicId = parsePublicId(event);
+            if (publicId == null
+                    || !isValidEventId(event.eventId())
+                    || !isValidEventType(event.eventType())) {
+                rejected.add(event.userId());
+                continue;
+            }
+            events.add(new InboxEvent(event.eventId(), event.eventType(), publicId));
+        }
+
+        int accepted = this.webhookInboxService.accept(events);
+        return ResponseEntity.accepted()
+                .body(
+                        new KeycloakEventBatchResultDTO(
+                                accepted, events.size() - accepted, rejected));
+    }
+
+    private static boolean isValidEventId(String eventId) {
+        if (eventId == null || eventId.isBlank() || eventId.length() > MAX_EVENT_ID_LENGTH) {
+            log.warn("Invalid eventId in webhook batch: {}", eventId);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isValidEventType(String eventType) {
+        if (eventType == null
+                || eventType.isBlank()
+                || eventType.length() > MAX_EVENT_TYPE_LENGTH
+                || !USER_DELETION_EVENT_TYPES.contains(eventType)) {
+            log.warn("Invalid eventType in webhook batch: {}", eventType);
+            return false;
+        }
+        return true;
+    }
+
+    private static UUID parsePublicId(KeycloakEventDTO event) {
+        if (event.userId() == null) {
+            log.warn("Missing userId in webhook event: eventType={}", event.eventType());
+            return null;
+        }
+        try {
+            return UUID.fromString(event.userId());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid userId format in webhook: {}", event.userId());
+            return null;
+        }
+    }
 }
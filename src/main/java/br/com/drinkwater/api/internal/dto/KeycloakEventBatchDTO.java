@@ -0,0 +1,18 @@
+package br.com.drinkwater.api.internal.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO representing a batch of events sent by Keycloak's webhook event listener SPI. Events are not
+ * validated as a whole: a malformed event is reported back in {@link KeycloakEventBatchResultDTO}
+ * instead of failing the rest of the batch.
+ */
+public record KeycloakEventBatchDTO(
+        @NotEmpty @Size(max = MAX_EVENTS) List<@NotNull KeycloakEventDTO> events) {
+
+    /** The largest batch accepted; the SPI's {@code batchSize} must not exceed it. */
+    public static final int MAX_EVENTS = 100;
+}
@@ -0,0 +1,11 @@
+package br.com.drinkwater.api.internal.dto;
+
+import java.util.List;
+
+/**
+ * DTO representing the outcome of a {@link KeycloakEventBatchDTO}. {@code accepted} counts the
+ * events stored for processing, {@code duplicates} the events that had already been received, and
+ * {@code rejected} lists the user IDs of malformed events, which will never succeed and should not
+ * be retried.
+ */
+public record KeycloakEventBatchResultDTO(int accepted, int duplicates, List<String> rejected) {}
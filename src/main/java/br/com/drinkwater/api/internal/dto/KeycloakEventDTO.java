@@ -6,8 +6,11 @@ import jakarta.validation.constraints.NotBlank;
  * DTO representing an event received from Keycloak's webhook event listener SPI. The {@code
  * eventType} identifies the lifecycle event (e.g. user deletion), {@code userId} is the Keycloak
  * user UUID, {@code realmId} identifies the realm, and {@code timestamp} is the event epoch millis.
+ * {@code eventId} is assigned by the SPI and stays the same across redeliveries; it is required in
+ * a {@link KeycloakEventBatchDTO} and ignored by the single-event endpoint.
  */
 public record KeycloakEventDTO(
+        String eventId,
         @NotBlank String eventType,
         @NotBlank String userId,
         @NotBlank String realmId,
@@ -2,6 +2,8 @@ package br.com.drinkwater.api.v1.controller;
 
 import br.com.drinkwater.api.versioning.ApiVersion;
 import br.com.drinkwater.config.security.AuthenticatedUser;
+import br.com.drinkwater.config.security.OAuthScope;
+import br.com.drinkwater.config.security.RequiresScope;
 import br.com.drinkwater.exception.ProblemDetailSchema;
 import br.com.drinkwater.exception.ScopeProblemDetailSchema;
 import br.com.drinkwater.exception.ValidationProblemDetailSchema;
@@ -20,7 +22,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -58,7 +59,7 @@ public class UserControllerV1 {
      *     with the given public ID
      */
     @GetMapping("/me")
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:user:profile:read')")
+    @RequiresScope(OAuthScope.USER_PROFILE_READ)
     @RateLimiter(name = "user-api")
     @Operation(
             summary = "Get current user profile",
@@ -96,7 +97,7 @@ public class UserControllerV1 {
      *     already exists for this public ID
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:user:profile:create')")
+    @RequiresScope(OAuthScope.USER_PROFILE_CREATE)
     @RateLimiter(name = "user-api")
     @Operation(
             summary = "Create user profile",
@@ -141,7 +142,7 @@ public class UserControllerV1 {
      *     with the given public ID
      */
     @PutMapping
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:user:profile:update')")
+    @RequiresScope(OAuthScope.USER_PROFILE_UPDATE)
     @RateLimiter(name = "user-api")
     @Operation(
             summary = "Update user profile",
@@ -184,7 +185,7 @@ public class UserControllerV1 {
      * @return an empty 204 No Content response
      */
     @DeleteMapping
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:user:profile:delete')")
+    @RequiresScope(OAuthScope.USER_PROFILE_DELETE)
     @RateLimiter(name = "user-api")
     @Operation(
             summary = "Delete user profile",
@@ -2,14 +2,28 @@ package br.com.drinkwater.api.v1.controller;
 
 import br.com.drinkwater.api.versioning.ApiVersion;
 import br.com.drinkwater.config.security.AuthenticatedUser;
+import br.com.drinkwater.config.security.OAuthScope;
+import br.com.drinkwater.config.security.RequiresScope;
 import br.com.drinkwater.core.CursorPageResponse;
 import br.com.drinkwater.exception.ProblemDetailSchema;
 import br.com.drinkwater.exception.ScopeProblemDetailSchema;
 import br.com.drinkwater.exception.ValidationProblemDetailSchema;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchResponseDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeExportFilterDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeImportResponseDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeResponseDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryResponseDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeTodayFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeTodayResponseDTO;
+import br.com.drinkwater.hydrationtracking.model.ExportFormat;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeExportService;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeImportService;
 import br.com.drinkwater.hydrationtracking.service.WaterIntakeService;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeSummaryService;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,27 +32,39 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller for water intake tracking.
  *
- * <p>Provides CRUD and search endpoints for water intake records at {@code
- * /api/v1/users/water-intakes}. All operations are scoped to the currently authenticated user and
- * support cursor-based pagination for search.
+ * <p>Provides CRUD, batch create, import, search, summary, today's progress and export endpoints
+ * for water intake records at {@code /api/v1/users/water-intakes}. All operations are scoped to the
+ * currently authenticated user and support cursor-based pagination for search.
  */
 @RestController
 @RequestMapping("/api/v1/users/water-intakes")
@@ -48,28 +74,68 @@ public class WaterIntakeControllerV1 {
 
     private static final Logger log = LoggerFactory.getLogger(WaterIntakeControllerV1.class);
 
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    /** Replaces the container's default async timeout with the export's own. */
+    private static final CallableProcessingInterceptor EXPORT_TIMEOUT =
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void beforeConcurrentHandling(
+                        NativeWebRequest request, Callable<T> task) {
+                    if (request instanceof AsyncWebRequest asyncWebRequest) {
+                        asyncWebRequest.setTimeout(WaterIntakeExportService.TIMEOUT.toMillis());
+                    }
+                }
+            };
+
     private final WaterIntakeService waterIntakeService;
+    private final WaterIntakeSummaryService waterIntakeSummaryService;
+    private final WaterIntakeExportService waterIntakeExportService;
+    private final WaterIntakeImportService waterIntakeImportService;
 
-    public WaterIntakeControllerV1(WaterIntakeService waterIntakeService) {
+    public WaterIntakeControllerV1(
+            WaterIntakeService waterIntakeService,
+            WaterIntakeSummaryService waterIntakeSummaryService,
+            WaterIntakeExportService waterIntakeExportService,
+            WaterIntakeImportService waterIntakeImportService) {
         this.waterIntakeService = waterIntakeService;
+        this.waterIntakeSummaryService = waterIntakeSummaryService;
+        this.waterIntakeExportService = waterIntakeExportService;
+        this.waterIntakeImportService = waterIntakeImportService;
     }
 
     /**
      * Creates a new water intake record for the authenticated user.
      *
+     * <p>A client that sends {@code Prefer: respond-async} (RFC 7240), such as a smart bottle
+     * posting every sip, has the record queued for write-behind ingestion when it is enabled: the
+     * response is 202 Accepted with {@code Preference-Applied: respond-async} and no body, and a
+     * duplicate date/time is skipped later instead of being reported. Otherwise the preference is
+     * ignored and the record is created synchronously.
+     *
      * @param dto the validated water intake data
+     * @param prefer the optional {@code Prefer} request header
      * @param publicId the Keycloak public ID extracted from the JWT token
-     * @return the created water intake wrapped in a 201 Created response
+     * @return the created water intake wrapped in a 201 Created response, or an empty 202 Accepted
+     *     response if it was queued
      * @throws br.com.drinkwater.hydrationtracking.exception.DuplicateDateTimeException if a record
      *     with the same date/time already exists for this user
+     * @throws br.com.drinkwater.hydrationtracking.exception.WriteBehindQueueFullException if the
+     *     record should be queued but the write-behind queue is full
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:waterintake:entry:create')")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRY_CREATE)
     @RateLimiter(name = "waterintake-api")
     @Operation(
             summary = "Create water intake record",
             description = "Creates a new water intake record for the authenticated user")
     @ApiResponse(responseCode = "201", description = "Water intake created successfully")
+    @ApiResponse(
+            responseCode = "202",
+            description = "Water intake queued for write-behind ingestion",
+            content = @Content)
     @ApiResponse(
             responseCode = "400",
             description = "Validation error or duplicate date/time",
@@ -88,13 +154,130 @@ public class WaterIntakeControllerV1 {
             responseCode = "429",
             description = "Too many requests",
             content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "503",
+            description = "Write-behind queue is full",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
     public ResponseEntity<WaterIntakeResponseDTO> create(
-            @Valid @RequestBody WaterIntakeDTO dto, @AuthenticatedUser UUID publicId) {
+            @Valid @RequestBody WaterIntakeDTO dto,
+            @Parameter(
+                            description =
+                                    "Send respond-async to queue the record for write-behind"
+                                            + " ingestion when it is enabled",
+                            example = RESPOND_ASYNC)
+                    @RequestHeader(value = PREFER, required = false)
+                    String prefer,
+            @AuthenticatedUser UUID publicId) {
         log.info("POST /api/v1/users/water-intakes for user: {}", publicId);
+        if (prefersRespondAsync(prefer) && this.waterIntakeService.isWriteBehindEnabled()) {
+            this.waterIntakeService.enqueue(dto, publicId);
+            return ResponseEntity.accepted().header(PREFERENCE_APPLIED, RESPOND_ASYNC).build();
+        }
         var responseDTO = this.waterIntakeService.create(dto, publicId);
         return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
     }
 
+    /**
+     * Creates several water intake records for the authenticated user in one request. Items that
+     * conflict with an existing date/time do not fail the batch; they are reported per item as
+     * duplicates.
+     *
+     * @param dto the validated batch of water intake data
+     * @param publicId the Keycloak public ID extracted from the JWT token
+     * @return per-item results wrapped in a 200 OK response
+     */
+    @PostMapping("/batch")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRY_CREATE)
+    @RateLimiter(name = "waterintake-api")
+    @Operation(
+            summary = "Create water intake records in batch",
+            description =
+                    "Creates up to "
+                            + WaterIntakeBatchDTO.MAX_ITEMS
+                            + " water intake records in a single transaction and reports, for"
+                            + " each item, whether it was created or skipped as a duplicate")
+    @ApiResponse(responseCode = "200", description = "Batch processed successfully")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error",
+            content =
+                    @Content(
+                            schema = @Schema(implementation = ValidationProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "401",
+            description = "Missing or invalid JWT token",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "403",
+            description = "Insufficient scope",
+            content = @Content(schema = @Schema(implementation = ScopeProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "429",
+            description = "Too many requests",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    public ResponseEntity<WaterIntakeBatchResponseDTO> createAll(
+            @Valid @RequestBody WaterIntakeBatchDTO dto, @AuthenticatedUser UUID publicId) {
+        log.info(
+                "POST /api/v1/users/water-intakes/batch ({} items) for user: {}",
+                dto.items().size(),
+                publicId);
+        var responseDTO = this.waterIntakeService.createAll(dto, publicId);
+        return ResponseEntity.ok(responseDTO);
+    }
+
+    /**
+     * Imports water intake records from an NDJSON or CSV body, such as a history migrated from
+     * another app or produced by the export endpoint.
+     *
+     * @param contentType {@code application/x-ndjson} or {@code text/csv}
+     * @param body the request body, read line by line
+     * @param publicId the Keycloak public ID extracted from the JWT token
+     * @return line counts and a report of the lines not imported, in a 200 OK response
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(
+            value = "/import",
+            consumes = {"application/x-ndjson", "text/csv"})
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRY_CREATE)
+    @RateLimiter(name = "waterintake-api")
+    @Operation(
+            summary = "Import water intake records",
+            description =
+                    "Imports up to "
+                            + WaterIntakeImportService.MAX_LINES
+                            + " newline-delimited JSON objects or CSV rows in a single transaction."
+                            + " Invalid and duplicate lines are skipped and reported by line"
+                            + " number")
+    @ApiResponse(responseCode = "200", description = "Import processed successfully")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid CSV header or too many lines",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "401",
+            description = "Missing or invalid JWT token",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "403",
+            description = "Insufficient scope",
+            content = @Content(schema = @Schema(implementation = ScopeProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "429",
+            description = "Too many requests",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    public ResponseEntity<WaterIntakeImportResponseDTO> importHistory(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            @AuthenticatedUser UUID publicId)
+            throws IOException {
+        log.info(
+                "POST /api/v1/users/water-intakes/import ({}) for user: {}", contentType, publicId);
+        var responseDTO =
+                this.waterIntakeImportService.importHistory(
+                        ExportFormat.fromMediaType(contentType), body, publicId);
+        return ResponseEntity.ok(responseDTO);
+    }
+
     /**
      * Retrieves a single water intake record by its ID.
      *
@@ -105,7 +288,7 @@ public class WaterIntakeControllerV1 {
      *     record exists with the given ID for this user
      */
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:waterintake:entry:read')")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRY_READ)
     @RateLimiter(name = "waterintake-api")
     @Operation(
             summary = "Get water intake by ID",
@@ -148,7 +331,7 @@ public class WaterIntakeControllerV1 {
      *     updated date/time conflicts with another record for this user
      */
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:waterintake:entry:update')")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRY_UPDATE)
     @RateLimiter(name = "waterintake-api")
     @Operation(
             summary = "Update water intake by ID",
@@ -194,7 +377,7 @@ public class WaterIntakeControllerV1 {
      * @return an empty 204 No Content response
      */
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:waterintake:entry:delete')")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRY_DELETE)
     @RateLimiter(name = "waterintake-api")
     @Operation(
             summary = "Delete water intake by ID",
@@ -231,7 +414,7 @@ public class WaterIntakeControllerV1 {
      * @return a cursor-paginated page of matching water intake records wrapped in a 200 OK response
      */
     @GetMapping
-    @PreAuthorize("hasAuthority('SCOPE_drinkwater:v1:waterintake:entries:search')")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRIES_SEARCH)
     @RateLimiter(name = "waterintake-search")
     @Operation(
             summary = "Search water intake records",
@@ -262,4 +445,160 @@ public class WaterIntakeControllerV1 {
         var response = this.waterIntakeService.search(filter, publicId);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Summarizes water intake per day, week or month with goal attainment.
+     *
+     * @param filter the validated period, granularity and time zone
+     * @param publicId the Keycloak public ID extracted from the JWT token
+     * @return per-bucket totals wrapped in a 200 OK response
+     */
+    @GetMapping("/summary")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRIES_SEARCH)
+    @RateLimiter(name = "waterintake-search")
+    @Operation(
+            summary = "Summarize water intake",
+            description =
+                    "Returns total volume, record count and goal attainment per day, week or"
+                            + " month, with bucket boundaries in the requested time zone")
+    @ApiResponse(responseCode = "200", description = "Summary retrieved successfully")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid summary parameters",
+            content =
+                    @Content(
+                            schema = @Schema(implementation = ValidationProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "401",
+            description = "Missing or invalid JWT token",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "403",
+            description = "Insufficient scope",
+            content = @Content(schema = @Schema(implementation = ScopeProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "429",
+            description = "Too many requests",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    public ResponseEntity<WaterIntakeSummaryResponseDTO> summary(
+            @Valid WaterIntakeSummaryFilterDTO filter, @AuthenticatedUser UUID publicId) {
+        log.debug("GET /api/v1/users/water-intakes/summary for user: {}", publicId);
+        var response = this.waterIntakeSummaryService.summarize(filter, publicId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Returns the authenticated user's progress for the current day against the daily goal.
+     *
+     * @param filter the validated time zone
+     * @param publicId the Keycloak public ID extracted from the JWT token
+     * @return today's total and goal wrapped in a 200 OK response
+     */
+    @GetMapping("/today")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRIES_SEARCH)
+    @RateLimiter(name = "waterintake-search")
+    @Operation(
+            summary = "Get today's progress",
+            description =
+                    "Returns the total volume and record count for the current day in the"
+                            + " requested time zone, compared with the daily goal")
+    @ApiResponse(responseCode = "200", description = "Progress retrieved successfully")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid time zone",
+            content =
+                    @Content(
+                            schema = @Schema(implementation = ValidationProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "401",
+            description = "Missing or invalid JWT token",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "403",
+            description = "Insufficient scope",
+            content = @Content(schema = @Schema(implementation = ScopeProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "429",
+            description = "Too many requests",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    public ResponseEntity<WaterIntakeTodayResponseDTO> today(
+            @Valid WaterIntakeTodayFilterDTO filter, @AuthenticatedUser UUID publicId) {
+        log.debug("GET /api/v1/users/water-intakes/today for user: {}", publicId);
+        var response = this.waterIntakeSummaryService.today(filter, publicId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams the authenticated user's full water intake history, oldest first. The stream may take
+     * up to {@link WaterIntakeExportService#TIMEOUT} rather than the default async timeout.
+     *
+     * @param filter the validated output format
+     * @param publicId the Keycloak public ID extracted from the JWT token
+     * @param request the current request, whose async processing timeout is set
+     * @return the records streamed as NDJSON or CSV in a 200 OK attachment response
+     */
+    @GetMapping("/export")
+    @RequiresScope(OAuthScope.WATERINTAKE_ENTRIES_SEARCH)
+    @RateLimiter(name = "waterintake-search")
+    @Operation(
+            summary = "Export water intake history",
+            description =
+                    "Streams every water intake record of the authenticated user as"
+                            + " newline-delimited JSON or CSV, without pagination")
+    @ApiResponse(
+            responseCode = "200",
+            description = "History streamed successfully",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "text/csv")
+            })
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid export format",
+            content =
+                    @Content(
+                            schema = @Schema(implementation = ValidationProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "401",
+            description = "Missing or invalid JWT token",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "403",
+            description = "Insufficient scope",
+            content = @Content(schema = @Schema(implementation = ScopeProblemDetailSchema.class)))
+    @ApiResponse(
+            responseCode = "429",
+            description = "Too many requests",
+            content = @Content(schema = @Schema(implementation = ProblemDetailSchema.class)))
+    public ResponseEntity<StreamingResponseBody> export(
+            @Valid WaterIntakeExportFilterDTO filter,
+            @AuthenticatedUser UUID publicId,
+            NativeWebRequest request) {
+        log.debug("GET /api/v1/users/water-intakes/export for user: {}", publicId);
+        ExportFormat format = ExportFormat.fromValue(filter.format());
+        var body = this.waterIntakeExportService.export(format, publicId);
+        WebAsyncUtils.getAsyncManager(request)
+                .registerCallableInterceptor(EXPORT_TIMEOUT, EXPORT_TIMEOUT);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename(format.getFileName())
+                                .build()
+                                .toString())
+                .body(body);
+    }
+
+    private static boolean prefersRespondAsync(@Nullable String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (RESPOND_ASYNC.equalsIgnoreCase(preference.split(";", 2)[0].trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
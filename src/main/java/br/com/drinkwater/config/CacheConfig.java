@@ -9,6 +9,12 @@ import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Caffeine-backed Spring cache manager for {@code @Cacheable} lookups: the user's daily goal by
+ * public ID, evicted when the profile changes and expired after {@code
+ * CACHE_USER_ID_REFRESH_MINUTES} to bound staleness across instances. The public ID to user ID
+ * mapping has its own cache, {@link br.com.drinkwater.usermanagement.service.UserIdCache}.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
@@ -24,11 +30,10 @@ public class CacheConfig {
         var caffeine =
                 Caffeine.newBuilder()
                         .maximumSize(cacheProperties.maxSize())
-                        .expireAfterWrite(
-                                Duration.ofMinutes(cacheProperties.expireAfterWriteMinutes()))
+                        .expireAfterWrite(Duration.ofMinutes(cacheProperties.refreshAfterMinutes()))
                         .recordStats();
 
-        var manager = new CaffeineCacheManager("userIdByPublicId");
+        var manager = new CaffeineCacheManager("dailyGoalByPublicId");
         manager.setCaffeine(caffeine);
         return manager;
     }
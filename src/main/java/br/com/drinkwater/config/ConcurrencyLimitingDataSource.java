@@ -0,0 +1,164 @@
+package br.com.drinkwater.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections of the wrapped pool through a fair semaphore with one permit per pooled
+ * connection. A thread that gets a permit is next in line for a connection; the others park on the
+ * semaphore, which costs a virtual thread nothing but a few hundred bytes of heap.
+ *
+ * <p>With virtual threads, the servlet container no longer caps request concurrency, so a database
+ * stall would otherwise let every incoming request queue up inside the pool until its connection
+ * timeout. Here at most {@code maxWaiting} threads wait, each for at most {@code acquireTimeout},
+ * and any further request fails immediately with a {@link SQLTransientConnectionException}, which
+ * Spring translates into a "cannot get connection" exception answered with 503.
+ *
+ * <p>The permit is released when the connection is closed, i.e. returned to the pool.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+    private final Counter rejectedCounter;
+    private final Counter timedOutCounter;
+
+    public ConcurrencyLimitingDataSource(
+            DataSource targetDataSource,
+            int maxConcurrency,
+            int maxWaiting,
+            Duration acquireTimeout,
+            MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        Gauge.builder("datasource.concurrency.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .register(meterRegistry);
+        Gauge.builder("datasource.concurrency.available", permits, Semaphore::availablePermits)
+                .description("Database connection permits not in use")
+                .register(meterRegistry);
+        this.rejectedCounter =
+                Counter.builder("datasource.concurrency.rejected")
+                        .tag("reason", "queue-full")
+                        .description("Connection requests rejected by the concurrency limit")
+                        .register(meterRegistry);
+        this.timedOutCounter =
+                Counter.builder("datasource.concurrency.rejected")
+                        .tag("reason", "timeout")
+                        .description("Connection requests rejected by the concurrency limit")
+                        .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            // A zero timeout, unlike tryAcquire(), does not barge ahead of waiting threads
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            if (permits.getQueueLength() >= maxWaiting) {
+                rejectedCounter.increment();
+                throw new SQLTransientConnectionException(
+                        "Too many threads waiting for a database connection (" + maxWaiting + ")");
+            }
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                timedOutCounter.increment();
+                throw new SQLTransientConnectionException(
+                        "Timed out waiting for a database connection permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(
+                    "Interrupted while waiting for a database connection permit", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        return (Connection)
+                Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        new PermitReleasingHandler(connection));
+    }
+
+    /** Returns the permit exactly once, on the first {@code close()} of the connection. */
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "close" -> {
+                    close();
+                    yield null;
+                }
+                default -> delegate(method, args);
+            };
+        }
+
+        private void close() throws SQLException {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                target.close();
+            } finally {
+                permits.release();
+            }
+        }
+
+        private Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -3,10 +3,14 @@ package br.com.drinkwater.config;
 import br.com.drinkwater.config.properties.ActuatorProperties;
 import br.com.drinkwater.config.properties.ApplicationProperties;
 import br.com.drinkwater.config.properties.CacheProperties;
+import br.com.drinkwater.config.properties.ClusterCacheProperties;
 import br.com.drinkwater.config.properties.ContainerProperties;
 import br.com.drinkwater.config.properties.CorsProperties;
+import br.com.drinkwater.config.properties.DailyTotalsProperties;
 import br.com.drinkwater.config.properties.DatabaseProperties;
 import br.com.drinkwater.config.properties.JacksonProperties;
+import br.com.drinkwater.config.properties.JwkSetProperties;
+import br.com.drinkwater.config.properties.JwtCacheProperties;
 import br.com.drinkwater.config.properties.KeycloakProperties;
 import br.com.drinkwater.config.properties.LocaleProperties;
 import br.com.drinkwater.config.properties.LoggingProperties;
@@ -14,7 +18,15 @@ import br.com.drinkwater.config.properties.MessageSourceProperties;
 import br.com.drinkwater.config.properties.MonitoringProperties;
 import br.com.drinkwater.config.properties.SecurityProperties;
 import br.com.drinkwater.config.properties.ServerProperties;
+import br.com.drinkwater.config.properties.TodayProgressCacheProperties;
+import br.com.drinkwater.config.properties.UserIdClaimProperties;
+import br.com.drinkwater.config.properties.UserPurgeProperties;
+import br.com.drinkwater.config.properties.VirtualThreadProperties;
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
+import br.com.drinkwater.config.properties.WaterIntakePartitionProperties;
+import br.com.drinkwater.config.properties.WebhookInboxProperties;
 import br.com.drinkwater.config.properties.WebhookProperties;
+import br.com.drinkwater.config.properties.WriteBehindProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.context.annotation.Bean;
@@ -57,7 +69,19 @@ import org.springframework.validation.annotation.Validated;
     MessageSourceProperties.class,
     ContainerProperties.class,
     WebhookProperties.class,
-    CacheProperties.class
+    WebhookInboxProperties.class,
+    UserPurgeProperties.class,
+    CacheProperties.class,
+    ClusterCacheProperties.class,
+    DailyTotalsProperties.class,
+    WaterIntakePartitionProperties.class,
+    WaterIntakeArchiveProperties.class,
+    TodayProgressCacheProperties.class,
+    JwtCacheProperties.class,
+    JwkSetProperties.class,
+    UserIdClaimProperties.class,
+    WriteBehindProperties.class,
+    VirtualThreadProperties.class
 })
 @Validated
 public class EnvironmentVariableConfiguration {
@@ -80,7 +104,8 @@ public class EnvironmentVariableConfiguration {
         LoggingSystem loggingSystem = LoggingSystem.get(getClass().getClassLoader());
         if (loggingSystem == null) {
             throw new IllegalStateException(
-                    "No LoggingSystem available. This is required for runtime logging configuration.");
+                    "No LoggingSystem available. This is required for runtime logging"
+                            + " configuration.");
         }
         return loggingSystem;
     }
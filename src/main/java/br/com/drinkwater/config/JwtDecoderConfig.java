@@ -0,0 +1,38 @@
+package br.com.drinkwater.config;
+
+import br.com.drinkwater.config.properties.KeycloakProperties;
+import br.com.drinkwater.config.security.RefreshingJwkSource;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Replaces Spring Boot's auto-configured {@link JwtDecoder}, which fetches the JWK set lazily on a
+ * request thread, with one that reads keys from the prefetched {@link RefreshingJwkSource}. Tokens
+ * are validated as before: RS256 signature, issuer ({@code KEYCLOAK_ISSUER_URI}) and timestamps.
+ */
+@Configuration
+@Profile("!it-no-containers")
+class JwtDecoderConfig {
+
+    @Bean
+    JwtDecoder jwtDecoder(RefreshingJwkSource jwkSource, KeycloakProperties keycloakProperties) {
+        var processor = new DefaultJWTProcessor<SecurityContext>();
+        processor.setJWSKeySelector(
+                new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // Claims are validated by the Spring Security validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> {});
+
+        var decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(
+                JwtValidators.createDefaultWithIssuer(keycloakProperties.issuerUri()));
+        return decoder;
+    }
+}
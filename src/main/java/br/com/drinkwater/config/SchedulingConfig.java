@@ -0,0 +1,12 @@
+package br.com.drinkwater.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, such as the water intake daily totals consistency
+ * check. A cron expression of {@code -} disables an individual job.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
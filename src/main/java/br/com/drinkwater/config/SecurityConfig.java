@@ -3,8 +3,15 @@ package br.com.drinkwater.config;
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
 import br.com.drinkwater.config.properties.ActuatorProperties;
+import br.com.drinkwater.config.properties.JwtCacheProperties;
+import br.com.drinkwater.config.properties.UserIdClaimProperties;
 import br.com.drinkwater.config.properties.WebhookProperties;
+import br.com.drinkwater.config.security.CachingJwtAuthenticationManager;
 import br.com.drinkwater.config.security.KeycloakJwtAuthenticationConverter;
+import br.com.drinkwater.config.security.UserIdClaimResolver;
+import br.com.drinkwater.config.security.UserIdClaimVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -12,6 +19,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -22,19 +30,48 @@ public class SecurityConfig {
 
     private final ActuatorProperties actuatorProperties;
     private final WebhookProperties webhookProperties;
+    private final JwtCacheProperties jwtCacheProperties;
+    private final UserIdClaimProperties userIdClaimProperties;
     private final KeycloakJwtAuthenticationConverter jwtAuthenticationConverter;
 
     public SecurityConfig(
             ActuatorProperties actuatorProperties,
             WebhookProperties webhookProperties,
+            JwtCacheProperties jwtCacheProperties,
+            UserIdClaimProperties userIdClaimProperties,
             KeycloakJwtAuthenticationConverter jwtAuthenticationConverter) {
         this.actuatorProperties = actuatorProperties;
         this.webhookProperties = webhookProperties;
+        this.jwtCacheProperties = jwtCacheProperties;
+        this.userIdClaimProperties = userIdClaimProperties;
         this.jwtAuthenticationConverter = jwtAuthenticationConverter;
     }
 
     @Bean
-    SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain filterChain(
+            HttpSecurity http,
+            JwtDecoder jwtDecoder,
+            ObjectProvider<UserIdClaimVerifier> userIdClaimVerifier,
+            MeterRegistry meterRegistry)
+            throws Exception {
+
+        UserIdClaimVerifier verifier =
+                userIdClaimProperties.enabled() ? userIdClaimVerifier.getObject() : null;
+        var userIdClaimResolver =
+                verifier != null
+                        ? new UserIdClaimResolver(
+                                userIdClaimProperties.name(), verifier, meterRegistry)
+                        : UserIdClaimResolver.DISABLED;
+        var jwtAuthenticationManager =
+                new CachingJwtAuthenticationManager(
+                        jwtDecoder,
+                        jwtAuthenticationConverter,
+                        userIdClaimResolver,
+                        jwtCacheProperties,
+                        meterRegistry);
+        if (verifier != null) {
+            verifier.addRevocationListener(jwtAuthenticationManager);
+        }
 
         String[] actuatorEndpoints =
                 actuatorProperties.endpoints().stream()
@@ -64,9 +101,7 @@ public class SecurityConfig {
                 .oauth2ResourceServer(
                         oauth2 ->
                                 oauth2.jwt(
-                                        jwt ->
-                                                jwt.jwtAuthenticationConverter(
-                                                        jwtAuthenticationConverter)))
+                                        jwt -> jwt.authenticationManager(jwtAuthenticationManager)))
                 .build();
     }
 }
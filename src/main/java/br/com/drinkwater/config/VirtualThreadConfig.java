@@ -0,0 +1,48 @@
+package br.com.drinkwater.config;
+
+import br.com.drinkwater.config.properties.DatabaseProperties;
+import br.com.drinkwater.config.properties.VirtualThreadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Guards the connection pool in the virtual-thread execution mode ({@code
+ * VIRTUAL_THREADS_ENABLED=true}, which Spring Boot applies to Tomcat and its task executors through
+ * {@code spring.threads.virtual.enabled}). The application {@link DataSource} is wrapped in a
+ * {@link ConcurrencyLimitingDataSource} with one permit per pooled connection, so the unbounded
+ * number of request threads waits on a semaphore with a bounded queue rather than inside Hikari.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            ObjectProvider<DatabaseProperties> databaseProperties,
+            ObjectProvider<VirtualThreadProperties> virtualThreadProperties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    DatabaseProperties database = databaseProperties.getObject();
+                    return new ConcurrencyLimitingDataSource(
+                            dataSource,
+                            database.poolSize(),
+                            virtualThreadProperties.getObject().databaseMaxWaiting(),
+                            Duration.ofMillis(database.connectionTimeout()),
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,23 +1,34 @@
 package br.com.drinkwater.config;
 
 import br.com.drinkwater.config.security.AuthenticatedUserArgumentResolver;
+import br.com.drinkwater.config.security.ScopeAuthorizationInterceptor;
 import java.util.List;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
     private final AuthenticatedUserArgumentResolver authenticatedUserArgumentResolver;
+    private final ScopeAuthorizationInterceptor scopeAuthorizationInterceptor;
 
-    public WebConfig(AuthenticatedUserArgumentResolver authenticatedUserArgumentResolver) {
+    public WebConfig(
+            AuthenticatedUserArgumentResolver authenticatedUserArgumentResolver,
+            ScopeAuthorizationInterceptor scopeAuthorizationInterceptor) {
         this.authenticatedUserArgumentResolver = authenticatedUserArgumentResolver;
+        this.scopeAuthorizationInterceptor = scopeAuthorizationInterceptor;
     }
 
     @Override
     public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(authenticatedUserArgumentResolver);
     }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(scopeAuthorizationInterceptor).addPathPatterns("/api/**");
+    }
 }
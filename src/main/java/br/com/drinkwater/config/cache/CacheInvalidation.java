@@ -0,0 +1,42 @@
+package br.com.drinkwater.config.cache;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An eviction sent from one instance to the others, serialized as {@code
+ * origin|cacheName|key|publishedAtMillis} so that it fits a PostgreSQL {@code NOTIFY} payload.
+ *
+ * @param origin the ID of the instance that published it, so it can ignore its own messages
+ * @param cacheName the cache to evict from
+ * @param key the public ID to evict
+ * @param publishedAt when the eviction was published, used to measure the propagation latency
+ */
+public record CacheInvalidation(String origin, String cacheName, UUID key, Instant publishedAt) {
+
+    private static final String SEPARATOR = "|";
+
+    String toPayload() {
+        return String.join(
+                SEPARATOR,
+                this.origin,
+                this.cacheName,
+                this.key.toString(),
+                Long.toString(this.publishedAt.toEpochMilli()));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload was not produced by {@link #toPayload()}
+     */
+    static CacheInvalidation parse(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + payload);
+        }
+        return new CacheInvalidation(
+                parts[0],
+                parts[1],
+                UUID.fromString(parts[2]),
+                Instant.ofEpochMilli(Long.parseLong(parts[3])));
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.drinkwater.config.cache;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts cache evictions to the other instances of the application. Every instance still evicts
+ * its own entries; the bus only tells the others, which apply the eviction through {@link
+ * CacheInvalidationDispatcher}.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Asks every other instance to evict the entry. Called inside a transaction, the message is
+     * sent only if the transaction commits.
+     *
+     * @param cacheName the cache, either a {@link ClusterCache} or a Spring cache
+     * @param key the public ID the entry is keyed by
+     */
+    void publish(String cacheName, UUID key);
+}
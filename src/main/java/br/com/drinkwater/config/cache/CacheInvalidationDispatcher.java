@@ -0,0 +1,101 @@
+package br.com.drinkwater.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies evictions received from other instances to this instance's caches: the {@link
+ * ClusterCache} with the message's cache name, or else the Spring cache of that name.
+ *
+ * <p>Publishes the {@code cache.invalidation.latency} timer, the time from publication on one
+ * instance to eviction on this one (measured with the instances' wall clocks), and the {@code
+ * cache.invalidation.received} counter, both tagged by cache.
+ */
+@Component
+public class CacheInvalidationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationDispatcher.class);
+
+    private final Map<String, ClusterCache> clusterCaches;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Autowired
+    public CacheInvalidationDispatcher(
+            List<ClusterCache> clusterCaches,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry) {
+        this(clusterCaches, cacheManager, meterRegistry, Clock.systemUTC());
+    }
+
+    CacheInvalidationDispatcher(
+            List<ClusterCache> clusterCaches,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.clusterCaches =
+                clusterCaches.stream()
+                        .collect(Collectors.toMap(ClusterCache::cacheName, Function.identity()));
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /** Evicts the entry named by an invalidation published by another instance. */
+    public void apply(CacheInvalidation invalidation) {
+        ClusterCache clusterCache = this.clusterCaches.get(invalidation.cacheName());
+        Cache springCache =
+                clusterCache == null ? this.cacheManager.getCache(invalidation.cacheName()) : null;
+        if (clusterCache == null && springCache == null) {
+            log.warn("Ignoring invalidation of unknown cache {}", invalidation.cacheName());
+            return;
+        }
+        if (clusterCache != null) {
+            clusterCache.evictLocally(invalidation.key());
+        } else {
+            springCache.evict(invalidation.key());
+        }
+
+        Duration latency = Duration.between(invalidation.publishedAt(), Instant.now(this.clock));
+        Timer.builder("cache.invalidation.latency")
+                .description("Time from publishing an eviction to applying it on this instance")
+                .tag("cache", invalidation.cacheName())
+                .register(this.meterRegistry)
+                .record(latency.isNegative() ? Duration.ZERO : latency);
+        Counter.builder("cache.invalidation.received")
+                .description("Evictions received from other instances")
+                .tag("cache", invalidation.cacheName())
+                .register(this.meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Clears every cluster-coherent cache. Called when invalidations may have been missed, e.g.
+     * after the connection that receives them was lost.
+     */
+    public void evictAll() {
+        this.clusterCaches.values().forEach(ClusterCache::evictAllLocally);
+        for (String name : this.cacheManager.getCacheNames()) {
+            Cache cache = this.cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.info("Cleared node-local caches after missing invalidations");
+    }
+}
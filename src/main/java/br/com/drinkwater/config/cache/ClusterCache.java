@@ -0,0 +1,20 @@
+package br.com.drinkwater.config.cache;
+
+import java.util.UUID;
+
+/**
+ * A node-local cache, keyed by public ID, whose entries other instances can evict through the
+ * {@link CacheInvalidationBus}. Caches managed by Spring's {@code CacheManager} do not need to
+ * implement it.
+ */
+public interface ClusterCache {
+
+    /** Returns the name used in invalidation messages. */
+    String cacheName();
+
+    /** Drops the entry of the given public ID from this instance's cache. */
+    void evictLocally(UUID key);
+
+    /** Drops every entry from this instance's cache. */
+    void evictAllLocally();
+}
@@ -0,0 +1,16 @@
+package br.com.drinkwater.config.cache;
+
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** {@link CacheInvalidationBus} for a single instance: there is nobody else to tell. */
+@Component
+@ConditionalOnProperty(name = "cache.cluster.invalidation-bus", havingValue = "local")
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    @Override
+    public void publish(String cacheName, UUID key) {
+        // Evictions are already applied locally by the caller
+    }
+}
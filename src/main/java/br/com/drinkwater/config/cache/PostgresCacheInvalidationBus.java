@@ -0,0 +1,191 @@
+package br.com.drinkwater.config.cache;
+
+import br.com.drinkwater.config.properties.ClusterCacheProperties;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CacheInvalidationBus} over PostgreSQL {@code LISTEN}/{@code NOTIFY}, so that several
+ * instances keep their caches coherent without any infrastructure besides the database.
+ *
+ * <ul>
+ *   <li><b>Publish</b>: {@code pg_notify} runs on the caller's transactional connection. PostgreSQL
+ *       delivers the notification only when that transaction commits, and drops it on rollback.
+ *   <li><b>Listen</b>: a virtual thread holds one dedicated connection, outside the Hikari pool,
+ *       and polls it for notifications. Messages published by this instance are ignored.
+ *   <li><b>Reconnect</b>: if the connection is lost, notifications sent in the meantime are gone,
+ *       so after reconnecting every cluster-coherent cache on this instance is cleared.
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "cache.cluster.invalidation-bus", havingValue = "postgres")
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final JdbcOperations jdbcOperations;
+    private final Connector connector;
+    private final CacheInvalidationDispatcher dispatcher;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final Clock clock;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @Autowired
+    public PostgresCacheInvalidationBus(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            JdbcConnectionDetails connectionDetails,
+            CacheInvalidationDispatcher dispatcher,
+            ClusterCacheProperties properties) {
+        this(
+                jdbcTemplate.getJdbcOperations(),
+                () ->
+                        DriverManager.getConnection(
+                                connectionDetails.getJdbcUrl(),
+                                connectionDetails.getUsername(),
+                                connectionDetails.getPassword()),
+                dispatcher,
+                properties.channel(),
+                Duration.ofSeconds(5),
+                Clock.systemUTC());
+    }
+
+    PostgresCacheInvalidationBus(
+            JdbcOperations jdbcOperations,
+            Connector connector,
+            CacheInvalidationDispatcher dispatcher,
+            String channel,
+            Duration reconnectDelay,
+            Clock clock) {
+        this.jdbcOperations = jdbcOperations;
+        this.connector = connector;
+        this.dispatcher = dispatcher;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+        this.clock = clock;
+    }
+
+    @Override
+    public void publish(String cacheName, UUID key) {
+        var invalidation =
+                new CacheInvalidation(this.nodeId, cacheName, key, Instant.now(this.clock));
+        this.jdbcOperations.query(
+                NOTIFY_SQL,
+                (ResultSetExtractor<Void>) rs -> null,
+                this.channel,
+                invalidation.toPayload());
+    }
+
+    @Override
+    public void start() {
+        this.running = true;
+        this.listener = Thread.ofVirtual().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        this.listener.interrupt();
+        try {
+            this.listener.join(POLL_TIMEOUT_MILLIS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Keeps a connection listening on the channel until the bus is stopped, reconnecting after
+     * {@code reconnectDelay} when it fails.
+     */
+    private void listen() {
+        boolean reconnecting = false;
+        while (this.running) {
+            try (Connection connection = this.connector.connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + this.channel);
+                }
+                if (reconnecting) {
+                    this.dispatcher.evictAll();
+                }
+                log.info("Listening for cache invalidations on channel {}", this.channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (this.running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!this.running) {
+                    return;
+                }
+                log.warn(
+                        "Cache invalidation listener lost its connection, reconnecting in {}: {}",
+                        this.reconnectDelay,
+                        e.getMessage());
+                reconnecting = true;
+                pause();
+            }
+        }
+    }
+
+    void receive(String payload) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = CacheInvalidation.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache invalidation on {}: {}", this.channel, payload);
+            return;
+        }
+        if (!this.nodeId.equals(invalidation.origin())) {
+            this.dispatcher.apply(invalidation);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(this.reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.running = false;
+        }
+    }
+
+    /** Opens the dedicated connection that listens for notifications. */
+    @FunctionalInterface
+    interface Connector {
+        Connection connect() throws SQLException;
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.drinkwater.config.health;
 
+import br.com.drinkwater.config.properties.VirtualThreadProperties;
 import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -9,8 +11,20 @@ import org.springframework.context.annotation.Profile;
 @Profile("!it-no-containers")
 class HealthClientConfig {
 
+    /**
+     * In virtual-thread mode the client also runs its response handling on virtual threads instead
+     * of its default cached pool of platform threads, so a stalled Keycloak parks only virtual
+     * threads.
+     */
     @Bean
-    HttpClient healthCheckHttpClient() {
-        return HttpClient.newBuilder().connectTimeout(KeycloakHealthClient.REQUEST_TIMEOUT).build();
+    HttpClient healthCheckHttpClient(VirtualThreadProperties virtualThreadProperties) {
+        HttpClient.Builder builder =
+                HttpClient.newBuilder().connectTimeout(KeycloakHealthClient.REQUEST_TIMEOUT);
+        if (virtualThreadProperties.enabled()) {
+            builder.executor(
+                    Executors.newThreadPerTaskExecutor(
+                            Thread.ofVirtual().name("keycloak-health-", 0).factory()));
+        }
+        return builder.build();
     }
 }
@@ -8,7 +8,10 @@ import org.springframework.validation.annotation.Validated;
 
 /**
  * Immutable configuration properties for the Caffeine cache that maps user publicId (UUID) to
- * userId (Long). All properties are loaded at bootstrap time and cannot be modified at runtime.
+ * userId (Long). {@code refreshAfterMinutes} is how long a known mapping is served before it is
+ * reloaded in the background, and {@code negativeTtlSeconds} how long an unknown publicId is
+ * remembered as such. All properties are loaded at bootstrap time and cannot be modified at
+ * runtime.
  */
 @ConfigurationProperties(prefix = "cache.user-id-by-public-id")
 @Validated
@@ -17,9 +20,15 @@ public record CacheProperties(
                 @Min(value = 100, message = "CACHE_USER_ID_MAX_SIZE must be at least 100")
                 @Max(value = 1_000_000, message = "CACHE_USER_ID_MAX_SIZE cannot exceed 1000000")
                 Integer maxSize,
-        @NotNull(message = "CACHE_USER_ID_EXPIRE_MINUTES environment variable is required")
-                @Min(value = 1, message = "CACHE_USER_ID_EXPIRE_MINUTES must be at least 1 minute")
+        @NotNull(message = "CACHE_USER_ID_REFRESH_MINUTES environment variable is required")
+                @Min(value = 1, message = "CACHE_USER_ID_REFRESH_MINUTES must be at least 1 minute")
                 @Max(
                         value = 1440,
-                        message = "CACHE_USER_ID_EXPIRE_MINUTES cannot exceed 1440 (24 hours)")
-                Integer expireAfterWriteMinutes) {}
+                        message = "CACHE_USER_ID_REFRESH_MINUTES cannot exceed 1440 (24 hours)")
+                Integer refreshAfterMinutes,
+        @NotNull(message = "CACHE_USER_ID_NEGATIVE_TTL_SECONDS environment variable is required")
+                @Min(value = 1, message = "CACHE_USER_ID_NEGATIVE_TTL_SECONDS must be at least 1")
+                @Max(
+                        value = 3600,
+                        message = "CACHE_USER_ID_NEGATIVE_TTL_SECONDS cannot exceed 3600 (1 hour)")
+                Integer negativeTtlSeconds) {}
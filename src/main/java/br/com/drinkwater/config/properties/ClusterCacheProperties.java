@@ -0,0 +1,36 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for keeping node-local caches coherent across instances.
+ * {@code invalidationBus} selects how evictions reach the other instances: {@code local} for a
+ * single instance, or {@code postgres} to broadcast them with {@code NOTIFY} on {@code channel}.
+ * {@code warmupSize} is the number of user ID mappings loaded at startup. All properties are loaded
+ * at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "cache.cluster")
+@Validated
+public record ClusterCacheProperties(
+        @NotBlank(message = "CACHE_INVALIDATION_BUS environment variable is required")
+                @Pattern(
+                        regexp = "local|postgres",
+                        message = "CACHE_INVALIDATION_BUS must be local or postgres")
+                String invalidationBus,
+        @NotBlank(message = "CACHE_INVALIDATION_CHANNEL environment variable is required")
+                @Pattern(
+                        regexp = "[a-z_][a-z0-9_]{0,62}",
+                        message =
+                                "CACHE_INVALIDATION_CHANNEL must be a lowercase identifier of at"
+                                        + " most 63 characters")
+                String channel,
+        @NotNull(message = "CACHE_WARMUP_SIZE environment variable is required")
+                @Min(value = 0, message = "CACHE_WARMUP_SIZE must be at least 0")
+                @Max(value = 100_000, message = "CACHE_WARMUP_SIZE cannot exceed 100000")
+                Integer warmupSize) {}
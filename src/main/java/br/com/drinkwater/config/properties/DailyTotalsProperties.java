@@ -0,0 +1,27 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the {@code water_intake_daily_totals} rollup. {@code
+ * timeZones} lists the IANA time zones whose local days are maintained, and {@code
+ * consistencyCheckCron} schedules the drift check ({@code -} disables it). All properties are
+ * loaded at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "water-intake.daily-totals")
+@Validated
+public record DailyTotalsProperties(
+        @NotEmpty(
+                        message =
+                                "WATER_INTAKE_DAILY_TOTALS_TIME_ZONES environment variable is"
+                                        + " required")
+                List<String> timeZones,
+        @NotBlank(
+                        message =
+                                "WATER_INTAKE_DAILY_TOTALS_CHECK_CRON environment variable is"
+                                        + " required")
+                String consistencyCheckCron) {}
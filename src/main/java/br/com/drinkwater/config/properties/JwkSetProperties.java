@@ -0,0 +1,30 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the Keycloak JWK set used to verify access tokens. The set
+ * is fetched at startup and refreshed in the background every {@code refreshSeconds}; a token
+ * signed with a key that is not in the set triggers an earlier refresh at most once every {@code
+ * minRefreshSeconds}. Each fetch gives up after {@code fetchTimeoutMillis}. All properties are
+ * loaded at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "jwk-set")
+@Validated
+public record JwkSetProperties(
+        @NotNull(message = "JWK_SET_REFRESH_SECONDS environment variable is required")
+                @Min(value = 30, message = "JWK_SET_REFRESH_SECONDS must be at least 30")
+                @Max(value = 86_400, message = "JWK_SET_REFRESH_SECONDS cannot exceed 86400")
+                Integer refreshSeconds,
+        @NotNull(message = "JWK_SET_MIN_REFRESH_SECONDS environment variable is required")
+                @Min(value = 1, message = "JWK_SET_MIN_REFRESH_SECONDS must be at least 1")
+                @Max(value = 3600, message = "JWK_SET_MIN_REFRESH_SECONDS cannot exceed 3600")
+                Integer minRefreshSeconds,
+        @NotNull(message = "JWK_SET_FETCH_TIMEOUT_MILLIS environment variable is required")
+                @Min(value = 100, message = "JWK_SET_FETCH_TIMEOUT_MILLIS must be at least 100")
+                @Max(value = 30_000, message = "JWK_SET_FETCH_TIMEOUT_MILLIS cannot exceed 30000")
+                Integer fetchTimeoutMillis) {}
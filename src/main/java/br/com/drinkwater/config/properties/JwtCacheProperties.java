@@ -0,0 +1,20 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the Caffeine cache of verified access tokens. Each entry
+ * expires at its token's {@code exp} claim, so only the number of entries is configurable. All
+ * properties are loaded at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "cache.jwt")
+@Validated
+public record JwtCacheProperties(
+        @NotNull(message = "CACHE_JWT_MAX_SIZE environment variable is required")
+                @Min(value = 100, message = "CACHE_JWT_MAX_SIZE must be at least 100")
+                @Max(value = 1_000_000, message = "CACHE_JWT_MAX_SIZE cannot exceed 1000000")
+                Integer maxSize) {}
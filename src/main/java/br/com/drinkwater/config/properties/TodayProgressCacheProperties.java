@@ -0,0 +1,32 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the Caffeine cache of per-user "today" accumulators behind
+ * {@code GET /api/v1/users/water-intakes/today}. {@code reloadAfterMinutes} bounds how long an
+ * accumulator is served from memory before it is re-read from the database. All properties are
+ * loaded at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "cache.today-progress")
+@Validated
+public record TodayProgressCacheProperties(
+        @NotNull(message = "CACHE_TODAY_PROGRESS_MAX_SIZE environment variable is required")
+                @Min(value = 100, message = "CACHE_TODAY_PROGRESS_MAX_SIZE must be at least 100")
+                @Max(
+                        value = 1_000_000,
+                        message = "CACHE_TODAY_PROGRESS_MAX_SIZE cannot exceed 1000000")
+                Integer maxSize,
+        @NotNull(message = "CACHE_TODAY_PROGRESS_RELOAD_MINUTES environment variable is required")
+                @Min(
+                        value = 1,
+                        message = "CACHE_TODAY_PROGRESS_RELOAD_MINUTES must be at least 1 minute")
+                @Max(
+                        value = 1440,
+                        message =
+                                "CACHE_TODAY_PROGRESS_RELOAD_MINUTES cannot exceed 1440 (24 hours)")
+                Integer reloadAfterMinutes) {}
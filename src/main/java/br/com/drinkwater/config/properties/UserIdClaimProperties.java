@@ -0,0 +1,21 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for reading the internal user ID from the access token. When
+ * {@code enabled}, a Keycloak protocol mapper is expected to write the user ID into the {@code
+ * name} claim; the claim is checked against the user ID cache the first time a token is seen and
+ * then used instead of resolving the token's subject. All properties are loaded at bootstrap time
+ * and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "user-id-claim")
+@Validated
+public record UserIdClaimProperties(
+        @NotNull(message = "JWT_USER_ID_CLAIM_ENABLED environment variable is required")
+                Boolean enabled,
+        @NotBlank(message = "JWT_USER_ID_CLAIM_NAME environment variable is required")
+                String name) {}
@@ -0,0 +1,30 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the background purge of deleted users. {@code cron}
+ * schedules the job ({@code -} disables it), {@code chunkSize} is the number of water intakes
+ * deleted per transaction, {@code rowsPerSecond} caps the sustained delete rate, and a run stops
+ * after {@code maxChunksPerRun} chunks, leaving the rest to the next run. All properties are loaded
+ * at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "user-purge")
+@Validated
+public record UserPurgeProperties(
+        @NotBlank(message = "USER_PURGE_CRON environment variable is required") String cron,
+        @NotNull(message = "USER_PURGE_CHUNK_SIZE environment variable is required")
+                @Min(value = 1, message = "USER_PURGE_CHUNK_SIZE must be at least 1")
+                @Max(value = 50_000, message = "USER_PURGE_CHUNK_SIZE cannot exceed 50000")
+                Integer chunkSize,
+        @NotNull(message = "USER_PURGE_ROWS_PER_SECOND environment variable is required")
+                @Min(value = 1, message = "USER_PURGE_ROWS_PER_SECOND must be at least 1")
+                Integer rowsPerSecond,
+        @NotNull(message = "USER_PURGE_MAX_CHUNKS_PER_RUN environment variable is required")
+                @Min(value = 1, message = "USER_PURGE_MAX_CHUNKS_PER_RUN must be at least 1")
+                Integer maxChunksPerRun) {}
@@ -0,0 +1,46 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the virtual-thread execution mode. When {@code enabled},
+ * Tomcat, the task executors and the Keycloak health check client run on virtual threads, and
+ * connections are handed out by a semaphore with one permit per pooled connection: up to {@code
+ * databaseMaxWaiting} threads may wait for a permit, further ones fail fast instead of piling up.
+ * All properties are loaded at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "virtual-threads")
+@Validated
+public record VirtualThreadProperties(
+        @NotNull(message = "VIRTUAL_THREADS_ENABLED environment variable is required")
+                Boolean enabled,
+        @NotNull(
+                        message =
+                                "VIRTUAL_THREADS_DATABASE_MAX_WAITING environment variable is"
+                                        + " required")
+                @Min(value = 1, message = "VIRTUAL_THREADS_DATABASE_MAX_WAITING must be at least 1")
+                @Max(
+                        value = 10_000,
+                        message = "VIRTUAL_THREADS_DATABASE_MAX_WAITING cannot exceed 10000")
+                Integer databaseMaxWaiting) {
+
+    /**
+     * Checks that the connection pool has a fixed size in virtual-thread mode, so a burst of
+     * virtual threads does not make Hikari open connections while requests wait for them.
+     */
+    public boolean isPoolFixedSize(DatabaseProperties database) {
+        return !enabled || database.minIdle().equals(database.poolSize());
+    }
+
+    /**
+     * Checks that at least one full pool of threads may wait for a connection in virtual-thread
+     * mode, so a single burst the size of the pool is not rejected.
+     */
+    public boolean isWaitQueueSizedFor(DatabaseProperties database) {
+        return !enabled || databaseMaxWaiting >= database.poolSize();
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the archive of old water intakes. {@code cron} schedules
+ * the archive job ({@code -} disables it), which moves records dated before the UTC month {@code
+ * afterMonths} months back ({@code 0} archives nothing) into {@code water_intake_archive}, at most
+ * {@code monthsPerRun} user-months per run. A search request decodes at most {@code
+ * maxSearchMonths} archived months. Writes only look for archived duplicates of records dated
+ * before the cutoff, so {@code afterMonths} must not be raised while newer months are archived. All
+ * properties are loaded at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "water-intake.archive")
+@Validated
+public record WaterIntakeArchiveProperties(
+        @NotBlank(message = "WATER_INTAKE_ARCHIVE_CRON environment variable is required")
+                String cron,
+        @NotNull(message = "WATER_INTAKE_ARCHIVE_AFTER_MONTHS environment variable is required")
+                @Min(value = 0, message = "WATER_INTAKE_ARCHIVE_AFTER_MONTHS cannot be negative")
+                @Max(value = 1200, message = "WATER_INTAKE_ARCHIVE_AFTER_MONTHS cannot exceed 1200")
+                Integer afterMonths,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_ARCHIVE_MONTHS_PER_RUN environment variable is"
+                                        + " required")
+                @Min(value = 1, message = "WATER_INTAKE_ARCHIVE_MONTHS_PER_RUN must be at least 1")
+                Integer monthsPerRun,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_ARCHIVE_MAX_SEARCH_MONTHS environment variable is"
+                                        + " required")
+                @Min(
+                        value = 1,
+                        message = "WATER_INTAKE_ARCHIVE_MAX_SEARCH_MONTHS must be at least 1")
+                Integer maxSearchMonths) {}
@@ -0,0 +1,36 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the monthly partitions of {@code water_intakes} on
+ * PostgreSQL. {@code cron} schedules the maintenance job ({@code -} disables it), which keeps
+ * partitions for the current month and {@code monthsAhead} following months, and detaches
+ * partitions more than {@code retentionMonths} months old ({@code 0} keeps them all). All
+ * properties are loaded at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "water-intake.partitions")
+@Validated
+public record WaterIntakePartitionProperties(
+        @NotBlank(message = "WATER_INTAKE_PARTITION_CRON environment variable is required")
+                String cron,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_PARTITION_MONTHS_AHEAD environment variable is"
+                                        + " required")
+                @Min(value = 1, message = "WATER_INTAKE_PARTITION_MONTHS_AHEAD must be at least 1")
+                @Max(value = 24, message = "WATER_INTAKE_PARTITION_MONTHS_AHEAD cannot exceed 24")
+                Integer monthsAhead,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_PARTITION_RETENTION_MONTHS environment variable is"
+                                        + " required")
+                @Min(
+                        value = 0,
+                        message = "WATER_INTAKE_PARTITION_RETENTION_MONTHS cannot be negative")
+                Integer retentionMonths) {}
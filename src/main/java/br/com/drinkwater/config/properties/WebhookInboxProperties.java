@@ -0,0 +1,31 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for the {@code webhook_inbox} table behind the batched
+ * Keycloak webhook. {@code processCron} schedules the worker that applies pending events ({@code -}
+ * disables it), {@code batchSize} is the number of events applied per transaction, and processed
+ * events are kept for {@code retentionHours} to recognize late redeliveries. All properties are
+ * loaded at bootstrap time and cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "webhook.inbox")
+@Validated
+public record WebhookInboxProperties(
+        @NotBlank(message = "WEBHOOK_INBOX_PROCESS_CRON environment variable is required")
+                String processCron,
+        @NotNull(message = "WEBHOOK_INBOX_BATCH_SIZE environment variable is required")
+                @Min(value = 1, message = "WEBHOOK_INBOX_BATCH_SIZE must be at least 1")
+                @Max(value = 5_000, message = "WEBHOOK_INBOX_BATCH_SIZE cannot exceed 5000")
+                Integer batchSize,
+        @NotNull(message = "WEBHOOK_INBOX_RETENTION_HOURS environment variable is required")
+                @Min(value = 1, message = "WEBHOOK_INBOX_RETENTION_HOURS must be at least 1")
+                @Max(
+                        value = 8_760,
+                        message = "WEBHOOK_INBOX_RETENTION_HOURS cannot exceed 8760 (1 year)")
+                Integer retentionHours) {}
@@ -0,0 +1,87 @@
+package br.com.drinkwater.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Immutable configuration properties for write-behind ingestion of water intakes. When {@code
+ * enabled}, a create request sent with {@code Prefer: respond-async} is queued (up to {@code
+ * queueCapacity} records) and acknowledged with 202; queued records are inserted in batches of up
+ * to {@code batchSize} at least every {@code flushIntervalMillis}. A request waits up to {@code
+ * offerTimeoutMillis} for room in a full queue, and shutdown waits up to {@code
+ * shutdownTimeoutSeconds} for the queue to drain. All properties are loaded at bootstrap time and
+ * cannot be modified at runtime.
+ */
+@ConfigurationProperties(prefix = "water-intake.write-behind")
+@Validated
+public record WriteBehindProperties(
+        @NotNull(message = "WATER_INTAKE_WRITE_BEHIND_ENABLED environment variable is required")
+                Boolean enabled,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_QUEUE_CAPACITY environment variable is"
+                                        + " required")
+                @Min(
+                        value = 100,
+                        message = "WATER_INTAKE_WRITE_BEHIND_QUEUE_CAPACITY must be at least 100")
+                @Max(
+                        value = 1_000_000,
+                        message = "WATER_INTAKE_WRITE_BEHIND_QUEUE_CAPACITY cannot exceed 1000000")
+                Integer queueCapacity,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_BATCH_SIZE environment variable is"
+                                        + " required")
+                @Min(value = 1, message = "WATER_INTAKE_WRITE_BEHIND_BATCH_SIZE must be at least 1")
+                @Max(
+                        value = 5_000,
+                        message = "WATER_INTAKE_WRITE_BEHIND_BATCH_SIZE cannot exceed 5000")
+                Integer batchSize,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS environment"
+                                        + " variable is required")
+                @Min(
+                        value = 10,
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS must be at least"
+                                        + " 10")
+                @Max(
+                        value = 60_000,
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS cannot exceed"
+                                        + " 60000 (1 minute)")
+                Integer flushIntervalMillis,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_OFFER_TIMEOUT_MILLIS environment"
+                                        + " variable is required")
+                @Min(
+                        value = 0,
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_OFFER_TIMEOUT_MILLIS cannot be"
+                                        + " negative")
+                @Max(
+                        value = 5_000,
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_OFFER_TIMEOUT_MILLIS cannot exceed"
+                                        + " 5000")
+                Integer offerTimeoutMillis,
+        @NotNull(
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_SHUTDOWN_TIMEOUT_SECONDS environment"
+                                        + " variable is required")
+                @Min(
+                        value = 1,
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_SHUTDOWN_TIMEOUT_SECONDS must be at"
+                                        + " least 1")
+                @Max(
+                        value = 300,
+                        message =
+                                "WATER_INTAKE_WRITE_BEHIND_SHUTDOWN_TIMEOUT_SECONDS cannot exceed"
+                                        + " 300")
+                Integer shutdownTimeoutSeconds) {}
@@ -1,5 +1,6 @@
 package br.com.drinkwater.config.security;
 
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.core.MethodParameter;
 import org.springframework.lang.NonNull;
@@ -12,6 +13,11 @@ import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
+/**
+ * Resolves {@link AuthenticatedUser} parameters to the public ID of the authenticated user, the
+ * token's subject. When the token also carried a verified {@code user_id} claim, services receive
+ * the internal ID through {@link #verifiedUserId(UUID)} instead of looking it up.
+ */
 @Component
 public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
 
@@ -39,4 +45,21 @@ public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentR
                                 ? authentication.getClass().getSimpleName()
                                 : "null"));
     }
+
+    /**
+     * Returns the internal ID of the given user when the current request was authenticated with a
+     * token whose subject is that user and which carried a verified {@code user_id} claim.
+     *
+     * @param publicId the Keycloak public ID being resolved
+     * @return the verified internal user ID, or empty if the lookup is still needed
+     */
+    public static Optional<Long> verifiedUserId(UUID publicId) {
+        if (SecurityContextHolder.getContext().getAuthentication()
+                        instanceof ScopedJwtAuthenticationToken token
+                && token.getUserId() != null
+                && publicId.toString().equals(token.getToken().getSubject())) {
+            return Optional.of(token.getUserId());
+        }
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,199 @@
+package br.com.drinkwater.config.security;
+
+import br.com.drinkwater.config.properties.JwtCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Authenticates bearer tokens through the {@link JwtDecoder} and {@link
+ * KeycloakJwtAuthenticationConverter} only the first time a token is seen.
+ *
+ * <p>Mobile clients send the same access token for its whole lifetime, so after one successful
+ * verification the decoded {@link Jwt} and its authorities are kept in a bounded Caffeine cache
+ * keyed by the SHA-256 hash of the token, and each entry expires at the token's {@code exp} claim.
+ * Later requests with that token skip the signature verification and claim validation and only
+ * build a new {@link ScopedJwtAuthenticationToken}. Tokens that fail verification or have no expiry
+ * are never cached. When the {@code user_id} claim is enabled, the claim is checked by the {@link
+ * UserIdClaimResolver} on the first sight of a token and the verified ID is cached with it. As a
+ * {@link UserIdRevocationListener}, the manager drops the cached tokens carrying a verified ID once
+ * that ID is revoked, so a deleted user's next request is verified again and resolved through the
+ * subject. Revocation scans the cache, which is cheap next to how rarely users are deleted.
+ *
+ * <p>Cache statistics are published under the {@code jwt} cache name, and the time spent verifying
+ * uncached tokens as the {@code security.jwt.verification} timer.
+ */
+public class CachingJwtAuthenticationManager
+        implements AuthenticationManager, UserIdRevocationListener {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final JwtAuthenticationProvider verifier;
+    private final UserIdClaimResolver userIdClaimResolver;
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+    private final Clock clock;
+    private final Timer verificationTimer;
+    private final AtomicLong revocations = new AtomicLong();
+
+    public CachingJwtAuthenticationManager(
+            JwtDecoder jwtDecoder,
+            KeycloakJwtAuthenticationConverter jwtAuthenticationConverter,
+            UserIdClaimResolver userIdClaimResolver,
+            JwtCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this(
+                jwtDecoder,
+                jwtAuthenticationConverter,
+                userIdClaimResolver,
+                properties,
+                meterRegistry,
+                Ticker.systemTicker(),
+                Clock.systemUTC());
+    }
+
+    CachingJwtAuthenticationManager(
+            JwtDecoder jwtDecoder,
+            KeycloakJwtAuthenticationConverter jwtAuthenticationConverter,
+            UserIdClaimResolver userIdClaimResolver,
+            JwtCacheProperties properties,
+            MeterRegistry meterRegistry,
+            Ticker ticker,
+            Clock clock) {
+        this.verifier = new JwtAuthenticationProvider(jwtDecoder);
+        this.verifier.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        this.userIdClaimResolver = userIdClaimResolver;
+        this.clock = clock;
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(properties.maxSize())
+                        .expireAfter(Expiry.creating(this::untilExpiry))
+                        .ticker(ticker)
+                        .recordStats()
+                        .build();
+        this.verificationTimer =
+                Timer.builder("security.jwt.verification")
+                        .description("Time to verify an access token that is not cached")
+                        .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "jwt");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        BearerTokenAuthenticationToken bearer = (BearerTokenAuthenticationToken) authentication;
+        ByteBuffer key = hash(bearer.getToken());
+
+        VerifiedToken cached = this.cache.getIfPresent(key);
+        if (cached != null) {
+            var result =
+                    new ScopedJwtAuthenticationToken(
+                            cached.jwt(),
+                            cached.authorities(),
+                            cached.name(),
+                            cached.scopeBits(),
+                            cached.userId());
+            result.setDetails(bearer.getDetails());
+            return result;
+        }
+
+        long revocationsBefore = this.revocations.get();
+        var authenticated =
+                (JwtAuthenticationToken)
+                        this.verificationTimer.record(() -> this.verifier.authenticate(bearer));
+        var verified =
+                new VerifiedToken(
+                        authenticated.getToken(),
+                        List.copyOf(authenticated.getAuthorities()),
+                        authenticated.getName(),
+                        ScopedJwtAuthenticationToken.scopeBitsOf(authenticated),
+                        this.userIdClaimResolver.resolve(authenticated.getToken()));
+        if (verified.jwt().getExpiresAt() != null) {
+            this.cache.put(key, verified);
+            if (verified.userId() != null && this.revocations.get() != revocationsBefore) {
+                // A revocation may have scanned the cache before this entry was added
+                this.cache.invalidate(key);
+            }
+        }
+        if (verified.userId() == null) {
+            return authenticated;
+        }
+        var result =
+                new ScopedJwtAuthenticationToken(
+                        verified.jwt(),
+                        verified.authorities(),
+                        verified.name(),
+                        verified.scopeBits(),
+                        verified.userId());
+        result.setDetails(bearer.getDetails());
+        return result;
+    }
+
+    @Override
+    public void revoke(UUID publicId) {
+        String subject = publicId.toString();
+        this.revocations.incrementAndGet();
+        this.cache
+                .asMap()
+                .values()
+                .removeIf(
+                        token ->
+                                token.userId() != null && subject.equals(token.jwt().getSubject()));
+    }
+
+    @Override
+    public void revokeAll() {
+        this.revocations.incrementAndGet();
+        this.cache.asMap().values().removeIf(token -> token.userId() != null);
+    }
+
+    private Duration untilExpiry(ByteBuffer key, VerifiedToken token) {
+        Duration remaining = Duration.between(Instant.now(this.clock), token.jwt().getExpiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static ByteBuffer hash(String token) {
+        return ByteBuffer.wrap(
+                messageDigest(HASH_ALGORITHM).digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    static MessageDigest messageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " is not available", e);
+        }
+    }
+
+    /**
+     * A verified token with the authorities, principal name, scope bits and verified user ID (or
+     * {@code null}) derived from it.
+     */
+    private record VerifiedToken(
+            Jwt jwt,
+            Collection<GrantedAuthority> authorities,
+            String name,
+            long scopeBits,
+            Long userId) {}
+}
@@ -11,7 +11,6 @@ import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.stereotype.Component;
 
@@ -21,7 +20,9 @@ import org.springframework.stereotype.Component;
  * realm_access.roles} claim).
  *
  * <p>Scopes are prefixed with {@code SCOPE_} by Spring Security's default converter. Realm roles
- * are prefixed with {@code ROLE_} to work with {@code hasRole()} expressions.
+ * are prefixed with {@code ROLE_} to work with {@code hasRole()} expressions. The scopes are also
+ * converted once to {@link OAuthScope} bits, carried by the returned {@link
+ * ScopedJwtAuthenticationToken} for {@link ScopeAuthorizationInterceptor}.
  */
 @Component
 public class KeycloakJwtAuthenticationConverter
@@ -45,7 +46,7 @@ public class KeycloakJwtAuthenticationConverter
         List<GrantedAuthority> combined =
                 Stream.concat(scopeAuthorities.stream(), roleAuthorities.stream()).toList();
 
-        return new JwtAuthenticationToken(jwt, combined);
+        return new ScopedJwtAuthenticationToken(jwt, combined, OAuthScope.bits(scopeAuthorities));
     }
 
     @SuppressWarnings("unchecked")
@@ -1,9 +1,19 @@
 package br.com.drinkwater.config.security;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.security.core.GrantedAuthority;
+
 /**
- * Centralizes all OAuth scope constants used by {@code @PreAuthorize} annotations. Each constant
- * includes the {@code SCOPE_} prefix expected by Spring Security when mapping JWT scope claims to
- * granted authorities.
+ * Centralizes all OAuth scope constants used by {@link RequiresScope} and {@code @PreAuthorize}
+ * annotations. Each constant includes the {@code SCOPE_} prefix expected by Spring Security when
+ * mapping JWT scope claims to granted authorities.
+ *
+ * <p>Each scope also owns one bit of a {@code long}, so the scopes of a token and the scope
+ * required by an endpoint can be compared with a single AND (see {@link
+ * ScopeAuthorizationInterceptor}).
  */
 public final class OAuthScope {
 
@@ -26,5 +36,50 @@ public final class OAuthScope {
     public static final String ADMIN_CONFIG_MANAGE = "SCOPE_drinkwater:v1:admin:config:manage";
     public static final String ADMIN_CONFIG_READ = "SCOPE_drinkwater:v1:admin:config:read";
 
+    private static final Map<String, Long> BITS =
+            index(
+                    List.of(
+                            USER_PROFILE_READ,
+                            USER_PROFILE_CREATE,
+                            USER_PROFILE_UPDATE,
+                            USER_PROFILE_DELETE,
+                            WATERINTAKE_ENTRY_READ,
+                            WATERINTAKE_ENTRY_CREATE,
+                            WATERINTAKE_ENTRY_UPDATE,
+                            WATERINTAKE_ENTRY_DELETE,
+                            WATERINTAKE_ENTRIES_SEARCH,
+                            ADMIN_CONFIG_MANAGE,
+                            ADMIN_CONFIG_READ));
+
     private OAuthScope() {}
+
+    /**
+     * Returns the bit of the given scope.
+     *
+     * @param scope one of the constants of this class
+     * @return the bit of the scope, or {@code 0} if it is {@code null} or not one of the constants
+     */
+    static long bit(String scope) {
+        return scope == null ? 0L : BITS.getOrDefault(scope, 0L);
+    }
+
+    /**
+     * Returns the bits of the scopes among the given authorities. Authorities that are not scopes
+     * of this API (roles, {@code SCOPE_openid}, ...) are ignored.
+     */
+    static long bits(Collection<? extends GrantedAuthority> authorities) {
+        long bits = 0L;
+        for (GrantedAuthority authority : authorities) {
+            bits |= bit(authority.getAuthority());
+        }
+        return bits;
+    }
+
+    private static Map<String, Long> index(List<String> scopes) {
+        var bits = new HashMap<String, Long>();
+        for (int i = 0; i < scopes.size(); i++) {
+            bits.put(scopes.get(i), 1L << i);
+        }
+        return Map.copyOf(bits);
+    }
 }
@@ -0,0 +1,252 @@
+package br.com.drinkwater.config.security;
+
+import br.com.drinkwater.config.properties.JwkSetProperties;
+import br.com.drinkwater.config.properties.KeycloakProperties;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keycloak JWK set kept in memory and refreshed off the request path, so that verifying a token
+ * never waits for an HTTP call to Keycloak in the common case.
+ *
+ * <ul>
+ *   <li><b>Warmup</b>: the set is fetched by an {@link ApplicationRunner}, i.e. before the
+ *       application reports readiness. A failed warmup is logged and the first token fetches it.
+ *   <li><b>Prefetch</b>: a scheduled job refreshes the set every {@code JWK_SET_REFRESH_SECONDS}.
+ *   <li><b>Stale-while-revalidate</b>: when the set is older than the refresh interval (the job is
+ *       late or Keycloak is down), lookups keep using it and start a refresh in the background. If
+ *       a refresh fails the previous keys stay in use.
+ *   <li><b>Key rotation</b>: a token whose key is not in the set (an unknown {@code kid}) waits for
+ *       a refresh, at most once every {@code JWK_SET_MIN_REFRESH_SECONDS} so forged key IDs cannot
+ *       make every request call Keycloak.
+ * </ul>
+ *
+ * <p>All refreshes are single-flight: concurrent triggers share one fetch. Publishes the {@code
+ * security.jwk.refresh} counter, tagged by trigger and outcome, and the {@code security.jwk.age}
+ * and {@code security.jwk.keys} gauges.
+ */
+@Component
+@Profile("!it-no-containers")
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshingJwkSource.class);
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final URI jwkSetUri;
+    private final HttpClient httpClient;
+    private final Ticker ticker;
+    private final MeterRegistry meterRegistry;
+    private final Duration fetchTimeout;
+    private final long refreshNanos;
+    private final long minRefreshNanos;
+    private final AtomicReference<CompletableFuture<JWKSet>> inFlight = new AtomicReference<>();
+
+    private volatile JWKSet keys = new JWKSet();
+    private volatile long fetchedAt = NEVER;
+    private volatile long lastOnDemandRefresh = NEVER;
+
+    @Autowired
+    public RefreshingJwkSource(
+            KeycloakProperties keycloakProperties,
+            JwkSetProperties properties,
+            MeterRegistry meterRegistry) {
+        this(
+                URI.create(keycloakProperties.jwkSetUri()),
+                properties,
+                HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofMillis(properties.fetchTimeoutMillis()))
+                        .build(),
+                Ticker.systemTicker(),
+                meterRegistry);
+    }
+
+    RefreshingJwkSource(
+            URI jwkSetUri,
+            JwkSetProperties properties,
+            HttpClient httpClient,
+            Ticker ticker,
+            MeterRegistry meterRegistry) {
+        this.jwkSetUri = jwkSetUri;
+        this.httpClient = httpClient;
+        this.ticker = ticker;
+        this.meterRegistry = meterRegistry;
+        this.fetchTimeout = Duration.ofMillis(properties.fetchTimeoutMillis());
+        this.refreshNanos = TimeUnit.SECONDS.toNanos(properties.refreshSeconds());
+        this.minRefreshNanos = TimeUnit.SECONDS.toNanos(properties.minRefreshSeconds());
+        Gauge.builder("security.jwk.age", this, RefreshingJwkSource::ageSeconds)
+                .description("Seconds since the JWK set was last fetched")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("security.jwk.keys", this, source -> source.keys.size())
+                .description("Number of keys in the cached JWK set")
+                .register(meterRegistry);
+    }
+
+    /** Fetches the JWK set before the application reports readiness. */
+    @Override
+    public void run(ApplicationArguments args) {
+        awaitRefresh("warmup");
+    }
+
+    /** Refreshes the JWK set in the background every {@code JWK_SET_REFRESH_SECONDS}. */
+    @Scheduled(
+            initialDelayString = "${jwk-set.refresh-seconds}",
+            fixedDelayString = "${jwk-set.refresh-seconds}",
+            timeUnit = TimeUnit.SECONDS)
+    public void prefetch() {
+        awaitRefresh("scheduled");
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) {
+        long now = this.ticker.read();
+        List<JWK> matches = selector.select(this.keys);
+        if (!matches.isEmpty()) {
+            long fetched = this.fetchedAt;
+            if (now - fetched >= this.refreshNanos && isOnDemandRefreshAllowed(now)) {
+                refresh("stale");
+            }
+            return matches;
+        }
+
+        CompletableFuture<JWKSet> refresh;
+        synchronized (this) {
+            refresh = this.inFlight.get();
+            if (refresh == null && isOnDemandRefreshAllowed(now)) {
+                refresh = refresh("unknown-key");
+            }
+        }
+        if (refresh == null) {
+            return matches;
+        }
+        await(refresh);
+        return selector.select(this.keys);
+    }
+
+    /**
+     * Starts a refresh of the JWK set, or joins the one in progress.
+     *
+     * @param trigger why the refresh was requested, used as a metric tag
+     * @return completes with the new set, or exceptionally if the fetch failed
+     */
+    CompletableFuture<JWKSet> refresh(String trigger) {
+        var promise = new CompletableFuture<JWKSet>();
+        CompletableFuture<JWKSet> running = this.inFlight.compareAndExchange(null, promise);
+        if (running != null) {
+            return running;
+        }
+        Thread.ofVirtual().name("jwk-set-refresh").start(() -> runRefresh(trigger, promise));
+        return promise;
+    }
+
+    /**
+     * Fetches the set and completes the refresh. The refresh is no longer in flight by the time its
+     * waiters wake up, so a waiter that needs another refresh starts a new fetch instead of joining
+     * the finished one.
+     */
+    private void runRefresh(String trigger, CompletableFuture<JWKSet> promise) {
+        JWKSet fetched;
+        try {
+            fetched = fetch();
+        } catch (Exception e) {
+            count(trigger, "failure");
+            log.warn(
+                    "Failed to refresh JWK set from {} ({}): {}",
+                    this.jwkSetUri,
+                    trigger,
+                    e.getMessage());
+            this.inFlight.set(null);
+            promise.completeExceptionally(e);
+            return;
+        }
+        this.keys = fetched;
+        this.fetchedAt = this.ticker.read();
+        count(trigger, "success");
+        this.inFlight.set(null);
+        promise.complete(fetched);
+    }
+
+    /**
+     * Allows one on-demand refresh (stale set or unknown key) per {@code
+     * JWK_SET_MIN_REFRESH_SECONDS}, so an unreachable Keycloak or forged key IDs do not turn every
+     * request into a fetch.
+     */
+    private boolean isOnDemandRefreshAllowed(long now) {
+        long last = this.lastOnDemandRefresh;
+        if (last != NEVER && now - last < this.minRefreshNanos) {
+            return false;
+        }
+        this.lastOnDemandRefresh = now;
+        return true;
+    }
+
+    private void awaitRefresh(String trigger) {
+        await(refresh(trigger));
+    }
+
+    private void await(CompletableFuture<JWKSet> refresh) {
+        try {
+            refresh.get(this.fetchTimeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Logged by the refresh; the previous keys stay in use
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JWKSet fetch() throws IOException, InterruptedException, ParseException {
+        HttpRequest request =
+                HttpRequest.newBuilder(this.jwkSetUri).timeout(this.fetchTimeout).GET().build();
+        HttpResponse<String> response =
+                this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWK set endpoint answered HTTP " + response.statusCode());
+        }
+        return JWKSet.parse(response.body());
+    }
+
+    private void count(String trigger, String outcome) {
+        Counter.builder("security.jwk.refresh")
+                .description("JWK set refreshes by trigger and outcome")
+                .tag("trigger", trigger)
+                .tag("outcome", outcome)
+                .register(this.meterRegistry)
+                .increment();
+    }
+
+    private double ageSeconds() {
+        long fetched = this.fetchedAt;
+        return fetched == NEVER
+                ? Double.NaN
+                : (this.ticker.read() - fetched) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.drinkwater.config.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a controller method to tokens granted the given {@link OAuthScope}. Checked by {@link
+ * ScopeAuthorizationInterceptor} before the request body is read; a token without the scope is
+ * rejected with 403 {@code insufficient-scope}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresScope {
+
+    /** One of the {@link OAuthScope} constants, including the {@code SCOPE_} prefix. */
+    String value();
+}
@@ -0,0 +1,121 @@
+package br.com.drinkwater.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Enforces {@link RequiresScope} on controller methods without evaluating an expression per call.
+ *
+ * <p>At startup the scope required by every mapped handler method is resolved once into a table of
+ * {@link OAuthScope} bits. A request is then authorized by ANDing the bits of the handler with the
+ * bits precomputed for the token by {@link KeycloakJwtAuthenticationConverter}. A token without the
+ * scope is rejected with {@link InsufficientScopeException}, which produces the same 403 {@code
+ * insufficient-scope} response as a denied {@code @PreAuthorize} scope check.
+ *
+ * <p>The check runs before the request body is read and validated, so an unauthorized request never
+ * reaches deserialization.
+ */
+@Component
+public class ScopeAuthorizationInterceptor
+        implements HandlerInterceptor, SmartInitializingSingleton {
+
+    private static final String AUTHORITY_PREFIX = "SCOPE_";
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+
+    private volatile Map<Method, RequiredScope> requiredScopes = Map.of();
+
+    public ScopeAuthorizationInterceptor(
+            ObjectProvider<RequestMappingHandlerMapping> handlerMappings) {
+        this.handlerMappings = handlerMappings;
+    }
+
+    /** Resolves the required scopes of all handler methods once the mappings are registered. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        register(
+                this.handlerMappings
+                        .orderedStream()
+                        .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                        .toList());
+    }
+
+    /**
+     * Resolves and stores the required scope of each handler method.
+     *
+     * @throws IllegalStateException if a method requires a scope that is not an {@link OAuthScope}
+     *     constant
+     */
+    public void register(Collection<HandlerMethod> handlerMethods) {
+        var table = new HashMap<>(this.requiredScopes);
+        for (HandlerMethod handlerMethod : handlerMethods) {
+            table.put(handlerMethod.getMethod(), RequiredScope.of(handlerMethod));
+        }
+        this.requiredScopes = Map.copyOf(table);
+    }
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        RequiredScope required = this.requiredScopes.get(handlerMethod.getMethod());
+        if (required == null) {
+            // Not mapped at startup: resolve it now rather than let the request through
+            required = RequiredScope.of(handlerMethod);
+        }
+        if (required.bit() == 0L) {
+            return true;
+        }
+
+        long granted =
+                ScopedJwtAuthenticationToken.scopeBitsOf(
+                        SecurityContextHolder.getContext().getAuthentication());
+        if ((granted & required.bit()) == 0L) {
+            throw new InsufficientScopeException(required.scope());
+        }
+        return true;
+    }
+
+    /**
+     * The scope a handler method requires.
+     *
+     * @param bit the {@link OAuthScope} bit of the scope, or {@code 0} if none is required
+     * @param scope the scope name without the {@code SCOPE_} prefix, as reported to clients
+     */
+    private record RequiredScope(long bit, String scope) {
+
+        private static final RequiredScope NONE = new RequiredScope(0L, null);
+
+        static RequiredScope of(HandlerMethod handlerMethod) {
+            RequiresScope annotation = handlerMethod.getMethodAnnotation(RequiresScope.class);
+            if (annotation == null) {
+                return NONE;
+            }
+            long bit = OAuthScope.bit(annotation.value());
+            if (bit == 0L) {
+                throw new IllegalStateException(
+                        "Unknown scope '%s' required by %s"
+                                .formatted(annotation.value(), handlerMethod));
+            }
+            return new RequiredScope(bit, annotation.value().substring(AUTHORITY_PREFIX.length()));
+        }
+    }
+}
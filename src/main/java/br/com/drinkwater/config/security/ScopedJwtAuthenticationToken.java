@@ -0,0 +1,69 @@
+package br.com.drinkwater.config.security;
+
+import java.io.Serial;
+import java.util.Collection;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * {@link JwtAuthenticationToken} that also carries the token's {@link OAuthScope} bits, computed
+ * once when the token is authenticated so that checking a scope is a single AND, and the internal
+ * user ID when the token carries a verified {@code user_id} claim (see {@link
+ * UserIdClaimResolver}).
+ */
+public class ScopedJwtAuthenticationToken extends JwtAuthenticationToken {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private final long scopeBits;
+    private final @Nullable Long userId;
+
+    public ScopedJwtAuthenticationToken(
+            Jwt jwt, Collection<? extends GrantedAuthority> authorities, long scopeBits) {
+        super(jwt, authorities);
+        this.scopeBits = scopeBits;
+        this.userId = null;
+    }
+
+    public ScopedJwtAuthenticationToken(
+            Jwt jwt,
+            Collection<? extends GrantedAuthority> authorities,
+            String name,
+            long scopeBits) {
+        this(jwt, authorities, name, scopeBits, null);
+    }
+
+    public ScopedJwtAuthenticationToken(
+            Jwt jwt,
+            Collection<? extends GrantedAuthority> authorities,
+            String name,
+            long scopeBits,
+            @Nullable Long userId) {
+        super(jwt, authorities, name);
+        this.scopeBits = scopeBits;
+        this.userId = userId;
+    }
+
+    public long getScopeBits() {
+        return scopeBits;
+    }
+
+    /** Returns the verified internal user ID, or {@code null} if the token does not carry one. */
+    public @Nullable Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the scope bits of any authentication: the precomputed bits of a {@code
+     * ScopedJwtAuthenticationToken}, otherwise the bits of its {@code SCOPE_} authorities.
+     */
+    static long scopeBitsOf(@Nullable Authentication authentication) {
+        if (authentication instanceof ScopedJwtAuthenticationToken scoped) {
+            return scoped.scopeBits;
+        }
+        return authentication == null ? 0L : OAuthScope.bits(authentication.getAuthorities());
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.drinkwater.config.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Reads the internal user ID that a Keycloak protocol mapper wrote into the access token and checks
+ * it with a {@link UserIdClaimVerifier}. Called once per token by {@link
+ * CachingJwtAuthenticationManager}, which keeps the verified ID with the cached token.
+ *
+ * <p>A token without the claim, or whose claim does not match its subject, simply carries no user
+ * ID and is resolved through the subject as before. Verifications are counted by the {@code
+ * security.jwt.user-id-claim} counter, tagged {@code verified} or {@code rejected}.
+ */
+public class UserIdClaimResolver {
+
+    /** Resolver used when the mode is off: no token carries a user ID. */
+    public static final UserIdClaimResolver DISABLED = new UserIdClaimResolver();
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdClaimResolver.class);
+
+    /** How claims are checked; {@code null} when the mode is off. */
+    private final @Nullable Check check;
+
+    private UserIdClaimResolver() {
+        this.check = null;
+    }
+
+    public UserIdClaimResolver(
+            String claimName, UserIdClaimVerifier verifier, MeterRegistry meterRegistry) {
+        this.check =
+                new Check(
+                        claimName,
+                        verifier,
+                        counter(meterRegistry, "verified"),
+                        counter(meterRegistry, "rejected"));
+    }
+
+    /**
+     * @param jwt a verified access token
+     * @return the verified internal user ID, or {@code null} if the token does not carry a valid
+     *     one
+     */
+    @Nullable
+    Long resolve(Jwt jwt) {
+        Check check = this.check;
+        if (check == null) {
+            return null;
+        }
+        Object claim = jwt.getClaims().get(check.claimName());
+        if (claim == null) {
+            return null;
+        }
+        Long userId = parseUserId(claim);
+        UUID publicId = parsePublicId(jwt.getSubject());
+        if (userId != null && publicId != null && check.verifier().isUserIdOf(publicId, userId)) {
+            check.verified().increment();
+            return userId;
+        }
+        check.rejected().increment();
+        log.warn(
+                "Ignoring {} claim of token for subject {}: it does not match the user",
+                check.claimName(),
+                jwt.getSubject());
+        return null;
+    }
+
+    private static @Nullable Long parseUserId(Object claim) {
+        if (claim instanceof Long userId) {
+            return userId;
+        }
+        if (claim instanceof Integer userId) {
+            return userId.longValue();
+        }
+        if (claim instanceof String userId) {
+            try {
+                return Long.valueOf(userId);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable UUID parsePublicId(@Nullable String subject) {
+        try {
+            return subject == null ? null : UUID.fromString(subject);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("security.jwt.user-id-claim")
+                .description("User ID claims checked against the token subject, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Check(
+            String claimName, UserIdClaimVerifier verifier, Counter verified, Counter rejected) {}
+}
@@ -0,0 +1,26 @@
+package br.com.drinkwater.config.security;
+
+import java.util.UUID;
+
+/**
+ * Confirms that a user ID read from an access token belongs to the token's subject, so a claim
+ * written by a misconfigured protocol mapper is never trusted, and reports when a confirmed ID
+ * stops being valid.
+ */
+public interface UserIdClaimVerifier {
+
+    /**
+     * @param publicId the token's subject
+     * @param userId the internal user ID carried by the token
+     * @return whether the user with this public ID has this internal ID
+     */
+    boolean isUserIdOf(UUID publicId, long userId);
+
+    /**
+     * Registers a listener to be told when a user ID this verifier confirmed may no longer be
+     * valid.
+     *
+     * @param listener the listener to notify
+     */
+    void addRevocationListener(UserIdRevocationListener listener);
+}
@@ -0,0 +1,18 @@
+package br.com.drinkwater.config.security;
+
+import java.util.UUID;
+
+/**
+ * Told when a user ID verified through a {@link UserIdClaimVerifier} may no longer be valid, for
+ * example because the user was deleted, so that nothing keeps trusting it.
+ */
+public interface UserIdRevocationListener {
+
+    /**
+     * @param publicId the public ID whose verified user ID must no longer be trusted
+     */
+    void revoke(UUID publicId);
+
+    /** Stops trusting every verified user ID. */
+    void revokeAll();
+}
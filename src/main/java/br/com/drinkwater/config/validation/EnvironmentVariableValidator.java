@@ -10,6 +10,7 @@ import br.com.drinkwater.config.properties.LoggingProperties;
 import br.com.drinkwater.config.properties.MonitoringProperties;
 import br.com.drinkwater.config.properties.SecurityProperties;
 import br.com.drinkwater.config.properties.ServerProperties;
+import br.com.drinkwater.config.properties.VirtualThreadProperties;
 import br.com.drinkwater.config.properties.WebhookProperties;
 import br.com.drinkwater.config.runtime.RuntimeConfigurationValidator;
 import jakarta.validation.Validator;
@@ -46,6 +47,8 @@ public class EnvironmentVariableValidator implements ApplicationRunner {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(EnvironmentVariableValidator.class);
 
+    private static final int MAX_CONNECTIONS_PER_PROCESSOR = 4;
+
     private final ApplicationProperties applicationProperties;
     private final ServerProperties serverProperties;
     private final DatabaseProperties databaseProperties;
@@ -57,6 +60,7 @@ public class EnvironmentVariableValidator implements ApplicationRunner {
     private final LoggingProperties loggingProperties;
     private final WebhookProperties webhookProperties;
     private final CacheProperties cacheProperties;
+    private final VirtualThreadProperties virtualThreadProperties;
     private final RuntimeConfigurationValidator runtimeValidator;
     private final ValidationErrorFormatter validationErrorFormatter;
     private final Validator validator;
@@ -73,6 +77,7 @@ public class EnvironmentVariableValidator implements ApplicationRunner {
             LoggingProperties loggingProperties,
             WebhookProperties webhookProperties,
             CacheProperties cacheProperties,
+            VirtualThreadProperties virtualThreadProperties,
             RuntimeConfigurationValidator runtimeValidator,
             ValidationErrorFormatter validationErrorFormatter,
             Validator validator) {
@@ -87,6 +92,7 @@ public class EnvironmentVariableValidator implements ApplicationRunner {
         this.loggingProperties = loggingProperties;
         this.webhookProperties = webhookProperties;
         this.cacheProperties = cacheProperties;
+        this.virtualThreadProperties = virtualThreadProperties;
         this.runtimeValidator = runtimeValidator;
         this.validationErrorFormatter = validationErrorFormatter;
         this.validator = validator;
@@ -154,7 +160,9 @@ public class EnvironmentVariableValidator implements ApplicationRunner {
                                 loggingProperties, "Logging"),
                         new ValidationErrorFormatter.ValidationTarget<>(
                                 webhookProperties, "Webhook"),
-                        new ValidationErrorFormatter.ValidationTarget<>(cacheProperties, "Cache")));
+                        new ValidationErrorFormatter.ValidationTarget<>(cacheProperties, "Cache"),
+                        new ValidationErrorFormatter.ValidationTarget<>(
+                                virtualThreadProperties, "Virtual threads")));
 
         if (!validationErrors.isEmpty()) {
             String errorMessage =
@@ -194,6 +202,9 @@ public class EnvironmentVariableValidator implements ApplicationRunner {
                             + " ZIPKIN_ENDPOINT and valid TRACING_SAMPLING_RATE are required");
         }
 
+        // Validate connection pool sizing for virtual threads
+        validateVirtualThreadPoolSizing(errors);
+
         if (!errors.isEmpty()) {
             String errorMessage = "Cross-property validation failed:\n" + String.join("\n", errors);
             throw new IllegalStateException(errorMessage);
@@ -202,6 +213,34 @@ public class EnvironmentVariableValidator implements ApplicationRunner {
         LOGGER.debug("Cross-property validation passed");
     }
 
+    private void validateVirtualThreadPoolSizing(List<String> errors) {
+        if (!virtualThreadProperties.isPoolFixedSize(databaseProperties)) {
+            errors.add(
+                    "VIRTUAL_THREADS_ENABLED=true requires DATABASE_MIN_IDLE to equal"
+                            + " DATABASE_POOL_SIZE (a fixed-size connection pool)");
+        }
+
+        if (!virtualThreadProperties.isWaitQueueSizedFor(databaseProperties)) {
+            errors.add(
+                    "VIRTUAL_THREADS_DATABASE_MAX_WAITING must be at least DATABASE_POOL_SIZE"
+                            + " when VIRTUAL_THREADS_ENABLED=true");
+        }
+
+        // More threads no longer need more connections: a pool far above the core count only
+        // moves the queue from the semaphore into PostgreSQL
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (virtualThreadProperties.enabled()
+                && databaseProperties.poolSize() > processors * MAX_CONNECTIONS_PER_PROCESSOR) {
+            LOGGER.warn(
+                    "DATABASE_POOL_SIZE={} is more than {} connections per available processor"
+                            + " ({}); with virtual threads, size the pool for the database, not"
+                            + " for request concurrency",
+                    databaseProperties.poolSize(),
+                    MAX_CONNECTIONS_PER_PROCESSOR,
+                    processors);
+        }
+    }
+
     private void validateEnvironmentSpecificRequirements() {
         LOGGER.debug("Validating environment-specific requirements...");
 
@@ -347,6 +386,14 @@ public class EnvironmentVariableValidator implements ApplicationRunner {
                 .append(databaseProperties.poolSize())
                 .append(")")
                 .append(System.lineSeparator())
+                .append("Threads: ")
+                .append(
+                        virtualThreadProperties.enabled()
+                                ? "virtual (database max waiting: "
+                                        + virtualThreadProperties.databaseMaxWaiting()
+                                        + ")"
+                                : "platform")
+                .append(System.lineSeparator())
                 .append("Keycloak: ")
                 .append(keycloakProperties.url())
                 .append(" (realm: ")
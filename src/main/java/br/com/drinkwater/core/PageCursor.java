@@ -1,26 +1,51 @@
 package br.com.drinkwater.core;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.Instant;
-import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.Base64;
 import org.springframework.lang.Nullable;
 
 /**
- * Keyset pagination cursor that encodes a date/time and record ID pair. The cursor is serialized as
- * a Base64 URL-safe string in the format {@code <ISO-8601 instant>|<id>} for use in query
- * parameters.
+ * Keyset pagination cursor that carries the sort key of the last record in the previous page: the
+ * sort field name, that record's value for the field and its ID as a tiebreaker. The cursor is
+ * serialized as a versioned binary token, Base64 URL-safe encoded for use in query parameters:
  *
- * @param dateTimeUTC the date/time of the last record in the previous page
+ * <pre>
+ * byte    format version (currently 1)
+ * byte    length of the sort field name, followed by its UTF-8 bytes
+ * byte    value type: 'T' (instant: long epoch seconds + int nanos), 'L' (long) or 'I' (int)
+ * ...     value
+ * long    record ID
+ * </pre>
+ *
+ * @param sortField the sort field the previous page was ordered by
+ * @param sortValue the last record's value for {@code sortField}: an {@link Instant}, {@link Long}
+ *     or {@link Integer}
  * @param id the database ID of the last record in the previous page (must be positive)
  */
-public record PageCursor(Instant dateTimeUTC, Long id) {
+public record PageCursor(String sortField, Object sortValue, Long id) {
 
-    private static final String SEPARATOR = "|";
+    private static final byte VERSION = 1;
+    private static final byte INSTANT_TYPE = 'T';
+    private static final byte LONG_TYPE = 'L';
+    private static final byte INT_TYPE = 'I';
+    private static final int MAX_SORT_FIELD_LENGTH = 64;
 
     public PageCursor {
-        if (dateTimeUTC == null) {
-            throw new IllegalArgumentException("Cursor dateTimeUTC cannot be null");
+        if (sortField == null
+                || sortField.isEmpty()
+                || sortField.getBytes(StandardCharsets.UTF_8).length > MAX_SORT_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Cursor sortField must have 1 to 64 bytes");
+        }
+        if (!(sortValue instanceof Instant
+                || sortValue instanceof Long
+                || sortValue instanceof Integer)) {
+            throw new IllegalArgumentException(
+                    "Cursor sortValue must be an Instant, Long or Integer");
         }
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("Cursor id must be a positive number");
@@ -33,10 +58,20 @@ public record PageCursor(Instant dateTimeUTC, Long id) {
      * @return the encoded cursor string
      */
     public String encode() {
-        var raw = dateTimeUTC.toString() + SEPARATOR + id;
+        byte[] field = sortField.getBytes(StandardCharsets.UTF_8);
+        var buffer = ByteBuffer.allocate(2 + field.length + 1 + 12 + Long.BYTES);
+        buffer.put(VERSION).put((byte) field.length).put(field);
+        if (sortValue instanceof Instant instant) {
+            buffer.put(INSTANT_TYPE).putLong(instant.getEpochSecond()).putInt(instant.getNano());
+        } else if (sortValue instanceof Long value) {
+            buffer.put(LONG_TYPE).putLong(value);
+        } else {
+            buffer.put(INT_TYPE).putInt((Integer) sortValue);
+        }
+        buffer.putLong(id);
         return Base64.getUrlEncoder()
                 .withoutPadding()
-                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+                .encodeToString(Arrays.copyOf(buffer.array(), buffer.position()));
     }
 
     /**
@@ -44,7 +79,7 @@ public record PageCursor(Instant dateTimeUTC, Long id) {
      *
      * @param cursor the Base64-encoded cursor string, or null/blank
      * @return the decoded PageCursor, or null if the input is null or blank
-     * @throws IllegalArgumentException if the cursor format is invalid
+     * @throws IllegalArgumentException if the cursor format or version is invalid
      */
     @Nullable
     public static PageCursor decode(@Nullable String cursor) {
@@ -53,18 +88,30 @@ public record PageCursor(Instant dateTimeUTC, Long id) {
         }
 
         try {
-            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
-            var separatorIndex = decoded.lastIndexOf(SEPARATOR);
-            if (separatorIndex < 0) {
-                throw new IllegalArgumentException("Invalid cursor format");
+            var buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version " + version);
             }
 
-            var timestampPart = decoded.substring(0, separatorIndex);
-            var idPart = decoded.substring(separatorIndex + 1);
+            var field = new byte[buffer.get()];
+            buffer.get(field);
+            Object sortValue =
+                    switch (buffer.get()) {
+                        case INSTANT_TYPE ->
+                                Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+                        case LONG_TYPE -> buffer.getLong();
+                        case INT_TYPE -> buffer.getInt();
+                        default -> throw new IllegalArgumentException("Unknown cursor value type");
+                    };
+            long id = buffer.getLong();
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes in cursor");
+            }
 
-            return new PageCursor(Instant.parse(timestampPart), Long.parseLong(idPart));
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
+            return new PageCursor(new String(field, StandardCharsets.UTF_8), sortValue, id);
+        } catch (BufferUnderflowException | NegativeArraySizeException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor format", e);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
         }
@@ -7,6 +7,7 @@ import br.com.drinkwater.config.security.ScopeAwareAccessDeniedHandler;
 import br.com.drinkwater.core.MessageResolver;
 import br.com.drinkwater.hydrationtracking.exception.DuplicateDateTimeException;
 import br.com.drinkwater.hydrationtracking.exception.WaterIntakeNotFoundException;
+import br.com.drinkwater.hydrationtracking.exception.WriteBehindQueueFullException;
 import br.com.drinkwater.usermanagement.exception.UserAlreadyExistsException;
 import br.com.drinkwater.usermanagement.exception.UserNotFoundException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
@@ -27,8 +28,10 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -186,6 +189,51 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(ex, problemDetail, headers, status, request);
     }
 
+    /**
+     * Handles a create that could not be queued for write-behind ingestion.
+     *
+     * <p>Returns a 503 Service Unavailable response with a {@code Retry-After} header of one
+     * second, since the queue drains at flush speed rather than on a fixed window.
+     *
+     * @param ex the exception thrown when the write-behind queue is full
+     * @param request the current web request
+     * @return a 503 response with RFC 7807 ProblemDetail body and Retry-After header
+     */
+    @ExceptionHandler(WriteBehindQueueFullException.class)
+    public ResponseEntity<Object> handleWriteBehindQueueFullException(
+            WriteBehindQueueFullException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ProblemDetail problemDetail =
+                buildProblemDetail(
+                        status, "exception.water-intake.write-behind-full", "write-behind-full");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Retry-After", "1");
+        return handleExceptionInternal(ex, problemDetail, headers, status, request);
+    }
+
+    /**
+     * Handles a request that could not get a database connection, either because the concurrency
+     * limit in front of the pool rejected it or because the pool timed out.
+     *
+     * <p>Returns a 503 Service Unavailable response asking the client to retry after one second.
+     *
+     * @param ex the exception thrown when no connection could be obtained
+     * @param request the current web request
+     * @return a 503 response with RFC 7807 ProblemDetail body and Retry-After header
+     */
+    @ExceptionHandler({
+        CannotGetJdbcConnectionException.class,
+        CannotCreateTransactionException.class
+    })
+    public ResponseEntity<Object> handleDatabaseBusyException(Exception ex, WebRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ProblemDetail problemDetail =
+                buildProblemDetail(status, "exception.database-busy", "database-busy");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Retry-After", "1");
+        return handleExceptionInternal(ex, problemDetail, headers, status, request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request) {
         return buildResponse(
@@ -0,0 +1,32 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request DTO for creating several water intake records in one call, typically when a mobile client
+ * syncs drinks logged while offline. Each item is validated exactly like a single {@link
+ * WaterIntakeDTO}; the batch is capped at {@value #MAX_ITEMS} items.
+ */
+@Schema(description = "Request payload for creating water intake records in batch")
+public record WaterIntakeBatchDTO(
+        @ArraySchema(
+                        schema = @Schema(implementation = WaterIntakeDTO.class),
+                        arraySchema = @Schema(description = "Water intake records to create"),
+                        minItems = 1,
+                        maxItems = WaterIntakeBatchDTO.MAX_ITEMS)
+                @NotEmpty(message = "{water-intake.batch.items.not-empty}")
+                @Size(
+                        max = WaterIntakeBatchDTO.MAX_ITEMS,
+                        message = "{water-intake.batch.items.size}")
+                List<@NotNull(message = "{water-intake.batch.item.not-null}") @Valid WaterIntakeDTO>
+                        items) {
+
+    /** Maximum number of items accepted in a single batch request. */
+    public static final int MAX_ITEMS = 100;
+}
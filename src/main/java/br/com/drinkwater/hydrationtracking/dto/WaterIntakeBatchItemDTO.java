@@ -0,0 +1,26 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.lang.Nullable;
+
+/**
+ * Outcome of a single item in a batch create request. {@code index} is the item's position in the
+ * request, and {@code waterIntake} is only present when the item was created.
+ */
+@Schema(description = "Outcome of a single item in a batch create request")
+public record WaterIntakeBatchItemDTO(
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+                int index,
+        @Schema(description = "Whether the item was created or skipped as a duplicate")
+                Status status,
+        @Schema(description = "The created record; absent for duplicates") @Nullable
+                WaterIntakeResponseDTO waterIntake) {
+
+    /** Per-item result of a batch create. */
+    public enum Status {
+        /** The record was inserted. */
+        CREATED,
+        /** A record with the same date/time already exists for the user, or appears earlier. */
+        DUPLICATE
+    }
+}
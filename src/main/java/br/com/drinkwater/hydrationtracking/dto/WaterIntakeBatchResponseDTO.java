@@ -0,0 +1,13 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/** Response DTO summarizing a batch create request, with one result per requested item. */
+@Schema(description = "Result of a batch create request")
+public record WaterIntakeBatchResponseDTO(
+        @Schema(description = "Number of records created", example = "9") int created,
+        @Schema(description = "Number of items skipped as duplicate date/time", example = "1")
+                int duplicates,
+        @Schema(description = "Per-item results in request order")
+                List<WaterIntakeBatchItemDTO> results) {}
@@ -0,0 +1,23 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import java.util.Locale;
+
+/** Query parameters for the water intake history export. Default format is {@code ndjson}. */
+@Schema(description = "Query parameters for the water intake history export")
+public record WaterIntakeExportFilterDTO(
+        @Schema(
+                        description = "Output format",
+                        example = "ndjson",
+                        defaultValue = "ndjson",
+                        allowableValues = {"ndjson", "csv"})
+                @Pattern(
+                        regexp = "^(ndjson|csv)$",
+                        message = "{water-intake.export.format.pattern}")
+                String format) {
+
+    public WaterIntakeExportFilterDTO {
+        format = format == null ? "ndjson" : format.toLowerCase(Locale.ROOT);
+    }
+}
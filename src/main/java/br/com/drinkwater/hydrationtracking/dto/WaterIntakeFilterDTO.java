@@ -18,7 +18,8 @@ import org.springframework.lang.Nullable;
  * filtering by date range and volume range, with configurable sort field and direction. Default
  * sort is {@code dateTimeUTC DESC} with a page size of 10. The opaque {@code cursor} string is
  * decoded by {@link br.com.drinkwater.core.PageCursor} to resume pagination from a previous
- * position.
+ * position; it carries the sort key value of the last record, so it only resumes a search with the
+ * same {@code sortField}.
  */
 @ValidDateRange
 @ValidVolumeRange
@@ -54,7 +55,10 @@ public record WaterIntakeFilterDTO(
                         maximum = "5000")
                 @Range(min = 50, max = 5000, message = "{water-intake.filter.volume.range}")
                 Integer maxVolume,
-        @Schema(description = "Opaque cursor for pagination (from previous response's nextCursor)")
+        @Schema(
+                        description =
+                                "Opaque cursor for pagination (from previous response's"
+                                        + " nextCursor); only valid with the same sortField")
                 @Nullable
                 String cursor,
         @Schema(
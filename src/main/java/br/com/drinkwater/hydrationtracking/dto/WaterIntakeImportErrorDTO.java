@@ -0,0 +1,25 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/** A line of an import body that was not imported, with the reasons. */
+@Schema(description = "Line of an import that was not imported")
+public record WaterIntakeImportErrorDTO(
+        @Schema(description = "1-based line number in the request body", example = "42") int line,
+        @Schema(description = "Why the line was not imported", example = "INVALID") Reason reason,
+        @Schema(description = "Validation or parsing messages for the line")
+                List<String> messages) {
+
+    public WaterIntakeImportErrorDTO {
+        messages = List.copyOf(messages);
+    }
+
+    /** Why a line was not imported. */
+    public enum Reason {
+        /** The line could not be parsed or failed validation. */
+        INVALID,
+        /** A record with the same date/time already exists for the user, or appears earlier. */
+        DUPLICATE
+    }
+}
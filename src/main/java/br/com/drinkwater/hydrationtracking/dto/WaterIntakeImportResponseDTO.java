@@ -0,0 +1,21 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/** Response DTO reporting the outcome of a bulk import, line by line for lines not imported. */
+@Schema(description = "Result of a bulk import")
+public record WaterIntakeImportResponseDTO(
+        @Schema(description = "Number of non-blank data lines read", example = "5000") int lines,
+        @Schema(description = "Number of records created", example = "4990") int imported,
+        @Schema(description = "Number of lines skipped as duplicate date/time", example = "7")
+                int duplicates,
+        @Schema(description = "Number of lines rejected as malformed or invalid", example = "3")
+                int rejected,
+        @Schema(description = "Lines not imported, in line order, up to the first 1000")
+                List<WaterIntakeImportErrorDTO> errors) {
+
+    public WaterIntakeImportResponseDTO {
+        errors = List.copyOf(errors);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+/**
+ * Hydration totals for one summary bucket. {@code goal} is the daily goal multiplied by the number
+ * of days of the bucket that fall inside the requested period, so partial weeks and months at the
+ * edges are not penalized.
+ */
+@Schema(description = "Hydration totals for one summary bucket")
+public record WaterIntakeSummaryBucketDTO(
+        @Schema(
+                        description = "First day of the bucket in the requested time zone",
+                        example = "2025-06-01",
+                        type = "string",
+                        format = "date")
+                LocalDate periodStart,
+        @Schema(description = "Total volume consumed in the bucket (ml)", example = "1750")
+                long totalVolume,
+        @Schema(description = "Number of water intake records in the bucket", example = "7")
+                long intakeCount,
+        @Schema(description = "Goal for the bucket (ml)", example = "2000") long goal,
+        @Schema(description = "Total volume divided by the goal", example = "0.875")
+                double goalAttainment,
+        @Schema(description = "Whether the total volume reached the goal", example = "false")
+                boolean goalMet) {}
@@ -0,0 +1,57 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import br.com.drinkwater.hydrationtracking.validation.ValidSummaryPeriod;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Objects;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query parameters for the hydration summary. {@code startDate} and {@code endDate} are inclusive
+ * calendar dates interpreted in the {@code tz} time zone, which defaults to {@code UTC}. Default
+ * granularity is {@code day}.
+ */
+@ValidSummaryPeriod
+@Schema(description = "Query parameters for the hydration summary")
+public record WaterIntakeSummaryFilterDTO(
+        @Schema(
+                        description = "First day of the summary (inclusive), in the tz time zone",
+                        example = "2025-06-01",
+                        type = "string",
+                        format = "date")
+                @NotNull(message = "{water-intake.summary.start-date.not-null}")
+                @PastOrPresent(message = "{water-intake.summary.start-date.past-or-present}")
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                LocalDate startDate,
+        @Schema(
+                        description = "Last day of the summary (inclusive), in the tz time zone",
+                        example = "2025-06-30",
+                        type = "string",
+                        format = "date")
+                @NotNull(message = "{water-intake.summary.end-date.not-null}")
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                LocalDate endDate,
+        @Schema(
+                        description = "Bucket size",
+                        example = "day",
+                        defaultValue = "day",
+                        allowableValues = {"day", "week", "month"})
+                @Pattern(
+                        regexp = "^(day|week|month)$",
+                        message = "{water-intake.summary.granularity.pattern}")
+                String granularity,
+        @Schema(
+                        description = "IANA time zone used to define bucket boundaries",
+                        example = "America/Sao_Paulo",
+                        defaultValue = "UTC")
+                String tz) {
+
+    public WaterIntakeSummaryFilterDTO {
+        granularity = granularity == null ? "day" : granularity.toLowerCase(Locale.ROOT);
+        tz = Objects.requireNonNullElse(tz, "UTC");
+    }
+}
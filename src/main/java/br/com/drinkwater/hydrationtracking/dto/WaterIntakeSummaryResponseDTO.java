@@ -0,0 +1,22 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Response DTO for the hydration summary. Buckets are in chronological order and cover the whole
+ * period: a bucket without any water intake has zero totals.
+ */
+@Schema(description = "Hydration summary grouped by day, week or month")
+public record WaterIntakeSummaryResponseDTO(
+        @Schema(description = "Bucket size", example = "day") String granularity,
+        @Schema(description = "Time zone used for bucket boundaries", example = "UTC") String tz,
+        @Schema(
+                        description = "Daily hydration goal from the user's alarm settings (ml)",
+                        example = "2000")
+                int dailyGoal,
+        @Schema(
+                        description =
+                                "Per-bucket totals in chronological order, including buckets"
+                                        + " without water intake")
+                List<WaterIntakeSummaryBucketDTO> buckets) {}
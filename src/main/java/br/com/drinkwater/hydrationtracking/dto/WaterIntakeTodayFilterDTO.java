@@ -0,0 +1,22 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import br.com.drinkwater.hydrationtracking.validation.ValidTimeZone;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+/**
+ * Query parameters for today's progress. {@code tz} defines "today" and defaults to {@code UTC}.
+ */
+@Schema(description = "Query parameters for today's progress")
+public record WaterIntakeTodayFilterDTO(
+        @Schema(
+                        description = "IANA time zone that defines the current day",
+                        example = "America/Sao_Paulo",
+                        defaultValue = "UTC")
+                @ValidTimeZone
+                String tz) {
+
+    public WaterIntakeTodayFilterDTO {
+        tz = Objects.requireNonNullElse(tz, "UTC");
+    }
+}
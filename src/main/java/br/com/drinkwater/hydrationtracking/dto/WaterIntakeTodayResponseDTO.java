@@ -0,0 +1,31 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+/**
+ * The authenticated user's progress for the current day in the requested time zone, compared with
+ * the daily goal from their alarm settings. {@code remainingVolume} never goes below zero.
+ */
+@Schema(description = "Today's hydration progress against the daily goal")
+public record WaterIntakeTodayResponseDTO(
+        @Schema(
+                        description = "Current date in the requested time zone",
+                        example = "2025-06-01",
+                        type = "string",
+                        format = "date")
+                LocalDate date,
+        @Schema(description = "IANA time zone that defines the current day", example = "UTC")
+                String tz,
+        @Schema(description = "Total volume consumed today (ml)", example = "1750")
+                long totalVolume,
+        @Schema(description = "Number of water intake records today", example = "7")
+                long intakeCount,
+        @Schema(description = "Daily goal from the alarm settings (ml)", example = "2000")
+                int dailyGoal,
+        @Schema(description = "Volume still needed to reach the goal (ml)", example = "250")
+                long remainingVolume,
+        @Schema(description = "Total volume divided by the daily goal", example = "0.875")
+                double goalAttainment,
+        @Schema(description = "Whether the total volume reached the daily goal", example = "false")
+                boolean goalMet) {}
@@ -0,0 +1,12 @@
+package br.com.drinkwater.hydrationtracking.exception;
+
+/**
+ * Thrown when a water intake cannot be queued for write-behind ingestion because the queue is full
+ * or shutting down.
+ */
+public class WriteBehindQueueFullException extends RuntimeException {
+
+    public WriteBehindQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.drinkwater.hydrationtracking.model;
+
+import java.util.Locale;
+
+/**
+ * Line-oriented formats of the water intake history export and import. Each constant carries the
+ * media type of the body and the extension of the suggested file name.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    ExportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Resolves a format from its lowercase query parameter value.
+     *
+     * @param value {@code ndjson} or {@code csv}
+     * @return the corresponding format
+     * @throws IllegalArgumentException if the value does not match any constant
+     */
+    public static ExportFormat fromValue(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Resolves a format from a {@code Content-Type} header, ignoring parameters such as {@code
+     * charset}.
+     *
+     * @param contentType {@code application/x-ndjson} or {@code text/csv}
+     * @return the corresponding format
+     * @throws IllegalArgumentException if the media type does not match any constant
+     */
+    public static ExportFormat fromMediaType(String contentType) {
+        String mediaType = contentType.split(";", 2)[0].trim();
+        for (ExportFormat format : values()) {
+            if (format.mediaType.equalsIgnoreCase(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported media type: " + contentType);
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the file name suggested to clients in the {@code Content-Disposition} header.
+     *
+     * @return {@code water-intakes.ndjson} or {@code water-intakes.csv}
+     */
+    public String getFileName() {
+        return "water-intakes." + name().toLowerCase(Locale.ROOT);
+    }
+}
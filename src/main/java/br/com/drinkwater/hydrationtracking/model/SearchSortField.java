@@ -0,0 +1,118 @@
+package br.com.drinkwater.hydrationtracking.model;
+
+import br.com.drinkwater.core.PageCursor;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Objects;
+import org.springframework.lang.Nullable;
+
+/**
+ * Sort keys supported by the water intake cursor search. Each constant maps its query parameter
+ * value to a database column and knows the type of the value a {@link PageCursor} carries for it,
+ * so a page can be resumed with an index seek on {@code (user_id, <column>, id)}.
+ */
+public enum SearchSortField {
+    ID("id", "id", Long.class),
+    DATE_TIME_UTC("dateTimeUTC", "date_time_utc", Instant.class),
+    VOLUME("volume", "volume", Integer.class),
+    VOLUME_UNIT("volumeUnit", "volume_unit", Integer.class);
+
+    private final String fieldName;
+    private final String column;
+    private final Class<?> valueType;
+
+    SearchSortField(String fieldName, String column, Class<?> valueType) {
+        this.fieldName = fieldName;
+        this.column = column;
+        this.valueType = valueType;
+    }
+
+    /**
+     * Resolves a sort key from its query parameter value, falling back to {@link #DATE_TIME_UTC}
+     * for null or unknown values.
+     *
+     * @param fieldName {@code id}, {@code dateTimeUTC}, {@code volume} or {@code volumeUnit}
+     * @return the corresponding sort key
+     */
+    public static SearchSortField fromFieldName(@Nullable String fieldName) {
+        for (SearchSortField value : values()) {
+            if (value.fieldName.equals(fieldName)) {
+                return value;
+            }
+        }
+        return DATE_TIME_UTC;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Builds the cursor that resumes a search sorted by this key right after the given record.
+     *
+     * @param waterIntake the last record of the current page
+     * @return a cursor carrying the record's value for this key and its ID
+     */
+    public PageCursor cursorAfter(WaterIntake waterIntake) {
+        Long id =
+                Objects.requireNonNull(
+                        waterIntake.getId(), "Persisted water intake must have a non-null ID");
+        Object sortValue =
+                switch (this) {
+                    case ID -> id;
+                    case DATE_TIME_UTC -> waterIntake.getDateTimeUTC();
+                    case VOLUME -> waterIntake.getVolume();
+                    case VOLUME_UNIT -> waterIntake.getVolumeUnit().getCode();
+                };
+        return new PageCursor(fieldName, sortValue, id);
+    }
+
+    /**
+     * Orders records the way the search's {@code ORDER BY <column> ASC, id ASC} does, for merging
+     * records that do not come from the same query.
+     *
+     * @return an ascending comparator on this key, then on the ID
+     */
+    public Comparator<WaterIntake> ascending() {
+        Comparator<WaterIntake> byKey =
+                switch (this) {
+                    case ID -> Comparator.comparing(WaterIntake::getId);
+                    case DATE_TIME_UTC -> Comparator.comparing(WaterIntake::getDateTimeUTC);
+                    case VOLUME -> Comparator.comparingInt(WaterIntake::getVolume);
+                    case VOLUME_UNIT ->
+                            Comparator.comparingInt(
+                                    waterIntake -> waterIntake.getVolumeUnit().getCode());
+                };
+        return byKey.thenComparing(WaterIntake::getId);
+    }
+
+    /**
+     * Compares a record with a cursor of this sort key the way {@link #ascending()} compares two
+     * records, for applying a cursor to records that were not filtered by the search SQL.
+     *
+     * @param waterIntake the record
+     * @param cursor a cursor {@linkplain #accepts(PageCursor) accepted} by this key
+     * @return a negative number, zero or a positive number as the record sorts before, at or after
+     *     the cursor
+     */
+    @SuppressWarnings("unchecked")
+    public int compareToCursor(WaterIntake waterIntake, PageCursor cursor) {
+        PageCursor own = cursorAfter(waterIntake);
+        int byKey = ((Comparable<Object>) own.sortValue()).compareTo(cursor.sortValue());
+        return byKey != 0 ? byKey : own.id().compareTo(cursor.id());
+    }
+
+    /**
+     * Checks whether a cursor was issued for this sort key and carries a value of its type.
+     *
+     * @param cursor the decoded cursor
+     * @return {@code true} if the cursor can resume a search sorted by this key
+     */
+    public boolean accepts(PageCursor cursor) {
+        return fieldName.equals(cursor.sortField()) && valueType.isInstance(cursor.sortValue());
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.drinkwater.hydrationtracking.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Bucket sizes for hydration summaries. Buckets are calendar periods in the requester's time zone:
+ * days, ISO weeks starting on Monday, and calendar months.
+ */
+public enum SummaryGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Resolves a granularity from its lowercase query parameter value.
+     *
+     * @param value {@code day}, {@code week} or {@code month}
+     * @return the corresponding granularity
+     * @throws IllegalArgumentException if the value does not match any constant
+     */
+    public static SummaryGranularity fromValue(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the first day of the bucket that contains {@code date}.
+     *
+     * @param date any day
+     * @return the first day of its bucket of this granularity
+     */
+    public LocalDate periodStartOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Returns the first day of the bucket that follows the one starting at {@code periodStart}.
+     *
+     * @param periodStart the first day of a bucket of this granularity
+     * @return the first day of the next bucket
+     */
+    public LocalDate nextPeriodStart(LocalDate periodStart) {
+        return switch (this) {
+            case DAY -> periodStart.plusDays(1);
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary format of the {@code water_intake_archive.payload} column: the records of one user and
+ * month stored column by column, so that similar values sit next to each other, then compressed
+ * with Deflate. Before compression the layout is:
+ *
+ * <pre>
+ * byte      format version (currently 1)
+ * varint    record count
+ * varint[]  IDs, each as the zigzag delta from the previous one
+ * varint[]  date/times in epoch microseconds, each as the zigzag delta from the previous one
+ * varint[]  volumes
+ * varint[]  volume unit codes
+ * </pre>
+ *
+ * Records are kept in {@code (date_time_utc, id)} order, so date/time deltas are small and
+ * non-negative. The user ID is not stored; it is the key of the row.
+ */
+final class WaterIntakeArchiveCodec {
+
+    private static final byte VERSION = 1;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private WaterIntakeArchiveCodec() {}
+
+    /**
+     * Encodes records that are already in {@code (date_time_utc, id)} order.
+     *
+     * @param records the records of one user and month
+     * @return the compressed payload
+     */
+    static byte[] encode(List<WaterIntake> records) {
+        var raw = new ByteArrayOutputStream();
+        raw.write(VERSION);
+        writeVarint(raw, records.size());
+        long previous = 0;
+        for (WaterIntake record : records) {
+            long id = Objects.requireNonNull(record.getId(), "Archived records must have an ID");
+            writeVarint(raw, zigzag(id - previous));
+            previous = id;
+        }
+        previous = 0;
+        for (WaterIntake record : records) {
+            long micros = toMicros(record.getDateTimeUTC());
+            writeVarint(raw, zigzag(micros - previous));
+            previous = micros;
+        }
+        for (WaterIntake record : records) {
+            writeVarint(raw, record.getVolume());
+        }
+        for (WaterIntake record : records) {
+            writeVarint(raw, record.getVolumeUnit().getCode());
+        }
+
+        var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw.toByteArray());
+            deflater.finish();
+            var compressed = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decodes a payload written by {@link #encode(List)}.
+     *
+     * @param payload the compressed payload
+     * @param userId the user the payload belongs to
+     * @return the records, in {@code (date_time_utc, id)} order
+     * @throws IllegalStateException if the payload is corrupt or of an unknown version
+     */
+    static List<WaterIntake> decode(byte[] payload, long userId) {
+        ByteBuffer in = ByteBuffer.wrap(inflate(payload));
+        try {
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new IllegalStateException(
+                        "Unsupported water intake archive version " + version);
+            }
+            int count = Math.toIntExact(readVarint(in));
+            if (count > in.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            long[] ids = new long[count];
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += unzigzag(readVarint(in));
+                ids[i] = previous;
+            }
+            long[] micros = new long[count];
+            previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += unzigzag(readVarint(in));
+                micros[i] = previous;
+            }
+            int[] volumes = new int[count];
+            for (int i = 0; i < count; i++) {
+                volumes[i] = Math.toIntExact(readVarint(in));
+            }
+            List<WaterIntake> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int volumeUnitCode = Math.toIntExact(readVarint(in));
+                records.add(
+                        new WaterIntake(
+                                ids[i], fromMicros(micros[i]), volumes[i], volumeUnitCode, userId));
+            }
+            return records;
+        } catch (BufferUnderflowException | ArithmeticException e) {
+            throw new IllegalStateException("Corrupt water intake archive payload", e);
+        }
+    }
+
+    private static byte[] inflate(byte[] payload) {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            var raw = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && !inflater.finished()) {
+                    throw new IllegalStateException("Truncated water intake archive payload");
+                }
+                raw.write(buffer, 0, length);
+            }
+            return raw.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt water intake archive payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new ArithmeticException("Varint longer than 64 bits");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long toMicros(Instant instant) {
+        return Math.addExact(
+                Math.multiplyExact(instant.getEpochSecond(), MICROS_PER_SECOND),
+                instant.getNano() / 1_000);
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(
+                Math.floorDiv(micros, MICROS_PER_SECOND),
+                Math.floorMod(micros, MICROS_PER_SECOND) * 1_000);
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.lang.Nullable;
+
+/**
+ * Custom repository for {@code water_intake_archive}, the cold tier of water intake history. Each
+ * row holds every archived record of one user and UTC calendar month; the records no longer exist
+ * in {@code water_intakes}.
+ */
+public interface WaterIntakeArchiveRepository {
+
+    /**
+     * Finds user-months that still have records in {@code water_intakes} dated before {@code
+     * before}, skipping tombstoned users.
+     *
+     * @param before the exclusive upper bound of the records to archive
+     * @param limit the maximum number of user-months to return
+     * @return the user-months to archive, by user then month
+     */
+    List<ArchiveCandidate> findCandidates(Instant before, int limit);
+
+    /**
+     * Locks the user row until the end of the transaction, so inserts for that user, which take a
+     * key-share lock through the foreign key, wait until the month is archived.
+     *
+     * @param userId the internal database user ID
+     */
+    void lockUser(long userId);
+
+    /**
+     * Reads and locks a user's records of one month in {@code water_intakes}.
+     *
+     * @param userId the internal database user ID
+     * @param month the UTC calendar month
+     * @return the records, in {@code (date_time_utc, id)} order
+     */
+    List<WaterIntake> findHotMonthForUpdate(long userId, YearMonth month);
+
+    /**
+     * Lists the months archived for a user.
+     *
+     * @param userId the internal database user ID
+     * @return the archived months, oldest first
+     */
+    List<YearMonth> findArchivedMonths(long userId);
+
+    /**
+     * Lists the summaries of a user's archived months in a range, without reading their payloads.
+     *
+     * @param userId the internal database user ID
+     * @param from the first month, or {@code null} for no lower bound
+     * @param to the last month, inclusive, or {@code null} for no upper bound
+     * @return the summaries, oldest month first
+     */
+    List<ArchivedMonth> findMonthSummaries(
+            long userId, @Nullable YearMonth from, @Nullable YearMonth to);
+
+    /**
+     * Reads and decodes a user's archived records of a range of months.
+     *
+     * @param userId the internal database user ID
+     * @param from the first month, or {@code null} for no lower bound
+     * @param to the last month, inclusive, or {@code null} for no upper bound
+     * @return the records, in {@code (date_time_utc, id)} order
+     */
+    List<WaterIntake> findArchivedRecords(
+            long userId, @Nullable YearMonth from, @Nullable YearMonth to);
+
+    /**
+     * Finds one archived record by ID, decoding only the months whose ID range contains it.
+     *
+     * @param userId the internal database user ID
+     * @param id the record ID
+     * @return the record, or empty if the user has no archived record with this ID
+     */
+    Optional<WaterIntake> findArchivedById(long userId, long id);
+
+    /**
+     * Moves one archived record back into {@code water_intakes} under its own ID, so it can be
+     * updated or deleted like any other. The record's month is rewritten without it, or removed
+     * when it was the last one. The month summaries are checked first, without a lock, so an ID
+     * that no archived month can hold returns at once; otherwise the user is locked, as the archive
+     * job does, so the month cannot be archived or restored concurrently.
+     *
+     * @param userId the internal database user ID
+     * @param id the record ID
+     * @return the restored record, or empty if the user has no archived record with this ID
+     */
+    Optional<WaterIntake> restore(long userId, long id);
+
+    /**
+     * Finds which of the given records have the same user and date/time as an archived record,
+     * which the {@code UNIQUE(user_id, date_time_utc)} constraint of {@code water_intakes} cannot
+     * see. Only the months that are archived for the records' users are decoded, so records of
+     * months that are not archived cost one index lookup in total.
+     *
+     * @param waterIntakes the records to check, of any users
+     * @return the records that collide with an archived record, in input order
+     */
+    List<WaterIntake> findArchivedDuplicates(List<WaterIntake> waterIntakes);
+
+    /**
+     * Stores all archived records of one user and month, replacing any previous row for it, along
+     * with the month's summary.
+     *
+     * @param userId the internal database user ID
+     * @param month the UTC calendar month
+     * @param records the records, in {@code (date_time_utc, id)} order; must not be empty
+     * @param archivedAt when the month was archived
+     */
+    void saveMonth(long userId, YearMonth month, List<WaterIntake> records, Instant archivedAt);
+
+    /**
+     * Deletes archived records from {@code water_intakes}.
+     *
+     * @param userId the internal database user ID
+     * @param ids the IDs of the records
+     * @return the number of rows deleted
+     */
+    int deleteHot(long userId, List<Long> ids);
+
+    /**
+     * A user and month with records due for archiving.
+     *
+     * @param userId the internal database user ID
+     * @param month the UTC calendar month
+     */
+    record ArchiveCandidate(long userId, YearMonth month) {}
+
+    /**
+     * The summary of one archived month, stored next to its payload so readers can tell whether the
+     * month can hold a record they look for before decoding it.
+     *
+     * @param month the UTC calendar month
+     * @param intakeCount the number of records
+     * @param minId the lowest record ID
+     * @param maxId the highest record ID
+     * @param minVolume the lowest volume
+     * @param maxVolume the highest volume
+     */
+    record ArchivedMonth(
+            YearMonth month,
+            int intakeCount,
+            long minId,
+            long maxId,
+            int minVolume,
+            int maxVolume) {}
+}
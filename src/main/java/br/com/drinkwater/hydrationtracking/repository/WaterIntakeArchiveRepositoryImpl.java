@@ -0,0 +1,387 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link WaterIntakeArchiveRepository}. Payloads are encoded and
+ * decoded by {@link WaterIntakeArchiveCodec}; a month of records is a single primary-key lookup on
+ * {@code (user_id, month_start)}, and its {@link ArchivedMonth} summary is kept in plain columns of
+ * the same row so it can be read without the payload. {@link #saveMonth} updates first and inserts
+ * when no row matched, since the H2 PostgreSQL mode used by the test suite has no {@code ON
+ * CONFLICT DO UPDATE}; callers hold the user lock, so no other transaction can insert the row in
+ * between.
+ */
+@Repository
+public class WaterIntakeArchiveRepositoryImpl implements WaterIntakeArchiveRepository {
+
+    private static final LocalDate FIRST_MONTH = LocalDate.of(1, 1, 1);
+    private static final LocalDate LAST_MONTH = LocalDate.of(9999, 12, 1);
+
+    private static final String FIND_CANDIDATES_SQL =
+            """
+            SELECT DISTINCT w.user_id,
+                   CAST(date_trunc('month', w.date_time_utc AT TIME ZONE 'UTC') AS DATE)
+                       AS month_start
+            FROM water_intakes w
+            JOIN users u ON u.id = w.user_id AND u.deleted_at IS NULL
+            WHERE w.date_time_utc < ?
+            ORDER BY w.user_id, month_start
+            LIMIT ?
+            """;
+
+    private static final String LOCK_USER_SQL = "SELECT id FROM users WHERE id = ? FOR UPDATE";
+
+    private static final String FIND_HOT_MONTH_FOR_UPDATE_SQL =
+            """
+            SELECT id, date_time_utc, volume, volume_unit, user_id
+            FROM water_intakes
+            WHERE user_id = ? AND date_time_utc >= ? AND date_time_utc < ?
+            ORDER BY date_time_utc, id
+            FOR UPDATE
+            """;
+
+    private static final String FIND_ARCHIVED_MONTHS_SQL =
+            "SELECT month_start FROM water_intake_archive WHERE user_id = ? ORDER BY month_start";
+
+    private static final String FIND_MONTH_SUMMARIES_SQL =
+            """
+            SELECT month_start, intake_count, min_id, max_id, min_volume, max_volume
+            FROM water_intake_archive
+            WHERE user_id = ? AND month_start >= ? AND month_start <= ?
+            ORDER BY month_start
+            """;
+
+    private static final String FIND_ARCHIVED_PAYLOADS_SQL =
+            """
+            SELECT payload FROM water_intake_archive
+            WHERE user_id = ? AND month_start >= ? AND month_start <= ?
+            ORDER BY month_start
+            """;
+
+    private static final String UPDATE_MONTH_SQL =
+            """
+            UPDATE water_intake_archive
+            SET intake_count = ?, min_id = ?, max_id = ?, min_volume = ?, max_volume = ?,
+                payload = ?, archived_at = ?
+            WHERE user_id = ? AND month_start = ?
+            """;
+
+    private static final String INSERT_MONTH_SQL =
+            """
+            INSERT INTO water_intake_archive
+                (intake_count, min_id, max_id, min_volume, max_volume, payload, archived_at,
+                 user_id, month_start)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String HAS_MONTH_BY_ID_SQL =
+            """
+            SELECT EXISTS (
+                SELECT 1 FROM water_intake_archive
+                WHERE user_id = ? AND min_id <= ? AND max_id >= ?
+            )
+            """;
+
+    private static final String FIND_MONTHS_BY_ID_SQL =
+            """
+            SELECT month_start, payload, archived_at FROM water_intake_archive
+            WHERE user_id = ? AND min_id <= ? AND max_id >= ?
+            ORDER BY month_start
+            """;
+
+    private static final String FIND_MONTH_KEYS_SQL =
+            """
+            SELECT user_id, month_start FROM water_intake_archive
+            WHERE user_id = ANY(?) AND month_start >= ? AND month_start <= ?
+            """;
+
+    private static final String DELETE_MONTH_SQL =
+            "DELETE FROM water_intake_archive WHERE user_id = ? AND month_start = ?";
+
+    private static final String INSERT_HOT_SQL =
+            """
+            INSERT INTO water_intakes (id, date_time_utc, volume, volume_unit, user_id)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String DELETE_HOT_SQL =
+            "DELETE FROM water_intakes WHERE user_id = ? AND id = ANY(?)";
+
+    private static final RowMapper<WaterIntake> HOT_ROW_MAPPER =
+            (rs, rowNum) ->
+                    new WaterIntake(
+                            rs.getLong("id"),
+                            rs.getTimestamp("date_time_utc").toInstant(),
+                            rs.getInt("volume"),
+                            rs.getInt("volume_unit"),
+                            rs.getLong("user_id"));
+
+    private final JdbcOperations jdbcOperations;
+
+    public WaterIntakeArchiveRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcOperations = jdbcTemplate.getJdbcOperations();
+    }
+
+    @Override
+    public List<ArchiveCandidate> findCandidates(Instant before, int limit) {
+        return this.jdbcOperations.query(
+                FIND_CANDIDATES_SQL,
+                (rs, rowNum) ->
+                        new ArchiveCandidate(
+                                rs.getLong("user_id"),
+                                YearMonth.from(rs.getObject("month_start", LocalDate.class))),
+                Timestamp.from(before),
+                limit);
+    }
+
+    @Override
+    public void lockUser(long userId) {
+        this.jdbcOperations.queryForList(LOCK_USER_SQL, Long.class, userId);
+    }
+
+    @Override
+    public List<WaterIntake> findHotMonthForUpdate(long userId, YearMonth month) {
+        return this.jdbcOperations.query(
+                FIND_HOT_MONTH_FOR_UPDATE_SQL,
+                HOT_ROW_MAPPER,
+                userId,
+                Timestamp.from(month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant()),
+                Timestamp.from(
+                        month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+    }
+
+    @Override
+    public List<YearMonth> findArchivedMonths(long userId) {
+        return this.jdbcOperations.query(
+                FIND_ARCHIVED_MONTHS_SQL,
+                (rs, rowNum) -> YearMonth.from(rs.getObject("month_start", LocalDate.class)),
+                userId);
+    }
+
+    @Override
+    public List<ArchivedMonth> findMonthSummaries(
+            long userId, @Nullable YearMonth from, @Nullable YearMonth to) {
+        return this.jdbcOperations.query(
+                FIND_MONTH_SUMMARIES_SQL,
+                (rs, rowNum) ->
+                        new ArchivedMonth(
+                                YearMonth.from(rs.getObject("month_start", LocalDate.class)),
+                                rs.getInt("intake_count"),
+                                rs.getLong("min_id"),
+                                rs.getLong("max_id"),
+                                rs.getInt("min_volume"),
+                                rs.getInt("max_volume")),
+                userId,
+                from != null ? from.atDay(1) : FIRST_MONTH,
+                to != null ? to.atDay(1) : LAST_MONTH);
+    }
+
+    @Override
+    public List<WaterIntake> findArchivedRecords(
+            long userId, @Nullable YearMonth from, @Nullable YearMonth to) {
+        List<WaterIntake> records = new ArrayList<>();
+        this.jdbcOperations.query(
+                FIND_ARCHIVED_PAYLOADS_SQL,
+                (RowCallbackHandler)
+                        rs ->
+                                records.addAll(
+                                        WaterIntakeArchiveCodec.decode(
+                                                rs.getBytes("payload"), userId)),
+                userId,
+                from != null ? from.atDay(1) : FIRST_MONTH,
+                to != null ? to.atDay(1) : LAST_MONTH);
+        return records;
+    }
+
+    @Override
+    public Optional<WaterIntake> findArchivedById(long userId, long id) {
+        return locate(userId, id).map(ArchivedRecord::record);
+    }
+
+    @Override
+    public Optional<WaterIntake> restore(long userId, long id) {
+        if (!Boolean.TRUE.equals(
+                this.jdbcOperations.queryForObject(
+                        HAS_MONTH_BY_ID_SQL, Boolean.class, userId, id, id))) {
+            return Optional.empty();
+        }
+        lockUser(userId);
+        Optional<ArchivedRecord> archived = locate(userId, id);
+        archived.ifPresent(
+                located -> {
+                    List<WaterIntake> remaining = new ArrayList<>(located.monthRecords());
+                    remaining.remove(located.record());
+                    if (remaining.isEmpty()) {
+                        this.jdbcOperations.update(
+                                DELETE_MONTH_SQL, userId, located.month().atDay(1));
+                    } else {
+                        saveMonth(userId, located.month(), remaining, located.archivedAt());
+                    }
+                    WaterIntake record = located.record();
+                    this.jdbcOperations.update(
+                            INSERT_HOT_SQL,
+                            id,
+                            Timestamp.from(record.getDateTimeUTC()),
+                            record.getVolume(),
+                            record.getVolumeUnit().getCode(),
+                            userId);
+                });
+        return archived.map(ArchivedRecord::record);
+    }
+
+    @Override
+    public List<WaterIntake> findArchivedDuplicates(List<WaterIntake> waterIntakes) {
+        if (waterIntakes.isEmpty()) {
+            return List.of();
+        }
+        Set<UserMonth> wanted = new HashSet<>();
+        waterIntakes.forEach(
+                waterIntake ->
+                        wanted.add(
+                                new UserMonth(
+                                        waterIntake.getUserId(),
+                                        monthOf(waterIntake.getDateTimeUTC()))));
+        Long[] userIds = wanted.stream().map(UserMonth::userId).distinct().toArray(Long[]::new);
+        YearMonth first =
+                wanted.stream().map(UserMonth::month).min(YearMonth::compareTo).orElseThrow();
+        YearMonth last =
+                wanted.stream().map(UserMonth::month).max(YearMonth::compareTo).orElseThrow();
+        List<UserMonth> archivedMonths =
+                this.jdbcOperations.query(
+                        FIND_MONTH_KEYS_SQL,
+                        ps -> {
+                            ps.setArray(1, ps.getConnection().createArrayOf("bigint", userIds));
+                            ps.setObject(2, first.atDay(1));
+                            ps.setObject(3, last.atDay(1));
+                        },
+                        (rs, rowNum) ->
+                                new UserMonth(
+                                        rs.getLong("user_id"),
+                                        YearMonth.from(
+                                                rs.getObject("month_start", LocalDate.class))));
+
+        Map<Long, Set<Instant>> archivedDateTimes = new HashMap<>();
+        for (UserMonth month : archivedMonths) {
+            if (wanted.contains(month)) {
+                for (WaterIntake archived :
+                        findArchivedRecords(month.userId(), month.month(), month.month())) {
+                    archivedDateTimes
+                            .computeIfAbsent(month.userId(), userId -> new HashSet<>())
+                            .add(archived.getDateTimeUTC());
+                }
+            }
+        }
+        return waterIntakes.stream()
+                .filter(
+                        waterIntake ->
+                                archivedDateTimes
+                                        .getOrDefault(waterIntake.getUserId(), Set.of())
+                                        .contains(waterIntake.getDateTimeUTC()))
+                .toList();
+    }
+
+    @Override
+    public void saveMonth(
+            long userId, YearMonth month, List<WaterIntake> records, Instant archivedAt) {
+        LongSummaryStatistics ids =
+                records.stream()
+                        .mapToLong(
+                                record ->
+                                        Objects.requireNonNull(
+                                                record.getId(), "Archived records must have an ID"))
+                        .summaryStatistics();
+        IntSummaryStatistics volumes =
+                records.stream().mapToInt(WaterIntake::getVolume).summaryStatistics();
+        Object[] args = {
+            records.size(),
+            ids.getMin(),
+            ids.getMax(),
+            volumes.getMin(),
+            volumes.getMax(),
+            WaterIntakeArchiveCodec.encode(records),
+            Timestamp.from(archivedAt),
+            userId,
+            month.atDay(1)
+        };
+        if (this.jdbcOperations.update(UPDATE_MONTH_SQL, args) == 0) {
+            this.jdbcOperations.update(INSERT_MONTH_SQL, args);
+        }
+    }
+
+    @Override
+    public int deleteHot(long userId, List<Long> ids) {
+        return this.jdbcOperations.update(
+                DELETE_HOT_SQL,
+                ps -> {
+                    ps.setLong(1, userId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+                });
+    }
+
+    /** Decodes the months whose ID range contains {@code id} until one holds the record. */
+    private Optional<ArchivedRecord> locate(long userId, long id) {
+        return Objects.requireNonNull(
+                this.jdbcOperations.query(
+                        FIND_MONTHS_BY_ID_SQL,
+                        rs -> {
+                            while (rs.next()) {
+                                List<WaterIntake> records =
+                                        WaterIntakeArchiveCodec.decode(
+                                                rs.getBytes("payload"), userId);
+                                for (WaterIntake record : records) {
+                                    if (Long.valueOf(id).equals(record.getId())) {
+                                        return Optional.of(
+                                                new ArchivedRecord(
+                                                        YearMonth.from(
+                                                                rs.getObject(
+                                                                        "month_start",
+                                                                        LocalDate.class)),
+                                                        records,
+                                                        record,
+                                                        rs.getTimestamp("archived_at")
+                                                                .toInstant()));
+                                    }
+                                }
+                            }
+                            return Optional.<ArchivedRecord>empty();
+                        },
+                        userId,
+                        id,
+                        id));
+    }
+
+    private static YearMonth monthOf(Instant instant) {
+        return YearMonth.from(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    /** An archived record together with the rest of its month. */
+    private record ArchivedRecord(
+            YearMonth month,
+            List<WaterIntake> monthRecords,
+            WaterIntake record,
+            Instant archivedAt) {}
+
+    /** A user and UTC calendar month, as the archive's primary key. */
+    private record UserMonth(long userId, YearMonth month) {}
+}
@@ -0,0 +1,122 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Custom repository for the {@code water_intake_daily_totals} rollup, which keeps one row per user,
+ * time zone and local date. Separated from {@link WaterIntakeRepository} to encapsulate the
+ * hand-written upsert, rebuild and drift detection SQL.
+ */
+public interface WaterIntakeDailyTotalsRepository {
+
+    /**
+     * Adds the given deltas to a user's total for one local date, creating the row if needed and
+     * removing it when its count drops to zero. Must run in the same transaction as the change to
+     * {@code water_intakes} it reflects.
+     *
+     * @param userId the internal database user ID
+     * @param timeZone the IANA time zone the local date belongs to
+     * @param localDate the local calendar date
+     * @param volumeDelta the volume to add (negative to subtract)
+     * @param countDelta the number of records to add (negative to subtract)
+     */
+    void applyDelta(
+            Long userId, String timeZone, LocalDate localDate, long volumeDelta, int countDelta);
+
+    /**
+     * Applies {@link #applyDelta} only when the local date is within a day of one of the user's
+     * archived months, the days {@link #rebuildForUser} leaves untouched.
+     *
+     * @param userId the internal database user ID
+     * @param timeZone the IANA time zone the local date belongs to
+     * @param localDate the local calendar date
+     * @param volumeDelta the volume to add (negative to subtract)
+     * @param countDelta the number of records to add (negative to subtract)
+     * @return {@code true} if the day touches an archived month and the delta was applied
+     */
+    boolean applyDeltaToArchivedDay(
+            Long userId, String timeZone, LocalDate localDate, long volumeDelta, int countDelta);
+
+    /**
+     * Re-derives all of a user's totals for a time zone from {@code water_intakes}, replacing the
+     * existing rows. Locks the user row first so inserts for that user wait for the rebuild. Days
+     * touching an archived month keep their stored totals.
+     *
+     * @param userId the internal database user ID
+     * @param timeZone the IANA time zone to rebuild
+     * @return the number of daily rows written
+     */
+    int rebuildForUser(Long userId, String timeZone);
+
+    /**
+     * Checks whether the backfill of a time zone has finished.
+     *
+     * @param timeZone the IANA time zone
+     * @return {@code true} if every user has been rebuilt for this zone
+     */
+    boolean isBackfillCompleted(String timeZone);
+
+    /**
+     * Returns where an interrupted backfill of a time zone stopped.
+     *
+     * @param timeZone the IANA time zone
+     * @return the last user ID rebuilt for this zone, or {@code 0} if its backfill never started
+     */
+    long findBackfillProgress(String timeZone);
+
+    /**
+     * Records the progress of the backfill of a time zone.
+     *
+     * @param timeZone the IANA time zone
+     * @param lastUserId the last user ID rebuilt
+     * @param completed whether every user has been rebuilt
+     */
+    void saveBackfillProgress(String timeZone, long lastUserId, boolean completed);
+
+    /**
+     * Checks whether any water intake record exists.
+     *
+     * @return {@code true} if {@code water_intakes} is not empty
+     */
+    boolean existsAnyWaterIntake();
+
+    /**
+     * Returns user IDs greater than {@code afterUserId} in ascending order, for keyset iteration.
+     *
+     * @param afterUserId the last user ID already processed ({@code 0} to start)
+     * @param limit the maximum number of IDs to return
+     * @return the next page of user IDs
+     */
+    List<Long> findUserIdsAfter(long afterUserId, int limit);
+
+    /**
+     * Compares the rollup for a time zone with totals re-derived from {@code water_intakes}.
+     * Tombstoned users are skipped, since their water intakes are purged without maintaining the
+     * rollup, and so are days touching an archived month, whose records are no longer in {@code
+     * water_intakes}.
+     *
+     * @param timeZone the IANA time zone to check
+     * @param limit the maximum number of mismatches to return
+     * @return the days whose stored totals differ from the raw records
+     */
+    List<Drift> findDrift(String timeZone, int limit);
+
+    /**
+     * A day whose stored totals differ from the totals derived from raw records.
+     *
+     * @param userId the internal database user ID
+     * @param localDate the local calendar date
+     * @param expectedVolume the volume derived from {@code water_intakes}
+     * @param expectedCount the record count derived from {@code water_intakes}
+     * @param storedVolume the volume stored in the rollup
+     * @param storedCount the record count stored in the rollup
+     */
+    record Drift(
+            Long userId,
+            LocalDate localDate,
+            long expectedVolume,
+            long expectedCount,
+            long storedVolume,
+            long storedCount) {}
+}
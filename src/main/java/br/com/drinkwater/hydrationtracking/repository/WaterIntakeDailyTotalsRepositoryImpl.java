@@ -0,0 +1,286 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link WaterIntakeDailyTotalsRepository}.
+ *
+ * <p>{@link #applyDelta} is an update-first upsert loop: {@code UPDATE}, then {@code INSERT ... ON
+ * CONFLICT DO NOTHING} when no row matched, and another round if a concurrent transaction inserted
+ * the row in between. This stays race-safe without {@code ON CONFLICT DO UPDATE}, which the H2
+ * PostgreSQL mode used by the test suite does not support. Once a user has a row for the day it is
+ * a single statement. {@link #saveBackfillProgress} uses the same loop.
+ *
+ * <p>Days within a day of an archived UTC month are left out of {@link #rebuildForUser} and {@link
+ * #findDrift}: their records are partly or wholly in {@code water_intake_archive}, which SQL cannot
+ * decode, so their stored totals are only changed by deltas, which {@link #applyDeltaToArchivedDay}
+ * applies to imported records. The one-day margin covers every UTC offset a local date can have.
+ */
+@Repository
+public class WaterIntakeDailyTotalsRepositoryImpl implements WaterIntakeDailyTotalsRepository {
+
+    private static final String UPDATE_SQL =
+            """
+            UPDATE water_intake_daily_totals
+            SET total_volume = total_volume + :volumeDelta,
+                intake_count = intake_count + :countDelta
+            WHERE user_id = :userId AND time_zone = :timeZone AND local_date = :localDate
+            """;
+
+    private static final String INSERT_SQL =
+            """
+            INSERT INTO water_intake_daily_totals
+                (user_id, time_zone, local_date, total_volume, intake_count)
+            VALUES (:userId, :timeZone, :localDate, :volumeDelta, :countDelta)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String DELETE_EMPTY_SQL =
+            """
+            DELETE FROM water_intake_daily_totals
+            WHERE user_id = :userId AND time_zone = :timeZone AND local_date = :localDate
+              AND intake_count <= 0
+            """;
+
+    private static final String LOCK_USER_SQL =
+            "SELECT id FROM users WHERE id = :userId FOR UPDATE";
+
+    private static final String NOT_ARCHIVED_DAY =
+            """
+            NOT EXISTS (
+                SELECT 1 FROM water_intake_archive a
+                WHERE a.user_id = %1$s.user_id
+                  AND %1$s.local_date >= a.month_start - INTERVAL '1' DAY
+                  AND %1$s.local_date < a.month_start + INTERVAL '1' MONTH + INTERVAL '1' DAY
+            )
+            """;
+
+    private static final String IS_ARCHIVED_DAY_SQL =
+            """
+            SELECT NOT %s
+            FROM (SELECT CAST(:userId AS BIGINT) AS user_id,
+                         CAST(:localDate AS DATE) AS local_date) candidate
+            """
+                    .formatted(NOT_ARCHIVED_DAY.formatted("candidate"));
+
+    private static final String DELETE_FOR_USER_SQL =
+            """
+            DELETE FROM water_intake_daily_totals t
+            WHERE t.user_id = :userId AND t.time_zone = :timeZone AND %s
+            """
+                    .formatted(NOT_ARCHIVED_DAY.formatted("t"));
+
+    private static final String REBUILD_FOR_USER_SQL =
+            """
+            INSERT INTO water_intake_daily_totals
+                (user_id, time_zone, local_date, total_volume, intake_count)
+            SELECT user_id, :timeZone, local_date, SUM(volume), COUNT(*)
+            FROM (
+                SELECT user_id,
+                       CAST(date_trunc('day', date_time_utc AT TIME ZONE :timeZone) AS DATE)
+                           AS local_date,
+                       volume
+                FROM water_intakes
+                WHERE user_id = :userId
+            ) local_intakes
+            WHERE %s
+            GROUP BY user_id, local_date
+            """
+                    .formatted(NOT_ARCHIVED_DAY.formatted("local_intakes"));
+
+    private static final String IS_BACKFILL_COMPLETED_SQL =
+            """
+            SELECT EXISTS (
+                SELECT 1 FROM water_intake_daily_totals_backfill
+                WHERE time_zone = :timeZone AND completed_at IS NOT NULL
+            )
+            """;
+
+    private static final String FIND_BACKFILL_PROGRESS_SQL =
+            """
+            SELECT last_user_id FROM water_intake_daily_totals_backfill
+            WHERE time_zone = :timeZone
+            """;
+
+    private static final String UPDATE_BACKFILL_PROGRESS_SQL =
+            """
+            UPDATE water_intake_daily_totals_backfill
+            SET last_user_id = :lastUserId,
+                completed_at = CASE WHEN :completed THEN CURRENT_TIMESTAMP END
+            WHERE time_zone = :timeZone
+            """;
+
+    private static final String INSERT_BACKFILL_PROGRESS_SQL =
+            """
+            INSERT INTO water_intake_daily_totals_backfill (time_zone, last_user_id, completed_at)
+            VALUES (:timeZone, :lastUserId, CASE WHEN :completed THEN CURRENT_TIMESTAMP END)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String EXISTS_ANY_WATER_INTAKE_SQL =
+            "SELECT EXISTS (SELECT 1 FROM water_intakes)";
+
+    private static final String FIND_USER_IDS_AFTER_SQL =
+            "SELECT id FROM users WHERE id > :afterUserId ORDER BY id LIMIT :limit";
+
+    private static final String FIND_DRIFT_SQL =
+            """
+            SELECT user_id, local_date,
+                   SUM(expected_volume) AS expected_volume, SUM(expected_count) AS expected_count,
+                   SUM(stored_volume) AS stored_volume, SUM(stored_count) AS stored_count
+            FROM (
+                SELECT user_id,
+                       CAST(date_trunc('day', date_time_utc AT TIME ZONE :timeZone) AS DATE)
+                           AS local_date,
+                       volume AS expected_volume, 1 AS expected_count,
+                       0 AS stored_volume, 0 AS stored_count
+                FROM water_intakes
+                UNION ALL
+                SELECT user_id, local_date, 0, 0, total_volume, intake_count
+                FROM water_intake_daily_totals
+                WHERE time_zone = :timeZone
+            ) combined
+            WHERE NOT EXISTS (
+                SELECT 1 FROM users u WHERE u.id = combined.user_id AND u.deleted_at IS NOT NULL
+            )
+              AND %s
+            GROUP BY user_id, local_date
+            HAVING SUM(expected_volume) <> SUM(stored_volume)
+                OR SUM(expected_count) <> SUM(stored_count)
+            ORDER BY user_id, local_date
+            LIMIT :limit
+            """
+                    .formatted(NOT_ARCHIVED_DAY.formatted("combined"));
+
+    private static final RowMapper<Drift> DRIFT_ROW_MAPPER =
+            (rs, rowNum) ->
+                    new Drift(
+                            rs.getLong("user_id"),
+                            rs.getObject("local_date", LocalDate.class),
+                            rs.getLong("expected_volume"),
+                            rs.getLong("expected_count"),
+                            rs.getLong("stored_volume"),
+                            rs.getLong("stored_count"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public WaterIntakeDailyTotalsRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDelta(
+            Long userId, String timeZone, LocalDate localDate, long volumeDelta, int countDelta) {
+        var params =
+                new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("timeZone", timeZone)
+                        .addValue("localDate", localDate)
+                        .addValue("volumeDelta", volumeDelta)
+                        .addValue("countDelta", countDelta);
+
+        boolean applied = false;
+        while (!applied) {
+            applied =
+                    jdbcTemplate.update(UPDATE_SQL, params) > 0
+                            || jdbcTemplate.update(INSERT_SQL, params) > 0;
+        }
+
+        if (countDelta < 0) {
+            jdbcTemplate.update(DELETE_EMPTY_SQL, params);
+        }
+    }
+
+    @Override
+    public boolean applyDeltaToArchivedDay(
+            Long userId, String timeZone, LocalDate localDate, long volumeDelta, int countDelta) {
+        var params =
+                new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("localDate", localDate);
+        boolean archivedDay =
+                Boolean.TRUE.equals(
+                        jdbcTemplate.queryForObject(IS_ARCHIVED_DAY_SQL, params, Boolean.class));
+        if (archivedDay) {
+            applyDelta(userId, timeZone, localDate, volumeDelta, countDelta);
+        }
+        return archivedDay;
+    }
+
+    @Override
+    public int rebuildForUser(Long userId, String timeZone) {
+        var params =
+                new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("timeZone", timeZone);
+
+        jdbcTemplate.queryForList(LOCK_USER_SQL, params, Long.class);
+        jdbcTemplate.update(DELETE_FOR_USER_SQL, params);
+        return jdbcTemplate.update(REBUILD_FOR_USER_SQL, params);
+    }
+
+    @Override
+    public boolean isBackfillCompleted(String timeZone) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject(
+                        IS_BACKFILL_COMPLETED_SQL,
+                        new MapSqlParameterSource("timeZone", timeZone),
+                        Boolean.class));
+    }
+
+    @Override
+    public long findBackfillProgress(String timeZone) {
+        return jdbcTemplate
+                .queryForList(
+                        FIND_BACKFILL_PROGRESS_SQL,
+                        new MapSqlParameterSource("timeZone", timeZone),
+                        Long.class)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    @Override
+    public void saveBackfillProgress(String timeZone, long lastUserId, boolean completed) {
+        var params =
+                new MapSqlParameterSource()
+                        .addValue("timeZone", timeZone)
+                        .addValue("lastUserId", lastUserId)
+                        .addValue("completed", completed);
+
+        boolean saved = false;
+        while (!saved) {
+            saved =
+                    jdbcTemplate.update(UPDATE_BACKFILL_PROGRESS_SQL, params) > 0
+                            || jdbcTemplate.update(INSERT_BACKFILL_PROGRESS_SQL, params) > 0;
+        }
+    }
+
+    @Override
+    public boolean existsAnyWaterIntake() {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject(
+                        EXISTS_ANY_WATER_INTAKE_SQL, new MapSqlParameterSource(), Boolean.class));
+    }
+
+    @Override
+    public List<Long> findUserIdsAfter(long afterUserId, int limit) {
+        var params =
+                new MapSqlParameterSource()
+                        .addValue("afterUserId", afterUserId)
+                        .addValue("limit", limit);
+        return jdbcTemplate.queryForList(FIND_USER_IDS_AFTER_SQL, params, Long.class);
+    }
+
+    @Override
+    public List<Drift> findDrift(String timeZone, int limit) {
+        var params =
+                new MapSqlParameterSource().addValue("timeZone", timeZone).addValue("limit", limit);
+        return jdbcTemplate.query(FIND_DRIFT_SQL, params, DRIFT_ROW_MAPPER);
+    }
+}
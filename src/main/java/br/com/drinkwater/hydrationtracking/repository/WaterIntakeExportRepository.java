@@ -0,0 +1,22 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.util.function.Consumer;
+
+/**
+ * Custom read repository that streams a user's full water intake history. Separated from {@link
+ * WaterIntakeRepository} because Spring Data JDBC derived queries always materialize their result.
+ */
+public interface WaterIntakeExportRepository {
+
+    /**
+     * Passes every water intake record of a user to {@code action}, oldest first, reading the rows
+     * from the database one bounded page at a time. Called outside a transaction, no connection is
+     * held while {@code action} runs; records created or deleted during the call may or may not be
+     * visible to it.
+     *
+     * @param userId the internal database user ID
+     * @param action the callback invoked once per record, in {@code (date_time_utc, id)} order
+     */
+    void forEachByUserId(Long userId, Consumer<WaterIntake> action);
+}
@@ -0,0 +1,133 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.SearchSortField;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link WaterIntakeExportRepository}. Reads the history in keyset
+ * pages of {@link #PAGE_SIZE} rows, each fetched by its own query that resumes after the last row
+ * of the previous page with a row-tuple comparison {@code (date_time_utc, id) > (?, ?)}. Outside a
+ * transaction, each page borrows a pooled connection only while it is read, so a slow client holds
+ * no connection while the caller writes the page, and the heap used by an export does not grow with
+ * the number of records. Rows are ordered by {@code (date_time_utc, id)}, which PostgreSQL serves
+ * by scanning the {@code (user_id, date_time_utc DESC, id DESC)} covering index backward.
+ *
+ * <p>Archived months from {@code water_intake_archive} are merged into the stream in the same
+ * order. Only the list of archived months is read up front; each month is decoded when the stream
+ * reaches its first day, so at most one archived month is held in memory alongside a page.
+ */
+@Repository
+public class WaterIntakeExportRepositoryImpl implements WaterIntakeExportRepository {
+
+    static final int PAGE_SIZE = 500;
+
+    private static final String SELECT_CLAUSE =
+            """
+            SELECT id, date_time_utc, volume, volume_unit, user_id
+            FROM water_intakes
+            WHERE user_id = ?
+            """;
+
+    private static final String FIRST_PAGE_SQL =
+            SELECT_CLAUSE + "ORDER BY date_time_utc, id\nLIMIT ?";
+
+    private static final String NEXT_PAGE_SQL =
+            SELECT_CLAUSE + "AND (date_time_utc, id) > (?, ?)\nORDER BY date_time_utc, id\nLIMIT ?";
+
+    private static final RowMapper<WaterIntake> ROW_MAPPER =
+            (rs, rowNum) ->
+                    new WaterIntake(
+                            rs.getLong("id"),
+                            rs.getTimestamp("date_time_utc").toInstant(),
+                            rs.getInt("volume"),
+                            rs.getInt("volume_unit"),
+                            rs.getLong("user_id"));
+
+    private static final Comparator<WaterIntake> ORDER = SearchSortField.DATE_TIME_UTC.ascending();
+
+    private final JdbcOperations jdbcOperations;
+
+    private final WaterIntakeArchiveRepository archiveRepository;
+
+    public WaterIntakeExportRepositoryImpl(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            WaterIntakeArchiveRepository archiveRepository) {
+        this.jdbcOperations = jdbcTemplate.getJdbcOperations();
+        this.archiveRepository = archiveRepository;
+    }
+
+    @Override
+    public void forEachByUserId(Long userId, Consumer<WaterIntake> action) {
+        Deque<YearMonth> archivedMonths =
+                new ArrayDeque<>(this.archiveRepository.findArchivedMonths(userId));
+        Deque<WaterIntake> archived = new ArrayDeque<>();
+        List<WaterIntake> page =
+                this.jdbcOperations.query(FIRST_PAGE_SQL, ROW_MAPPER, userId, PAGE_SIZE);
+        while (!page.isEmpty()) {
+            for (WaterIntake waterIntake : page) {
+                emitArchived(userId, archivedMonths, archived, waterIntake, action);
+                action.accept(waterIntake);
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            WaterIntake last = page.getLast();
+            page =
+                    this.jdbcOperations.query(
+                            NEXT_PAGE_SQL,
+                            ROW_MAPPER,
+                            userId,
+                            Timestamp.from(last.getDateTimeUTC()),
+                            last.getId(),
+                            PAGE_SIZE);
+        }
+        emitArchived(userId, archivedMonths, archived, null, action);
+    }
+
+    /**
+     * Passes the archived records that sort before {@code next} to {@code action}, decoding the
+     * following archived month whenever the buffered one runs out and it starts no later than
+     * {@code next}.
+     *
+     * @param next the next record from {@code water_intakes}, or {@code null} to drain the archive
+     */
+    private void emitArchived(
+            Long userId,
+            Deque<YearMonth> archivedMonths,
+            Deque<WaterIntake> archived,
+            @Nullable WaterIntake next,
+            Consumer<WaterIntake> action) {
+        while (true) {
+            if (archived.isEmpty()) {
+                YearMonth month = archivedMonths.peekFirst();
+                if (month == null
+                        || (next != null
+                                && month.atDay(1)
+                                        .atStartOfDay(ZoneOffset.UTC)
+                                        .toInstant()
+                                        .isAfter(next.getDateTimeUTC()))) {
+                    return;
+                }
+                archivedMonths.removeFirst();
+                archived.addAll(this.archiveRepository.findArchivedRecords(userId, month, month));
+            } else if (next == null || ORDER.compare(archived.peekFirst(), next) < 0) {
+                action.accept(archived.removeFirst());
+            } else {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom write repository for bulk imports. Lines are first loaded into the {@code
+ * water_intake_import_staging} table and then merged into {@code water_intakes} with set-based
+ * statements. Separated from {@link WaterIntakeWriteRepository} because staging bypasses the
+ * per-row insert path entirely. Every method must run in the same transaction.
+ */
+public interface WaterIntakeImportRepository {
+
+    /**
+     * Opens a writer that appends rows to the staging table under {@code importId}. The writer
+     * holds the transaction's connection until it is closed, and no other statement may run on that
+     * connection in the meantime.
+     *
+     * @param importId identifies the rows of this import in the staging table
+     * @return the writer, which must be closed before the staged rows are read
+     */
+    StagingWriter openStaging(UUID importId);
+
+    /**
+     * Finds the staged lines that cannot be merged because the user already has a record at the
+     * same date/time, or because an earlier line of the same import has it. Lines that collide with
+     * an archived record are also removed from staging, since the merge cannot detect them.
+     *
+     * @param importId the import whose staged rows are checked
+     * @param userId the internal database user ID
+     * @return the duplicate line numbers, in ascending order
+     */
+    List<Integer> findDuplicateLines(UUID importId, Long userId);
+
+    /**
+     * Inserts every staged row of the import into {@code water_intakes} for the user, skipping
+     * duplicates, and removes the staged rows. The rows dated within two days of an archived month
+     * are returned, since rebuilding the rollup leaves the days around archived months untouched.
+     *
+     * @param importId the import whose staged rows are merged
+     * @param userId the internal database user ID
+     * @return the number of records inserted and the inserted records near archived months
+     */
+    MergeResult merge(UUID importId, Long userId);
+
+    /**
+     * The outcome of a merge.
+     *
+     * @param inserted the number of records inserted
+     * @param nearArchivedMonths the inserted records dated within two days of an archived month
+     */
+    record MergeResult(int inserted, List<WaterIntake> nearArchivedMonths) {}
+
+    /** Appends rows of one import to the staging table. */
+    interface StagingWriter extends AutoCloseable {
+
+        /**
+         * Stages one water intake. Rows may be buffered until the writer is closed.
+         *
+         * @param lineNumber the line of the import body the record was read from
+         * @param waterIntake the record to stage (its ID and user are ignored)
+         */
+        void add(int lineNumber, WaterIntake waterIntake);
+
+        /** Sends any buffered rows and releases the connection. */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,391 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link WaterIntakeImportRepository}. On PostgreSQL, rows are staged
+ * through a single {@code COPY ... FROM STDIN} stream per import, which avoids per-row statement
+ * overhead and, together with the unlogged staging table, loads tens of thousands of rows per
+ * second. Other databases, such as the H2 instance used by the test suite, fall back to JDBC
+ * batches of {@value #BATCH_SIZE} rows.
+ *
+ * <p>Duplicates are detected with {@code ROW_NUMBER()} over the staged date/times, so the check is
+ * one sort per import instead of a lookup per line. The merge repeats the same filter and ends with
+ * {@code ON CONFLICT DO NOTHING}, so a record inserted concurrently by another request is skipped
+ * instead of failing the import. The conflict target is omitted for the same H2 reason explained in
+ * {@link WaterIntakeWriteRepositoryImpl}.
+ *
+ * <p>Records moved to {@code water_intake_archive} are outside that conflict check, so staged rows
+ * whose UTC month is archived for the user are compared with the decoded month in memory, and the
+ * ones that collide are reported as duplicates and removed from staging before the merge. An import
+ * that does not reach an archived month decodes nothing. Rows dated within two days of an archived
+ * month are merged by a second statement that returns them ({@code RETURNING} on PostgreSQL, a
+ * {@code FINAL TABLE} data change delta table on H2), so the caller can add them to the daily
+ * totals that a rebuild keeps frozen around archived months.
+ */
+@Repository
+public class WaterIntakeImportRepositoryImpl implements WaterIntakeImportRepository {
+
+    static final int BATCH_SIZE = 1_000;
+
+    private static final Logger log =
+            LoggerFactory.getLogger(WaterIntakeImportRepositoryImpl.class);
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private static final String COPY_TASK = "COPY water_intake_import_staging";
+
+    private static final String COPY_SQL =
+            "COPY water_intake_import_staging"
+                    + " (import_id, line_number, date_time_utc, volume, volume_unit)"
+                    + " FROM STDIN (FORMAT csv)";
+
+    private static final String INSERT_STAGING_SQL =
+            """
+            INSERT INTO water_intake_import_staging
+                (import_id, line_number, date_time_utc, volume, volume_unit)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String STAGED_WITH_OCCURRENCE =
+            """
+            SELECT line_number, date_time_utc, volume, volume_unit,
+                   ROW_NUMBER() OVER (PARTITION BY date_time_utc ORDER BY line_number)
+                       AS occurrence
+            FROM water_intake_import_staging
+            WHERE import_id = :importId
+            """;
+
+    private static final String FIND_DUPLICATE_LINES_SQL =
+            """
+            SELECT staged.line_number
+            FROM (%s) staged
+            WHERE staged.occurrence > 1
+               OR EXISTS (SELECT 1 FROM water_intakes w
+                          WHERE w.user_id = :userId AND w.date_time_utc = staged.date_time_utc)
+            ORDER BY staged.line_number
+            """
+                    .formatted(STAGED_WITH_OCCURRENCE);
+
+    private static final String NEAR_ARCHIVED_MONTH =
+            """
+            EXISTS (SELECT 1 FROM water_intake_archive a
+                    WHERE a.user_id = :userId
+                      AND CAST(staged.date_time_utc AT TIME ZONE 'UTC' AS DATE)
+                          >= a.month_start - INTERVAL '2' DAY
+                      AND CAST(staged.date_time_utc AT TIME ZONE 'UTC' AS DATE)
+                          < a.month_start + INTERVAL '1' MONTH + INTERVAL '2' DAY)
+            """;
+
+    private static final String MERGE_TEMPLATE =
+            """
+            INSERT INTO water_intakes (date_time_utc, volume, volume_unit, user_id)
+            SELECT staged.date_time_utc, staged.volume, staged.volume_unit, :userId
+            FROM (%s) staged
+            WHERE staged.occurrence = 1 AND %s %s
+            ORDER BY staged.date_time_utc
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String MERGE_SQL =
+            MERGE_TEMPLATE.formatted(STAGED_WITH_OCCURRENCE, "NOT", NEAR_ARCHIVED_MONTH);
+
+    private static final String MERGE_NEAR_ARCHIVED_SQL =
+            MERGE_TEMPLATE.formatted(STAGED_WITH_OCCURRENCE, "", NEAR_ARCHIVED_MONTH);
+
+    private static final String POSTGRESQL_MERGE_NEAR_ARCHIVED_SQL =
+            MERGE_NEAR_ARCHIVED_SQL + "RETURNING id, date_time_utc, volume, volume_unit";
+
+    private static final String H2_MERGE_NEAR_ARCHIVED_SQL =
+            "SELECT id, date_time_utc, volume, volume_unit FROM FINAL TABLE ("
+                    + MERGE_NEAR_ARCHIVED_SQL
+                    + ")";
+
+    private static final String FIND_STAGED_IN_ARCHIVED_MONTHS_SQL =
+            """
+            SELECT staged.line_number, staged.date_time_utc
+            FROM water_intake_import_staging staged
+            WHERE staged.import_id = :importId
+              AND EXISTS (SELECT 1 FROM water_intake_archive a
+                          WHERE a.user_id = :userId
+                            AND a.month_start = CAST(date_trunc('month',
+                                staged.date_time_utc AT TIME ZONE 'UTC') AS DATE))
+            """;
+
+    private static final String DELETE_STAGED_LINES_SQL =
+            "DELETE FROM water_intake_import_staging WHERE import_id = ? AND line_number = ANY(?)";
+
+    private static final String DELETE_STAGED_SQL =
+            "DELETE FROM water_intake_import_staging WHERE import_id = :importId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final WaterIntakeArchiveRepository archiveRepository;
+    private final String mergeNearArchivedSql;
+
+    public WaterIntakeImportRepositoryImpl(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            WaterIntakeArchiveRepository archiveRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.archiveRepository = archiveRepository;
+        String databaseProductName =
+                jdbcTemplate
+                        .getJdbcTemplate()
+                        .execute(
+                                (ConnectionCallback<String>)
+                                        connection ->
+                                                connection.getMetaData().getDatabaseProductName());
+        this.mergeNearArchivedSql =
+                "PostgreSQL".equals(databaseProductName)
+                        ? POSTGRESQL_MERGE_NEAR_ARCHIVED_SQL
+                        : H2_MERGE_NEAR_ARCHIVED_SQL;
+    }
+
+    @Override
+    public StagingWriter openStaging(UUID importId) {
+        Connection connection = DataSourceUtils.getConnection(this.dataSource);
+        try {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                return new CopyStagingWriter(importId, connection, copyIn);
+            }
+        } catch (SQLException e) {
+            DataSourceUtils.releaseConnection(connection, this.dataSource);
+            throw translate(e);
+        }
+        return new BatchStagingWriter(importId, connection);
+    }
+
+    @Override
+    public List<Integer> findDuplicateLines(UUID importId, Long userId) {
+        List<Integer> archivedLines = removeArchivedDuplicates(importId, userId);
+        List<Integer> duplicateLines =
+                this.jdbcTemplate.queryForList(
+                        FIND_DUPLICATE_LINES_SQL, params(importId, userId), Integer.class);
+        if (archivedLines.isEmpty()) {
+            return duplicateLines;
+        }
+        var lines = new TreeSet<>(duplicateLines);
+        lines.addAll(archivedLines);
+        return List.copyOf(lines);
+    }
+
+    @Override
+    public MergeResult merge(UUID importId, Long userId) {
+        int inserted = this.jdbcTemplate.update(MERGE_SQL, params(importId, userId));
+        List<WaterIntake> nearArchivedMonths =
+                this.jdbcTemplate.query(
+                        this.mergeNearArchivedSql,
+                        params(importId, userId),
+                        (rs, rowNum) ->
+                                new WaterIntake(
+                                        rs.getLong("id"),
+                                        rs.getTimestamp("date_time_utc").toInstant(),
+                                        rs.getInt("volume"),
+                                        rs.getInt("volume_unit"),
+                                        userId));
+        this.jdbcTemplate.update(DELETE_STAGED_SQL, params(importId, userId));
+        return new MergeResult(inserted + nearArchivedMonths.size(), nearArchivedMonths);
+    }
+
+    private List<Integer> removeArchivedDuplicates(UUID importId, Long userId) {
+        Map<Integer, Instant> staged = new LinkedHashMap<>();
+        this.jdbcTemplate.query(
+                FIND_STAGED_IN_ARCHIVED_MONTHS_SQL,
+                params(importId, userId),
+                (RowCallbackHandler)
+                        rs ->
+                                staged.put(
+                                        rs.getInt("line_number"),
+                                        rs.getTimestamp("date_time_utc").toInstant()));
+        if (staged.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Instant> archived = new HashSet<>();
+        staged.values().stream()
+                .map(dateTime -> YearMonth.from(dateTime.atOffset(ZoneOffset.UTC)))
+                .distinct()
+                .forEach(
+                        month ->
+                                this.archiveRepository
+                                        .findArchivedRecords(userId, month, month)
+                                        .forEach(record -> archived.add(record.getDateTimeUTC())));
+        List<Integer> lines =
+                staged.entrySet().stream()
+                        .filter(line -> archived.contains(line.getValue()))
+                        .map(Map.Entry::getKey)
+                        .toList();
+        if (!lines.isEmpty()) {
+            this.jdbcTemplate
+                    .getJdbcOperations()
+                    .update(
+                            DELETE_STAGED_LINES_SQL,
+                            ps -> {
+                                ps.setObject(1, importId);
+                                ps.setArray(
+                                        2,
+                                        ps.getConnection()
+                                                .createArrayOf("integer", lines.toArray()));
+                            });
+        }
+        return lines;
+    }
+
+    private static MapSqlParameterSource params(UUID importId, Long userId) {
+        return new MapSqlParameterSource()
+                .addValue("importId", importId)
+                .addValue("userId", userId);
+    }
+
+    private DataAccessException translate(SQLException e) {
+        JdbcTemplate template = this.jdbcTemplate.getJdbcTemplate();
+        DataAccessException translated =
+                template.getExceptionTranslator().translate(COPY_TASK, COPY_SQL, e);
+        return translated != null
+                ? translated
+                : new UncategorizedSQLException(COPY_TASK, COPY_SQL, e);
+    }
+
+    /** Streams rows as CSV into an open {@code COPY}, sending them in chunks of 64K chars. */
+    private final class CopyStagingWriter implements StagingWriter {
+
+        private final String importId;
+        private final Connection connection;
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 128);
+
+        private CopyStagingWriter(UUID importId, Connection connection, CopyIn copyIn) {
+            this.importId = importId.toString();
+            this.connection = connection;
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        public void add(int lineNumber, WaterIntake waterIntake) {
+            this.buffer
+                    .append(this.importId)
+                    .append(',')
+                    .append(lineNumber)
+                    .append(',')
+                    .append(waterIntake.getDateTimeUTC())
+                    .append(',')
+                    .append(waterIntake.getVolume())
+                    .append(',')
+                    .append(waterIntake.getVolumeUnit().getCode())
+                    .append('\n');
+            if (this.buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                flush();
+                this.copyIn.endCopy();
+            } catch (SQLException e) {
+                throw translate(e);
+            } finally {
+                cancelIfActive();
+                DataSourceUtils.releaseConnection(this.connection, dataSource);
+            }
+        }
+
+        /** Leaves the connection usable for the rollback when the copy failed midway. */
+        private void cancelIfActive() {
+            if (this.copyIn.isActive()) {
+                try {
+                    this.copyIn.cancelCopy();
+                } catch (SQLException e) {
+                    log.warn("Failed to cancel import staging COPY", e);
+                }
+            }
+        }
+
+        private void flush() {
+            byte[] bytes = this.buffer.toString().getBytes(StandardCharsets.UTF_8);
+            this.buffer.setLength(0);
+            try {
+                this.copyIn.writeToCopy(bytes, 0, bytes.length);
+            } catch (SQLException e) {
+                throw translate(e);
+            }
+        }
+    }
+
+    /** Sends rows through JDBC batches of {@value #BATCH_SIZE} on databases without COPY. */
+    private final class BatchStagingWriter implements StagingWriter {
+
+        private final UUID importId;
+        private final Connection connection;
+        private final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        private BatchStagingWriter(UUID importId, Connection connection) {
+            this.importId = importId;
+            this.connection = connection;
+        }
+
+        @Override
+        public void add(int lineNumber, WaterIntake waterIntake) {
+            this.batch.add(
+                    new Object[] {
+                        this.importId,
+                        lineNumber,
+                        Timestamp.from(waterIntake.getDateTimeUTC()),
+                        waterIntake.getVolume(),
+                        waterIntake.getVolumeUnit().getCode()
+                    });
+            if (this.batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                flush();
+            } finally {
+                DataSourceUtils.releaseConnection(this.connection, dataSource);
+            }
+        }
+
+        private void flush() {
+            if (!this.batch.isEmpty()) {
+                jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_STAGING_SQL, this.batch);
+                this.batch.clear();
+            }
+        }
+    }
+}
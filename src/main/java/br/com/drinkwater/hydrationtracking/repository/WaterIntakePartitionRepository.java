@@ -0,0 +1,44 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Manages the monthly partitions of {@code water_intakes} created by {@code
+ * V7__partition_water_intakes_by_month.sql} on PostgreSQL. Each partition covers one UTC calendar
+ * month and is named {@code water_intakes_pYYYYMM}.
+ */
+public interface WaterIntakePartitionRepository {
+
+    /**
+     * Tells whether {@code water_intakes} is partitioned. Only true on PostgreSQL; the H2 database
+     * used by the test suite keeps a single table.
+     *
+     * @return {@code true} if the table is partitioned
+     */
+    boolean isPartitioned();
+
+    /**
+     * Lists the months that currently have an attached partition.
+     *
+     * @return the partitioned months, oldest first
+     */
+    List<YearMonth> findMonthlyPartitions();
+
+    /**
+     * Creates and attaches the partition for {@code month}, moving that month's rows out of the
+     * default partition.
+     *
+     * @param month the UTC calendar month
+     * @return {@code false} if the partition already existed
+     */
+    boolean createMonthlyPartition(YearMonth month);
+
+    /**
+     * Detaches the partition for {@code month}. Its rows stay in the standalone table {@code
+     * water_intakes_pYYYYMM} but are no longer part of {@code water_intakes}.
+     *
+     * @param month the UTC calendar month
+     */
+    void detachMonthlyPartition(YearMonth month);
+}
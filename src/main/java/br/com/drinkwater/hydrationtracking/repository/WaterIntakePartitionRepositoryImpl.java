@@ -0,0 +1,89 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link WaterIntakePartitionRepository}. Partitions are created by
+ * the {@code create_water_intakes_partition} function of the same migration that partitioned the
+ * table, so the initial partitions and the ones created later share one definition, including the
+ * per-partition covering indexes. Partitions are listed from {@code pg_inherits}; any database
+ * other than PostgreSQL reports the table as not partitioned.
+ */
+@Repository
+public class WaterIntakePartitionRepositoryImpl implements WaterIntakePartitionRepository {
+
+    private static final String PARTITION_PREFIX = "water_intakes_p";
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String IS_PARTITIONED_SQL =
+            """
+            SELECT EXISTS (SELECT 1 FROM pg_partitioned_table
+                           WHERE partrelid = to_regclass('water_intakes'))
+            """;
+
+    private static final String FIND_PARTITIONS_SQL =
+            """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = to_regclass('water_intakes')
+              AND c.relname ~ '^water_intakes_p[0-9]{6}$'
+            ORDER BY c.relname
+            """;
+
+    private static final String CREATE_PARTITION_SQL = "SELECT create_water_intakes_partition(?)";
+
+    private static final String DETACH_PARTITION_SQL =
+            "ALTER TABLE water_intakes DETACH PARTITION ";
+
+    private final JdbcOperations jdbcOperations;
+
+    public WaterIntakePartitionRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcOperations = jdbcTemplate.getJdbcOperations();
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        Boolean postgres =
+                this.jdbcOperations.execute(
+                        (ConnectionCallback<Boolean>)
+                                connection -> connection.isWrapperFor(PGConnection.class));
+        return Boolean.TRUE.equals(postgres)
+                && Boolean.TRUE.equals(
+                        this.jdbcOperations.queryForObject(IS_PARTITIONED_SQL, Boolean.class));
+    }
+
+    @Override
+    public List<YearMonth> findMonthlyPartitions() {
+        return this.jdbcOperations.query(
+                FIND_PARTITIONS_SQL,
+                (rs, rowNum) ->
+                        YearMonth.parse(
+                                rs.getString(1).substring(PARTITION_PREFIX.length()),
+                                MONTH_SUFFIX));
+    }
+
+    @Override
+    public boolean createMonthlyPartition(YearMonth month) {
+        return Boolean.TRUE.equals(
+                this.jdbcOperations.queryForObject(
+                        CREATE_PARTITION_SQL, Boolean.class, month.atDay(1)));
+    }
+
+    @Override
+    public void detachMonthlyPartition(YearMonth month) {
+        this.jdbcOperations.execute(DETACH_PARTITION_SQL + partitionName(month));
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(MONTH_SUFFIX);
+    }
+}
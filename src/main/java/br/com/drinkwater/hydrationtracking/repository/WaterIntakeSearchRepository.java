@@ -21,10 +21,12 @@ public interface WaterIntakeSearchRepository {
      * @param minVolume optional minimum volume filter
      * @param maxVolume optional maximum volume filter
      * @param limit the maximum number of records to return
-     * @param cursor optional cursor for keyset pagination (date/time + ID)
+     * @param cursor optional cursor for keyset pagination (sort key value + ID), which must have
+     *     been issued for {@code sortField}
      * @param sortField the field to sort by (e.g. "dateTimeUTC", "volume")
      * @param sortDirection the sort direction ("ASC" or "DESC")
      * @return the matching water intake records
+     * @throws IllegalArgumentException if the cursor was issued for another sort field
      */
     List<WaterIntake> search(
             Long userId,
@@ -1,36 +1,83 @@
 package br.com.drinkwater.hydrationtracking.repository;
 
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
 import br.com.drinkwater.core.PageCursor;
+import br.com.drinkwater.hydrationtracking.model.SearchSortField;
 import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository.ArchivedMonth;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
-import java.util.Set;
+import java.util.stream.IntStream;
+import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
- * JDBC-based implementation of {@link WaterIntakeSearchRepository}. Builds dynamic SQL queries with
- * optional WHERE clauses for date range, volume range, and cursor-based keyset pagination. Uses
- * row-tuple comparison {@code (column, id) > (:cursorValue, :cursorId)} for stable cursor ordering.
+ * JDBC-based implementation of {@link WaterIntakeSearchRepository}. Supports optional WHERE clauses
+ * for date range, volume range, and cursor-based keyset pagination. Uses row-tuple comparison
+ * {@code (column, id) > (?, ?)} for stable cursor ordering, binding the cursor's typed sort value
+ * so the seek stays on the sort key's index.
+ *
+ * <p>The search has a finite number of SQL shapes (which filters are present, cursor or not, sort
+ * field and direction), so every shape is rendered once, at class initialization, into an immutable
+ * positional template indexed by a bitmask. A request only picks its template and fills an argument
+ * array. Because each shape always produces the identical SQL string, pgjdbc's per-connection
+ * statement cache recognizes it and switches to a server-side prepared statement after {@code
+ * prepareThreshold} executions, which skips parsing and, once PostgreSQL settles on a generic plan,
+ * planning.
+ *
+ * <p>Only the mapped columns are selected, so on PostgreSQL every supported sort key is served by a
+ * {@code (user_id, <sort column>, id)} index that {@code INCLUDE}s the remaining columns, allowing
+ * index-only scans without a sort step (see {@code V3__create_water_intakes_covering_indexes.sql}).
+ * The table is partitioned by month on {@code date_time_utc} (see {@code
+ * V7__partition_water_intakes_by_month.sql}), and the date range is a plain range predicate on that
+ * column, so PostgreSQL prunes the search to the partitions of the months it covers; without a date
+ * range the per-partition index scans are merged in sort order.
+ *
+ * <p>Records moved to {@code water_intake_archive} are merged into every search. The archived
+ * months that can overlap the page are listed from their summaries, which skips months whose volume
+ * range misses the filters or that lie wholly before the cursor. They are then decoded one at a
+ * time, in the order their bound on the sort key reaches the page, and merged, filtered and ordered
+ * in memory like the SQL would; once the page is full, the first month that cannot beat its last
+ * record ends the read. When sorting by date, the months are also narrowed to those between the
+ * cursor and the last record of a full hot page, so a search that does not reach back past the
+ * archive cutoff reads no payload at all. The summaries bound IDs and volumes but not volume units,
+ * so a search sorted by volume unit decodes every archived month in its range. A request that would
+ * decode more than {@code maxSearchMonths} months is rejected rather than answered with a partial
+ * page.
  */
 @Repository
 public class WaterIntakeSearchRepositoryImpl implements WaterIntakeSearchRepository {
 
-    private static final Map<String, String> SORT_FIELD_MAPPING =
-            Map.of(
-                    "id", "id",
-                    "dateTimeUTC", "date_time_utc",
-                    "volume", "volume",
-                    "volumeUnit", "volume_unit");
+    private static final int DATE_RANGE = 1;
+    private static final int MIN_VOLUME = 1 << 1;
+    private static final int MAX_VOLUME = 1 << 2;
+    private static final int CURSOR = 1 << 3;
+    private static final int DESCENDING = 1 << 4;
+    private static final int SORT_FIELD_SHIFT = 5;
 
-    private static final Set<String> ALLOWED_SORT_DIRECTIONS = Set.of("ASC", "DESC");
+    private static final SearchSortField[] SORT_FIELDS = SearchSortField.values();
 
-    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private static final String SELECT_CLAUSE =
+            "SELECT id, date_time_utc, volume, volume_unit, user_id FROM water_intakes ";
+
+    private static final String[] TEMPLATES =
+            IntStream.range(0, SORT_FIELDS.length << SORT_FIELD_SHIFT)
+                    .mapToObj(WaterIntakeSearchRepositoryImpl::renderTemplate)
+                    .toArray(String[]::new);
+
+    private final JdbcOperations jdbcOperations;
+
+    private final WaterIntakeArchiveRepository archiveRepository;
+
+    private final WaterIntakeArchiveProperties properties;
 
     private final RowMapper<WaterIntake> rowMapper =
             (rs, rowNum) ->
@@ -41,8 +88,13 @@ public class WaterIntakeSearchRepositoryImpl implements WaterIntakeSearchReposit
                             rs.getInt("volume_unit"),
                             rs.getLong("user_id"));
 
-    public WaterIntakeSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public WaterIntakeSearchRepositoryImpl(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            WaterIntakeArchiveRepository archiveRepository,
+            WaterIntakeArchiveProperties properties) {
+        this.jdbcOperations = jdbcTemplate.getJdbcOperations();
+        this.archiveRepository = archiveRepository;
+        this.properties = properties;
     }
 
     @Override
@@ -57,69 +109,241 @@ public class WaterIntakeSearchRepositoryImpl implements WaterIntakeSearchReposit
             String sortField,
             String sortDirection) {
 
-        var params = new MapSqlParameterSource();
-        params.addValue("userId", userId);
-
-        var whereClause = new StringBuilder("WHERE user_id = :userId");
+        SearchQuery query =
+                buildQuery(
+                        userId,
+                        startDate,
+                        endDate,
+                        minVolume,
+                        maxVolume,
+                        limit,
+                        cursor,
+                        sortField,
+                        sortDirection);
+        List<WaterIntake> hot = jdbcOperations.query(query.sql(), rowMapper, query.args());
 
-        if (startDate != null && endDate != null) {
-            whereClause.append(" AND date_time_utc >= :startDate AND date_time_utc <= :endDate");
-            params.addValue("startDate", java.sql.Timestamp.from(startDate));
-            params.addValue("endDate", java.sql.Timestamp.from(endDate));
+        SearchSortField sortKey = SearchSortField.fromFieldName(sortField);
+        boolean dateRange = startDate != null && endDate != null;
+        boolean descending = !"ASC".equalsIgnoreCase(sortDirection);
+        Instant from = dateRange ? startDate : null;
+        Instant to = dateRange ? endDate : null;
+        if (sortKey == SearchSortField.DATE_TIME_UTC) {
+            Instant after = cursor != null ? (Instant) cursor.sortValue() : null;
+            Instant last = hot.size() == limit ? hot.get(limit - 1).getDateTimeUTC() : null;
+            from = latest(from, descending ? last : after);
+            to = earliest(to, descending ? after : last);
         }
-
-        if (minVolume != null) {
-            whereClause.append(" AND volume >= :minVolume");
-            params.addValue("minVolume", minVolume);
+        if (from != null && to != null && from.isAfter(to)) {
+            return hot;
         }
+        Comparator<ArchivedMonth> monthOrder =
+                (a, b) -> {
+                    Comparable<Object> boundA = bound(sortKey, a, descending);
+                    Comparable<Object> boundB = bound(sortKey, b, descending);
+                    return boundA == null || boundB == null ? 0 : boundA.compareTo(boundB);
+                };
+        List<ArchivedMonth> months =
+                archiveRepository.findMonthSummaries(userId, toMonth(from), toMonth(to)).stream()
+                        .filter(
+                                month ->
+                                        (minVolume == null || month.maxVolume() >= minVolume)
+                                                && (maxVolume == null
+                                                        || month.minVolume() <= maxVolume)
+                                                && (cursor == null
+                                                        || reaches(
+                                                                sortKey,
+                                                                month,
+                                                                cursor.sortValue(),
+                                                                descending)))
+                        .sorted(descending ? monthOrder.reversed() : monthOrder)
+                        .toList();
 
-        if (maxVolume != null) {
-            whereClause.append(" AND volume <= :maxVolume");
-            params.addValue("maxVolume", maxVolume);
+        Comparator<WaterIntake> ascending = sortKey.ascending();
+        Comparator<WaterIntake> order = descending ? ascending.reversed() : ascending;
+        List<WaterIntake> page = new ArrayList<>(hot);
+        int decoded = 0;
+        for (ArchivedMonth month : months) {
+            if (page.size() >= limit
+                    && !reaches(
+                            sortKey,
+                            month,
+                            sortKey.cursorAfter(page.get(limit - 1)).sortValue(),
+                            !descending)) {
+                break;
+            }
+            if (++decoded > properties.maxSearchMonths()) {
+                throw new IllegalArgumentException(
+                        "Search reaches more than "
+                                + properties.maxSearchMonths()
+                                + " archived months; narrow the date range");
+            }
+            for (WaterIntake waterIntake :
+                    archiveRepository.findArchivedRecords(userId, month.month(), month.month())) {
+                if ((!dateRange
+                                || (!waterIntake.getDateTimeUTC().isBefore(startDate)
+                                        && !waterIntake.getDateTimeUTC().isAfter(endDate)))
+                        && (minVolume == null || waterIntake.getVolume() >= minVolume)
+                        && (maxVolume == null || waterIntake.getVolume() <= maxVolume)
+                        && (cursor == null
+                                || (descending ? -1 : 1)
+                                                * sortKey.compareToCursor(waterIntake, cursor)
+                                        > 0)) {
+                    page.add(waterIntake);
+                }
+            }
+            page.sort(order);
+            if (page.size() > limit) {
+                page.subList(limit, page.size()).clear();
+            }
         }
+        return page;
+    }
 
-        if (cursor != null) {
-            appendCursorCondition(whereClause, params, cursor, sortField, sortDirection);
+    /**
+     * Checks whether an archived month can hold a record that sorts at or past {@code value} in the
+     * given direction, from the month's bound on the sort key. A sort key without a bound always
+     * can.
+     */
+    private static boolean reaches(
+            SearchSortField sortKey, ArchivedMonth month, Object value, boolean descending) {
+        Comparable<Object> bound = bound(sortKey, month, !descending);
+        if (bound == null) {
+            return true;
         }
+        int comparison = bound.compareTo(value);
+        return descending ? comparison <= 0 : comparison >= 0;
+    }
 
-        String column = resolveColumn(sortField);
-        String direction = resolveDirection(sortDirection);
+    /**
+     * Returns the lowest or highest value of the sort key an archived month can hold, or {@code
+     * null} when its summary has no bound for the key.
+     */
+    @SuppressWarnings("unchecked")
+    private static @Nullable Comparable<Object> bound(
+            SearchSortField sortKey, ArchivedMonth month, boolean upper) {
+        Comparable<?> bound =
+                switch (sortKey) {
+                    case ID -> upper ? month.maxId() : month.minId();
+                    case DATE_TIME_UTC ->
+                            upper
+                                    ? month.month()
+                                            .plusMonths(1)
+                                            .atDay(1)
+                                            .atStartOfDay(ZoneOffset.UTC)
+                                            .toInstant()
+                                            .minusNanos(1)
+                                    : month.month()
+                                            .atDay(1)
+                                            .atStartOfDay(ZoneOffset.UTC)
+                                            .toInstant();
+                    case VOLUME -> upper ? month.maxVolume() : month.minVolume();
+                    case VOLUME_UNIT -> null;
+                };
+        return (Comparable<Object>) bound;
+    }
 
-        String orderByClause = " ORDER BY " + column + " " + direction + ", id " + direction;
+    private static @Nullable Instant latest(@Nullable Instant a, @Nullable Instant b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
 
-        String dataSql =
-                "SELECT * FROM water_intakes " + whereClause + orderByClause + " LIMIT :limit";
-        params.addValue("limit", limit);
+    private static @Nullable Instant earliest(@Nullable Instant a, @Nullable Instant b) {
+        return a == null || (b != null && b.isBefore(a)) ? b : a;
+    }
 
-        return jdbcTemplate.query(dataSql, params, rowMapper);
+    private static @Nullable YearMonth toMonth(@Nullable Instant instant) {
+        return instant != null ? YearMonth.from(instant.atOffset(ZoneOffset.UTC)) : null;
     }
 
-    private void appendCursorCondition(
-            StringBuilder whereClause,
-            MapSqlParameterSource params,
-            PageCursor cursor,
+    SearchQuery buildQuery(
+            Long userId,
+            @Nullable Instant startDate,
+            @Nullable Instant endDate,
+            @Nullable Integer minVolume,
+            @Nullable Integer maxVolume,
+            int limit,
+            @Nullable PageCursor cursor,
             String sortField,
             String sortDirection) {
 
-        String column = resolveColumn(sortField);
-        String comparator = "DESC".equalsIgnoreCase(sortDirection) ? "<" : ">";
+        SearchSortField sortKey = SearchSortField.fromFieldName(sortField);
+        if (cursor != null && !sortKey.accepts(cursor)) {
+            throw new IllegalArgumentException(
+                    "Cursor does not match sort field " + sortKey.getFieldName());
+        }
 
-        whereClause
-                .append(" AND (")
-                .append(column)
-                .append(", id) ")
-                .append(comparator)
-                .append(" (:cursorSortValue, :cursorId)");
-        params.addValue("cursorSortValue", java.sql.Timestamp.from(cursor.dateTimeUTC()));
-        params.addValue("cursorId", cursor.id());
-    }
+        boolean dateRange = startDate != null && endDate != null;
+        int shape =
+                (sortKey.ordinal() << SORT_FIELD_SHIFT)
+                        | ("ASC".equalsIgnoreCase(sortDirection) ? 0 : DESCENDING)
+                        | (dateRange ? DATE_RANGE : 0)
+                        | (minVolume != null ? MIN_VOLUME : 0)
+                        | (maxVolume != null ? MAX_VOLUME : 0)
+                        | (cursor != null ? CURSOR : 0);
 
-    private String resolveColumn(String sortField) {
-        return SORT_FIELD_MAPPING.getOrDefault(sortField, "date_time_utc");
+        int argCount =
+                2
+                        + Integer.bitCount(shape & (DATE_RANGE | CURSOR)) * 2
+                        + Integer.bitCount(shape & (MIN_VOLUME | MAX_VOLUME));
+        var args = new Object[argCount];
+        int i = 0;
+        args[i++] = userId;
+        if (dateRange) {
+            args[i++] = Timestamp.from(startDate);
+            args[i++] = Timestamp.from(endDate);
+        }
+        if (minVolume != null) {
+            args[i++] = minVolume;
+        }
+        if (maxVolume != null) {
+            args[i++] = maxVolume;
+        }
+        if (cursor != null) {
+            args[i++] =
+                    cursor.sortValue() instanceof Instant instant
+                            ? Timestamp.from(instant)
+                            : cursor.sortValue();
+            args[i++] = cursor.id();
+        }
+        args[i] = limit;
+
+        return new SearchQuery(TEMPLATES[shape], args);
     }
 
-    private String resolveDirection(String sortDirection) {
-        String upper = sortDirection.toUpperCase(Locale.ROOT);
-        return ALLOWED_SORT_DIRECTIONS.contains(upper) ? upper : "DESC";
+    private static String renderTemplate(int shape) {
+        String column = SORT_FIELDS[shape >>> SORT_FIELD_SHIFT].getColumn();
+        boolean descending = (shape & DESCENDING) != 0;
+        String direction = descending ? "DESC" : "ASC";
+
+        var sql = new StringBuilder(SELECT_CLAUSE).append("WHERE user_id = ?");
+        if ((shape & DATE_RANGE) != 0) {
+            sql.append(" AND date_time_utc >= ? AND date_time_utc <= ?");
+        }
+        if ((shape & MIN_VOLUME) != 0) {
+            sql.append(" AND volume >= ?");
+        }
+        if ((shape & MAX_VOLUME) != 0) {
+            sql.append(" AND volume <= ?");
+        }
+        if ((shape & CURSOR) != 0) {
+            sql.append(" AND (")
+                    .append(column)
+                    .append(", id) ")
+                    .append(descending ? "<" : ">")
+                    .append(" (?, ?)");
+        }
+        return sql.append(" ORDER BY ")
+                .append(column)
+                .append(' ')
+                .append(direction)
+                .append(", id ")
+                .append(direction)
+                .append(" LIMIT ?")
+                .toString();
     }
+
+    /**
+     * A search rendered for execution: the shared template of its shape and the positional
+     * arguments of this request.
+     */
+    record SearchQuery(String sql, Object[] args) {}
 }
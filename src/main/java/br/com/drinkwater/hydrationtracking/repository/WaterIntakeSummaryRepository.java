@@ -0,0 +1,64 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.SummaryGranularity;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Custom read repository for aggregated hydration totals. Separated from {@link
+ * WaterIntakeRepository} to encapsulate time-zone-aware aggregation SQL that Spring Data JDBC
+ * cannot derive.
+ */
+public interface WaterIntakeSummaryRepository {
+
+    /**
+     * Totals the water intake records of a user per calendar bucket in a single aggregation query.
+     *
+     * @param userId the internal database user ID
+     * @param start inclusive lower bound of {@code date_time_utc}
+     * @param end exclusive upper bound of {@code date_time_utc}
+     * @param granularity the bucket size
+     * @param zone the time zone that defines bucket boundaries
+     * @return one entry per non-empty bucket, ordered by period start
+     */
+    List<PeriodTotal> sumByPeriod(
+            Long userId, Instant start, Instant end, SummaryGranularity granularity, ZoneId zone);
+
+    /**
+     * Totals a user's precomputed daily rows from {@code water_intake_daily_totals} per calendar
+     * bucket. Reads one row per day instead of one per record, so it only answers for time zones
+     * the rollup maintains.
+     *
+     * @param userId the internal database user ID
+     * @param startDate inclusive first local date
+     * @param endDate exclusive last local date
+     * @param granularity the bucket size
+     * @param zone the maintained time zone the local dates belong to
+     * @return one entry per non-empty bucket, ordered by period start
+     */
+    List<PeriodTotal> sumDailyTotalsByPeriod(
+            Long userId,
+            LocalDate startDate,
+            LocalDate endDate,
+            SummaryGranularity granularity,
+            ZoneId zone);
+
+    /**
+     * Returns the daily hydration goal from the user's alarm settings.
+     *
+     * @param userId the internal database user ID
+     * @return the daily goal in milliliters
+     */
+    int findDailyGoal(Long userId);
+
+    /**
+     * Aggregated totals for one bucket.
+     *
+     * @param periodStart the first day of the bucket in the requested time zone
+     * @param totalVolume the sum of volumes in the bucket
+     * @param intakeCount the number of records in the bucket
+     */
+    record PeriodTotal(LocalDate periodStart, long totalVolume, long intakeCount) {}
+}
@@ -0,0 +1,145 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.SummaryGranularity;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link WaterIntakeSummaryRepository}. Each record's instant is
+ * converted to a local date with {@code date_trunc('day', date_time_utc AT TIME ZONE :zone)}, and
+ * the outer query groups those dates into buckets: days as-is, months with {@code
+ * date_trunc('month', ...)}, and ISO weeks by stepping back to Monday with {@code ISODOW}. Weeks
+ * avoid {@code date_trunc('week', ...)} because H2, used by the test suite, starts weeks on Sunday
+ * while PostgreSQL starts them on Monday.
+ *
+ * <p>{@link #sumDailyTotalsByPeriod} applies the same bucket expressions to the precomputed rows of
+ * {@code water_intake_daily_totals}, whose {@code local_date} is already expressed in the requested
+ * zone.
+ *
+ * <p>Volumes are summed as stored; {@link br.com.drinkwater.hydrationtracking.model.VolumeUnit#ML}
+ * is currently the only unit.
+ */
+@Repository
+public class WaterIntakeSummaryRepositoryImpl implements WaterIntakeSummaryRepository {
+
+    private static final String SUM_BY_PERIOD_SQL_TEMPLATE =
+            """
+            SELECT %s AS period_start, SUM(volume) AS total_volume, COUNT(*) AS intake_count
+            FROM (
+                SELECT CAST(date_trunc('day', date_time_utc AT TIME ZONE :zone) AS DATE)
+                           AS local_date,
+                       volume
+                FROM water_intakes
+                WHERE user_id = :userId AND date_time_utc >= :start AND date_time_utc < :end
+            ) local_intakes
+            GROUP BY 1
+            ORDER BY 1
+            """;
+
+    private static final String SUM_BY_DAY_SQL = SUM_BY_PERIOD_SQL_TEMPLATE.formatted("local_date");
+
+    private static final String SUM_BY_WEEK_SQL =
+            SUM_BY_PERIOD_SQL_TEMPLATE.formatted(
+                    "local_date - CAST(EXTRACT(ISODOW FROM local_date) AS INTEGER) + 1");
+
+    private static final String SUM_BY_MONTH_SQL =
+            SUM_BY_PERIOD_SQL_TEMPLATE.formatted("CAST(date_trunc('month', local_date) AS DATE)");
+
+    private static final String SUM_DAILY_TOTALS_BY_PERIOD_SQL_TEMPLATE =
+            """
+            SELECT %s AS period_start, SUM(total_volume) AS total_volume,
+                   SUM(intake_count) AS intake_count
+            FROM water_intake_daily_totals
+            WHERE user_id = :userId AND time_zone = :zone
+              AND local_date >= :startDate AND local_date < :endDate
+            GROUP BY 1
+            ORDER BY 1
+            """;
+
+    private static final String SUM_DAILY_TOTALS_BY_DAY_SQL =
+            SUM_DAILY_TOTALS_BY_PERIOD_SQL_TEMPLATE.formatted("local_date");
+
+    private static final String SUM_DAILY_TOTALS_BY_WEEK_SQL =
+            SUM_DAILY_TOTALS_BY_PERIOD_SQL_TEMPLATE.formatted(
+                    "local_date - CAST(EXTRACT(ISODOW FROM local_date) AS INTEGER) + 1");
+
+    private static final String SUM_DAILY_TOTALS_BY_MONTH_SQL =
+            SUM_DAILY_TOTALS_BY_PERIOD_SQL_TEMPLATE.formatted(
+                    "CAST(date_trunc('month', local_date) AS DATE)");
+
+    private static final String FIND_DAILY_GOAL_SQL =
+            "SELECT goal FROM alarm_settings WHERE user_id = :userId";
+
+    private static final RowMapper<PeriodTotal> ROW_MAPPER =
+            (rs, rowNum) ->
+                    new PeriodTotal(
+                            rs.getObject("period_start", LocalDate.class),
+                            rs.getLong("total_volume"),
+                            rs.getLong("intake_count"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public WaterIntakeSummaryRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<PeriodTotal> sumByPeriod(
+            Long userId, Instant start, Instant end, SummaryGranularity granularity, ZoneId zone) {
+        var sql =
+                switch (granularity) {
+                    case DAY -> SUM_BY_DAY_SQL;
+                    case WEEK -> SUM_BY_WEEK_SQL;
+                    case MONTH -> SUM_BY_MONTH_SQL;
+                };
+        var params =
+                new MapSqlParameterSource()
+                        .addValue("zone", zone.getId())
+                        .addValue("userId", userId)
+                        .addValue("start", Timestamp.from(start))
+                        .addValue("end", Timestamp.from(end));
+
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    @Override
+    public List<PeriodTotal> sumDailyTotalsByPeriod(
+            Long userId,
+            LocalDate startDate,
+            LocalDate endDate,
+            SummaryGranularity granularity,
+            ZoneId zone) {
+        var sql =
+                switch (granularity) {
+                    case DAY -> SUM_DAILY_TOTALS_BY_DAY_SQL;
+                    case WEEK -> SUM_DAILY_TOTALS_BY_WEEK_SQL;
+                    case MONTH -> SUM_DAILY_TOTALS_BY_MONTH_SQL;
+                };
+        var params =
+                new MapSqlParameterSource()
+                        .addValue("zone", zone.getId())
+                        .addValue("userId", userId)
+                        .addValue("startDate", startDate)
+                        .addValue("endDate", endDate);
+
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    @Override
+    public int findDailyGoal(Long userId) {
+        return Objects.requireNonNull(
+                jdbcTemplate.queryForObject(
+                        FIND_DAILY_GOAL_SQL,
+                        new MapSqlParameterSource("userId", userId),
+                        Integer.class),
+                "Alarm settings goal cannot be null");
+    }
+}
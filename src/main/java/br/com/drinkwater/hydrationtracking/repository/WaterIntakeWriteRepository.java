@@ -0,0 +1,62 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom write repository for water intake records whose statements rely on database constraints
+ * instead of read-before-write checks. Separated from {@link WaterIntakeRepository} to encapsulate
+ * hand-written JDBC statements that Spring Data JDBC cannot derive.
+ */
+public interface WaterIntakeWriteRepository {
+
+    /**
+     * Inserts a new water intake record unless the user already has one at the same date/time,
+     * archived or not. The check and the insert happen in a single statement backed by the {@code
+     * UNIQUE(user_id, date_time_utc)} constraint, so concurrent requests cannot both succeed; the
+     * inserted record is then checked against the archive, and deleted again if it collides.
+     *
+     * @param waterIntake the new water intake (must not have an ID)
+     * @return the persisted water intake with its generated ID, or empty if a record with the same
+     *     date/time already exists for the user
+     */
+    Optional<WaterIntake> insertIfAbsent(WaterIntake waterIntake);
+
+    /**
+     * Inserts several new water intake records as a single JDBC batch, skipping every record whose
+     * user already has one at the same date/time (including one inserted earlier in the same batch,
+     * or an archived one). Callers should run this inside a transaction so the batch is applied
+     * atomically.
+     *
+     * @param waterIntakes the new water intakes (none may have an ID)
+     * @return one entry per input, in input order: the persisted water intake with its generated
+     *     ID, or empty if it was skipped as a duplicate
+     */
+    List<Optional<WaterIntake>> insertAllIfAbsent(List<WaterIntake> waterIntakes);
+
+    /**
+     * Updates the date/time, volume and unit of an existing water intake record in a single
+     * statement that matches on both its ID and user ID, so a record of another user is never
+     * touched. The row is locked by the statement itself, and its values from before the update are
+     * returned so callers can adjust derived totals.
+     *
+     * @param waterIntake the updated water intake (must have an ID)
+     * @return the water intake as it was before the update, or empty if the user has no record with
+     *     this ID
+     * @throws org.springframework.dao.DuplicateKeyException if another record of the user already
+     *     has the new date/time; when it is an archived one, the update has already run and the
+     *     caller must roll its transaction back
+     */
+    Optional<WaterIntake> update(WaterIntake waterIntake);
+
+    /**
+     * Deletes a water intake record in a single statement that matches on both its ID and user ID,
+     * locking and removing the row and returning it so callers can adjust derived totals.
+     *
+     * @param id the water intake record ID
+     * @param userId the internal database user ID
+     * @return the deleted water intake, or empty if the user has no record with this ID
+     */
+    Optional<WaterIntake> deleteByIdAndUserId(Long id, Long userId);
+}
@@ -0,0 +1,292 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link WaterIntakeWriteRepository}. Uses {@code INSERT ... ON
+ * CONFLICT DO NOTHING} and reads the generated ID back through the JDBC generated-keys API, which
+ * the PostgreSQL driver turns into a {@code RETURNING id} clause: one round trip per insert, and no
+ * row returned when the record is a duplicate.
+ *
+ * <p>The conflict target is omitted because the H2 PostgreSQL mode used by the test suite does not
+ * accept one. This is equivalent to {@code ON CONFLICT (user_id, date_time_utc)} since the primary
+ * key is always generated, leaving {@code UNIQUE(user_id, date_time_utc)} as the only constraint an
+ * insert can conflict with.
+ *
+ * <p>Batch inserts send the same statement through {@code executeBatch}. Each update count is 1 for
+ * an inserted row and 0 for a skipped duplicate, and generated keys are returned only for the
+ * inserted rows, in order, so the two are zipped back into one result per input.
+ *
+ * <p>{@link #update} also takes one round trip. On PostgreSQL, {@code UPDATE ... FROM} joins the
+ * target row to a {@code FOR UPDATE} sub-select of itself, whose values are the row as it was
+ * before the update (re-read after waiting for a concurrent writer), and {@code RETURNING} sends
+ * them back. H2 has no {@code RETURNING}, so the test suite reads the same values from an {@code
+ * OLD TABLE} data change delta table instead; the dialect is picked from the connection metadata at
+ * startup. {@link #deleteByIdAndUserId} works the same way with {@code DELETE ... RETURNING}, which
+ * locks and removes the row and returns it in one statement.
+ *
+ * <p>Records moved to {@code water_intake_archive} are outside the unique constraint, so every
+ * written record dated before the archive cutoff is then checked against the archive with {@link
+ * WaterIntakeArchiveRepository#findArchivedDuplicates(List)}, which costs one index lookup unless
+ * the record's month is archived. Records in or after the UTC month {@code afterMonths} months back
+ * skip the check, since the archive job never moves them. Checking after the write is what makes it
+ * safe: the insert or update holds a key-share lock on the user row, which the archive job must
+ * lock exclusively before it can move the user's rows. An inserted record that collides is deleted
+ * again and reported as a duplicate; an update that collides throws, and the caller's transaction
+ * rolls it back.
+ */
+@Repository
+public class WaterIntakeWriteRepositoryImpl implements WaterIntakeWriteRepository {
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            """
+            INSERT INTO water_intakes (date_time_utc, volume, volume_unit, user_id)
+            VALUES (:dateTimeUTC, :volume, :volumeUnit, :userId)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String POSTGRESQL_UPDATE_SQL =
+            """
+            UPDATE water_intakes w
+            SET date_time_utc = :dateTimeUTC, volume = :volume, volume_unit = :volumeUnit
+            FROM (
+                SELECT id, date_time_utc, volume, volume_unit
+                FROM water_intakes
+                WHERE id = :id AND user_id = :userId
+                FOR UPDATE
+            ) previous
+            WHERE w.id = previous.id
+            RETURNING previous.date_time_utc, previous.volume, previous.volume_unit
+            """;
+
+    private static final String H2_UPDATE_SQL =
+            """
+            SELECT date_time_utc, volume, volume_unit
+            FROM OLD TABLE (
+                UPDATE water_intakes
+                SET date_time_utc = :dateTimeUTC, volume = :volume, volume_unit = :volumeUnit
+                WHERE id = :id AND user_id = :userId
+            )
+            """;
+
+    private static final String POSTGRESQL_DELETE_SQL =
+            """
+            DELETE FROM water_intakes
+            WHERE id = :id AND user_id = :userId
+            RETURNING date_time_utc, volume, volume_unit
+            """;
+
+    private static final String H2_DELETE_SQL =
+            """
+            SELECT date_time_utc, volume, volume_unit
+            FROM OLD TABLE (
+                DELETE FROM water_intakes
+                WHERE id = :id AND user_id = :userId
+            )
+            """;
+
+    private static final String[] GENERATED_KEY_COLUMNS = {"id"};
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final WaterIntakeArchiveRepository archiveRepository;
+    private final WaterIntakeArchiveProperties archiveProperties;
+    private final String updateSql;
+    private final String deleteSql;
+
+    public WaterIntakeWriteRepositoryImpl(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            WaterIntakeArchiveRepository archiveRepository,
+            WaterIntakeArchiveProperties archiveProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveRepository = archiveRepository;
+        this.archiveProperties = archiveProperties;
+        String databaseProductName =
+                jdbcTemplate
+                        .getJdbcTemplate()
+                        .execute(
+                                (ConnectionCallback<String>)
+                                        connection ->
+                                                connection.getMetaData().getDatabaseProductName());
+        boolean postgreSQL = "PostgreSQL".equals(databaseProductName);
+        this.updateSql = postgreSQL ? POSTGRESQL_UPDATE_SQL : H2_UPDATE_SQL;
+        this.deleteSql = postgreSQL ? POSTGRESQL_DELETE_SQL : H2_DELETE_SQL;
+    }
+
+    @Override
+    public Optional<WaterIntake> insertIfAbsent(WaterIntake waterIntake) {
+        var params = toParams(waterIntake);
+        var keyHolder = new GeneratedKeyHolder();
+
+        int inserted =
+                jdbcTemplate.update(INSERT_IF_ABSENT_SQL, params, keyHolder, GENERATED_KEY_COLUMNS);
+        if (inserted == 0) {
+            return Optional.empty();
+        }
+
+        Number id = Objects.requireNonNull(keyHolder.getKey(), "Insert must return a generated ID");
+        WaterIntake saved = withId(waterIntake, id);
+        if (!this.archiveRepository.findArchivedDuplicates(archivable(List.of(saved))).isEmpty()) {
+            this.archiveRepository.deleteHot(saved.getUserId(), List.of(id.longValue()));
+            return Optional.empty();
+        }
+        return Optional.of(saved);
+    }
+
+    @Override
+    public List<Optional<WaterIntake>> insertAllIfAbsent(List<WaterIntake> waterIntakes) {
+        if (waterIntakes.isEmpty()) {
+            return List.of();
+        }
+
+        SqlParameterSource[] batchParams =
+                waterIntakes.stream()
+                        .map(WaterIntakeWriteRepositoryImpl::toParams)
+                        .toArray(SqlParameterSource[]::new);
+        var keyHolder = new GeneratedKeyHolder();
+
+        int[] updateCounts =
+                jdbcTemplate.batchUpdate(
+                        INSERT_IF_ABSENT_SQL, batchParams, keyHolder, GENERATED_KEY_COLUMNS);
+
+        Iterator<Map<String, Object>> generatedKeys = keyHolder.getKeyList().iterator();
+        List<Optional<WaterIntake>> results = new ArrayList<>(waterIntakes.size());
+        for (int i = 0; i < waterIntakes.size(); i++) {
+            if (updateCounts[i] == 0) {
+                results.add(Optional.empty());
+                continue;
+            }
+            Number id =
+                    (Number)
+                            Objects.requireNonNull(
+                                    generatedKeys.next().get(GENERATED_KEY_COLUMNS[0]),
+                                    "Batch insert must return a generated ID");
+            results.add(Optional.of(withId(waterIntakes.get(i), id)));
+        }
+
+        List<WaterIntake> archivedDuplicates =
+                this.archiveRepository.findArchivedDuplicates(
+                        archivable(results.stream().flatMap(Optional::stream).toList()));
+        if (archivedDuplicates.isEmpty()) {
+            return results;
+        }
+        Map<Long, List<Long>> idsByUser = new HashMap<>();
+        archivedDuplicates.forEach(
+                duplicate ->
+                        idsByUser
+                                .computeIfAbsent(duplicate.getUserId(), userId -> new ArrayList<>())
+                                .add(Objects.requireNonNull(duplicate.getId())));
+        idsByUser.forEach(this.archiveRepository::deleteHot);
+        Set<WaterIntake> deleted = new HashSet<>(archivedDuplicates);
+        results.replaceAll(result -> result.filter(waterIntake -> !deleted.contains(waterIntake)));
+        return results;
+    }
+
+    @Override
+    public Optional<WaterIntake> update(WaterIntake waterIntake) {
+        Long id =
+                Objects.requireNonNull(waterIntake.getId(), "Updated water intake must have an ID");
+        var params =
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("userId", waterIntake.getUserId())
+                        .addValue("dateTimeUTC", Timestamp.from(waterIntake.getDateTimeUTC()))
+                        .addValue("volume", waterIntake.getVolume())
+                        .addValue("volumeUnit", waterIntake.getVolumeUnit().getCode());
+
+        Optional<WaterIntake> previous =
+                jdbcTemplate
+                        .query(updateSql, params, rowMapper(id, waterIntake.getUserId()))
+                        .stream()
+                        .findFirst();
+        if (previous.isPresent()
+                && !this.archiveRepository
+                        .findArchivedDuplicates(archivable(List.of(waterIntake)))
+                        .isEmpty()) {
+            throw new DuplicateKeyException(
+                    "An archived water intake of the user already has date/time "
+                            + waterIntake.getDateTimeUTC());
+        }
+        return previous;
+    }
+
+    @Override
+    public Optional<WaterIntake> deleteByIdAndUserId(Long id, Long userId) {
+        var params = new MapSqlParameterSource().addValue("id", id).addValue("userId", userId);
+        return jdbcTemplate.query(deleteSql, params, rowMapper(id, userId)).stream().findFirst();
+    }
+
+    /**
+     * Keeps the records dated before the archive cutoff, the only ones an archived record can
+     * collide with. Every record is kept when archiving is off, since months archived before it was
+     * turned off remain.
+     */
+    private List<WaterIntake> archivable(List<WaterIntake> waterIntakes) {
+        int afterMonths = this.archiveProperties.afterMonths();
+        if (afterMonths == 0) {
+            return waterIntakes;
+        }
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(afterMonths);
+        return waterIntakes.stream()
+                .filter(
+                        waterIntake ->
+                                YearMonth.from(
+                                                waterIntake
+                                                        .getDateTimeUTC()
+                                                        .atOffset(ZoneOffset.UTC))
+                                        .isBefore(cutoff))
+                .toList();
+    }
+
+    /** Maps the values of a row returned by an update or delete, which lack its ID and user. */
+    private static RowMapper<WaterIntake> rowMapper(Long id, Long userId) {
+        return (rs, rowNum) ->
+                new WaterIntake(
+                        id,
+                        rs.getTimestamp("date_time_utc").toInstant(),
+                        rs.getInt("volume"),
+                        rs.getInt("volume_unit"),
+                        userId);
+    }
+
+    private static MapSqlParameterSource toParams(WaterIntake waterIntake) {
+        if (waterIntake.getId() != null) {
+            throw new IllegalArgumentException("Water intake to insert must not have an ID");
+        }
+
+        return new MapSqlParameterSource()
+                .addValue("dateTimeUTC", Timestamp.from(waterIntake.getDateTimeUTC()))
+                .addValue("volume", waterIntake.getVolume())
+                .addValue("volumeUnit", waterIntake.getVolumeUnit().getCode())
+                .addValue("userId", waterIntake.getUserId());
+    }
+
+    private static WaterIntake withId(WaterIntake waterIntake, Number id) {
+        return new WaterIntake(
+                id.longValue(),
+                waterIntake.getDateTimeUTC(),
+                waterIntake.getVolume(),
+                waterIntake.getVolumeUnit(),
+                waterIntake.getUserId());
+    }
+}
@@ -0,0 +1,238 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.config.properties.TodayProgressCacheProperties;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded Caffeine cache of per-user accumulators for the current local day, so that "how much have
+ * I drunk today" is answered from memory instead of the database.
+ *
+ * <p>Each entry holds one user's total for one time zone and date. Writes in {@link
+ * WaterIntakeService} add or subtract their volume after the surrounding transaction commits, so a
+ * rolled-back write never reaches the cache. An entry is re-read from the database when the local
+ * date rolls over, when another time zone is requested, or {@code
+ * CACHE_TODAY_PROGRESS_RELOAD_MINUTES} after it was loaded, which also bounds drift from writes on
+ * another instance. Cache statistics are published under the {@code todayProgress} cache name.
+ *
+ * <p>A load reads the database outside the cache, so a write may commit while it runs, and the
+ * loaded total may or may not include it. Writes are therefore counted as in flight for their user
+ * from the moment they are recorded until their transaction completes, and bump a version when
+ * applied. A loaded total is only cached if no write of the user was in flight or applied while it
+ * was read; otherwise it is returned uncached and the next read loads again. Versions are kept per
+ * stripe of user IDs, so memory stays bounded and a write to another user of the same stripe at
+ * worst costs an extra load.
+ */
+@Component
+public class TodayProgressAccumulator {
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final Cache<Long, TodayTotal> cache;
+    private final Ticker ticker;
+    private final Clock clock;
+    private final long reloadAfterNanos;
+    private final AtomicIntegerArray pendingWrites = new AtomicIntegerArray(VERSION_STRIPES);
+    private final AtomicLongArray appliedWrites = new AtomicLongArray(VERSION_STRIPES);
+
+    @Autowired
+    public TodayProgressAccumulator(
+            TodayProgressCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    TodayProgressAccumulator(
+            TodayProgressCacheProperties properties,
+            MeterRegistry meterRegistry,
+            Ticker ticker,
+            Clock clock) {
+        Duration reloadAfter = Duration.ofMinutes(properties.reloadAfterMinutes());
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(properties.maxSize())
+                        .expireAfterAccess(reloadAfter)
+                        .ticker(ticker)
+                        .recordStats()
+                        .build();
+        this.ticker = ticker;
+        this.clock = clock;
+        this.reloadAfterNanos = reloadAfter.toNanos();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "todayProgress");
+    }
+
+    /**
+     * Returns the user's total for the current date in the given time zone, loading it when the
+     * cached accumulator is missing, belongs to another zone or day, or is due for a reload. A
+     * total loaded while a write of the user was in flight is returned without being cached.
+     *
+     * @param userId the internal database user ID
+     * @param zone the time zone that defines "today"
+     * @param loader reads the user's total for a local date from the database
+     * @return the user's total for today
+     */
+    public TodayTotal get(Long userId, ZoneId zone, Function<LocalDate, TodayTotal> loader) {
+        LocalDate today = LocalDate.now(this.clock.withZone(zone));
+        TodayTotal cached = this.cache.getIfPresent(userId);
+        if (cached != null
+                && cached.zone().equals(zone)
+                && cached.date().equals(today)
+                && this.ticker.read() - cached.loadedAtNanos() < this.reloadAfterNanos) {
+            return cached;
+        }
+
+        int stripe = stripe(userId);
+        long version = this.appliedWrites.get(stripe);
+        TodayTotal loaded = loader.apply(today).loadedAt(this.ticker.read());
+        this.cache
+                .asMap()
+                .compute(
+                        userId,
+                        (id, current) ->
+                                this.pendingWrites.get(stripe) == 0
+                                                && this.appliedWrites.get(stripe) == version
+                                        ? loaded
+                                        : current);
+        return loaded;
+    }
+
+    /**
+     * Adds newly inserted records to their users' accumulators once the transaction commits.
+     *
+     * @param waterIntakes the inserted records
+     */
+    public void recordCreated(List<WaterIntake> waterIntakes) {
+        afterCommit(
+                waterIntakes.stream().map(WaterIntake::getUserId).toList(),
+                () -> waterIntakes.forEach(waterIntake -> apply(waterIntake, 1)));
+    }
+
+    /**
+     * Moves a record's contribution from its previous values to its current ones once the
+     * transaction commits.
+     *
+     * @param previous the record as it was before the update
+     * @param current the record as it is after the update
+     */
+    public void recordUpdated(WaterIntake previous, WaterIntake current) {
+        afterCommit(
+                List.of(previous.getUserId(), current.getUserId()),
+                () -> {
+                    apply(previous, -1);
+                    apply(current, 1);
+                });
+    }
+
+    /**
+     * Removes a deleted record from its user's accumulator once the transaction commits.
+     *
+     * @param waterIntake the deleted record
+     */
+    public void recordDeleted(WaterIntake waterIntake) {
+        afterCommit(List.of(waterIntake.getUserId()), () -> apply(waterIntake, -1));
+    }
+
+    /**
+     * Drops the user's accumulator once the transaction commits, so the next read reloads it. Used
+     * by bulk writes whose individual records are not at hand.
+     *
+     * @param userId the internal database user ID
+     */
+    public void invalidate(Long userId) {
+        afterCommit(
+                List.of(userId),
+                () -> {
+                    this.appliedWrites.incrementAndGet(stripe(userId));
+                    this.cache.invalidate(userId);
+                });
+    }
+
+    private void apply(WaterIntake waterIntake, int sign) {
+        this.appliedWrites.incrementAndGet(stripe(waterIntake.getUserId()));
+        this.cache
+                .asMap()
+                .computeIfPresent(
+                        waterIntake.getUserId(), (userId, total) -> total.plus(waterIntake, sign));
+    }
+
+    /**
+     * Runs the action once the transaction commits, counting it as in flight for the given users
+     * until the transaction completes.
+     */
+    private void afterCommit(List<Long> userIds, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        int[] stripes = userIds.stream().mapToInt(TodayProgressAccumulator::stripe).toArray();
+        for (int stripe : stripes) {
+            this.pendingWrites.incrementAndGet(stripe);
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        for (int stripe : stripes) {
+                            pendingWrites.decrementAndGet(stripe);
+                        }
+                    }
+                });
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * A user's total for one local date.
+     *
+     * @param zone the time zone the date belongs to
+     * @param date the local date
+     * @param totalVolume the sum of volumes recorded on that date
+     * @param intakeCount the number of records on that date
+     * @param loadedAtNanos the {@link Ticker} reading when the total was read from the database
+     */
+    public record TodayTotal(
+            ZoneId zone, LocalDate date, long totalVolume, long intakeCount, long loadedAtNanos) {
+
+        public TodayTotal(ZoneId zone, LocalDate date, long totalVolume, long intakeCount) {
+            this(zone, date, totalVolume, intakeCount, 0);
+        }
+
+        TodayTotal loadedAt(long nanos) {
+            return new TodayTotal(zone, date, totalVolume, intakeCount, nanos);
+        }
+
+        TodayTotal plus(WaterIntake waterIntake, int sign) {
+            if (!LocalDate.ofInstant(waterIntake.getDateTimeUTC(), zone).equals(date)) {
+                return this;
+            }
+            return new TodayTotal(
+                    zone,
+                    date,
+                    totalVolume + (long) sign * waterIntake.getVolume(),
+                    intakeCount + sign,
+                    loadedAtNanos);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
+import br.com.drinkwater.hydrationtracking.model.SearchSortField;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository.ArchiveCandidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves old water intakes out of {@code water_intakes} into {@code water_intake_archive}, keeping
+ * the hot table and its covering indexes sized to recent history. Scheduled by {@code
+ * WATER_INTAKE_ARCHIVE_CRON}, it archives every record dated before the UTC month {@code
+ * afterMonths} months back, one user-month per transaction: the user row is locked, the month's
+ * rows are read, merged into the month's archived row if one exists, and deleted. A record
+ * backdated into an archived month is therefore merged into that month on the next run.
+ *
+ * <p>A run stops after {@code monthsPerRun} user-months and resumes from the database on the next
+ * one. Archived records are still returned by search and export and read by ID; an update or delete
+ * restores the record into {@code water_intakes} first (see {@link WaterIntakeService}), and the
+ * next run archives it again. The daily totals of archived days are no longer rebuilt (see {@link
+ * br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository}). Publishes the
+ * {@code water_intakes.archive.rows} and {@code water_intakes.archive.months} counters.
+ */
+@Service
+public class WaterIntakeArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaterIntakeArchiveService.class);
+
+    private final WaterIntakeArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WaterIntakeArchiveProperties properties;
+    private final Clock clock;
+    private final Counter rowsCounter;
+    private final Counter monthsCounter;
+
+    @Autowired
+    public WaterIntakeArchiveService(
+            WaterIntakeArchiveRepository archiveRepository,
+            TransactionTemplate transactionTemplate,
+            WaterIntakeArchiveProperties properties,
+            MeterRegistry meterRegistry) {
+        this(archiveRepository, transactionTemplate, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    WaterIntakeArchiveService(
+            WaterIntakeArchiveRepository archiveRepository,
+            TransactionTemplate transactionTemplate,
+            WaterIntakeArchiveProperties properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.rowsCounter =
+                Counter.builder("water_intakes.archive.rows")
+                        .description("Total number of water intakes moved to the archive")
+                        .register(meterRegistry);
+        this.monthsCounter =
+                Counter.builder("water_intakes.archive.months")
+                        .description("Total number of user-months written to the archive")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Archives the user-months older than the cutoff, until none are left or the per-run limit is
+     * reached.
+     *
+     * @return the number of water intakes archived
+     */
+    @Scheduled(cron = "${water-intake.archive.cron}")
+    public long archive() {
+        if (this.properties.afterMonths() == 0) {
+            return 0;
+        }
+        Instant cutoff =
+                YearMonth.now(this.clock)
+                        .minusMonths(this.properties.afterMonths())
+                        .atDay(1)
+                        .atStartOfDay(ZoneOffset.UTC)
+                        .toInstant();
+
+        int remaining = this.properties.monthsPerRun();
+        long rows = 0;
+        List<ArchiveCandidate> candidates;
+        do {
+            candidates = this.archiveRepository.findCandidates(cutoff, remaining);
+            for (ArchiveCandidate candidate : candidates) {
+                rows += archiveMonth(candidate.userId(), candidate.month());
+            }
+            remaining -= candidates.size();
+        } while (!candidates.isEmpty() && remaining > 0);
+
+        if (rows > 0) {
+            log.info(
+                    "Water intake archive moved {} records in {} user-months",
+                    rows,
+                    this.properties.monthsPerRun() - remaining);
+        }
+        return rows;
+    }
+
+    private int archiveMonth(long userId, YearMonth month) {
+        int archived =
+                Objects.requireNonNullElse(
+                        this.transactionTemplate.execute(
+                                status -> {
+                                    this.archiveRepository.lockUser(userId);
+                                    List<WaterIntake> hot =
+                                            this.archiveRepository.findHotMonthForUpdate(
+                                                    userId, month);
+                                    if (hot.isEmpty()) {
+                                        return 0;
+                                    }
+                                    List<WaterIntake> records =
+                                            new ArrayList<>(
+                                                    this.archiveRepository.findArchivedRecords(
+                                                            userId, month, month));
+                                    records.addAll(hot);
+                                    records.sort(SearchSortField.DATE_TIME_UTC.ascending());
+                                    this.archiveRepository.saveMonth(
+                                            userId, month, records, Instant.now(this.clock));
+                                    return this.archiveRepository.deleteHot(
+                                            userId, hot.stream().map(WaterIntake::getId).toList());
+                                }),
+                        0);
+        this.rowsCounter.increment(archived);
+        if (archived > 0) {
+            this.monthsCounter.increment();
+        }
+        return archived;
+    }
+}
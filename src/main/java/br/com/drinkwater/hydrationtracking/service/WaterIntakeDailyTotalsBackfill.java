@@ -0,0 +1,153 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Populates {@code water_intake_daily_totals} from existing records when the application starts
+ * with a maintained time zone whose backfill has not completed, which happens after the migration
+ * that creates the table or after a zone is added to {@code WATER_INTAKE_DAILY_TOTALS_TIME_ZONES}.
+ *
+ * <p>The backfill runs on a background thread, so startup and readiness do not wait for it, and
+ * summaries in the zones being backfilled are aggregated from raw records until it finishes. Users
+ * are processed in ascending ID order, one short transaction per user, so it never holds locks on
+ * more than one user's rows. Progress is saved in {@code water_intake_daily_totals_backfill} after
+ * every page of users and completion is recorded there, so an interrupted backfill resumes after
+ * the last saved user on the next startup.
+ */
+@Component
+public class WaterIntakeDailyTotalsBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(WaterIntakeDailyTotalsBackfill.class);
+
+    static final int PAGE_SIZE = 500;
+
+    private final WaterIntakeDailyTotalsRepository dailyTotalsRepository;
+    private final WaterIntakeDailyTotalsService dailyTotalsService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final Counter backfilledUsersCounter;
+
+    @Autowired
+    public WaterIntakeDailyTotalsBackfill(
+            WaterIntakeDailyTotalsRepository dailyTotalsRepository,
+            WaterIntakeDailyTotalsService dailyTotalsService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this(
+                dailyTotalsRepository,
+                dailyTotalsService,
+                transactionTemplate,
+                meterRegistry,
+                task -> Thread.ofVirtual().name("daily-totals-backfill").start(task));
+    }
+
+    WaterIntakeDailyTotalsBackfill(
+            WaterIntakeDailyTotalsRepository dailyTotalsRepository,
+            WaterIntakeDailyTotalsService dailyTotalsService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            Executor executor) {
+        this.dailyTotalsRepository = dailyTotalsRepository;
+        this.dailyTotalsService = dailyTotalsService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.backfilledUsersCounter =
+                Counter.builder("water_intakes.daily_totals.backfilled_users")
+                        .description("Total number of users whose daily totals were rebuilt")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Starts the backfill in the background once the application is ready, if any maintained zone
+     * needs it. Zones are marked complete right away when there are no records to backfill.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfMissing() {
+        List<ZoneId> missing =
+                this.dailyTotalsService.timeZones().stream()
+                        .filter(
+                                zone ->
+                                        !this.dailyTotalsRepository.isBackfillCompleted(
+                                                zone.getId()))
+                        .toList();
+
+        if (missing.isEmpty()) {
+            log.debug("Water intake daily totals are up to date, skipping backfill");
+            return;
+        }
+        if (!this.dailyTotalsRepository.existsAnyWaterIntake()) {
+            saveProgress(missing, 0, true);
+            return;
+        }
+
+        this.dailyTotalsService.backfillStarted(missing);
+        this.executor.execute(() -> backfill(missing));
+    }
+
+    /**
+     * Rebuilds the daily totals of every user after the earliest saved progress of the given zones,
+     * one transaction per user, and records their completion.
+     *
+     * @param zones the time zones to backfill
+     * @return the number of users processed
+     */
+    int backfill(List<ZoneId> zones) {
+        long lastUserId =
+                zones.stream()
+                        .mapToLong(
+                                zone ->
+                                        this.dailyTotalsRepository.findBackfillProgress(
+                                                zone.getId()))
+                        .min()
+                        .orElse(0);
+        log.info(
+                "Backfilling water intake daily totals for time zones {} after userId: {}",
+                zones,
+                lastUserId);
+
+        int users = 0;
+        List<Long> page;
+        try {
+            do {
+                page = this.dailyTotalsRepository.findUserIdsAfter(lastUserId, PAGE_SIZE);
+                for (Long userId : page) {
+                    this.transactionTemplate.executeWithoutResult(
+                            status -> this.dailyTotalsService.rebuild(userId));
+                    this.backfilledUsersCounter.increment();
+                    users++;
+                    lastUserId = userId;
+                }
+                saveProgress(zones, lastUserId, page.size() < PAGE_SIZE);
+            } while (page.size() == PAGE_SIZE);
+        } catch (RuntimeException e) {
+            log.error(
+                    "Water intake daily totals backfill stopped after userId: {}, it resumes on"
+                            + " the next startup",
+                    lastUserId,
+                    e);
+            return users;
+        }
+
+        this.dailyTotalsService.backfillCompleted(zones);
+        log.info("Water intake daily totals backfill rebuilt {} users", users);
+        return users;
+    }
+
+    private void saveProgress(List<ZoneId> zones, long lastUserId, boolean completed) {
+        for (ZoneId zone : zones) {
+            this.dailyTotalsRepository.saveBackfillProgress(zone.getId(), lastUserId, completed);
+        }
+    }
+}
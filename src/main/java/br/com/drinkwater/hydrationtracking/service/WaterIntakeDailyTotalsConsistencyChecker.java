@@ -0,0 +1,87 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically compares {@code water_intake_daily_totals} with totals re-derived from {@code
+ * water_intakes} and repairs any user whose rollup has drifted, for example after a manual data fix
+ * that bypassed the application. Scheduled by {@code WATER_INTAKE_DAILY_TOTALS_CHECK_CRON}.
+ *
+ * <p>A record committed while the check runs can show up as a false positive; repairing it is
+ * harmless because rebuilding a user is idempotent. Publishes the {@code
+ * water_intakes.daily_totals.drift} counter with the number of mismatched days found.
+ */
+@Component
+public class WaterIntakeDailyTotalsConsistencyChecker {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(WaterIntakeDailyTotalsConsistencyChecker.class);
+
+    static final int MAX_DRIFT_PER_RUN = 1_000;
+
+    private final WaterIntakeDailyTotalsRepository dailyTotalsRepository;
+    private final WaterIntakeDailyTotalsService dailyTotalsService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter driftCounter;
+
+    public WaterIntakeDailyTotalsConsistencyChecker(
+            WaterIntakeDailyTotalsRepository dailyTotalsRepository,
+            WaterIntakeDailyTotalsService dailyTotalsService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.dailyTotalsRepository = dailyTotalsRepository;
+        this.dailyTotalsService = dailyTotalsService;
+        this.transactionTemplate = transactionTemplate;
+        this.driftCounter =
+                Counter.builder("water_intakes.daily_totals.drift")
+                        .description("Total number of daily totals found out of sync")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Checks every maintained time zone and rebuilds the users with drifted days.
+     *
+     * @return the number of users rebuilt
+     */
+    @Scheduled(cron = "${water-intake.daily-totals.consistency-check-cron}")
+    public int checkAndRepair() {
+        Set<Long> driftedUsers = new LinkedHashSet<>();
+        for (ZoneId zone : this.dailyTotalsService.timeZones()) {
+            for (var drift :
+                    this.dailyTotalsRepository.findDrift(zone.getId(), MAX_DRIFT_PER_RUN)) {
+                log.warn(
+                        "Daily totals drift for userId: {} on {} ({}): expected {} ml in {}"
+                                + " records, stored {} ml in {} records",
+                        drift.userId(),
+                        drift.localDate(),
+                        zone.getId(),
+                        drift.expectedVolume(),
+                        drift.expectedCount(),
+                        drift.storedVolume(),
+                        drift.storedCount());
+                this.driftCounter.increment();
+                driftedUsers.add(drift.userId());
+            }
+        }
+
+        for (Long userId : driftedUsers) {
+            this.transactionTemplate.executeWithoutResult(
+                    status -> this.dailyTotalsService.rebuild(userId));
+        }
+
+        if (!driftedUsers.isEmpty()) {
+            log.info("Rebuilt daily totals for {} drifted users", driftedUsers.size());
+        }
+        return driftedUsers.size();
+    }
+}
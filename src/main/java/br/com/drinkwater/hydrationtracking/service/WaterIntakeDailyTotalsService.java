@@ -0,0 +1,233 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.config.properties.DailyTotalsProperties;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the {@code water_intake_daily_totals} rollup in step with {@code water_intakes}.
+ *
+ * <p>Every method joins the caller's transaction ({@link Propagation#MANDATORY}), so a rollup
+ * change commits or rolls back together with the record change it reflects. Totals are maintained
+ * for each time zone in {@code WATER_INTAKE_DAILY_TOTALS_TIME_ZONES}; summaries in any other zone,
+ * or in a zone whose backfill is still running, fall back to aggregating raw records.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class WaterIntakeDailyTotalsService {
+
+    private final WaterIntakeDailyTotalsRepository dailyTotalsRepository;
+    private final List<ZoneId> timeZones;
+    private final Set<ZoneId> backfillingZones = ConcurrentHashMap.newKeySet();
+
+    public WaterIntakeDailyTotalsService(
+            WaterIntakeDailyTotalsRepository dailyTotalsRepository,
+            DailyTotalsProperties properties) {
+        this.dailyTotalsRepository = dailyTotalsRepository;
+        this.timeZones =
+                properties.timeZones().stream()
+                        .map(WaterIntakeDailyTotalsService::toZoneId)
+                        .distinct()
+                        .toList();
+    }
+
+    /**
+     * Returns the time zones whose local days are maintained.
+     *
+     * @return the configured time zones, without duplicates
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ZoneId> timeZones() {
+        return this.timeZones;
+    }
+
+    /**
+     * Checks whether the rollup maintains totals for a time zone.
+     *
+     * @param zone the time zone to check
+     * @return {@code true} if summaries in this zone can be read from the rollup
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean isMaintained(ZoneId zone) {
+        return this.timeZones.contains(zone) && !this.backfillingZones.contains(zone);
+    }
+
+    /**
+     * Stops reading summaries in the given zones from the rollup until {@link #backfillCompleted}
+     * is called, since users that have not been rebuilt yet would be missing from it.
+     *
+     * @param zones the time zones being backfilled
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void backfillStarted(Collection<ZoneId> zones) {
+        this.backfillingZones.addAll(zones);
+    }
+
+    /**
+     * Reads summaries in the given zones from the rollup again.
+     *
+     * @param zones the time zones whose backfill has finished
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void backfillCompleted(Collection<ZoneId> zones) {
+        this.backfillingZones.removeAll(zones);
+    }
+
+    /**
+     * Adds a newly inserted record to its day in every maintained time zone.
+     *
+     * @param waterIntake the inserted record
+     */
+    public void recordCreated(WaterIntake waterIntake) {
+        recordCreated(List.of(waterIntake));
+    }
+
+    /**
+     * Adds newly inserted records, applying one delta per user and day. Days are updated in
+     * ascending order so concurrent batches lock rollup rows in the same order.
+     *
+     * @param waterIntakes the inserted records
+     */
+    public void recordCreated(List<WaterIntake> waterIntakes) {
+        for (ZoneId zone : this.timeZones) {
+            deltasByDay(waterIntakes, zone)
+                    .forEach(
+                            (day, delta) ->
+                                    this.dailyTotalsRepository.applyDelta(
+                                            day.userId(),
+                                            zone.getId(),
+                                            day.localDate(),
+                                            delta[0],
+                                            (int) delta[1]));
+        }
+    }
+
+    /**
+     * Adds newly inserted records to the days that {@link #rebuild} leaves untouched because they
+     * touch an archived month. Records on any other day are skipped, since a rebuild counts them.
+     *
+     * @param waterIntakes the inserted records, typically those dated near an archived month
+     */
+    public void recordCreatedOnArchivedDays(List<WaterIntake> waterIntakes) {
+        for (ZoneId zone : this.timeZones) {
+            deltasByDay(waterIntakes, zone)
+                    .forEach(
+                            (day, delta) ->
+                                    this.dailyTotalsRepository.applyDeltaToArchivedDay(
+                                            day.userId(),
+                                            zone.getId(),
+                                            day.localDate(),
+                                            delta[0],
+                                            (int) delta[1]));
+        }
+    }
+
+    /**
+     * Moves a record's contribution from its previous day and volume to its current ones.
+     *
+     * @param previous the record as it was before the update
+     * @param current the record as it is after the update
+     */
+    public void recordUpdated(WaterIntake previous, WaterIntake current) {
+        for (ZoneId zone : this.timeZones) {
+            LocalDate previousDate = localDate(previous, zone);
+            LocalDate currentDate = localDate(current, zone);
+            if (previousDate.equals(currentDate)) {
+                int volumeDelta = current.getVolume() - previous.getVolume();
+                if (volumeDelta != 0) {
+                    this.dailyTotalsRepository.applyDelta(
+                            current.getUserId(), zone.getId(), currentDate, volumeDelta, 0);
+                }
+            } else {
+                this.dailyTotalsRepository.applyDelta(
+                        previous.getUserId(),
+                        zone.getId(),
+                        previousDate,
+                        -previous.getVolume(),
+                        -1);
+                this.dailyTotalsRepository.applyDelta(
+                        current.getUserId(), zone.getId(), currentDate, current.getVolume(), 1);
+            }
+        }
+    }
+
+    /**
+     * Removes a deleted record from its day in every maintained time zone.
+     *
+     * @param waterIntake the deleted record
+     */
+    public void recordDeleted(WaterIntake waterIntake) {
+        for (ZoneId zone : this.timeZones) {
+            this.dailyTotalsRepository.applyDelta(
+                    waterIntake.getUserId(),
+                    zone.getId(),
+                    localDate(waterIntake, zone),
+                    -waterIntake.getVolume(),
+                    -1);
+        }
+    }
+
+    /**
+     * Re-derives all of a user's totals from raw records in every maintained time zone.
+     *
+     * @param userId the internal database user ID
+     * @return the number of daily rows written
+     */
+    public int rebuild(Long userId) {
+        int rows = 0;
+        for (ZoneId zone : this.timeZones) {
+            rows += this.dailyTotalsRepository.rebuildForUser(userId, zone.getId());
+        }
+        return rows;
+    }
+
+    /** Sums volume and count per user and local day, in ascending order. */
+    private static Map<DayKey, long[]> deltasByDay(List<WaterIntake> waterIntakes, ZoneId zone) {
+        Map<DayKey, long[]> deltas = new TreeMap<>();
+        for (WaterIntake waterIntake : waterIntakes) {
+            long[] delta =
+                    deltas.computeIfAbsent(
+                            new DayKey(waterIntake.getUserId(), localDate(waterIntake, zone)),
+                            key -> new long[2]);
+            delta[0] += waterIntake.getVolume();
+            delta[1]++;
+        }
+        return deltas;
+    }
+
+    private static ZoneId toZoneId(String timeZone) {
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalStateException(
+                    "WATER_INTAKE_DAILY_TOTALS_TIME_ZONES contains an invalid time zone: "
+                            + timeZone,
+                    e);
+        }
+    }
+
+    private static LocalDate localDate(WaterIntake waterIntake, ZoneId zone) {
+        return LocalDate.ofInstant(waterIntake.getDateTimeUTC(), zone);
+    }
+
+    private record DayKey(Long userId, LocalDate localDate) implements Comparable<DayKey> {
+
+        @Override
+        public int compareTo(DayKey other) {
+            int byUser = this.userId.compareTo(other.userId);
+            return byUser != 0 ? byUser : this.localDate.compareTo(other.localDate);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeResponseDTO;
+import br.com.drinkwater.hydrationtracking.mapper.WaterIntakeMapper;
+import br.com.drinkwater.hydrationtracking.model.ExportFormat;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeExportRepository;
+import br.com.drinkwater.usermanagement.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Service responsible for exporting a user's full water intake history in one response, instead of
+ * the hundreds of capped {@code search} pages a long history would need.
+ *
+ * <p>The user is resolved when the export is requested, so an unknown user still gets a regular
+ * error response. The records are then written by the returned {@link StreamingResponseBody} on the
+ * MVC async thread: each page of rows read through {@link WaterIntakeExportRepository} is
+ * serialized and written to the buffered response before the next one is read, so heap use stays
+ * constant regardless of history size. No transaction is opened, so each page returns its
+ * connection to the pool before it is written, and a slow download never pins a connection. The
+ * response must complete within {@link #TIMEOUT}. Publishes the {@code water_intakes.exported}
+ * counter.
+ */
+@Service
+public class WaterIntakeExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaterIntakeExportService.class);
+
+    static final String CSV_HEADER = "id,dateTimeUTC,volume,volumeUnit";
+
+    /** How long an export may take to stream before the request is timed out. */
+    public static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    private final WaterIntakeExportRepository waterIntakeExportRepository;
+    private final WaterIntakeMapper waterIntakeMapper;
+    private final UserService userService;
+    private final ObjectWriter responseWriter;
+    private final Counter waterIntakesExportedCounter;
+
+    public WaterIntakeExportService(
+            WaterIntakeExportRepository waterIntakeExportRepository,
+            WaterIntakeMapper waterIntakeMapper,
+            UserService userService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.waterIntakeExportRepository = waterIntakeExportRepository;
+        this.waterIntakeMapper = waterIntakeMapper;
+        this.userService = userService;
+        this.responseWriter = objectMapper.writerFor(WaterIntakeResponseDTO.class);
+        this.waterIntakesExportedCounter =
+                Counter.builder("water_intakes.exported")
+                        .description("Total number of water intake records exported")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Prepares the export of every water intake record of the user, oldest first.
+     *
+     * @param format the output format
+     * @param publicId the Keycloak public ID of the authenticated user
+     * @return the response body that streams the records when written
+     * @throws br.com.drinkwater.usermanagement.exception.UserNotFoundException if the user does not
+     *     exist
+     */
+    public StreamingResponseBody export(ExportFormat format, UUID publicId) {
+        log.debug("Exporting water intakes as {} for user: {}", format, publicId);
+        Long userId = this.userService.resolveUserIdByPublicId(publicId);
+        return outputStream -> write(userId, format, outputStream);
+    }
+
+    private void write(Long userId, ExportFormat format, OutputStream outputStream)
+            throws IOException {
+        var writer =
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            this.waterIntakeExportRepository.forEachByUserId(
+                    userId, waterIntake -> writeRecord(writer, format, waterIntake));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeRecord(Writer writer, ExportFormat format, WaterIntake waterIntake) {
+        var dto = this.waterIntakeMapper.toDto(waterIntake);
+        try {
+            switch (format) {
+                case NDJSON -> writer.write(this.responseWriter.writeValueAsString(dto));
+                case CSV ->
+                        writer.append(String.valueOf(dto.id()))
+                                .append(',')
+                                .append(dto.dateTimeUTC().toString())
+                                .append(',')
+                                .append(String.valueOf(dto.volume()))
+                                .append(',')
+                                .append(dto.volumeUnit().name());
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.waterIntakesExportedCounter.increment();
+    }
+}
@@ -0,0 +1,297 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.core.MessageResolver;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeImportErrorDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeImportErrorDTO.Reason;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeImportResponseDTO;
+import br.com.drinkwater.hydrationtracking.mapper.WaterIntakeMapper;
+import br.com.drinkwater.hydrationtracking.model.ExportFormat;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeImportRepository;
+import br.com.drinkwater.usermanagement.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service responsible for bulk imports of water intake history, such as records migrated from other
+ * hydration apps, in the same NDJSON and CSV formats the export produces.
+ *
+ * <p>The body is read line by line. Each line is parsed and validated with the constraints of
+ * {@link WaterIntakeDTO}; valid lines are kept in memory and invalid ones are reported, so imports
+ * are limited to {@value #MAX_LINES} data lines. Only once the whole body has been read does a
+ * transaction start, so a slow upload never holds a database connection: the kept lines are
+ * streamed into the staging table through {@link WaterIntakeImportRepository} and merged into
+ * {@code water_intakes} in one statement, skipping date/times the user already has or that repeat
+ * an earlier line.
+ *
+ * <p>After the merge, the user's daily totals are rebuilt and today's accumulator is dropped, since
+ * the merge does not return the inserted rows. A rebuild leaves the days around archived months as
+ * they were, so the rows merged into those days, which the merge does return, are added to them as
+ * deltas. Publishes the {@code water_intakes.imported}, {@code water_intakes.import.rejected} and
+ * {@code water_intakes.import.duplicates} counters and the {@code water_intakes.import} timer.
+ */
+@Service
+public class WaterIntakeImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaterIntakeImportService.class);
+
+    public static final int MAX_LINES = 100_000;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final WaterIntakeImportRepository waterIntakeImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WaterIntakeDailyTotalsService dailyTotalsService;
+    private final TodayProgressAccumulator todayProgressAccumulator;
+    private final WaterIntakeMapper waterIntakeMapper;
+    private final MessageResolver messageResolver;
+    private final UserService userService;
+    private final Validator validator;
+    private final ObjectReader dtoReader;
+    private final Counter waterIntakesImportedCounter;
+    private final Counter waterIntakeImportRejectedCounter;
+    private final Counter waterIntakeImportDuplicatesCounter;
+    private final Timer waterIntakeImportTimer;
+
+    public WaterIntakeImportService(
+            WaterIntakeImportRepository waterIntakeImportRepository,
+            TransactionTemplate transactionTemplate,
+            WaterIntakeDailyTotalsService dailyTotalsService,
+            TodayProgressAccumulator todayProgressAccumulator,
+            WaterIntakeMapper waterIntakeMapper,
+            MessageResolver messageResolver,
+            UserService userService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.waterIntakeImportRepository = waterIntakeImportRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dailyTotalsService = dailyTotalsService;
+        this.todayProgressAccumulator = todayProgressAccumulator;
+        this.waterIntakeMapper = waterIntakeMapper;
+        this.messageResolver = messageResolver;
+        this.userService = userService;
+        this.validator = validator;
+        this.dtoReader = objectMapper.readerFor(WaterIntakeDTO.class);
+        this.waterIntakesImportedCounter =
+                Counter.builder("water_intakes.imported")
+                        .description("Total number of water intakes created by imports")
+                        .register(meterRegistry);
+        this.waterIntakeImportRejectedCounter =
+                Counter.builder("water_intakes.import.rejected")
+                        .description("Total number of import lines rejected as invalid")
+                        .register(meterRegistry);
+        this.waterIntakeImportDuplicatesCounter =
+                Counter.builder("water_intakes.import.duplicates")
+                        .description("Total number of import lines skipped as duplicates")
+                        .register(meterRegistry);
+        this.waterIntakeImportTimer =
+                Timer.builder("water_intakes.import")
+                        .description("Time spent importing a water intake history")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Imports water intake records from an NDJSON or CSV body. NDJSON lines are objects with the
+     * fields of {@link WaterIntakeDTO}; a CSV body starts with a header naming at least the {@code
+     * dateTimeUTC}, {@code volume} and {@code volumeUnit} columns. Other fields and columns, such
+     * as the {@code id} written by the export, are ignored, and blank lines are skipped.
+     *
+     * @param format the format of the body
+     * @param body the request body
+     * @param publicId the Keycloak public ID of the authenticated user
+     * @return line counts and the lines that were not imported
+     * @throws IOException if the body cannot be read
+     * @throws IllegalArgumentException if the CSV header lacks a required column or the body has
+     *     more than {@value #MAX_LINES} data lines; nothing is imported in that case
+     */
+    public WaterIntakeImportResponseDTO importHistory(
+            ExportFormat format, InputStream body, UUID publicId) throws IOException {
+        log.info("Importing water intakes as {} for user: {}", format, publicId);
+        Long userId = this.userService.resolveUserIdByPublicId(publicId);
+        var sample = Timer.start();
+
+        var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<ValidLine> validLines = new ArrayList<>();
+        List<WaterIntakeImportErrorDTO> errors = new ArrayList<>();
+        int lines = 0;
+        int rejected = 0;
+        CsvColumns csvColumns = null;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ExportFormat.CSV && csvColumns == null) {
+                csvColumns = CsvColumns.fromHeader(line, this.messageResolver);
+                continue;
+            }
+            if (++lines > MAX_LINES) {
+                throw new IllegalArgumentException(
+                        this.messageResolver.resolve(
+                                "water-intake.import.too-many-lines", MAX_LINES));
+            }
+
+            WaterIntakeDTO dto = csvColumns != null ? csvColumns.parse(line) : parseJson(line);
+            List<String> problems =
+                    dto == null
+                            ? List.of(
+                                    this.messageResolver.resolve(
+                                            "water-intake.import.line.malformed"))
+                            : validate(dto);
+            if (problems.isEmpty()) {
+                validLines.add(
+                        new ValidLine(lineNumber, this.waterIntakeMapper.toEntity(dto, userId)));
+            } else {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new WaterIntakeImportErrorDTO(lineNumber, Reason.INVALID, problems));
+                }
+            }
+        }
+
+        var merged =
+                validLines.isEmpty()
+                        ? new Merged(List.of(), 0)
+                        : this.transactionTemplate.execute(status -> merge(validLines, userId));
+        List<Integer> duplicateLines = merged.duplicateLines();
+        int imported = merged.imported();
+        sample.stop(this.waterIntakeImportTimer);
+
+        String duplicateMessage =
+                this.messageResolver.resolve("exception.water-intake.duplicate-datetime");
+        duplicateLines.stream()
+                .limit(MAX_REPORTED_ERRORS)
+                .forEach(
+                        duplicateLine ->
+                                errors.add(
+                                        new WaterIntakeImportErrorDTO(
+                                                duplicateLine,
+                                                Reason.DUPLICATE,
+                                                List.of(duplicateMessage))));
+        List<WaterIntakeImportErrorDTO> reported =
+                errors.stream()
+                        .sorted(Comparator.comparingInt(WaterIntakeImportErrorDTO::line))
+                        .limit(MAX_REPORTED_ERRORS)
+                        .toList();
+
+        this.waterIntakesImportedCounter.increment(imported);
+        this.waterIntakeImportRejectedCounter.increment(rejected);
+        this.waterIntakeImportDuplicatesCounter.increment(duplicateLines.size());
+        log.info(
+                "Water intake import for user: {} read {} lines, imported {}, rejected {} and"
+                        + " skipped {} duplicates",
+                publicId,
+                lines,
+                imported,
+                rejected,
+                duplicateLines.size());
+
+        return new WaterIntakeImportResponseDTO(
+                lines, imported, duplicateLines.size(), rejected, reported);
+    }
+
+    /** Stages the valid lines and merges them into the user's records, in one transaction. */
+    private Merged merge(List<ValidLine> validLines, Long userId) {
+        UUID importId = UUID.randomUUID();
+        try (var staging = this.waterIntakeImportRepository.openStaging(importId)) {
+            validLines.forEach(valid -> staging.add(valid.lineNumber(), valid.waterIntake()));
+        }
+        List<Integer> duplicateLines =
+                this.waterIntakeImportRepository.findDuplicateLines(importId, userId);
+        var merged = this.waterIntakeImportRepository.merge(importId, userId);
+        if (merged.inserted() > 0) {
+            this.dailyTotalsService.rebuild(userId);
+            this.dailyTotalsService.recordCreatedOnArchivedDays(merged.nearArchivedMonths());
+            this.todayProgressAccumulator.invalidate(userId);
+        }
+        return new Merged(duplicateLines, merged.inserted());
+    }
+
+    @Nullable
+    private WaterIntakeDTO parseJson(String line) {
+        try {
+            return this.dtoReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private List<String> validate(WaterIntakeDTO dto) {
+        return this.validator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    /** A line that passed validation, kept until the body has been read. */
+    private record ValidLine(int lineNumber, WaterIntake waterIntake) {}
+
+    /** What the merge transaction did with the valid lines. */
+    private record Merged(List<Integer> duplicateLines, int imported) {}
+
+    /** Positions of the imported columns in a CSV body, read from its header. */
+    private record CsvColumns(int count, int dateTimeUTC, int volume, int volumeUnit) {
+
+        static CsvColumns fromHeader(String header, MessageResolver messageResolver) {
+            List<String> names = List.of(header.trim().split("\\s*,\\s*", -1));
+            int dateTimeUTC = names.indexOf("dateTimeUTC");
+            int volume = names.indexOf("volume");
+            int volumeUnit = names.indexOf("volumeUnit");
+            if (dateTimeUTC < 0 || volume < 0 || volumeUnit < 0) {
+                throw new IllegalArgumentException(
+                        messageResolver.resolve("water-intake.import.csv-header.invalid"));
+            }
+            return new CsvColumns(names.size(), dateTimeUTC, volume, volumeUnit);
+        }
+
+        /** Returns the parsed line, or {@code null} if it is malformed. */
+        @Nullable
+        WaterIntakeDTO parse(String line) {
+            String[] fields = line.split(",", -1);
+            if (fields.length != this.count) {
+                return null;
+            }
+            try {
+                return new WaterIntakeDTO(
+                        blankToNull(fields[this.dateTimeUTC], Instant::parse),
+                        Integer.parseInt(fields[this.volume].trim()),
+                        blankToNull(fields[this.volumeUnit], VolumeUnit::valueOf));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        @Nullable
+        private static <T> T blankToNull(String field, Function<String, T> parser) {
+            String value = field.trim();
+            return value.isEmpty() ? null : parser.apply(value);
+        }
+    }
+}
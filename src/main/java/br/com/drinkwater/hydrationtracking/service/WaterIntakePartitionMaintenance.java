@@ -0,0 +1,122 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.config.properties.WaterIntakePartitionProperties;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakePartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly partitions of {@code water_intakes} ahead of the calendar. Scheduled by {@code
+ * WATER_INTAKE_PARTITION_CRON}, it creates any missing partition from the current UTC month to
+ * {@code monthsAhead} months ahead, so inserts never fall through to the default partition, and,
+ * when {@code retentionMonths} is set, detaches partitions older than that into standalone tables.
+ * Does nothing when the table is not partitioned, as on H2.
+ *
+ * <p>Every step is idempotent and runs in its own statement, so instances running the job at the
+ * same time, or a run interrupted halfway, leave the partitions consistent. Publishes the {@code
+ * water_intakes.partitions.created} and {@code water_intakes.partitions.detached} counters and the
+ * {@code water_intakes.partitions} gauge with the number of attached monthly partitions.
+ */
+@Component
+public class WaterIntakePartitionMaintenance {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(WaterIntakePartitionMaintenance.class);
+
+    private final WaterIntakePartitionRepository partitionRepository;
+    private final WaterIntakePartitionProperties properties;
+    private final Clock clock;
+    private final Counter createdCounter;
+    private final Counter detachedCounter;
+    private final AtomicInteger attachedPartitions = new AtomicInteger();
+
+    @Autowired
+    public WaterIntakePartitionMaintenance(
+            WaterIntakePartitionRepository partitionRepository,
+            WaterIntakePartitionProperties properties,
+            MeterRegistry meterRegistry) {
+        this(partitionRepository, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    WaterIntakePartitionMaintenance(
+            WaterIntakePartitionRepository partitionRepository,
+            WaterIntakePartitionProperties properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.partitionRepository = partitionRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.createdCounter =
+                Counter.builder("water_intakes.partitions.created")
+                        .description("Total number of monthly water intake partitions created")
+                        .register(meterRegistry);
+        this.detachedCounter =
+                Counter.builder("water_intakes.partitions.detached")
+                        .description("Total number of monthly water intake partitions detached")
+                        .register(meterRegistry);
+        Gauge.builder("water_intakes.partitions", this.attachedPartitions, AtomicInteger::get)
+                .description("Number of attached monthly water intake partitions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the missing upcoming partitions and detaches the expired ones.
+     *
+     * @return the number of partitions created
+     */
+    @Scheduled(cron = "${water-intake.partitions.cron}")
+    public int maintain() {
+        if (!this.partitionRepository.isPartitioned()) {
+            return 0;
+        }
+        YearMonth current = YearMonth.now(this.clock);
+        List<YearMonth> existing = this.partitionRepository.findMonthlyPartitions();
+        Set<YearMonth> attached = new HashSet<>(existing);
+
+        int created = 0;
+        for (int ahead = 0; ahead <= this.properties.monthsAhead(); ahead++) {
+            YearMonth month = current.plusMonths(ahead);
+            if (!attached.contains(month)
+                    && this.partitionRepository.createMonthlyPartition(month)) {
+                attached.add(month);
+                created++;
+            }
+        }
+
+        int detached = 0;
+        if (this.properties.retentionMonths() > 0) {
+            YearMonth oldestKept = current.minusMonths(this.properties.retentionMonths());
+            for (YearMonth month : existing) {
+                if (month.isBefore(oldestKept)) {
+                    this.partitionRepository.detachMonthlyPartition(month);
+                    attached.remove(month);
+                    detached++;
+                }
+            }
+        }
+
+        this.createdCounter.increment(created);
+        this.detachedCounter.increment(detached);
+        this.attachedPartitions.set(attached.size());
+        if (created > 0 || detached > 0) {
+            log.info(
+                    "Water intake partitions: {} created, {} detached, {} attached",
+                    created,
+                    detached,
+                    attached.size());
+        }
+        return created;
+    }
+}
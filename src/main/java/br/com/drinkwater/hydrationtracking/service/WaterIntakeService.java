@@ -3,24 +3,34 @@ package br.com.drinkwater.hydrationtracking.service;
 import br.com.drinkwater.core.CursorPageResponse;
 import br.com.drinkwater.core.MessageResolver;
 import br.com.drinkwater.core.PageCursor;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchItemDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchResponseDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeFilterDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeResponseDTO;
 import br.com.drinkwater.hydrationtracking.exception.DuplicateDateTimeException;
 import br.com.drinkwater.hydrationtracking.exception.WaterIntakeNotFoundException;
+import br.com.drinkwater.hydrationtracking.exception.WriteBehindQueueFullException;
 import br.com.drinkwater.hydrationtracking.mapper.WaterIntakeMapper;
+import br.com.drinkwater.hydrationtracking.model.SearchSortField;
 import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository;
 import br.com.drinkwater.hydrationtracking.repository.WaterIntakeRepository;
 import br.com.drinkwater.hydrationtracking.repository.WaterIntakeSearchRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeWriteRepository;
 import br.com.drinkwater.usermanagement.service.UserService;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,8 +39,14 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <p>Manages creation, retrieval, update, deletion, and cursor-based paginated search of water
  * intake records. Resolves the authenticated user's Keycloak public ID to the internal database
- * user ID via {@link UserService#resolveUserIdByPublicId(UUID)}. Publishes Micrometer metrics for
- * creation/deletion counts and search latency.
+ * user ID via {@link UserService#resolveUserIdByPublicId(UUID)}. Every write also updates the
+ * per-day rollup through {@link WaterIntakeDailyTotalsService} in the same transaction, and the
+ * in-memory {@link TodayProgressAccumulator} once that transaction commits. When write-behind
+ * ingestion is enabled, creates can instead be queued on {@link WaterIntakeWriteBehindBuffer} and
+ * inserted in batches later. Records moved to the archive by {@link WaterIntakeArchiveService} are
+ * still read by ID from there, and are restored into {@code water_intakes} before an update or
+ * delete, so clients see a single tier. Publishes Micrometer metrics for creation/deletion counts,
+ * batch create size and latency, and search latency.
  */
 @Service
 public class WaterIntakeService {
@@ -39,22 +55,40 @@ public class WaterIntakeService {
 
     private final WaterIntakeRepository waterIntakeRepository;
     private final WaterIntakeSearchRepository waterIntakeSearchRepository;
+    private final WaterIntakeWriteRepository waterIntakeWriteRepository;
+    private final WaterIntakeArchiveRepository waterIntakeArchiveRepository;
+    private final WaterIntakeDailyTotalsService dailyTotalsService;
+    private final TodayProgressAccumulator todayProgressAccumulator;
+    private final WaterIntakeWriteBehindBuffer writeBehindBuffer;
     private final WaterIntakeMapper waterIntakeMapper;
     private final MessageResolver messageResolver;
     private final UserService userService;
     private final Counter waterIntakesCreatedCounter;
     private final Counter waterIntakesDeletedCounter;
+    private final Counter waterIntakeBatchDuplicatesCounter;
+    private final DistributionSummary waterIntakeBatchSizeSummary;
+    private final Timer waterIntakeBatchTimer;
     private final Timer waterIntakeSearchTimer;
 
     public WaterIntakeService(
             WaterIntakeRepository waterIntakeRepository,
             WaterIntakeSearchRepository waterIntakeSearchRepository,
+            WaterIntakeWriteRepository waterIntakeWriteRepository,
+            WaterIntakeArchiveRepository waterIntakeArchiveRepository,
+            WaterIntakeDailyTotalsService dailyTotalsService,
+            TodayProgressAccumulator todayProgressAccumulator,
+            WaterIntakeWriteBehindBuffer writeBehindBuffer,
             WaterIntakeMapper waterIntakeMapper,
             MessageResolver messageResolver,
             UserService userService,
             MeterRegistry meterRegistry) {
         this.waterIntakeRepository = waterIntakeRepository;
         this.waterIntakeSearchRepository = waterIntakeSearchRepository;
+        this.waterIntakeWriteRepository = waterIntakeWriteRepository;
+        this.waterIntakeArchiveRepository = waterIntakeArchiveRepository;
+        this.dailyTotalsService = dailyTotalsService;
+        this.todayProgressAccumulator = todayProgressAccumulator;
+        this.writeBehindBuffer = writeBehindBuffer;
         this.waterIntakeMapper = waterIntakeMapper;
         this.messageResolver = messageResolver;
         this.userService = userService;
@@ -66,6 +100,19 @@ public class WaterIntakeService {
                 Counter.builder("water_intakes.deleted")
                         .description("Total number of water intakes deleted")
                         .register(meterRegistry);
+        this.waterIntakeBatchDuplicatesCounter =
+                Counter.builder("water_intakes.batch.duplicates")
+                        .description("Total number of batch items skipped as duplicates")
+                        .register(meterRegistry);
+        this.waterIntakeBatchSizeSummary =
+                DistributionSummary.builder("water_intakes.batch.size")
+                        .description("Number of items per batch create request")
+                        .baseUnit("items")
+                        .register(meterRegistry);
+        this.waterIntakeBatchTimer =
+                Timer.builder("water_intakes.batch")
+                        .description("Time spent persisting a batch of water intakes")
+                        .register(meterRegistry);
         this.waterIntakeSearchTimer =
                 Timer.builder("water_intakes.search")
                         .description("Time spent searching water intakes")
@@ -73,7 +120,10 @@ public class WaterIntakeService {
     }
 
     /**
-     * Creates a new water intake record for the given user.
+     * Creates a new water intake record for the given user. Duplicate detection and the insert run
+     * as a single statement against the {@code UNIQUE(user_id, date_time_utc)} constraint, so two
+     * concurrent requests for the same date/time cannot both succeed; a record with the same
+     * date/time in the archive is a duplicate too.
      *
      * @param dto the validated water intake data
      * @param publicId the Keycloak public ID of the authenticated user
@@ -86,8 +136,12 @@ public class WaterIntakeService {
         log.info("Creating water intake for user: {}", publicId);
         Long userId = resolveUserId(publicId);
         WaterIntake waterIntake = this.waterIntakeMapper.toEntity(dto, userId);
-        this.validateDuplicateDateTime(waterIntake);
-        WaterIntake savedWaterIntake = this.waterIntakeRepository.save(waterIntake);
+        WaterIntake savedWaterIntake =
+                this.waterIntakeWriteRepository
+                        .insertIfAbsent(waterIntake)
+                        .orElseThrow(() -> duplicateDateTime(waterIntake));
+        this.dailyTotalsService.recordCreated(savedWaterIntake);
+        this.todayProgressAccumulator.recordCreated(List.of(savedWaterIntake));
         this.waterIntakesCreatedCounter.increment();
         log.info(
                 "Water intake created with id: {} for user: {}",
@@ -98,7 +152,85 @@ public class WaterIntakeService {
     }
 
     /**
-     * Updates an existing water intake record.
+     * @return {@code true} if creates may be queued with {@link #enqueue(WaterIntakeDTO, UUID)}
+     */
+    public boolean isWriteBehindEnabled() {
+        return this.writeBehindBuffer.isEnabled();
+    }
+
+    /**
+     * Queues a new water intake record for the given user on the write-behind buffer instead of
+     * inserting it now. The user is resolved immediately, so an unknown user still fails the
+     * request; a record whose date/time already exists is skipped when the buffer flushes.
+     *
+     * @param dto the validated water intake data
+     * @param publicId the Keycloak public ID of the authenticated user
+     * @throws WriteBehindQueueFullException if the buffer cannot take the record
+     */
+    public void enqueue(WaterIntakeDTO dto, UUID publicId) {
+        log.debug("Queueing water intake for user: {}", publicId);
+        Long userId = resolveUserId(publicId);
+        this.writeBehindBuffer.enqueue(this.waterIntakeMapper.toEntity(dto, userId));
+    }
+
+    /**
+     * Creates several water intake records for the given user in a single transaction. The user is
+     * resolved once and all items are sent to the database as one JDBC batch. Items whose date/time
+     * already exists for the user, or repeats an earlier item of the same batch, are reported as
+     * {@link WaterIntakeBatchItemDTO.Status#DUPLICATE} instead of failing the whole request.
+     *
+     * @param dto the validated batch of water intake data
+     * @param publicId the Keycloak public ID of the authenticated user
+     * @return per-item results in request order, with created and duplicate totals
+     */
+    @Transactional
+    public WaterIntakeBatchResponseDTO createAll(WaterIntakeBatchDTO dto, UUID publicId) {
+        log.info("Creating {} water intakes in batch for user: {}", dto.items().size(), publicId);
+        Long userId = resolveUserId(publicId);
+        List<WaterIntake> waterIntakes =
+                dto.items().stream().map(item -> waterIntakeMapper.toEntity(item, userId)).toList();
+
+        var sample = Timer.start();
+        List<Optional<WaterIntake>> inserted =
+                this.waterIntakeWriteRepository.insertAllIfAbsent(waterIntakes);
+        sample.stop(waterIntakeBatchTimer);
+
+        List<WaterIntakeBatchItemDTO> results = new ArrayList<>(inserted.size());
+        List<WaterIntake> created = new ArrayList<>(inserted.size());
+        for (int i = 0; i < inserted.size(); i++) {
+            Optional<WaterIntake> savedWaterIntake = inserted.get(i);
+            if (savedWaterIntake.isPresent()) {
+                created.add(savedWaterIntake.get());
+                results.add(
+                        new WaterIntakeBatchItemDTO(
+                                i,
+                                WaterIntakeBatchItemDTO.Status.CREATED,
+                                waterIntakeMapper.toDto(savedWaterIntake.get())));
+            } else {
+                results.add(
+                        new WaterIntakeBatchItemDTO(
+                                i, WaterIntakeBatchItemDTO.Status.DUPLICATE, null));
+            }
+        }
+        int duplicates = inserted.size() - created.size();
+        this.dailyTotalsService.recordCreated(created);
+        this.todayProgressAccumulator.recordCreated(created);
+
+        this.waterIntakesCreatedCounter.increment(created.size());
+        this.waterIntakeBatchDuplicatesCounter.increment(duplicates);
+        this.waterIntakeBatchSizeSummary.record(inserted.size());
+        log.info(
+                "Water intake batch for user: {} created {} and skipped {} duplicates",
+                publicId,
+                created.size(),
+                duplicates);
+
+        return new WaterIntakeBatchResponseDTO(created.size(), duplicates, results);
+    }
+
+    /**
+     * Updates an existing water intake record. An archived record is first restored into {@code
+     * water_intakes}, then updated there.
      *
      * @param waterIntakeId the ID of the record to update
      * @param dto the validated updated water intake data
@@ -112,22 +244,39 @@ public class WaterIntakeService {
         log.info("Updating water intake id: {} for user: {}", waterIntakeId, publicId);
         Long userId = resolveUserId(publicId);
 
-        if (!waterIntakeRepository.existsByIdAndUserId(waterIntakeId, userId)) {
-            log.warn("Water intake not found with id: {} for user: {}", waterIntakeId, publicId);
-            throw new WaterIntakeNotFoundException(
-                    messageResolver.resolve("water-intake.not-found-for-user", waterIntakeId));
+        WaterIntake waterIntake = this.waterIntakeMapper.toEntity(dto, userId, waterIntakeId);
+        Optional<WaterIntake> previous;
+        try {
+            previous = this.waterIntakeWriteRepository.update(waterIntake);
+            if (previous.isEmpty()) {
+                this.waterIntakeArchiveRepository.restore(userId, waterIntakeId);
+                previous = this.waterIntakeWriteRepository.update(waterIntake);
+            }
+        } catch (DuplicateKeyException e) {
+            throw duplicateDateTime(waterIntake);
         }
+        WaterIntake previousWaterIntake =
+                previous.orElseThrow(
+                        () -> {
+                            log.warn(
+                                    "Water intake not found with id: {} for user: {}",
+                                    waterIntakeId,
+                                    publicId);
+                            return new WaterIntakeNotFoundException(
+                                    messageResolver.resolve(
+                                            "water-intake.not-found-for-user", waterIntakeId));
+                        });
 
-        WaterIntake waterIntake = this.waterIntakeMapper.toEntity(dto, userId, waterIntakeId);
-        this.validateDuplicateDateTime(waterIntake);
-        WaterIntake savedWaterIntake = this.waterIntakeRepository.save(waterIntake);
+        this.dailyTotalsService.recordUpdated(previousWaterIntake, waterIntake);
+        this.todayProgressAccumulator.recordUpdated(previousWaterIntake, waterIntake);
         log.info("Water intake updated with id: {} for user: {}", waterIntakeId, publicId);
 
-        return this.waterIntakeMapper.toDto(savedWaterIntake);
+        return this.waterIntakeMapper.toDto(waterIntake);
     }
 
     /**
-     * Retrieves a single water intake record by its ID for the given user.
+     * Retrieves a single water intake record by its ID for the given user, from the archive if it
+     * is no longer in {@code water_intakes}.
      *
      * @param requestedId the water intake record ID
      * @param publicId the Keycloak public ID of the authenticated user
@@ -140,6 +289,7 @@ public class WaterIntakeService {
         Long userId = resolveUserId(publicId);
         return this.waterIntakeRepository
                 .findByIdAndUserId(requestedId, userId)
+                .or(() -> this.waterIntakeArchiveRepository.findArchivedById(userId, requestedId))
                 .map(waterIntakeMapper::toDto)
                 .orElseThrow(
                         () -> {
@@ -156,6 +306,8 @@ public class WaterIntakeService {
     /**
      * Deletes a water intake by its ID and the authenticated user's public ID.
      *
+     * <p>An archived record is first restored into {@code water_intakes}, then deleted there.
+     *
      * <p>This operation is idempotent: if no record matches the given {@code id} and user, the
      * method completes successfully without throwing an exception, and the controller returns 204
      * No Content regardless.
@@ -164,15 +316,29 @@ public class WaterIntakeService {
     public void deleteByIdAndUserId(Long id, UUID publicId) {
         log.info("Deleting water intake id: {} for user: {}", id, publicId);
         Long userId = resolveUserId(publicId);
-        this.waterIntakeRepository.deleteByIdAndUserId(id, userId);
+        this.waterIntakeWriteRepository
+                .deleteByIdAndUserId(id, userId)
+                .or(
+                        () ->
+                                this.waterIntakeArchiveRepository
+                                        .restore(userId, id)
+                                        .flatMap(
+                                                restored ->
+                                                        this.waterIntakeWriteRepository
+                                                                .deleteByIdAndUserId(id, userId)))
+                .ifPresent(
+                        waterIntake -> {
+                            this.dailyTotalsService.recordDeleted(waterIntake);
+                            this.todayProgressAccumulator.recordDeleted(waterIntake);
+                        });
         this.waterIntakesDeletedCounter.increment();
         log.info("Water intake deleted with id: {} for user: {}", id, publicId);
     }
 
     /**
      * Searches water intake records using cursor-based pagination. Fetches one extra record beyond
-     * the requested page size to determine if a next page exists, then encodes the last item's
-     * date/time and ID as the next cursor.
+     * the requested page size to determine if a next page exists, then encodes the last item's sort
+     * key value and ID as the next cursor.
      *
      * @param filter the search criteria including date range, volume range, sort, and cursor
      * @param publicId the Keycloak public ID of the authenticated user
@@ -208,11 +374,8 @@ public class WaterIntakeService {
         if (hasNext && !content.isEmpty()) {
             var lastItem = results.get(filter.size() - 1);
             nextCursor =
-                    new PageCursor(
-                                    lastItem.getDateTimeUTC(),
-                                    Objects.requireNonNull(
-                                            lastItem.getId(),
-                                            "Persisted water intake must have a non-null ID"))
+                    SearchSortField.fromFieldName(filter.sortField())
+                            .cursorAfter(lastItem)
                             .encode();
         }
 
@@ -228,27 +391,12 @@ public class WaterIntakeService {
         return this.userService.resolveUserIdByPublicId(publicId);
     }
 
-    private void validateDuplicateDateTime(WaterIntake waterIntake) {
-        Long id = waterIntake.getId();
-        boolean exists;
-
-        if (id == null) {
-            exists =
-                    waterIntakeRepository.existsByDateTimeUTCAndUserId(
-                            waterIntake.getDateTimeUTC(), waterIntake.getUserId());
-        } else {
-            exists =
-                    waterIntakeRepository.existsByDateTimeUTCAndUserIdAndIdIsNot(
-                            waterIntake.getDateTimeUTC(), waterIntake.getUserId(), id);
-        }
-
-        if (exists) {
-            log.warn(
-                    "Duplicate dateTime {} for userId: {}",
-                    waterIntake.getDateTimeUTC(),
-                    waterIntake.getUserId());
-            throw new DuplicateDateTimeException(
-                    messageResolver.resolve("exception.water-intake.duplicate-datetime"));
-        }
+    private DuplicateDateTimeException duplicateDateTime(WaterIntake waterIntake) {
+        log.warn(
+                "Duplicate dateTime {} for userId: {}",
+                waterIntake.getDateTimeUTC(),
+                waterIntake.getUserId());
+        return new DuplicateDateTimeException(
+                messageResolver.resolve("exception.water-intake.duplicate-datetime"));
     }
 }
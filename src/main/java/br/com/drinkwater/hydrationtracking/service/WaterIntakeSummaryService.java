@@ -0,0 +1,190 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryBucketDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryResponseDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeTodayFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeTodayResponseDTO;
+import br.com.drinkwater.hydrationtracking.model.SummaryGranularity;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeSummaryRepository;
+import br.com.drinkwater.hydrationtracking.service.TodayProgressAccumulator.TodayTotal;
+import br.com.drinkwater.usermanagement.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service responsible for hydration summaries: per-day, per-week or per-month totals with goal
+ * attainment, computed by the database so clients no longer page through raw records to sum them.
+ *
+ * <p>The goal of each bucket is the daily goal from the user's alarm settings multiplied by the
+ * number of days of the bucket inside the requested period. Every bucket of the period is returned,
+ * with zero totals when it has no water intake. Summaries in a time zone maintained by {@link
+ * WaterIntakeDailyTotalsService} read one precomputed row per day; other zones aggregate raw
+ * records.
+ *
+ * <p>Today's progress is served by {@link TodayProgressAccumulator} and the cached daily goal, so
+ * in steady state it does not query the database. Publishes the {@code water_intakes.summary} timer
+ * for the aggregation query.
+ */
+@Service
+public class WaterIntakeSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaterIntakeSummaryService.class);
+
+    private final WaterIntakeSummaryRepository waterIntakeSummaryRepository;
+    private final WaterIntakeDailyTotalsService dailyTotalsService;
+    private final TodayProgressAccumulator todayProgressAccumulator;
+    private final UserService userService;
+    private final Timer waterIntakeSummaryTimer;
+
+    public WaterIntakeSummaryService(
+            WaterIntakeSummaryRepository waterIntakeSummaryRepository,
+            WaterIntakeDailyTotalsService dailyTotalsService,
+            TodayProgressAccumulator todayProgressAccumulator,
+            UserService userService,
+            MeterRegistry meterRegistry) {
+        this.waterIntakeSummaryRepository = waterIntakeSummaryRepository;
+        this.dailyTotalsService = dailyTotalsService;
+        this.todayProgressAccumulator = todayProgressAccumulator;
+        this.userService = userService;
+        this.waterIntakeSummaryTimer =
+                Timer.builder("water_intakes.summary")
+                        .description("Time spent aggregating water intake summaries")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Summarizes the user's water intake between two calendar dates in the requested time zone.
+     *
+     * @param filter the validated period, granularity and time zone
+     * @param publicId the Keycloak public ID of the authenticated user
+     * @return per-bucket totals with goal attainment for every bucket of the period, in
+     *     chronological order
+     */
+    @Transactional(readOnly = true)
+    public WaterIntakeSummaryResponseDTO summarize(
+            WaterIntakeSummaryFilterDTO filter, UUID publicId) {
+        log.debug("Summarizing water intakes for user: {}", publicId);
+        Long userId = this.userService.resolveUserIdByPublicId(publicId);
+        SummaryGranularity granularity = SummaryGranularity.fromValue(filter.granularity());
+        ZoneId zone = ZoneId.of(filter.tz());
+        LocalDate endExclusive = filter.endDate().plusDays(1);
+
+        List<WaterIntakeSummaryRepository.PeriodTotal> totals =
+                sumByPeriod(userId, filter.startDate(), endExclusive, granularity, zone);
+
+        int dailyGoal = this.waterIntakeSummaryRepository.findDailyGoal(userId);
+        Map<LocalDate, WaterIntakeSummaryRepository.PeriodTotal> totalsByStart =
+                totals.stream()
+                        .collect(
+                                Collectors.toMap(
+                                        WaterIntakeSummaryRepository.PeriodTotal::periodStart,
+                                        Function.identity()));
+        List<WaterIntakeSummaryBucketDTO> buckets = new ArrayList<>();
+        for (LocalDate periodStart = granularity.periodStartOf(filter.startDate());
+                periodStart.isBefore(endExclusive);
+                periodStart = granularity.nextPeriodStart(periodStart)) {
+            var total =
+                    totalsByStart.getOrDefault(
+                            periodStart,
+                            new WaterIntakeSummaryRepository.PeriodTotal(periodStart, 0, 0));
+            buckets.add(toBucket(total, granularity, dailyGoal, filter.startDate(), endExclusive));
+        }
+
+        log.debug("Summary returned {} buckets for user: {}", buckets.size(), publicId);
+        return new WaterIntakeSummaryResponseDTO(
+                filter.granularity(), filter.tz(), dailyGoal, buckets);
+    }
+
+    /**
+     * Returns the user's progress for the current day in the requested time zone. Not transactional
+     * on purpose: the user ID, the daily goal and the day's total all come from in-memory caches in
+     * steady state, and only a cache miss reads the database.
+     *
+     * @param filter the validated time zone
+     * @param publicId the Keycloak public ID of the authenticated user
+     * @return today's total compared with the daily goal
+     */
+    public WaterIntakeTodayResponseDTO today(WaterIntakeTodayFilterDTO filter, UUID publicId) {
+        log.debug("Fetching today's progress for user: {}", publicId);
+        Long userId = this.userService.resolveUserIdByPublicId(publicId);
+        ZoneId zone = ZoneId.of(filter.tz());
+
+        TodayTotal total =
+                this.todayProgressAccumulator.get(
+                        userId, zone, today -> loadDayTotal(userId, zone, today));
+        int dailyGoal = this.userService.resolveDailyGoalByPublicId(publicId);
+
+        return new WaterIntakeTodayResponseDTO(
+                total.date(),
+                filter.tz(),
+                total.totalVolume(),
+                total.intakeCount(),
+                dailyGoal,
+                Math.max(0, dailyGoal - total.totalVolume()),
+                (double) total.totalVolume() / dailyGoal,
+                total.totalVolume() >= dailyGoal);
+    }
+
+    private TodayTotal loadDayTotal(Long userId, ZoneId zone, LocalDate date) {
+        return sumByPeriod(userId, date, date.plusDays(1), SummaryGranularity.DAY, zone).stream()
+                .findFirst()
+                .map(total -> new TodayTotal(zone, date, total.totalVolume(), total.intakeCount()))
+                .orElseGet(() -> new TodayTotal(zone, date, 0, 0));
+    }
+
+    private List<WaterIntakeSummaryRepository.PeriodTotal> sumByPeriod(
+            Long userId,
+            LocalDate startDate,
+            LocalDate endExclusive,
+            SummaryGranularity granularity,
+            ZoneId zone) {
+        var sample = Timer.start();
+        List<WaterIntakeSummaryRepository.PeriodTotal> totals =
+                this.dailyTotalsService.isMaintained(zone)
+                        ? this.waterIntakeSummaryRepository.sumDailyTotalsByPeriod(
+                                userId, startDate, endExclusive, granularity, zone)
+                        : this.waterIntakeSummaryRepository.sumByPeriod(
+                                userId,
+                                startDate.atStartOfDay(zone).toInstant(),
+                                endExclusive.atStartOfDay(zone).toInstant(),
+                                granularity,
+                                zone);
+        sample.stop(waterIntakeSummaryTimer);
+        return totals;
+    }
+
+    private static WaterIntakeSummaryBucketDTO toBucket(
+            WaterIntakeSummaryRepository.PeriodTotal total,
+            SummaryGranularity granularity,
+            int dailyGoal,
+            LocalDate startDate,
+            LocalDate endExclusive) {
+        LocalDate periodStart = total.periodStart();
+        LocalDate from = periodStart.isBefore(startDate) ? startDate : periodStart;
+        LocalDate periodEnd = granularity.nextPeriodStart(periodStart);
+        LocalDate to = periodEnd.isAfter(endExclusive) ? endExclusive : periodEnd;
+        long goal = dailyGoal * ChronoUnit.DAYS.between(from, to);
+
+        return new WaterIntakeSummaryBucketDTO(
+                periodStart,
+                total.totalVolume(),
+                total.intakeCount(),
+                goal,
+                (double) total.totalVolume() / goal,
+                total.totalVolume() >= goal);
+    }
+}
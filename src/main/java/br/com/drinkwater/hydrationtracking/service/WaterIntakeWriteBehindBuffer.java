@@ -0,0 +1,317 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import br.com.drinkwater.config.properties.WriteBehindProperties;
+import br.com.drinkwater.core.MessageResolver;
+import br.com.drinkwater.hydrationtracking.exception.WriteBehindQueueFullException;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeWriteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bounded in-memory queue behind write-behind ingestion of water intakes (see {@link
+ * WriteBehindProperties}). Request threads {@link #enqueue(WaterIntake) enqueue} records and return
+ * immediately; a single flusher thread inserts them through {@link
+ * WaterIntakeWriteRepository#insertAllIfAbsent(List)} as soon as {@code batchSize} records are
+ * waiting or {@code flushIntervalMillis} after the first one arrived, whichever comes first. Each
+ * batch runs in one transaction together with the daily totals and today's accumulator updates, as
+ * the synchronous batch create does.
+ *
+ * <p>When the queue is full, a request waits up to {@code offerTimeoutMillis} for room and is then
+ * rejected with {@link WriteBehindQueueFullException}, which clients see as 503 with {@code
+ * Retry-After}. Duplicates are skipped and counted, since the client was already answered. If a
+ * batch fails, its records are retried in one transaction per user, so a single failing user (for
+ * example one deleted while records were queued) does not take the others down; records that still
+ * fail are logged and counted as dropped.
+ *
+ * <p>The buffer stops after the web server in the shutdown sequence, so no request arrives while it
+ * drains: the flusher writes whatever is queued and exits, waiting up to {@code
+ * shutdownTimeoutSeconds}. Records queued on an instance that is killed are lost.
+ *
+ * <p>Publishes the {@code water_intakes.write_behind.queue} gauge, the {@code
+ * water_intakes.write_behind.flush} timer, the {@code water_intakes.write_behind.batch.size}
+ * summary and the {@code water_intakes.write_behind.rejected}, {@code
+ * water_intakes.write_behind.duplicates} and {@code water_intakes.write_behind.dropped} counters.
+ */
+@Component
+public class WaterIntakeWriteBehindBuffer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WaterIntakeWriteBehindBuffer.class);
+
+    /** Stops after the web server's graceful shutdown, which uses earlier (higher) phases. */
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final long STOP_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final WriteBehindProperties properties;
+    private final WaterIntakeWriteRepository waterIntakeWriteRepository;
+    private final WaterIntakeDailyTotalsService dailyTotalsService;
+    private final TodayProgressAccumulator todayProgressAccumulator;
+    private final TransactionTemplate transactionTemplate;
+    private final MessageResolver messageResolver;
+    private final BlockingQueue<WaterIntake> queue;
+    private final long flushIntervalNanos;
+    private final Counter waterIntakesCreatedCounter;
+    private final Counter rejectedCounter;
+    private final Counter duplicatesCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public WaterIntakeWriteBehindBuffer(
+            WriteBehindProperties properties,
+            WaterIntakeWriteRepository waterIntakeWriteRepository,
+            WaterIntakeDailyTotalsService dailyTotalsService,
+            TodayProgressAccumulator todayProgressAccumulator,
+            TransactionTemplate transactionTemplate,
+            MessageResolver messageResolver,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.waterIntakeWriteRepository = waterIntakeWriteRepository;
+        this.dailyTotalsService = dailyTotalsService;
+        this.todayProgressAccumulator = todayProgressAccumulator;
+        this.transactionTemplate = transactionTemplate;
+        this.messageResolver = messageResolver;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.flushIntervalMillis());
+        Gauge.builder("water_intakes.write_behind.queue", this.queue, BlockingQueue::size)
+                .description("Number of water intakes waiting to be written")
+                .baseUnit("items")
+                .register(meterRegistry);
+        this.waterIntakesCreatedCounter =
+                Counter.builder("water_intakes.created")
+                        .description("Total number of water intakes created")
+                        .register(meterRegistry);
+        this.rejectedCounter =
+                Counter.builder("water_intakes.write_behind.rejected")
+                        .description("Total number of water intakes rejected by a full queue")
+                        .register(meterRegistry);
+        this.duplicatesCounter =
+                Counter.builder("water_intakes.write_behind.duplicates")
+                        .description("Total number of queued water intakes skipped as duplicates")
+                        .register(meterRegistry);
+        this.droppedCounter =
+                Counter.builder("water_intakes.write_behind.dropped")
+                        .description("Total number of queued water intakes that failed to insert")
+                        .register(meterRegistry);
+        this.batchSizeSummary =
+                DistributionSummary.builder("water_intakes.write_behind.batch.size")
+                        .description("Number of water intakes per write-behind flush")
+                        .baseUnit("items")
+                        .register(meterRegistry);
+        this.flushTimer =
+                Timer.builder("water_intakes.write_behind.flush")
+                        .description("Time spent writing a batch of queued water intakes")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} if write-behind ingestion is enabled by configuration
+     */
+    public boolean isEnabled() {
+        return this.properties.enabled();
+    }
+
+    /**
+     * Queues a new water intake to be inserted by the flusher thread.
+     *
+     * @param waterIntake the new water intake (must not have an ID)
+     * @throws WriteBehindQueueFullException if the buffer is not running or the queue stays full
+     *     for {@code offerTimeoutMillis}
+     */
+    public void enqueue(WaterIntake waterIntake) {
+        boolean queued;
+        try {
+            queued =
+                    this.running
+                            && this.queue.offer(
+                                    waterIntake,
+                                    this.properties.offerTimeoutMillis(),
+                                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            this.rejectedCounter.increment();
+            log.warn(
+                    "Write-behind queue rejected water intake for userId: {}",
+                    waterIntake.getUserId());
+            throw new WriteBehindQueueFullException(
+                    this.messageResolver.resolve("exception.water-intake.write-behind-full"));
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!isEnabled() || this.running) {
+            return;
+        }
+        this.running = true;
+        this.flusher = Thread.ofPlatform().name("water-intake-write-behind").start(this::run);
+        log.info(
+                "Write-behind ingestion started with capacity {}, batch size {} and flush interval"
+                        + " {} ms",
+                this.properties.queueCapacity(),
+                this.properties.batchSize(),
+                this.properties.flushIntervalMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        try {
+            this.flusher.join(TimeUnit.SECONDS.toMillis(this.properties.shutdownTimeoutSeconds()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.flusher.isAlive()) {
+            this.flusher.interrupt();
+            log.error(
+                    "Write-behind queue did not drain within {} s; {} water intakes were not"
+                            + " written",
+                    this.properties.shutdownTimeoutSeconds(),
+                    this.queue.size());
+        } else {
+            log.info("Write-behind ingestion stopped with an empty queue");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /** Flusher loop: keeps writing batches until the buffer is stopped and the queue is empty. */
+    private void run() {
+        List<WaterIntake> batch = new ArrayList<>(this.properties.batchSize());
+        try {
+            while (this.running || !this.queue.isEmpty()) {
+                fillBatch(batch);
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn(
+                    "Write-behind flusher interrupted with {} water intakes queued",
+                    this.queue.size());
+        }
+    }
+
+    /**
+     * Collects queued records until the batch is full or the flush interval since its first record
+     * has elapsed. Waits in slices of at most {@link #STOP_CHECK_NANOS} and stops waiting once the
+     * buffer is stopped, so shutdown does not sit out a long flush interval.
+     */
+    private void fillBatch(List<WaterIntake> batch) throws InterruptedException {
+        int batchSize = this.properties.batchSize();
+        long deadline = 0;
+        while (true) {
+            this.queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize || !this.running) {
+                return;
+            }
+            long wait = STOP_CHECK_NANOS;
+            if (!batch.isEmpty()) {
+                long now = System.nanoTime();
+                if (deadline == 0) {
+                    deadline = now + this.flushIntervalNanos;
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    return;
+                }
+                wait = Math.min(wait, remaining);
+            }
+            WaterIntake next = this.queue.poll(wait, TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    /** Writes one batch, falling back to one transaction per user if the batch fails. */
+    private void flush(List<WaterIntake> batch) {
+        var sample = Timer.start();
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Write-behind batch of {} water intakes failed, retrying per user",
+                    batch.size(),
+                    e);
+            Map<Long, List<WaterIntake>> byUser = new LinkedHashMap<>();
+            batch.forEach(
+                    waterIntake ->
+                            byUser.computeIfAbsent(waterIntake.getUserId(), id -> new ArrayList<>())
+                                    .add(waterIntake));
+            byUser.forEach(this::writeForUser);
+        } finally {
+            sample.stop(this.flushTimer);
+            this.batchSizeSummary.record(batch.size());
+        }
+    }
+
+    private void writeForUser(Long userId, List<WaterIntake> waterIntakes) {
+        try {
+            write(waterIntakes);
+        } catch (RuntimeException e) {
+            this.droppedCounter.increment(waterIntakes.size());
+            log.error(
+                    "Dropped {} queued water intakes for userId: {}",
+                    waterIntakes.size(),
+                    userId,
+                    e);
+        }
+    }
+
+    private void write(List<WaterIntake> waterIntakes) {
+        List<WaterIntake> created =
+                Objects.requireNonNull(
+                        this.transactionTemplate.execute(
+                                status -> {
+                                    List<WaterIntake> inserted =
+                                            this.waterIntakeWriteRepository
+                                                    .insertAllIfAbsent(waterIntakes)
+                                                    .stream()
+                                                    .flatMap(Optional::stream)
+                                                    .toList();
+                                    this.dailyTotalsService.recordCreated(inserted);
+                                    this.todayProgressAccumulator.recordCreated(inserted);
+                                    return inserted;
+                                }));
+        this.waterIntakesCreatedCounter.increment(created.size());
+        this.duplicatesCounter.increment(waterIntakes.size() - created.size());
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.drinkwater.hydrationtracking.validation;
+
+import br.com.drinkwater.core.MessageResolver;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryFilterDTO;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.time.ZoneId;
+
+/**
+ * Validates the period of a hydration summary request. The time zone must be one of the IANA region
+ * IDs known to the JVM; raw offsets such as {@code +03:00} are rejected because PostgreSQL applies
+ * POSIX sign rules to them in {@code AT TIME ZONE}. The end date must not be before the start date,
+ * which is only checked when both dates are present (null-safety delegated to field-level
+ * constraints). Each rejection adds a violation on the offending property node.
+ */
+public class SummaryPeriodValidator
+        implements ConstraintValidator<ValidSummaryPeriod, WaterIntakeSummaryFilterDTO> {
+
+    private final MessageResolver messageResolver;
+
+    public SummaryPeriodValidator(MessageResolver messageResolver) {
+        this.messageResolver = messageResolver;
+    }
+
+    @Override
+    public boolean isValid(WaterIntakeSummaryFilterDTO filter, ConstraintValidatorContext context) {
+        boolean valid = true;
+        context.disableDefaultConstraintViolation();
+
+        if (!ZoneId.getAvailableZoneIds().contains(filter.tz())) {
+            addViolation(context, "water-intake.summary.tz.invalid", "tz");
+            valid = false;
+        }
+
+        if (filter.startDate() != null
+                && filter.endDate() != null
+                && filter.endDate().isBefore(filter.startDate())) {
+            addViolation(context, "water-intake.summary.date-range.end-before-start", "endDate");
+            valid = false;
+        }
+
+        return valid;
+    }
+
+    private void addViolation(
+            ConstraintValidatorContext context, String messageKey, String propertyNode) {
+        context.buildConstraintViolationWithTemplate(messageResolver.resolve(messageKey))
+                .addPropertyNode(propertyNode)
+                .addConstraintViolation();
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.drinkwater.hydrationtracking.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.time.ZoneId;
+
+/**
+ * Validates that a time zone is one of the IANA region IDs known to the JVM. Raw offsets such as
+ * {@code +03:00} are rejected because PostgreSQL applies POSIX sign rules to them in {@code AT TIME
+ * ZONE}.
+ */
+public class TimeZoneValidator implements ConstraintValidator<ValidTimeZone, String> {
+
+    @Override
+    public boolean isValid(String tz, ConstraintValidatorContext context) {
+        return tz == null || ZoneId.getAvailableZoneIds().contains(tz);
+    }
+}
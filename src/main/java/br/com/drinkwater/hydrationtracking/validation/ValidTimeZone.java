@@ -0,0 +1,29 @@
+package br.com.drinkwater.hydrationtracking.validation;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.ElementType.RECORD_COMPONENT;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Field-level constraint that validates a string is an IANA time zone region ID known to the JVM.
+ * Null values are considered valid.
+ */
+@Target({FIELD, PARAMETER, RECORD_COMPONENT})
+@Retention(RUNTIME)
+@Constraint(validatedBy = TimeZoneValidator.class)
+@Documented
+public @interface ValidTimeZone {
+
+    String message() default "{water-intake.tz.invalid}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
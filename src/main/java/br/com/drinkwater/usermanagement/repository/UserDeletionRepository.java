@@ -0,0 +1,59 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom repository for deleting users in two steps: a tombstone written when the user is deleted,
+ * and a later purge of the tombstoned user's data. Separated from {@link UserRepository} because
+ * Spring Data JDBC cannot bind a collection as a single SQL array parameter and maps rows to the
+ * {@code User} aggregate, which does not expose tombstones.
+ */
+public interface UserDeletionRepository {
+
+    /**
+     * Tombstones every live user whose public ID is in {@code publicIds} with one statement. The
+     * public ID, email and names are replaced so that the Keycloak ID no longer resolves and can
+     * register again; the water intakes stay until {@link #deleteWaterIntakes} purges them. Unknown
+     * or already tombstoned public IDs are ignored.
+     *
+     * @param publicIds the Keycloak public IDs
+     * @param deletedAt the time of the deletion
+     * @return the number of users tombstoned
+     */
+    int tombstoneAllByPublicId(List<UUID> publicIds, Instant deletedAt);
+
+    /**
+     * Returns tombstoned users, the earliest deleted first.
+     *
+     * @param limit the maximum number of user IDs
+     * @return the internal database IDs of tombstoned users
+     */
+    List<Long> findTombstonedUserIds(int limit);
+
+    /**
+     * Counts the tombstoned users that have not been purged yet.
+     *
+     * @return the number of tombstoned users
+     */
+    long countTombstoned();
+
+    /**
+     * Deletes up to {@code limit} water intakes of a user.
+     *
+     * @param userId the internal database user ID
+     * @param limit the maximum number of rows to delete
+     * @return the number of rows deleted; fewer than {@code limit} once none are left
+     */
+    int deleteWaterIntakes(long userId, int limit);
+
+    /**
+     * Deletes a tombstoned user row, cascading to its remaining dependent rows. Live users are
+     * never deleted.
+     *
+     * @param userId the internal database user ID
+     * @return {@code true} if the row was deleted
+     */
+    boolean deleteTombstoned(long userId);
+}
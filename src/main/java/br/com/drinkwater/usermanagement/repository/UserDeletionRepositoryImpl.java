@@ -0,0 +1,94 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link UserDeletionRepository}. The public IDs to tombstone are
+ * bound as one {@code uuid[]} parameter of {@code = ANY(?)}, so the statement text and its plan are
+ * the same for any number of IDs; each row gets a fresh {@code gen_random_uuid()} public ID and an
+ * email derived from its primary key, which keeps both unique constraints satisfied.
+ *
+ * <p>Water intakes are deleted by primary key through a bounded sub-select on {@code
+ * idx_water_intakes_user_datetime}, since PostgreSQL has no {@code DELETE ... LIMIT}.
+ */
+@Repository
+public class UserDeletionRepositoryImpl implements UserDeletionRepository {
+
+    private static final String TOMBSTONE_ALL_BY_PUBLIC_ID_SQL =
+            """
+            UPDATE users
+            SET deleted_at = ?,
+                public_id = gen_random_uuid(),
+                email = CONCAT('deleted-', id, '@invalid'),
+                first_name = '',
+                last_name = ''
+            WHERE public_id = ANY(?) AND deleted_at IS NULL
+            """;
+
+    private static final String FIND_TOMBSTONED_SQL =
+            """
+            SELECT id FROM users
+            WHERE deleted_at IS NOT NULL
+            ORDER BY deleted_at, id
+            LIMIT ?
+            """;
+
+    private static final String COUNT_TOMBSTONED_SQL =
+            "SELECT COUNT(*) FROM users WHERE deleted_at IS NOT NULL";
+
+    private static final String DELETE_WATER_INTAKES_SQL =
+            """
+            DELETE FROM water_intakes
+            WHERE id IN (SELECT id FROM water_intakes WHERE user_id = ? LIMIT ?)
+            """;
+
+    private static final String DELETE_TOMBSTONED_SQL =
+            "DELETE FROM users WHERE id = ? AND deleted_at IS NOT NULL";
+
+    private final JdbcOperations jdbcOperations;
+
+    public UserDeletionRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcOperations = jdbcTemplate.getJdbcOperations();
+    }
+
+    @Override
+    public int tombstoneAllByPublicId(List<UUID> publicIds, Instant deletedAt) {
+        if (publicIds.isEmpty()) {
+            return 0;
+        }
+        return this.jdbcOperations.update(
+                TOMBSTONE_ALL_BY_PUBLIC_ID_SQL,
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.from(deletedAt));
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", publicIds.toArray()));
+                });
+    }
+
+    @Override
+    public List<Long> findTombstonedUserIds(int limit) {
+        return this.jdbcOperations.queryForList(FIND_TOMBSTONED_SQL, Long.class, limit);
+    }
+
+    @Override
+    public long countTombstoned() {
+        return Objects.requireNonNull(
+                this.jdbcOperations.queryForObject(COUNT_TOMBSTONED_SQL, Long.class));
+    }
+
+    @Override
+    public int deleteWaterIntakes(long userId, int limit) {
+        return this.jdbcOperations.update(DELETE_WATER_INTAKES_SQL, userId, limit);
+    }
+
+    @Override
+    public boolean deleteTombstoned(long userId) {
+        return this.jdbcOperations.update(DELETE_TOMBSTONED_SQL, userId) > 0;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Custom read repository for public ID to user ID mappings. Separated from {@link UserRepository}
+ * because Spring Data JDBC derived queries map rows to the {@code User} aggregate.
+ */
+public interface UserIdMappingRepository {
+
+    /**
+     * Passes the mappings of the most recently created users to {@code action}, newest first.
+     *
+     * @param limit the maximum number of mappings
+     * @param action the callback invoked with each public ID and internal user ID
+     */
+    void forEachRecent(int limit, BiConsumer<UUID, Long> action);
+}
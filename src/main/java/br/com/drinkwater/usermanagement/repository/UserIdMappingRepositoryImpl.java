@@ -0,0 +1,36 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link UserIdMappingRepository}. Reads only the two ID columns,
+ * newest users first by scanning the primary key backward, skipping tombstoned users.
+ */
+@Repository
+public class UserIdMappingRepositoryImpl implements UserIdMappingRepository {
+
+    private static final String FIND_RECENT_SQL =
+            "SELECT public_id, id FROM users WHERE deleted_at IS NULL ORDER BY id DESC LIMIT ?";
+
+    private final JdbcOperations jdbcOperations;
+
+    public UserIdMappingRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcOperations = jdbcTemplate.getJdbcOperations();
+    }
+
+    @Override
+    public void forEachRecent(int limit, BiConsumer<UUID, Long> action) {
+        this.jdbcOperations.query(
+                FIND_RECENT_SQL,
+                (RowCallbackHandler)
+                        rs ->
+                                action.accept(
+                                        rs.getObject("public_id", UUID.class), rs.getLong("id")),
+                limit);
+    }
+}
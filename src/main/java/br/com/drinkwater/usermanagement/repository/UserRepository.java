@@ -22,12 +22,23 @@ public interface UserRepository extends CrudRepository<User, Long> {
     Optional<User> findByPublicId(UUID publicId);
 
     /**
-     * Checks whether a user exists with the given Keycloak public ID.
+     * Finds the internal ID of a user by their Keycloak public ID, without loading the aggregate.
+     *
+     * @param publicId the Keycloak public ID
+     * @return the internal database user ID if found, or empty
+     */
+    @Query("SELECT id FROM users WHERE public_id = :publicId")
+    Optional<Long> findIdByPublicId(@Param("publicId") UUID publicId);
+
+    /**
+     * Checks whether a user exists with the given Keycloak public ID. {@code EXISTS} stops at the
+     * first matching index entry instead of counting every match.
      *
      * @param publicId the Keycloak public ID
      * @return {@code true} if a user exists
      */
-    boolean existsByPublicId(UUID publicId);
+    @Query("SELECT EXISTS (SELECT 1 FROM users WHERE public_id = :publicId)")
+    boolean existsByPublicId(@Param("publicId") UUID publicId);
 
     /**
      * Deletes a user by their Keycloak public ID. This is a no-op if no user exists.
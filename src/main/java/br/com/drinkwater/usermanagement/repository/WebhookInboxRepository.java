@@ -0,0 +1,64 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom repository for the {@code webhook_inbox} table, which stores Keycloak webhook events until
+ * a background worker applies them. Events are identified by the ID the Keycloak SPI assigns, so a
+ * redelivered event is stored once.
+ */
+public interface WebhookInboxRepository {
+
+    /**
+     * Stores the events whose ID is not in the inbox yet.
+     *
+     * @param events the received events
+     * @param receivedAt the time the events were received
+     * @return the number of events stored; the rest were duplicates
+     */
+    int insertAllIfAbsent(List<InboxEvent> events, Instant receivedAt);
+
+    /**
+     * Returns the oldest events that have not been processed.
+     *
+     * @param limit the maximum number of events to return
+     * @return pending events, oldest first
+     */
+    List<PendingEvent> findPending(int limit);
+
+    /**
+     * Marks events as processed.
+     *
+     * @param eventIds the IDs of the events
+     * @param processedAt the time the events were applied
+     */
+    void markProcessed(List<String> eventIds, Instant processedAt);
+
+    /**
+     * Removes processed events that are older than {@code cutoff}.
+     *
+     * @param cutoff events processed before this instant are removed
+     * @return the number of events removed
+     */
+    int deleteProcessedBefore(Instant cutoff);
+
+    /**
+     * An event received from the Keycloak webhook.
+     *
+     * @param eventId the ID assigned by the Keycloak SPI
+     * @param eventType the Keycloak event type
+     * @param publicId the Keycloak public ID of the user
+     */
+    record InboxEvent(String eventId, String eventType, UUID publicId) {}
+
+    /**
+     * An event waiting to be applied.
+     *
+     * @param eventId the ID assigned by the Keycloak SPI
+     * @param publicId the Keycloak public ID of the user
+     * @param receivedAt the time the event was received
+     */
+    record PendingEvent(String eventId, UUID publicId, Instant receivedAt) {}
+}
@@ -0,0 +1,92 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-based implementation of {@link WebhookInboxRepository}. Deduplication relies on the {@code
+ * event_id} primary key and {@code INSERT ... ON CONFLICT DO NOTHING}: in a batch, the update count
+ * is 1 for a stored event and 0 for a duplicate. Pending events are read in {@code received_at}
+ * order through the {@code (processed_at, received_at)} index.
+ */
+@Repository
+public class WebhookInboxRepositoryImpl implements WebhookInboxRepository {
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            """
+            INSERT INTO webhook_inbox (event_id, event_type, public_id, received_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String FIND_PENDING_SQL =
+            """
+            SELECT event_id, public_id, received_at
+            FROM webhook_inbox
+            WHERE processed_at IS NULL
+            ORDER BY received_at, event_id
+            LIMIT ?
+            """;
+
+    private static final String MARK_PROCESSED_SQL =
+            "UPDATE webhook_inbox SET processed_at = ? WHERE event_id = ANY(?)";
+
+    private static final String DELETE_PROCESSED_BEFORE_SQL =
+            "DELETE FROM webhook_inbox WHERE processed_at < ?";
+
+    private final JdbcOperations jdbcOperations;
+
+    public WebhookInboxRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcOperations = jdbcTemplate.getJdbcOperations();
+    }
+
+    @Override
+    public int insertAllIfAbsent(List<InboxEvent> events, Instant receivedAt) {
+        Timestamp timestamp = Timestamp.from(receivedAt);
+        int[][] counts =
+                this.jdbcOperations.batchUpdate(
+                        INSERT_IF_ABSENT_SQL,
+                        events,
+                        events.size(),
+                        (ps, event) -> {
+                            ps.setString(1, event.eventId());
+                            ps.setString(2, event.eventType());
+                            ps.setObject(3, event.publicId());
+                            ps.setTimestamp(4, timestamp);
+                        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).map(c -> c > 0 ? 1 : 0).sum();
+    }
+
+    @Override
+    public List<PendingEvent> findPending(int limit) {
+        return this.jdbcOperations.query(
+                FIND_PENDING_SQL,
+                (rs, rowNum) ->
+                        new PendingEvent(
+                                rs.getString("event_id"),
+                                rs.getObject("public_id", UUID.class),
+                                rs.getTimestamp("received_at").toInstant()),
+                limit);
+    }
+
+    @Override
+    public void markProcessed(List<String> eventIds, Instant processedAt) {
+        this.jdbcOperations.update(
+                MARK_PROCESSED_SQL,
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.from(processedAt));
+                    ps.setArray(2, ps.getConnection().createArrayOf("varchar", eventIds.toArray()));
+                });
+    }
+
+    @Override
+    public int deleteProcessedBefore(Instant cutoff) {
+        return this.jdbcOperations.update(DELETE_PROCESSED_BEFORE_SQL, Timestamp.from(cutoff));
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.drinkwater.usermanagement.service;
+
+import br.com.drinkwater.config.cache.ClusterCache;
+import br.com.drinkwater.config.properties.CacheProperties;
+import br.com.drinkwater.config.security.UserIdClaimVerifier;
+import br.com.drinkwater.config.security.UserIdRevocationListener;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded Caffeine cache of Keycloak public ID to internal user ID, consulted by every water intake
+ * request.
+ *
+ * <ul>
+ *   <li>A miss reads only the ID ({@code SELECT id FROM users WHERE public_id = ?}), not the user
+ *       aggregate.
+ *   <li>Known users are not expired: {@code CACHE_USER_ID_REFRESH_MINUTES} after an entry was
+ *       loaded, the next lookup still answers from memory and reloads the entry in the background,
+ *       which picks up users deleted through another instance. A failed reload keeps the entry.
+ *   <li>Unknown public IDs (a valid token but no profile yet) are remembered for {@code
+ *       CACHE_USER_ID_NEGATIVE_TTL_SECONDS}, so repeated requests do not reach the database.
+ *       Creating or deleting a profile invalidates its entry once the transaction commits, and
+ *       other instances evict it through the cache invalidation bus.
+ * </ul>
+ *
+ * <p>Cache statistics, including load times, are published under the {@code userIdByPublicId} cache
+ * name, and lookups answered with an unknown user as the {@code cache.gets.unknown} counter. Also
+ * verifies the {@code user_id} claim of access tokens, and revokes the verified claims of a public
+ * ID whenever its entry is invalidated or evicted.
+ */
+@Component
+public class UserIdCache implements UserIdClaimVerifier, ClusterCache {
+
+    static final String CACHE_NAME = "userIdByPublicId";
+    private static final Duration KNOWN_USER_LIFETIME = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final LoadingCache<UUID, Optional<Long>> cache;
+    private final Counter unknownCounter;
+    private final List<UserIdRevocationListener> revocationListeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public UserIdCache(
+            UserRepository userRepository,
+            CacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this(
+                userRepository,
+                properties,
+                meterRegistry,
+                Ticker.systemTicker(),
+                task -> Thread.ofVirtual().name("user-id-refresh").start(task));
+    }
+
+    UserIdCache(
+            UserRepository userRepository,
+            CacheProperties properties,
+            MeterRegistry meterRegistry,
+            Ticker ticker,
+            Executor refreshExecutor) {
+        Duration negativeTtl = Duration.ofSeconds(properties.negativeTtlSeconds());
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(properties.maxSize())
+                        .expireAfter(
+                                Expiry.<UUID, Optional<Long>>writing(
+                                        (publicId, userId) ->
+                                                userId.isPresent()
+                                                        ? KNOWN_USER_LIFETIME
+                                                        : negativeTtl))
+                        .refreshAfterWrite(Duration.ofMinutes(properties.refreshAfterMinutes()))
+                        .executor(refreshExecutor)
+                        .ticker(ticker)
+                        .recordStats()
+                        .build(userRepository::findIdByPublicId);
+        this.unknownCounter =
+                Counter.builder("cache.gets.unknown")
+                        .description("Lookups of a public ID that has no user")
+                        .tag("cache", CACHE_NAME)
+                        .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the internal ID of the user with the given public ID.
+     *
+     * @param publicId the Keycloak public ID
+     * @return the internal database user ID, or empty if no user has this public ID
+     */
+    public Optional<Long> find(UUID publicId) {
+        Optional<Long> userId = this.cache.get(publicId);
+        if (userId.isEmpty()) {
+            this.unknownCounter.increment();
+        }
+        return userId;
+    }
+
+    /**
+     * Drops the entry of the given public ID, and revokes the {@code user_id} claims verified for
+     * it, once the surrounding transaction commits, or right away outside a transaction. Called
+     * when a profile is created or deleted.
+     *
+     * @param publicId the Keycloak public ID
+     */
+    public void invalidate(UUID publicId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            evictLocally(publicId);
+                        }
+                    });
+        } else {
+            evictLocally(publicId);
+        }
+    }
+
+    /**
+     * Caches a known mapping without querying the database. Used to warm the cache at startup.
+     *
+     * @param publicId the Keycloak public ID
+     * @param userId the internal database user ID
+     */
+    public void put(UUID publicId, Long userId) {
+        this.cache.put(publicId, Optional.of(userId));
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evictLocally(UUID key) {
+        this.cache.invalidate(key);
+        this.revocationListeners.forEach(listener -> listener.revoke(key));
+    }
+
+    @Override
+    public void evictAllLocally() {
+        this.cache.invalidateAll();
+        this.revocationListeners.forEach(UserIdRevocationListener::revokeAll);
+    }
+
+    @Override
+    public boolean isUserIdOf(UUID publicId, long userId) {
+        return find(publicId).filter(id -> id == userId).isPresent();
+    }
+
+    @Override
+    public void addRevocationListener(UserIdRevocationListener listener) {
+        this.revocationListeners.add(listener);
+    }
+}
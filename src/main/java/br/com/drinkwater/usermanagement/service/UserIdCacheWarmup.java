@@ -0,0 +1,53 @@
+package br.com.drinkwater.usermanagement.service;
+
+import br.com.drinkwater.config.properties.ClusterCacheProperties;
+import br.com.drinkwater.usermanagement.repository.UserIdMappingRepository;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the ID mappings of the {@code CACHE_WARMUP_SIZE} newest users into {@link UserIdCache} with
+ * one query before the application reports readiness, so that a new or restarted instance does not
+ * answer its first requests with one database lookup each.
+ */
+@Component
+public class UserIdCacheWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdCacheWarmup.class);
+
+    private final UserIdMappingRepository userIdMappingRepository;
+    private final UserIdCache userIdCache;
+    private final int warmupSize;
+
+    public UserIdCacheWarmup(
+            UserIdMappingRepository userIdMappingRepository,
+            UserIdCache userIdCache,
+            ClusterCacheProperties properties) {
+        this.userIdMappingRepository = userIdMappingRepository;
+        this.userIdCache = userIdCache;
+        this.warmupSize = properties.warmupSize();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (this.warmupSize == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int[] loaded = {0};
+        this.userIdMappingRepository.forEachRecent(
+                this.warmupSize,
+                (publicId, userId) -> {
+                    this.userIdCache.put(publicId, userId);
+                    loaded[0]++;
+                });
+        log.info(
+                "Warmed user ID cache with {} users in {} ms",
+                loaded[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
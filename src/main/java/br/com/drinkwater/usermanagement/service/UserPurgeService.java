@@ -0,0 +1,177 @@
+package br.com.drinkwater.usermanagement.service;
+
+import br.com.drinkwater.config.properties.UserPurgeProperties;
+import br.com.drinkwater.usermanagement.repository.UserDeletionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Purges tombstoned users in the background. Deleting a user only tombstones its row, so the
+ * request never waits on the {@code ON DELETE CASCADE} to {@code water_intakes}; this job then
+ * deletes the user's water intakes {@code chunkSize} rows per transaction and removes the user row
+ * in the transaction that deletes its last chunk.
+ *
+ * <p>The delete rate is held to {@code rowsPerSecond} by pausing after each chunk, and a run stops
+ * after {@code maxChunksPerRun} chunks. Progress lives only in the database, so a run cut short, by
+ * the chunk limit or by a restart, resumes with the oldest tombstone on the next run.
+ *
+ * <p>Publishes the {@code users.purge.rows} and {@code users.purge.completed} counters, the {@code
+ * users.purge.chunk} timer, and the {@code users.purge.pending} gauge with the number of tombstoned
+ * users left at the end of the last run.
+ */
+@Service
+public class UserPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPurgeService.class);
+
+    private final UserDeletionRepository userDeletionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserPurgeProperties properties;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final Counter rowsCounter;
+    private final Counter completedCounter;
+    private final Timer chunkTimer;
+    private final AtomicLong pendingUsers = new AtomicLong();
+
+    @Autowired
+    public UserPurgeService(
+            UserDeletionRepository userDeletionRepository,
+            TransactionTemplate transactionTemplate,
+            UserPurgeProperties properties,
+            MeterRegistry meterRegistry) {
+        this(
+                userDeletionRepository,
+                transactionTemplate,
+                properties,
+                meterRegistry,
+                Clock.systemUTC(),
+                Thread::sleep);
+    }
+
+    UserPurgeService(
+            UserDeletionRepository userDeletionRepository,
+            TransactionTemplate transactionTemplate,
+            UserPurgeProperties properties,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            Sleeper sleeper) {
+        this.userDeletionRepository = userDeletionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.rowsCounter =
+                Counter.builder("users.purge.rows")
+                        .description("Total number of water intakes purged from deleted users")
+                        .register(meterRegistry);
+        this.completedCounter =
+                Counter.builder("users.purge.completed")
+                        .description("Total number of deleted users fully purged")
+                        .register(meterRegistry);
+        this.chunkTimer =
+                Timer.builder("users.purge.chunk")
+                        .description("Time taken to purge one chunk of water intakes")
+                        .register(meterRegistry);
+        Gauge.builder("users.purge.pending", this.pendingUsers, AtomicLong::get)
+                .description("Number of deleted users not yet purged at the last run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Purges tombstoned users, oldest first, until none are left, the chunk limit is reached, or
+     * the thread is interrupted.
+     *
+     * @return the number of water intakes deleted
+     */
+    @Scheduled(cron = "${user-purge.cron}")
+    public long purge() {
+        int chunkSize = this.properties.chunkSize();
+        int maxChunks = this.properties.maxChunksPerRun();
+        int chunks = 0;
+        long rows = 0;
+        boolean proceed = true;
+        for (long userId : this.userDeletionRepository.findTombstonedUserIds(maxChunks)) {
+            int deleted = chunkSize;
+            while (proceed && deleted == chunkSize && chunks < maxChunks) {
+                Instant start = Instant.now(this.clock);
+                deleted = purgeChunk(userId, chunkSize);
+                chunks++;
+                rows += deleted;
+                proceed = throttle(deleted, Duration.between(start, Instant.now(this.clock)));
+            }
+            if (!proceed || chunks == maxChunks) {
+                break;
+            }
+        }
+        this.pendingUsers.set(this.userDeletionRepository.countTombstoned());
+        if (rows > 0) {
+            log.info(
+                    "User purge deleted {} water intakes in {} chunks, {} users pending",
+                    rows,
+                    chunks,
+                    this.pendingUsers.get());
+        }
+        return rows;
+    }
+
+    private int purgeChunk(long userId, int chunkSize) {
+        Integer deleted =
+                this.chunkTimer.record(
+                        () ->
+                                this.transactionTemplate.execute(
+                                        status -> {
+                                            int count =
+                                                    this.userDeletionRepository.deleteWaterIntakes(
+                                                            userId, chunkSize);
+                                            if (count < chunkSize
+                                                    && this.userDeletionRepository.deleteTombstoned(
+                                                            userId)) {
+                                                this.completedCounter.increment();
+                                            }
+                                            return count;
+                                        }));
+        this.rowsCounter.increment(deleted);
+        return deleted;
+    }
+
+    /**
+     * Pauses long enough for {@code rows} deletions, which took {@code elapsed}, to stay within
+     * {@code rowsPerSecond}.
+     *
+     * @return {@code false} if the thread was interrupted and the run should stop
+     */
+    private boolean throttle(int rows, Duration elapsed) {
+        Duration budget = Duration.ofMillis(rows * 1000L / this.properties.rowsPerSecond());
+        Duration pause = budget.minus(elapsed);
+        if (pause.isNegative() || pause.isZero()) {
+            return true;
+        }
+        try {
+            this.sleeper.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("User purge interrupted, resuming on the next run");
+            return false;
+        }
+    }
+
+    /** Pauses the purge between chunks; replaced in tests. */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+}
@@ -1,18 +1,24 @@
 package br.com.drinkwater.usermanagement.service;
 
+import br.com.drinkwater.config.cache.CacheInvalidationBus;
+import br.com.drinkwater.config.security.AuthenticatedUserArgumentResolver;
 import br.com.drinkwater.usermanagement.dto.UserDTO;
 import br.com.drinkwater.usermanagement.dto.UserResponseDTO;
 import br.com.drinkwater.usermanagement.exception.UserAlreadyExistsException;
 import br.com.drinkwater.usermanagement.exception.UserNotFoundException;
 import br.com.drinkwater.usermanagement.mapper.UserMapper;
 import br.com.drinkwater.usermanagement.model.User;
+import br.com.drinkwater.usermanagement.repository.UserDeletionRepository;
 import br.com.drinkwater.usermanagement.repository.UserRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import java.util.Objects;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -22,23 +28,42 @@ import org.springframework.transaction.annotation.Transactional;
  * Service responsible for user profile lifecycle operations.
  *
  * <p>Manages creation, retrieval, update, and deletion of user profiles. Resolves the Keycloak
- * public ID to an internal database ID using a Caffeine-backed cache. Publishes Micrometer metrics
- * for user creation and deletion counts.
+ * public ID to an internal database ID through {@link UserIdCache}, invalidated when the profile is
+ * created or deleted, and to the user's daily goal through a Caffeine-backed cache evicted whenever
+ * the profile is updated or deleted. Each eviction is also published on the {@link
+ * CacheInvalidationBus} so that other instances drop their copies. Publishes Micrometer metrics for
+ * user creation and deletion counts.
  */
 @Service
 public class UserService {
 
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
+    private static final String DAILY_GOAL_CACHE = "dailyGoalByPublicId";
+
     private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
     private final UserMapper userMapper;
+    private final UserIdCache userIdCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CacheManager cacheManager;
     private final Counter usersCreatedCounter;
     private final Counter usersDeletedCounter;
 
     public UserService(
-            UserRepository userRepository, UserMapper userMapper, MeterRegistry meterRegistry) {
+            UserRepository userRepository,
+            UserDeletionRepository userDeletionRepository,
+            UserMapper userMapper,
+            UserIdCache userIdCache,
+            CacheInvalidationBus cacheInvalidationBus,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.userDeletionRepository = userDeletionRepository;
         this.userMapper = userMapper;
+        this.userIdCache = userIdCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.cacheManager = cacheManager;
         this.usersCreatedCounter =
                 Counter.builder("users.created")
                         .description("Total number of users created")
@@ -63,6 +88,8 @@ public class UserService {
         this.validateUserExistence(publicId);
         User userEntity = this.userMapper.toEntity(userDTO, publicId);
         User savedUser = this.userRepository.save(userEntity);
+        this.userIdCache.invalidate(publicId);
+        this.cacheInvalidationBus.publish(UserIdCache.CACHE_NAME, publicId);
         this.usersCreatedCounter.increment();
         log.info("User created successfully with publicId: {}", publicId);
 
@@ -91,12 +118,14 @@ public class UserService {
      * @return the updated user profile as a response DTO
      * @throws UserNotFoundException if no user exists with the given public ID
      */
+    @CacheEvict(value = DAILY_GOAL_CACHE, key = "#publicId")
     @Transactional
     public UserResponseDTO updateUser(UUID publicId, UserDTO updateUserDTO) {
         log.info("Updating user with publicId: {}", publicId);
         User existingUser = this.findByPublicId(publicId);
         User updatedUser = this.userMapper.updateUser(existingUser, updateUserDTO);
         User savedUser = this.userRepository.save(updatedUser);
+        this.cacheInvalidationBus.publish(DAILY_GOAL_CACHE, publicId);
         log.info("User updated successfully with publicId: {}", publicId);
 
         return this.userMapper.toDto(savedUser);
@@ -105,33 +134,81 @@ public class UserService {
     /**
      * Deletes a user by their public ID.
      *
+     * <p>The user row is only tombstoned, which makes the public ID stop resolving at once; the
+     * user's water intakes and the row itself are removed in the background by {@link
+     * UserPurgeService}.
+     *
      * <p>This operation is idempotent: if no record matches the given {@code publicId}, the method
      * completes successfully without throwing an exception, and the controller returns 204 No
      * Content regardless.
      */
-    @CacheEvict(value = "userIdByPublicId", key = "#publicId")
+    @CacheEvict(value = DAILY_GOAL_CACHE, key = "#publicId")
     @Transactional
     public void deleteByPublicId(UUID publicId) {
         log.info("Deleting user with publicId: {}", publicId);
-        this.userRepository.deleteByPublicId(publicId);
+        this.userDeletionRepository.tombstoneAllByPublicId(List.of(publicId), Instant.now());
+        this.userIdCache.invalidate(publicId);
+        this.cacheInvalidationBus.publish(UserIdCache.CACHE_NAME, publicId);
+        this.cacheInvalidationBus.publish(DAILY_GOAL_CACHE, publicId);
         this.usersDeletedCounter.increment();
         log.info("User deleted with publicId: {}", publicId);
     }
 
     /**
-     * Resolves a Keycloak public ID to the internal database user ID. Results are cached in the
-     * {@code userIdByPublicId} Caffeine cache since this mapping is immutable.
+     * Deletes every user in {@code publicIds} by tombstoning them with a single statement and
+     * evicts their cached entries, as {@link #deleteByPublicId(UUID)} does for one user. Public IDs
+     * without a live user are ignored.
+     *
+     * @param publicIds the Keycloak public IDs
+     * @return the number of users deleted
+     */
+    @Transactional
+    public int deleteAllByPublicId(List<UUID> publicIds) {
+        int deleted = this.userDeletionRepository.tombstoneAllByPublicId(publicIds, Instant.now());
+        Cache dailyGoalCache = this.cacheManager.getCache(DAILY_GOAL_CACHE);
+        for (UUID publicId : publicIds) {
+            this.userIdCache.invalidate(publicId);
+            if (dailyGoalCache != null) {
+                dailyGoalCache.evict(publicId);
+            }
+            this.cacheInvalidationBus.publish(UserIdCache.CACHE_NAME, publicId);
+            this.cacheInvalidationBus.publish(DAILY_GOAL_CACHE, publicId);
+        }
+        this.usersDeletedCounter.increment(deleted);
+        log.info("Deleted {} of {} users by publicId", deleted, publicIds.size());
+        return deleted;
+    }
+
+    /**
+     * Resolves a Keycloak public ID to the internal database user ID. The ID carried by the current
+     * request's access token is used when it has been verified for this user; otherwise it is read
+     * through {@link UserIdCache}, which also remembers public IDs that have no user for a short
+     * time.
      *
      * @param publicId the Keycloak public ID
      * @return the internal database user ID
      * @throws UserNotFoundException if no user exists with the given public ID
      */
-    @Cacheable("userIdByPublicId")
-    @Transactional(readOnly = true)
     public Long resolveUserIdByPublicId(UUID publicId) {
-        log.debug("Cache miss - resolving userId for publicId: {}", publicId);
-        return Objects.requireNonNull(
-                this.findByPublicId(publicId).getId(), "Persisted user must have a non-null ID");
+        return AuthenticatedUserArgumentResolver.verifiedUserId(publicId)
+                .or(() -> this.userIdCache.find(publicId))
+                .orElseThrow(UserNotFoundException::new);
+    }
+
+    /**
+     * Resolves a Keycloak public ID to the daily hydration goal from the user's alarm settings.
+     * Results are cached in the {@code dailyGoalByPublicId} Caffeine cache and evicted when the
+     * profile is updated or deleted.
+     *
+     * @param publicId the Keycloak public ID
+     * @return the daily goal in milliliters
+     * @throws UserNotFoundException if no user exists with the given public ID
+     */
+    @Cacheable(DAILY_GOAL_CACHE)
+    @Transactional(readOnly = true)
+    public int resolveDailyGoalByPublicId(UUID publicId) {
+        log.debug("Cache miss - resolving daily goal for publicId: {}", publicId);
+        return this.findByPublicId(publicId).getSettings().getGoal();
     }
 
     /**
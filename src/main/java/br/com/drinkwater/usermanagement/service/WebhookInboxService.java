@@ -0,0 +1,183 @@
+package br.com.drinkwater.usermanagement.service;
+
+import br.com.drinkwater.config.properties.WebhookInboxProperties;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository.InboxEvent;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository.PendingEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Decouples Keycloak user deletions from the webhook request through the {@code webhook_inbox}
+ * table. {@link #accept(List)} only stores the events, deduplicated by their SPI event ID, so a
+ * batch is acknowledged as soon as it is durable. {@link #processPending()} runs on the {@code
+ * WEBHOOK_INBOX_PROCESS_CRON} schedule and applies pending events {@code batchSize} at a time: each
+ * chunk tombstones its users with one {@code UPDATE ... WHERE public_id = ANY(?)} and marks the
+ * events processed in the same transaction. Processed events older than {@code retentionHours} are
+ * then removed.
+ *
+ * <p>Deletions are idempotent, so two instances working through the same pending events, or an
+ * event applied again after a failed commit, only repeat a no-op.
+ *
+ * <p>Publishes the {@code webhook.inbox.received}, {@code webhook.inbox.duplicates} and {@code
+ * webhook.inbox.processed} counters, the {@code webhook.inbox.lag} timer from receipt to
+ * processing, and the {@code webhook.inbox.oldest.pending.age} gauge, which stays above zero while
+ * a run is behind or failing.
+ */
+@Service
+public class WebhookInboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookInboxService.class);
+
+    private final WebhookInboxRepository webhookInboxRepository;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final WebhookInboxProperties properties;
+    private final Clock clock;
+    private final Counter receivedCounter;
+    private final Counter duplicatesCounter;
+    private final Counter processedCounter;
+    private final Timer lagTimer;
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+
+    @Autowired
+    public WebhookInboxService(
+            WebhookInboxRepository webhookInboxRepository,
+            UserService userService,
+            TransactionTemplate transactionTemplate,
+            WebhookInboxProperties properties,
+            MeterRegistry meterRegistry) {
+        this(
+                webhookInboxRepository,
+                userService,
+                transactionTemplate,
+                properties,
+                meterRegistry,
+                Clock.systemUTC());
+    }
+
+    WebhookInboxService(
+            WebhookInboxRepository webhookInboxRepository,
+            UserService userService,
+            TransactionTemplate transactionTemplate,
+            WebhookInboxProperties properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.webhookInboxRepository = webhookInboxRepository;
+        this.userService = userService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.receivedCounter =
+                Counter.builder("webhook.inbox.received")
+                        .description("Total number of webhook events stored in the inbox")
+                        .register(meterRegistry);
+        this.duplicatesCounter =
+                Counter.builder("webhook.inbox.duplicates")
+                        .description("Total number of redelivered webhook events skipped")
+                        .register(meterRegistry);
+        this.processedCounter =
+                Counter.builder("webhook.inbox.processed")
+                        .description("Total number of webhook events applied")
+                        .register(meterRegistry);
+        this.lagTimer =
+                Timer.builder("webhook.inbox.lag")
+                        .description("Time from receiving a webhook event to applying it")
+                        .register(meterRegistry);
+        Gauge.builder(
+                        "webhook.inbox.oldest.pending.age",
+                        this.oldestPendingAgeMillis,
+                        age -> age.get() / 1000.0)
+                .description("Age of the oldest unprocessed webhook event at the last run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores webhook events for background processing, skipping events already in the inbox.
+     *
+     * @param events the received events
+     * @return the number of events stored
+     */
+    @Transactional
+    public int accept(List<InboxEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        int stored = this.webhookInboxRepository.insertAllIfAbsent(events, Instant.now(this.clock));
+        this.receivedCounter.increment(stored);
+        this.duplicatesCounter.increment(events.size() - stored);
+        log.info("Webhook inbox accepted {} events, {} duplicates", stored, events.size() - stored);
+        return stored;
+    }
+
+    /**
+     * Applies pending events until the inbox is drained, one transaction per chunk, then removes
+     * processed events past the retention period.
+     *
+     * @return the number of events applied
+     */
+    @Scheduled(cron = "${webhook.inbox.process-cron}")
+    public int processPending() {
+        int batchSize = this.properties.batchSize();
+        int processed = 0;
+        List<PendingEvent> chunk = this.webhookInboxRepository.findPending(batchSize);
+        while (!chunk.isEmpty()) {
+            Instant now = Instant.now(this.clock);
+            this.oldestPendingAgeMillis.set(
+                    Duration.between(chunk.get(0).receivedAt(), now).toMillis());
+            apply(chunk, now);
+            processed += chunk.size();
+            chunk =
+                    chunk.size() < batchSize
+                            ? List.of()
+                            : this.webhookInboxRepository.findPending(batchSize);
+        }
+        this.oldestPendingAgeMillis.set(0);
+
+        Instant cutoff =
+                Instant.now(this.clock).minus(Duration.ofHours(this.properties.retentionHours()));
+        int purged = this.webhookInboxRepository.deleteProcessedBefore(cutoff);
+        if (processed > 0 || purged > 0) {
+            log.info("Webhook inbox applied {} events, purged {} processed", processed, purged);
+        }
+        return processed;
+    }
+
+    private void apply(List<PendingEvent> chunk, Instant now) {
+        Set<UUID> publicIds = new LinkedHashSet<>();
+        List<String> eventIds = new ArrayList<>(chunk.size());
+        for (PendingEvent event : chunk) {
+            publicIds.add(event.publicId());
+            eventIds.add(event.eventId());
+        }
+        this.transactionTemplate.executeWithoutResult(
+                status -> {
+                    this.userService.deleteAllByPublicId(List.copyOf(publicIds));
+                    this.webhookInboxRepository.markProcessed(eventIds, now);
+                });
+        for (PendingEvent event : chunk) {
+            Duration lag = Duration.between(event.receivedAt(), now);
+            this.lagTimer.record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+        this.processedCounter.increment(chunk.size());
+    }
+}
@@ -0,0 +1,12 @@
+-- Per-user daily rollup of water intake, maintained in the same transaction as every
+-- create/update/delete on water_intakes. One row per user, time zone and local calendar date
+-- that has at least one intake; rows are removed when their count drops to zero.
+-- Existing rows are backfilled by the application on startup (WaterIntakeDailyTotalsBackfill).
+CREATE TABLE water_intake_daily_totals (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    time_zone VARCHAR(64) NOT NULL,
+    local_date DATE NOT NULL,
+    total_volume BIGINT NOT NULL,
+    intake_count INTEGER NOT NULL,
+    PRIMARY KEY (user_id, time_zone, local_date)
+);
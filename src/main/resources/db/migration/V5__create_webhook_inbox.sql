@@ -0,0 +1,13 @@
+-- Keycloak webhook events accepted by /internal/webhooks/keycloak/batch, one row per SPI event ID so
+-- that a redelivered event is stored once. The request is acknowledged as soon as the rows are
+-- inserted; WebhookInboxService applies pending rows in chunks and sets processed_at. Processed
+-- rows are removed after WEBHOOK_INBOX_RETENTION_HOURS.
+CREATE TABLE webhook_inbox (
+    event_id VARCHAR(64) PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    public_id UUID NOT NULL,
+    received_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_webhook_inbox_pending ON webhook_inbox(processed_at, received_at);
@@ -0,0 +1,7 @@
+-- Deleting a user now only tombstones the row: deleted_at is set and public_id, email and names are
+-- replaced, so the Keycloak ID stops resolving and both unique keys are free again at once.
+-- UserPurgeService then deletes the user's water intakes in throttled chunks and finally the row
+-- itself, which cascades to alarm_settings and water_intake_daily_totals.
+ALTER TABLE users ADD COLUMN deleted_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX idx_users_deleted_at ON users(deleted_at);
@@ -0,0 +1,18 @@
+-- Cold tier for water intake history. WaterIntakeArchiveService moves the records of each user and
+-- UTC calendar month older than WATER_INTAKE_ARCHIVE_AFTER_MONTHS out of water_intakes into one row
+-- here, encoded column by column and compressed (WaterIntakeArchiveCodec). Search and export merge
+-- the archived months back in when a request reaches that far. Daily totals of archived months are
+-- kept as they were when the month was archived. The ID and volume ranges of each month let search
+-- skip months without decoding their payload.
+CREATE TABLE water_intake_archive (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    month_start DATE NOT NULL,
+    intake_count INTEGER NOT NULL,
+    min_id BIGINT NOT NULL,
+    max_id BIGINT NOT NULL,
+    min_volume INTEGER NOT NULL,
+    max_volume INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (user_id, month_start)
+);
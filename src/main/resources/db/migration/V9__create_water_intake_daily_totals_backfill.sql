@@ -0,0 +1,8 @@
+-- Progress of the daily totals backfill (WaterIntakeDailyTotalsBackfill), one row per maintained
+-- time zone. last_user_id is the last user rebuilt, so an interrupted backfill resumes after it on
+-- the next startup; completed_at is set once every user has been rebuilt.
+CREATE TABLE water_intake_daily_totals_backfill (
+    time_zone VARCHAR(64) PRIMARY KEY,
+    last_user_id BIGINT NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
@@ -0,0 +1,6 @@
+-- Rollback script for V2__create_water_intake_daily_totals.sql
+-- This file is documentation only. It is NOT executed automatically by Flyway.
+-- To rollback, create a new versioned migration with the contents below,
+-- or execute manually against the database.
+
+DROP TABLE IF EXISTS water_intake_daily_totals;
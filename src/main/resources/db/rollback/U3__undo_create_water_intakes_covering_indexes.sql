@@ -0,0 +1,14 @@
+-- Rollback script for V3__create_water_intakes_covering_indexes.sql (db/vendor/postgresql and
+-- db/vendor/h2).
+-- This file is documentation only. It is NOT executed automatically by Flyway.
+-- To rollback, create a new versioned migration with the contents below,
+-- or execute manually against the database.
+
+DROP INDEX IF EXISTS idx_water_intakes_user_volume_unit_covering;
+DROP INDEX IF EXISTS idx_water_intakes_user_volume_covering;
+DROP INDEX IF EXISTS idx_water_intakes_user_id_covering;
+
+CREATE INDEX idx_water_intakes_user_datetime
+    ON water_intakes(user_id, date_time_utc DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_water_intakes_user_datetime_covering;
@@ -0,0 +1,7 @@
+-- Rollback script for V4__create_water_intake_import_staging.sql (db/vendor/postgresql and
+-- db/vendor/h2).
+-- This file is documentation only. It is NOT executed automatically by Flyway.
+-- To rollback, create a new versioned migration with the contents below,
+-- or execute manually against the database.
+
+DROP TABLE IF EXISTS water_intake_import_staging;
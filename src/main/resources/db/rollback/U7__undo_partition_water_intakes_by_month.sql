@@ -0,0 +1,48 @@
+-- Rollback script for V7__partition_water_intakes_by_month.sql (db/vendor/postgresql; the H2
+-- variant changes nothing).
+-- This file is documentation only. It is NOT executed automatically by Flyway.
+-- To rollback, create a new versioned migration with the contents below,
+-- or execute manually against the database.
+-- Partitions detached by WaterIntakePartitionMaintenance are not part of water_intakes anymore;
+-- re-attach them first if their rows should be kept.
+
+CREATE TABLE water_intakes_unpartitioned (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    date_time_utc TIMESTAMP WITH TIME ZONE NOT NULL,
+    volume INTEGER NOT NULL,
+    volume_unit INTEGER NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE(user_id, date_time_utc)
+);
+
+INSERT INTO water_intakes_unpartitioned (id, date_time_utc, volume, volume_unit, user_id)
+SELECT id, date_time_utc, volume, volume_unit, user_id
+FROM water_intakes;
+
+DROP TABLE water_intakes;
+DROP FUNCTION IF EXISTS create_water_intakes_partition(DATE);
+DROP FUNCTION IF EXISTS prepare_water_intakes_partition(TEXT);
+
+ALTER TABLE water_intakes_unpartitioned RENAME TO water_intakes;
+ALTER TABLE water_intakes RENAME CONSTRAINT water_intakes_unpartitioned_pkey TO water_intakes_pkey;
+ALTER TABLE water_intakes RENAME CONSTRAINT water_intakes_unpartitioned_user_id_date_time_utc_key
+    TO water_intakes_user_id_date_time_utc_key;
+ALTER SEQUENCE water_intakes_unpartitioned_id_seq RENAME TO water_intakes_id_seq;
+SELECT setval(pg_get_serial_sequence('water_intakes', 'id'),
+              COALESCE((SELECT max(id) FROM water_intakes), 0) + 1, false);
+
+CREATE INDEX idx_water_intakes_user_datetime_covering
+    ON water_intakes(user_id, date_time_utc DESC, id DESC)
+    INCLUDE (volume, volume_unit);
+
+CREATE INDEX idx_water_intakes_user_id_covering
+    ON water_intakes(user_id, id DESC)
+    INCLUDE (date_time_utc, volume, volume_unit);
+
+CREATE INDEX idx_water_intakes_user_volume_covering
+    ON water_intakes(user_id, volume DESC, id DESC)
+    INCLUDE (date_time_utc, volume_unit);
+
+CREATE INDEX idx_water_intakes_user_volume_unit_covering
+    ON water_intakes(user_id, volume_unit DESC, id DESC)
+    INCLUDE (date_time_utc, volume);
@@ -0,0 +1,7 @@
+-- Rollback script for V8__create_water_intake_archive.sql
+-- This file is documentation only. It is NOT executed automatically by Flyway.
+-- To rollback, create a new versioned migration with the contents below,
+-- or execute manually against the database.
+-- Archived records exist only in this table; restore them into water_intakes before dropping it.
+
+DROP TABLE IF EXISTS water_intake_archive;
@@ -2,18 +2,25 @@ package br.com.drinkwater.api.internal;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import br.com.drinkwater.config.SecurityConfig;
 import br.com.drinkwater.config.TestMessageSourceConfig;
 import br.com.drinkwater.config.properties.ActuatorProperties;
+import br.com.drinkwater.config.properties.JwtCacheProperties;
+import br.com.drinkwater.config.properties.UserIdClaimProperties;
 import br.com.drinkwater.config.properties.WebhookProperties;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository.InboxEvent;
 import br.com.drinkwater.usermanagement.service.UserService;
+import br.com.drinkwater.usermanagement.service.WebhookInboxService;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
@@ -24,17 +31,24 @@ import org.springframework.test.web.servlet.MockMvc;
 @WebMvcTest(controllers = KeycloakWebhookController.class)
 @ActiveProfiles("test")
 @Import({TestMessageSourceConfig.class, SecurityConfig.class})
+@EnableConfigurationProperties({JwtCacheProperties.class, UserIdClaimProperties.class})
+@AutoConfigureObservability(tracing = false)
 final class KeycloakWebhookControllerTest {
 
     private static final String WEBHOOK_PATH = "/internal/webhooks/keycloak";
+    private static final String BATCH_PATH = "/internal/webhooks/keycloak/batch";
     private static final String SECRET_HEADER = "X-Webhook-Secret";
     private static final String VALID_SECRET = "test-webhook-secret";
     private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID OTHER_USER_ID =
+            UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8");
 
     @Autowired private MockMvc mockMvc;
 
     @MockitoBean private UserService userService;
 
+    @MockitoBean private WebhookInboxService webhookInboxService;
+
     @MockitoBean private WebhookProperties webhookProperties;
 
     @MockitoBean private ActuatorProperties actuatorProperties;
@@ -179,4 +193,134 @@ final class KeycloakWebhookControllerTest {
 
         verifyNoInteractions(userService);
     }
+
+    @Test
+    void givenValidSecretAndBatch_whenHandleKeycloakEventBatch_thenStoresEventsAndReturns202()
+            throws Exception {
+        String json =
+                """
+                {
+                    "events": [
+                        {"eventId": "e1", "eventType": "DELETE_ACCOUNT", "userId": "%s", "realmId": "drinkwater", "timestamp": 1},
+                        {"eventId": "e2", "eventType": "ADMIN_DELETE_USER", "userId": "%s", "realmId": "drinkwater", "timestamp": 2}
+                    ]
+                }
+                """
+                        .formatted(USER_ID, OTHER_USER_ID);
+        var events =
+                List.of(
+                        new InboxEvent("e1", "DELETE_ACCOUNT", USER_ID),
+                        new InboxEvent("e2", "ADMIN_DELETE_USER", OTHER_USER_ID));
+        when(webhookInboxService.accept(events)).thenReturn(1);
+
+        mockMvc.perform(
+                        post(BATCH_PATH)
+                                .header(SECRET_HEADER, VALID_SECRET)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(json))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.rejected").isEmpty());
+
+        verify(webhookInboxService).accept(events);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void
+            givenBatchWithMalformedEvents_whenHandleKeycloakEventBatch_thenReportsThemAndStoresTheRest()
+                    throws Exception {
+        String json =
+                """
+                {
+                    "events": [
+                        {"eventId": "e1", "eventType": "DELETE_ACCOUNT", "userId": "not-a-valid-uuid", "realmId": "drinkwater", "timestamp": 1},
+                        {"eventId": "e2", "eventType": "DELETE_ACCOUNT", "realmId": "drinkwater", "timestamp": 2},
+                        {"eventType": "DELETE_ACCOUNT", "userId": "%1$s", "realmId": "drinkwater", "timestamp": 3},
+                        {"eventId": " ", "eventType": "DELETE_ACCOUNT", "userId": "%1$s", "realmId": "drinkwater", "timestamp": 4},
+                        {"eventId": "%2$s", "eventType": "DELETE_ACCOUNT", "userId": "%1$s", "realmId": "drinkwater", "timestamp": 5},
+                        {"eventId": "e6", "eventType": "DELETE_ACCOUNT", "userId": "%1$s", "timestamp": 6}
+                    ]
+                }
+                """
+                        .formatted(USER_ID, "x".repeat(65));
+        var events = List.of(new InboxEvent("e6", "DELETE_ACCOUNT", USER_ID));
+        when(webhookInboxService.accept(events)).thenReturn(1);
+
+        mockMvc.perform(
+                        post(BATCH_PATH)
+                                .header(SECRET_HEADER, VALID_SECRET)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(json))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.duplicates").value(0))
+                .andExpect(jsonPath("$.rejected[0]").value("not-a-valid-uuid"))
+                .andExpect(jsonPath("$.rejected.length()").value(5));
+
+        verify(webhookInboxService).accept(events);
+    }
+
+    @Test
+    void givenBatchWithInvalidEventTypes_whenHandleKeycloakEventBatch_thenRejectsThem()
+            throws Exception {
+        String json =
+                """
+                {
+                    "events": [
+                        {"eventId": "e1", "userId": "%1$s", "realmId": "drinkwater", "timestamp": 1},
+                        {"eventId": "e2", "eventType": " ", "userId": "%1$s", "realmId": "drinkwater", "timestamp": 2},
+                        {"eventId": "e3", "eventType": "%2$s", "userId": "%1$s", "realmId": "drinkwater", "timestamp": 3},
+                        {"eventId": "e4", "eventType": "LOGIN", "userId": "%1$s", "realmId": "drinkwater", "timestamp": 4},
+                        {"eventId": "e5", "eventType": "ADMIN_DELETE_USER", "userId": "%3$s", "realmId": "drinkwater", "timestamp": 5}
+                    ]
+                }
+                """
+                        .formatted(USER_ID, "DELETE_ACCOUNT".repeat(3), OTHER_USER_ID);
+        var events = List.of(new InboxEvent("e5", "ADMIN_DELETE_USER", OTHER_USER_ID));
+        when(webhookInboxService.accept(events)).thenReturn(1);
+
+        mockMvc.perform(
+                        post(BATCH_PATH)
+                                .header(SECRET_HEADER, VALID_SECRET)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(json))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected.length()").value(4))
+                .andExpect(jsonPath("$.rejected[0]").value(USER_ID.toString()));
+
+        verify(webhookInboxService).accept(events);
+    }
+
+    @Test
+    void givenEmptyBatch_whenHandleKeycloakEventBatch_thenReturns400() throws Exception {
+        mockMvc.perform(
+                        post(BATCH_PATH)
+                                .header(SECRET_HEADER, VALID_SECRET)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"events\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(webhookInboxService);
+    }
+
+    @Test
+    void givenInvalidSecret_whenHandleKeycloakEventBatch_thenReturns401() throws Exception {
+        String json =
+                """
+                {"events": [{"eventId": "e1", "eventType": "DELETE_ACCOUNT", "userId": "%s", "realmId": "drinkwater", "timestamp": 1}]}
+                """
+                        .formatted(USER_ID);
+
+        mockMvc.perform(
+                        post(BATCH_PATH)
+                                .header(SECRET_HEADER, "wrong-secret")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(json))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(webhookInboxService);
+    }
 }
@@ -19,7 +19,7 @@ final class CacheConfigTest {
 
         @Bean
         CacheProperties cacheProperties() {
-            return new CacheProperties(10_000, 5);
+            return new CacheProperties(10_000, 5, 30);
         }
     }
 
@@ -31,12 +31,12 @@ final class CacheConfigTest {
     }
 
     @Test
-    void userIdByPublicIdCacheShouldExist() {
-        assertThat(cacheManager.getCache("userIdByPublicId")).isNotNull();
+    void dailyGoalByPublicIdCacheShouldExist() {
+        assertThat(cacheManager.getCache("dailyGoalByPublicId")).isNotNull();
     }
 
     @Test
-    void cacheNamesShouldContainOnlyUserIdByPublicId() {
-        assertThat(cacheManager.getCacheNames()).containsExactly("userIdByPublicId");
+    void cacheNamesShouldContainOnlyDailyGoalByPublicId() {
+        assertThat(cacheManager.getCacheNames()).containsExactly("dailyGoalByPublicId");
     }
 }
@@ -0,0 +1,168 @@
+package br.com.drinkwater.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class ConcurrencyLimitingDataSourceTest {
+
+    private static final Duration LONG_TIMEOUT = Duration.ofSeconds(30);
+
+    private DataSource target;
+    private Connection connection;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(target.getConnection("user", "secret")).thenReturn(connection);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenFreePermit_whenConnectionClosedTwice_thenClosesTargetOnceAndReleasesPermit()
+            throws SQLException {
+        // Given
+        var dataSource = limited(1, 1, LONG_TIMEOUT);
+        Connection first = dataSource.getConnection();
+
+        // When
+        first.close();
+        first.close();
+
+        // Then
+        verify(connection, times(1)).close();
+        assertThat(gauge("datasource.concurrency.available")).isEqualTo(1.0);
+        try (Connection second = dataSource.getConnection("user", "secret")) {
+            assertThat(second).isNotSameAs(first);
+        }
+    }
+
+    @Test
+    void givenLimitedConnection_whenMethodsInvoked_thenDelegatesAndKeepsProxyIdentity()
+            throws SQLException {
+        // Given
+        when(connection.getAutoCommit()).thenReturn(false);
+        doThrow(new SQLException("rollback failed")).when(connection).rollback();
+        var dataSource = limited(1, 1, LONG_TIMEOUT);
+
+        // When
+        try (Connection sut = dataSource.getConnection()) {
+            // Then
+            assertThat(sut.getAutoCommit()).isFalse();
+            assertThatThrownBy(sut::rollback)
+                    .isInstanceOf(SQLException.class)
+                    .hasMessage("rollback failed");
+            assertThat(sut).isEqualTo(sut).isNotEqualTo(connection);
+            assertThat(sut.hashCode()).isEqualTo(System.identityHashCode(sut));
+        }
+    }
+
+    @Test
+    void givenAllPermitsTakenAndWaitQueueFull_whenGetConnection_thenRejectsWithoutWaiting()
+            throws Exception {
+        // Given
+        var dataSource = limited(1, 1, LONG_TIMEOUT);
+        Connection held = dataSource.getConnection();
+        var waiter = CompletableFuture.supplyAsync(() -> connect(dataSource));
+        awaitWaitingThreads(1);
+
+        // When & Then
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Too many threads waiting");
+        assertThat(rejected("queue-full")).isEqualTo(1.0);
+
+        held.close();
+        waiter.get().close();
+    }
+
+    @Test
+    void givenAllPermitsTaken_whenTimeoutElapses_thenRejects() throws SQLException {
+        // Given
+        var dataSource = limited(1, 10, Duration.ofMillis(10));
+        Connection held = dataSource.getConnection();
+
+        // When & Then
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(rejected("timeout")).isEqualTo(1.0);
+        held.close();
+    }
+
+    @Test
+    void givenInterruptedThread_whenGetConnection_thenRejectsAndKeepsInterruptFlag() {
+        // Given
+        var dataSource = limited(1, 1, LONG_TIMEOUT);
+        Thread.currentThread().interrupt();
+
+        // When & Then
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Interrupted");
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void givenTargetFailure_whenGetConnection_thenReleasesPermit() throws SQLException {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLException("pool timeout"));
+        when(target.getConnection("user", "secret")).thenThrow(new IllegalStateException("closed"));
+        var dataSource = limited(1, 1, LONG_TIMEOUT);
+
+        // When & Then
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+        assertThatThrownBy(() -> dataSource.getConnection("user", "secret")).hasMessage("closed");
+        assertThat(gauge("datasource.concurrency.available")).isEqualTo(1.0);
+    }
+
+    private ConcurrencyLimitingDataSource limited(
+            int maxConcurrency, int maxWaiting, Duration acquireTimeout) {
+        return new ConcurrencyLimitingDataSource(
+                target, maxConcurrency, maxWaiting, acquireTimeout, meterRegistry);
+    }
+
+    private static Connection connect(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitWaitingThreads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (gauge("datasource.concurrency.waiting") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry
+                .get("datasource.concurrency.rejected")
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+}
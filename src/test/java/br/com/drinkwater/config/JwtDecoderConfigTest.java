@@ -0,0 +1,90 @@
+package br.com.drinkwater.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.drinkwater.config.properties.JwkSetProperties;
+import br.com.drinkwater.config.properties.KeycloakProperties;
+import br.com.drinkwater.config.security.RefreshingJwkSource;
+import br.com.drinkwater.support.StubJwkServer;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+final class JwtDecoderConfigTest {
+
+    private StubJwkServer server;
+    private RSAKey currentKey;
+    private JwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        currentKey = StubJwkServer.generateKey("current");
+        server = new StubJwkServer();
+        server.serve(currentKey);
+        var keycloakProperties =
+                new KeycloakProperties(
+                        "http://localhost:8080",
+                        "drinkwater",
+                        "drinkwaterapp",
+                        "admin",
+                        "adminpass123",
+                        StubJwkServer.ISSUER,
+                        server.uri().toString(),
+                        null);
+        var jwkSource =
+                new RefreshingJwkSource(
+                        keycloakProperties,
+                        new JwkSetProperties(300, 30, 5000),
+                        new SimpleMeterRegistry());
+        jwkSource.run(null);
+        decoder = new JwtDecoderConfig().jwtDecoder(jwkSource, keycloakProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void givenTokenSignedWithPrefetchedKey_whenDecode_thenVerifiesWithoutFetching()
+            throws Exception {
+        // Given
+        String token = StubJwkServer.sign(currentKey, "user-id");
+
+        // When
+        var jwt = decoder.decode(token);
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("user-id");
+        assertThat(server.requests()).isEqualTo(1);
+    }
+
+    @Test
+    void givenKeyRotation_whenDecodeTokenSignedWithNewKey_thenRefreshesAndVerifies()
+            throws Exception {
+        // Given
+        RSAKey rotatedKey = StubJwkServer.generateKey("rotated");
+        server.serve(currentKey, rotatedKey);
+
+        // When
+        var jwt = decoder.decode(StubJwkServer.sign(rotatedKey, "user-id"));
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("user-id");
+        assertThat(server.requests()).isEqualTo(2);
+    }
+
+    @Test
+    void givenTokenSignedWithUnpublishedKey_whenDecode_thenRejectsToken() throws Exception {
+        // Given
+        String token = StubJwkServer.sign(StubJwkServer.generateKey("forged"), "user-id");
+
+        // When & Then
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(BadJwtException.class);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.drinkwater.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import br.com.drinkwater.config.properties.DatabaseProperties;
+import br.com.drinkwater.config.properties.VirtualThreadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+final class VirtualThreadConfigTest {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner()
+                    .withUserConfiguration(VirtualThreadConfig.class)
+                    .withBean(
+                            DatabaseProperties.class,
+                            () ->
+                                    new DatabaseProperties(
+                                            "jdbc:postgresql://localhost:5432/test",
+                                            "testuser",
+                                            "testpassword",
+                                            "org.postgresql.Driver",
+                                            10,
+                                            10,
+                                            30000L))
+                    .withBean(
+                            VirtualThreadProperties.class,
+                            () -> new VirtualThreadProperties(true, 200))
+                    .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                    .withBean("dataSource", DataSource.class, () -> pool);
+
+    @Test
+    void givenVirtualThreadsEnabled_whenContextStarts_thenDataSourceIsLimitedToPoolSize() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(
+                        context -> {
+                            DataSource dataSource = context.getBean(DataSource.class);
+                            assertThat(dataSource)
+                                    .isInstanceOf(ConcurrencyLimitingDataSource.class);
+                            assertThat(
+                                            ((ConcurrencyLimitingDataSource) dataSource)
+                                                    .getTargetDataSource())
+                                    .isSameAs(pool);
+                            assertThat(
+                                            context.getBean(MeterRegistry.class)
+                                                    .get("datasource.concurrency.available")
+                                                    .gauge()
+                                                    .value())
+                                    .isEqualTo(10.0);
+                        });
+    }
+
+    @Test
+    void givenPlatformThreads_whenContextStarts_thenDataSourceIsLeftAsIs() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=false")
+                .run(
+                        context -> {
+                            assertThat(context).doesNotHaveBean(VirtualThreadConfig.class);
+                            assertThat(context.getBean(DataSource.class)).isSameAs(pool);
+                        });
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.drinkwater.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+final class CacheInvalidationDispatcherTest {
+
+    private static final UUID PUBLIC_ID = UUID.fromString("6d3f1c2e-4b5a-4c8d-9e0f-1a2b3c4d5e6f");
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private ClusterCache clusterCache;
+    private CacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        clusterCache = mock(ClusterCache.class);
+        when(clusterCache.cacheName()).thenReturn("userIdByPublicId");
+        cacheManager = new ConcurrentMapCacheManager("dailyGoalByPublicId");
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher =
+                new CacheInvalidationDispatcher(
+                        List.of(clusterCache),
+                        cacheManager,
+                        meterRegistry,
+                        Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void givenClusterCacheInvalidation_whenApply_thenEvictsAndRecordsLatency() {
+        // When
+        dispatcher.apply(
+                new CacheInvalidation(
+                        "other-node", "userIdByPublicId", PUBLIC_ID, NOW.minusMillis(40)));
+
+        // Then
+        verify(clusterCache).evictLocally(PUBLIC_ID);
+        var latency =
+                meterRegistry
+                        .get("cache.invalidation.latency")
+                        .tag("cache", "userIdByPublicId")
+                        .timer();
+        assertThat(latency.count()).isEqualTo(1);
+        assertThat(latency.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40.0);
+        assertThat(
+                        meterRegistry
+                                .get("cache.invalidation.received")
+                                .tag("cache", "userIdByPublicId")
+                                .counter()
+                                .count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void givenSpringCacheInvalidation_whenApply_thenEvictsEntry() {
+        // Given
+        var cache = cacheManager.getCache("dailyGoalByPublicId");
+        cache.put(PUBLIC_ID, 2000);
+
+        // When
+        dispatcher.apply(
+                new CacheInvalidation(
+                        "other-node", "dailyGoalByPublicId", PUBLIC_ID, NOW.plusSeconds(1)));
+
+        // Then
+        assertThat(cache.get(PUBLIC_ID)).isNull();
+        assertThat(
+                        meterRegistry
+                                .get("cache.invalidation.latency")
+                                .tag("cache", "dailyGoalByPublicId")
+                                .timer()
+                                .totalTime(TimeUnit.MILLISECONDS))
+                .isZero();
+    }
+
+    @Test
+    void givenUnknownCache_whenApply_thenIgnoresIt() {
+        // When
+        dispatcher.apply(new CacheInvalidation("other-node", "unknown", PUBLIC_ID, NOW));
+
+        // Then
+        assertThat(meterRegistry.find("cache.invalidation.received").counter()).isNull();
+    }
+
+    @Test
+    void givenMissedInvalidations_whenEvictAll_thenClearsEveryCache() {
+        // Given
+        var cache = cacheManager.getCache("dailyGoalByPublicId");
+        cache.put(PUBLIC_ID, 2000);
+
+        // When
+        dispatcher.evictAll();
+
+        // Then
+        verify(clusterCache).evictAllLocally();
+        assertThat(cache.get(PUBLIC_ID)).isNull();
+    }
+
+    @Test
+    void givenPayload_whenParsed_thenRoundTrips() {
+        // Given
+        var invalidation = new CacheInvalidation("node", "userIdByPublicId", PUBLIC_ID, NOW);
+
+        // When
+        var parsed = CacheInvalidation.parse(invalidation.toPayload());
+
+        // Then
+        assertThat(parsed).isEqualTo(invalidation);
+    }
+}
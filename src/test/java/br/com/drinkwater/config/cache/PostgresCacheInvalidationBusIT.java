@@ -0,0 +1,122 @@
+package br.com.drinkwater.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import br.com.drinkwater.config.ContainersConfig;
+import br.com.drinkwater.config.properties.ClusterCacheProperties;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs two buses against one PostgreSQL database, standing in for two instances, since the H2 test
+ * database has no {@code LISTEN}/{@code NOTIFY}. Tests manage their own transactions because a
+ * notification is only delivered when its transaction commits.
+ */
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ContainersConfig.class)
+@ActiveProfiles("it")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class PostgresCacheInvalidationBusIT {
+
+    private static final String CHANNEL = "cache_invalidation";
+    private static final UUID PUBLIC_ID = UUID.fromString("6d3f1c2e-4b5a-4c8d-9e0f-1a2b3c4d5e6f");
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired private JdbcConnectionDetails connectionDetails;
+
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private CacheInvalidationDispatcher publisherDispatcher;
+    private CacheInvalidationDispatcher subscriberDispatcher;
+    private PostgresCacheInvalidationBus publisher;
+    private PostgresCacheInvalidationBus subscriber;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        publisherDispatcher = mock(CacheInvalidationDispatcher.class);
+        subscriberDispatcher = mock(CacheInvalidationDispatcher.class);
+        var properties = new ClusterCacheProperties("postgres", CHANNEL, 0);
+        publisher =
+                new PostgresCacheInvalidationBus(
+                        jdbcTemplate, connectionDetails, publisherDispatcher, properties);
+        subscriber =
+                new PostgresCacheInvalidationBus(
+                        jdbcTemplate, connectionDetails, subscriberDispatcher, properties);
+        publisher.start();
+        subscriber.start();
+        awaitListeners(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.stop();
+        subscriber.stop();
+    }
+
+    @Test
+    void givenCommittedTransaction_whenPublish_thenOtherInstanceEvicts() {
+        // When
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> publisher.publish("userIdByPublicId", PUBLIC_ID));
+
+        // Then
+        var invalidation = ArgumentCaptor.forClass(CacheInvalidation.class);
+        verify(subscriberDispatcher, timeout(5000)).apply(invalidation.capture());
+        verify(publisherDispatcher, after(500).never()).apply(any());
+        assertThat(invalidation.getValue().key()).isEqualTo(PUBLIC_ID);
+    }
+
+    @Test
+    void givenRolledBackTransaction_whenPublish_thenNothingIsDelivered() {
+        // When
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(
+                        status -> {
+                            publisher.publish("userIdByPublicId", PUBLIC_ID);
+                            status.setRollbackOnly();
+                        });
+
+        // Then
+        verify(subscriberDispatcher, after(1000).never()).apply(any());
+    }
+
+    private void awaitListeners(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (listeners() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private int listeners() {
+        Integer count =
+                jdbcTemplate
+                        .getJdbcOperations()
+                        .queryForObject(
+                                "SELECT count(*) FROM pg_stat_activity WHERE query = ?",
+                                Integer.class,
+                                "LISTEN " + CHANNEL);
+        return count == null ? 0 : count;
+    }
+}
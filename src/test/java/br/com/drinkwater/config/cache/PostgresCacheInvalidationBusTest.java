@@ -0,0 +1,194 @@
+package br.com.drinkwater.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+final class PostgresCacheInvalidationBusTest {
+
+    private static final String CHANNEL = "cache_invalidation";
+    private static final UUID PUBLIC_ID = UUID.fromString("6d3f1c2e-4b5a-4c8d-9e0f-1a2b3c4d5e6f");
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private JdbcOperations jdbcOperations;
+    private CacheInvalidationDispatcher dispatcher;
+    private PostgresCacheInvalidationBus.Connector connector;
+    private PostgresCacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        jdbcOperations = mock(JdbcOperations.class);
+        dispatcher = mock(CacheInvalidationDispatcher.class);
+        connector = mock(PostgresCacheInvalidationBus.Connector.class);
+        bus = newBus(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bus.isRunning()) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void givenKey_whenPublish_thenNotifiesChannelWithPayload() {
+        // When
+        bus.publish("userIdByPublicId", PUBLIC_ID);
+
+        // Then
+        var payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcOperations)
+                .query(
+                        eq("SELECT pg_notify(?, ?)"),
+                        any(ResultSetExtractor.class),
+                        eq(CHANNEL),
+                        payload.capture());
+        var invalidation = CacheInvalidation.parse(payload.getValue());
+        assertThat(invalidation.cacheName()).isEqualTo("userIdByPublicId");
+        assertThat(invalidation.key()).isEqualTo(PUBLIC_ID);
+        assertThat(invalidation.publishedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void givenOwnMessage_whenReceive_thenIgnoresIt() {
+        // Given
+        bus.publish("userIdByPublicId", PUBLIC_ID);
+        var payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcOperations)
+                .query(any(String.class), any(ResultSetExtractor.class), any(), payload.capture());
+
+        // When
+        bus.receive(payload.getValue());
+
+        // Then
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void givenMalformedMessage_whenReceive_thenIgnoresIt() {
+        // When
+        bus.receive("not-an-invalidation");
+        bus.receive("node|cache|not-a-uuid|0");
+
+        // Then
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void givenNotificationFromAnotherInstance_whenListening_thenDispatchesIt() throws Exception {
+        // Given
+        var invalidation = new CacheInvalidation("other-node", "userIdByPublicId", PUBLIC_ID, NOW);
+        Connection connection = connection(notification(invalidation.toPayload()));
+        when(connector.connect()).thenReturn(connection);
+
+        // When
+        bus.start();
+
+        // Then
+        verify(dispatcher, timeout(1000)).apply(invalidation);
+        verify(connection.createStatement()).execute("LISTEN " + CHANNEL);
+        bus.stop();
+        assertThat(bus.isRunning()).isFalse();
+        verify(dispatcher, never()).evictAll();
+    }
+
+    @Test
+    void givenLostConnection_whenReconnected_thenEvictsAllCaches() throws Exception {
+        // Given
+        Connection connection = connection(null);
+        when(connector.connect()).thenThrow(new SQLException("refused")).thenReturn(connection);
+
+        // When
+        bus.start();
+
+        // Then
+        verify(dispatcher, timeout(1000)).evictAll();
+    }
+
+    @Test
+    void givenUnreachableDatabase_whenStopWhileWaitingToReconnect_thenStopsListening()
+            throws Exception {
+        // Given
+        bus = newBus(Duration.ofMinutes(1));
+        when(connector.connect()).thenThrow(new SQLException("refused"));
+        bus.start();
+        verify(connector, timeout(1000)).connect();
+
+        // When
+        long start = System.nanoTime();
+        bus.stop();
+
+        // Then
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(bus.isRunning()).isFalse();
+    }
+
+    private PostgresCacheInvalidationBus newBus(Duration reconnectDelay) {
+        return new PostgresCacheInvalidationBus(
+                jdbcOperations,
+                connector,
+                dispatcher,
+                CHANNEL,
+                reconnectDelay,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    /**
+     * A connection that returns {@code first} from its first poll and then nothing, and fails once
+     * the bus is stopped, like a connection closed by the interrupt.
+     */
+    private Connection connection(PGNotification first) throws SQLException {
+        var connection = mock(Connection.class);
+        var statement = mock(Statement.class);
+        var pgConnection = mock(PGConnection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        var delivered = new AtomicBoolean(first == null);
+        when(pgConnection.getNotifications(anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            if (!delivered.getAndSet(true)) {
+                                return new PGNotification[] {first};
+                            }
+                            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                            if (!bus.isRunning()) {
+                                throw new SQLException("closed");
+                            }
+                            return null;
+                        });
+        return connection;
+    }
+
+    private static PGNotification notification(String payload) {
+        var notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
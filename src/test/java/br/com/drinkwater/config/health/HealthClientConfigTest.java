@@ -0,0 +1,35 @@
+package br.com.drinkwater.config.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.config.properties.VirtualThreadProperties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+
+final class HealthClientConfigTest {
+
+    private final HealthClientConfig config = new HealthClientConfig();
+
+    @Test
+    void givenPlatformThreads_whenCreateClient_thenUsesDefaultExecutor() {
+        // When
+        var sut = config.healthCheckHttpClient(new VirtualThreadProperties(false, 200));
+
+        // Then
+        assertThat(sut.executor()).isEmpty();
+        assertThat(sut.connectTimeout()).contains(KeycloakHealthClient.REQUEST_TIMEOUT);
+    }
+
+    @Test
+    void givenVirtualThreads_whenCreateClient_thenRunsTasksOnVirtualThreads() {
+        // When
+        var sut = config.healthCheckHttpClient(new VirtualThreadProperties(true, 200));
+
+        // Then
+        Executor executor = sut.executor().orElseThrow();
+        var thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(thread.getName()).startsWith("keycloak-health-");
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -117,4 +118,42 @@ final class AuthenticatedUserArgumentResolverTest {
                 .hasMessageContaining("Expected JwtAuthenticationToken but got:")
                 .hasMessageContaining("null");
     }
+
+    @Test
+    void verifiedUserId_returnsClaim_whenTokenVerifiedForSameUser() {
+        SecurityContextHolder.getContext().setAuthentication(scopedToken(42L));
+
+        assertThat(AuthenticatedUserArgumentResolver.verifiedUserId(EXPECTED_UUID)).contains(42L);
+    }
+
+    @Test
+    void verifiedUserId_returnsEmpty_whenTokenHasNoVerifiedClaim() {
+        SecurityContextHolder.getContext().setAuthentication(scopedToken(null));
+
+        assertThat(AuthenticatedUserArgumentResolver.verifiedUserId(EXPECTED_UUID)).isEmpty();
+    }
+
+    @Test
+    void verifiedUserId_returnsEmpty_whenResolvingAnotherUser() {
+        SecurityContextHolder.getContext().setAuthentication(scopedToken(42L));
+
+        assertThat(AuthenticatedUserArgumentResolver.verifiedUserId(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void verifiedUserId_returnsEmpty_whenNotAuthenticated() {
+        SecurityContextHolder.clearContext();
+
+        assertThat(AuthenticatedUserArgumentResolver.verifiedUserId(EXPECTED_UUID)).isEmpty();
+    }
+
+    private static ScopedJwtAuthenticationToken scopedToken(Long userId) {
+        Jwt jwt =
+                Jwt.withTokenValue("token")
+                        .header("alg", "RS256")
+                        .subject(EXPECTED_UUID.toString())
+                        .build();
+        return new ScopedJwtAuthenticationToken(
+                jwt, List.of(), EXPECTED_UUID.toString(), 0L, userId);
+    }
 }
@@ -0,0 +1,303 @@
+package br.com.drinkwater.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.drinkwater.config.properties.JwtCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+final class CachingJwtAuthenticationManagerTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+    private static final UUID PUBLIC_ID = UUID.fromString("6d3f1c2e-4b5a-4c8d-9e0f-1a2b3c4d5e6f");
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private JwtDecoder jwtDecoder;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingJwtAuthenticationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        jwtDecoder = mock(JwtDecoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        manager =
+                new CachingJwtAuthenticationManager(
+                        jwtDecoder,
+                        new KeycloakJwtAuthenticationConverter(),
+                        UserIdClaimResolver.DISABLED,
+                        new JwtCacheProperties(100),
+                        meterRegistry,
+                        nanos::get,
+                        Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void givenVerifiedToken_whenAuthenticatedAgain_thenSkipsDecoderAndReusesAuthorities() {
+        // Given
+        when(jwtDecoder.decode(TOKEN)).thenReturn(jwt(NOW.plusSeconds(300)));
+        var first = (ScopedJwtAuthenticationToken) manager.authenticate(bearer("first"));
+        assertThat(first.getUserId()).isNull();
+
+        // When
+        var second = (ScopedJwtAuthenticationToken) manager.authenticate(bearer("second"));
+
+        // Then
+        verify(jwtDecoder, times(1)).decode(TOKEN);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getToken()).isSameAs(first.getToken());
+        assertThat(second.getName()).isEqualTo("user-id");
+        assertThat(second.getDetails()).isEqualTo("second");
+        assertThat(second.getAuthorities())
+                .map(GrantedAuthority::getAuthority)
+                .containsExactly(
+                        "SCOPE_openid", "SCOPE_drinkwater:v1:user:profile:read", "ROLE_ADMIN");
+        assertThat(second.getScopeBits())
+                .isEqualTo(first.getScopeBits())
+                .isEqualTo(OAuthScope.bit(OAuthScope.USER_PROFILE_READ));
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("security.jwt.verification").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenTokenWithValidUserIdClaim_whenAuthenticatedTwice_thenVerifiesClaimOnce() {
+        // Given
+        UserIdClaimVerifier verifier = mock(UserIdClaimVerifier.class);
+        when(verifier.isUserIdOf(PUBLIC_ID, 42L)).thenReturn(true);
+        var sut =
+                new CachingJwtAuthenticationManager(
+                        jwtDecoder,
+                        new KeycloakJwtAuthenticationConverter(),
+                        new UserIdClaimResolver("user_id", verifier, meterRegistry),
+                        new JwtCacheProperties(100),
+                        meterRegistry,
+                        nanos::get,
+                        Clock.fixed(NOW, ZoneOffset.UTC));
+        when(jwtDecoder.decode(TOKEN))
+                .thenReturn(
+                        Jwt.withTokenValue(TOKEN)
+                                .header("alg", "RS256")
+                                .subject(PUBLIC_ID.toString())
+                                .claim("user_id", 42L)
+                                .expiresAt(NOW.plusSeconds(300))
+                                .build());
+
+        // When
+        var first = (ScopedJwtAuthenticationToken) sut.authenticate(bearer("first"));
+        var second = (ScopedJwtAuthenticationToken) sut.authenticate(bearer("second"));
+
+        // Then
+        assertThat(first.getUserId()).isEqualTo(42L);
+        assertThat(first.getDetails()).isEqualTo("first");
+        assertThat(second.getUserId()).isEqualTo(42L);
+        verify(verifier, times(1)).isUserIdOf(PUBLIC_ID, 42L);
+    }
+
+    @Test
+    void givenCachedTokenWithUserIdClaim_whenSubjectRevoked_thenVerifiesAgain() {
+        // Given
+        UserIdClaimVerifier verifier = mock(UserIdClaimVerifier.class);
+        when(verifier.isUserIdOf(PUBLIC_ID, 42L)).thenReturn(true);
+        var sut = userIdClaimManager(verifier);
+        sut.authenticate(bearer("first"));
+
+        // When
+        sut.revoke(UUID.randomUUID());
+        sut.authenticate(bearer("second"));
+        sut.revoke(PUBLIC_ID);
+        sut.authenticate(bearer("third"));
+
+        // Then
+        verify(jwtDecoder, times(2)).decode(TOKEN);
+        verify(verifier, times(2)).isUserIdOf(PUBLIC_ID, 42L);
+    }
+
+    @Test
+    void givenCachedTokens_whenAllRevoked_thenVerifiesAgainOnlyTokensWithUserIdClaim() {
+        // Given
+        UserIdClaimVerifier verifier = mock(UserIdClaimVerifier.class);
+        when(verifier.isUserIdOf(PUBLIC_ID, 42L)).thenReturn(true);
+        var sut = userIdClaimManager(verifier);
+        String withoutClaim = "other.payload.signature";
+        when(jwtDecoder.decode(withoutClaim))
+                .thenReturn(
+                        Jwt.withTokenValue(withoutClaim)
+                                .header("alg", "RS256")
+                                .subject(PUBLIC_ID.toString())
+                                .expiresAt(NOW.plusSeconds(300))
+                                .build());
+        sut.authenticate(bearer("first"));
+        sut.authenticate(new BearerTokenAuthenticationToken(withoutClaim));
+
+        // When
+        sut.revokeAll();
+        sut.authenticate(bearer("second"));
+        sut.authenticate(new BearerTokenAuthenticationToken(withoutClaim));
+
+        // Then
+        verify(jwtDecoder, times(2)).decode(TOKEN);
+        verify(jwtDecoder, times(1)).decode(withoutClaim);
+    }
+
+    @Test
+    void givenSubjectRevokedDuringVerification_whenAuthenticatedAgain_thenVerifiesAgain() {
+        // Given
+        UserIdClaimVerifier verifier = mock(UserIdClaimVerifier.class);
+        var sut = userIdClaimManager(verifier);
+        when(verifier.isUserIdOf(PUBLIC_ID, 42L))
+                .thenAnswer(
+                        invocation -> {
+                            sut.revoke(PUBLIC_ID);
+                            return true;
+                        });
+
+        // When
+        var first = (ScopedJwtAuthenticationToken) sut.authenticate(bearer("first"));
+        sut.authenticate(bearer("second"));
+
+        // Then
+        assertThat(first.getUserId()).isEqualTo(42L);
+        verify(jwtDecoder, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void givenCachedToken_whenTokenExpires_thenVerifiesAgain() {
+        // Given
+        when(jwtDecoder.decode(TOKEN)).thenReturn(jwt(NOW.plusSeconds(300)));
+        manager.authenticate(bearer("first"));
+        nanos.addAndGet(Duration.ofSeconds(300).toNanos());
+
+        // When
+        manager.authenticate(bearer("second"));
+
+        // Then
+        verify(jwtDecoder, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void givenTokenAlreadyExpiredByClock_whenAuthenticatedAgain_thenVerifiesAgain() {
+        // Given
+        when(jwtDecoder.decode(TOKEN)).thenReturn(jwt(NOW.minusSeconds(30)));
+        manager.authenticate(bearer("first"));
+
+        // When
+        manager.authenticate(bearer("second"));
+
+        // Then
+        verify(jwtDecoder, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void givenTokenWithoutExpiry_whenAuthenticatedAgain_thenVerifiesAgain() {
+        // Given
+        when(jwtDecoder.decode(TOKEN)).thenReturn(jwt(null));
+        manager.authenticate(bearer("first"));
+
+        // When
+        manager.authenticate(bearer("second"));
+
+        // Then
+        verify(jwtDecoder, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void givenInvalidToken_whenAuthenticatedTwice_thenFailsBothTimesWithoutCaching() {
+        // Given
+        when(jwtDecoder.decode(TOKEN)).thenThrow(new BadJwtException("bad signature"));
+
+        // When & Then
+        assertThatThrownBy(() -> manager.authenticate(bearer("first")))
+                .isInstanceOf(InvalidBearerTokenException.class);
+        assertThatThrownBy(() -> manager.authenticate(bearer("second")))
+                .isInstanceOf(InvalidBearerTokenException.class);
+        verify(jwtDecoder, times(2)).decode(TOKEN);
+        assertThat(meterRegistry.get("security.jwt.verification").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenPublicConstructor_whenAuthenticate_thenVerifiesToken() {
+        // Given
+        when(jwtDecoder.decode(TOKEN)).thenReturn(jwt(Instant.now().plusSeconds(300)));
+        var sut =
+                new CachingJwtAuthenticationManager(
+                        jwtDecoder,
+                        new KeycloakJwtAuthenticationConverter(),
+                        UserIdClaimResolver.DISABLED,
+                        new JwtCacheProperties(100),
+                        new SimpleMeterRegistry());
+
+        // When
+        var result = sut.authenticate(bearer("details"));
+
+        // Then
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getName()).isEqualTo("user-id");
+    }
+
+    @Test
+    void givenUnknownAlgorithm_whenMessageDigest_thenThrowsIllegalStateException() {
+        // When & Then
+        assertThatThrownBy(() -> CachingJwtAuthenticationManager.messageDigest("NO-SUCH-HASH"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("NO-SUCH-HASH is not available");
+    }
+
+    private CachingJwtAuthenticationManager userIdClaimManager(UserIdClaimVerifier verifier) {
+        when(jwtDecoder.decode(TOKEN))
+                .thenReturn(
+                        Jwt.withTokenValue(TOKEN)
+                                .header("alg", "RS256")
+                                .subject(PUBLIC_ID.toString())
+                                .claim("user_id", 42L)
+                                .expiresAt(NOW.plusSeconds(300))
+                                .build());
+        return new CachingJwtAuthenticationManager(
+                jwtDecoder,
+                new KeycloakJwtAuthenticationConverter(),
+                new UserIdClaimResolver("user_id", verifier, meterRegistry),
+                new JwtCacheProperties(100),
+                meterRegistry,
+                nanos::get,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String details) {
+        var bearer = new BearerTokenAuthenticationToken(TOKEN);
+        bearer.setDetails(details);
+        return bearer;
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue(TOKEN)
+                .header("alg", "RS256")
+                .subject("user-id")
+                .claim("scope", "openid drinkwater:v1:user:profile:read")
+                .claim("realm_access", Map.of("roles", List.of("ADMIN")))
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
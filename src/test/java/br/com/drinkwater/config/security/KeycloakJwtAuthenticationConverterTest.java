@@ -107,4 +107,33 @@ final class KeycloakJwtAuthenticationConverterTest {
 
         assertThat(authorities).noneMatch(a -> a.startsWith("ROLE_"));
     }
+
+    @Test
+    void givenJwtWithApiAndOtherScopes_whenConvert_thenScopeBitsCoverOnlyApiScopes() {
+        Jwt jwt =
+                Jwt.withTokenValue("token")
+                        .header("alg", "RS256")
+                        .subject("user-id")
+                        .claim(
+                                "scope",
+                                "openid drinkwater:v1:user:profile:read"
+                                        + " drinkwater:v1:waterintake:entries:search")
+                        .claim("realm_access", Map.of("roles", List.of("ADMIN")))
+                        .issuedAt(Instant.now())
+                        .expiresAt(Instant.now().plusSeconds(300))
+                        .build();
+
+        AbstractAuthenticationToken result = converter.convert(jwt);
+
+        assertThat(result)
+                .isInstanceOfSatisfying(
+                        ScopedJwtAuthenticationToken.class,
+                        token ->
+                                assertThat(token.getScopeBits())
+                                        .isEqualTo(
+                                                OAuthScope.bit(OAuthScope.USER_PROFILE_READ)
+                                                        | OAuthScope.bit(
+                                                                OAuthScope
+                                                                        .WATERINTAKE_ENTRIES_SEARCH)));
+    }
 }
@@ -3,7 +3,10 @@ package br.com.drinkwater.config.security;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.lang.reflect.Constructor;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 final class OAuthScopeTest {
 
@@ -31,6 +34,44 @@ final class OAuthScopeTest {
                 .isEqualTo("SCOPE_drinkwater:v1:admin:config:manage");
     }
 
+    @Test
+    void eachScopeOwnsOneDistinctBit() {
+        List<String> scopes =
+                List.of(
+                        OAuthScope.USER_PROFILE_READ,
+                        OAuthScope.USER_PROFILE_CREATE,
+                        OAuthScope.USER_PROFILE_UPDATE,
+                        OAuthScope.USER_PROFILE_DELETE,
+                        OAuthScope.WATERINTAKE_ENTRY_READ,
+                        OAuthScope.WATERINTAKE_ENTRY_CREATE,
+                        OAuthScope.WATERINTAKE_ENTRY_UPDATE,
+                        OAuthScope.WATERINTAKE_ENTRY_DELETE,
+                        OAuthScope.WATERINTAKE_ENTRIES_SEARCH,
+                        OAuthScope.ADMIN_CONFIG_MANAGE,
+                        OAuthScope.ADMIN_CONFIG_READ);
+
+        long all = 0L;
+        for (String scope : scopes) {
+            long bit = OAuthScope.bit(scope);
+            assertThat(Long.bitCount(bit)).isEqualTo(1);
+            assertThat(all & bit).isZero();
+            all |= bit;
+        }
+    }
+
+    @Test
+    void givenAuthoritiesWithRolesAndForeignScopes_whenBits_thenOnlyApiScopesAreSet() {
+        List<GrantedAuthority> authorities =
+                List.of(
+                        new SimpleGrantedAuthority("SCOPE_openid"),
+                        new SimpleGrantedAuthority("ROLE_ADMIN"),
+                        new SimpleGrantedAuthority(OAuthScope.WATERINTAKE_ENTRY_READ),
+                        () -> null);
+
+        assertThat(OAuthScope.bits(authorities))
+                .isEqualTo(OAuthScope.bit(OAuthScope.WATERINTAKE_ENTRY_READ));
+    }
+
     @Test
     void constructorIsPrivate() throws NoSuchMethodException {
         Constructor<OAuthScope> constructor = OAuthScope.class.getDeclaredConstructor();
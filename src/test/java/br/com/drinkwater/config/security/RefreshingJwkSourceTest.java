@@ -0,0 +1,243 @@
+package br.com.drinkwater.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.config.properties.JwkSetProperties;
+import br.com.drinkwater.support.StubJwkServer;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class RefreshingJwkSourceTest {
+
+    private static final JwkSetProperties PROPERTIES = new JwkSetProperties(300, 30, 5000);
+
+    private static RSAKey currentKey;
+    private static RSAKey rotatedKey;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private StubJwkServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshingJwkSource source;
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        currentKey = StubJwkServer.generateKey("current");
+        rotatedKey = StubJwkServer.generateKey("rotated");
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubJwkServer();
+        server.serve(currentKey);
+        meterRegistry = new SimpleMeterRegistry();
+        source =
+                new RefreshingJwkSource(
+                        server.uri(),
+                        PROPERTIES,
+                        HttpClient.newHttpClient(),
+                        nanos::get,
+                        meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void givenWarmup_whenGetKnownKey_thenServesKeyWithoutFetching() {
+        // Given
+        source.run(null);
+
+        // When
+        List<JWK> keys = source.get(selectorFor("current"), null);
+
+        // Then
+        assertThat(keys).extracting(JWK::getKeyID).containsExactly("current");
+        assertThat(server.requests()).isEqualTo(1);
+        assertThat(refreshes("warmup", "success")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("security.jwk.keys").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("security.jwk.age").gauge().value()).isZero();
+    }
+
+    @Test
+    void givenRotatedKey_whenGetUnknownKey_thenRefreshesOnceWithinCooldown() {
+        // Given
+        source.run(null);
+        server.serve(currentKey, rotatedKey);
+
+        // When
+        List<JWK> rotated = source.get(selectorFor("rotated"), null);
+        List<JWK> forged = source.get(selectorFor("forged"), null);
+
+        // Then
+        assertThat(rotated).extracting(JWK::getKeyID).containsExactly("rotated");
+        assertThat(forged).isEmpty();
+        assertThat(server.requests()).isEqualTo(2);
+        assertThat(refreshes("unknown-key", "success")).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenUnknownKeyAfterCooldown_whenGet_thenRefreshesAgain() {
+        // Given
+        source.run(null);
+        source.get(selectorFor("forged"), null);
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // When
+        source.get(selectorFor("forged"), null);
+
+        // Then
+        assertThat(server.requests()).isEqualTo(3);
+    }
+
+    @Test
+    void givenConcurrentRequestsForUnknownKey_whenGet_thenShareOneFetch() throws Exception {
+        // Given
+        var release = server.hold();
+        var first = CompletableFuture.supplyAsync(() -> source.get(selectorFor("current"), null));
+        awaitRequests(1);
+        var others = new ArrayList<CompletableFuture<List<JWK>>>();
+        for (int i = 0; i < 4; i++) {
+            others.add(
+                    CompletableFuture.supplyAsync(() -> source.get(selectorFor("current"), null)));
+        }
+        Thread.sleep(100);
+
+        // When
+        release.countDown();
+
+        // Then
+        assertThat(first.get()).hasSize(1);
+        for (var other : others) {
+            assertThat(other.get()).hasSize(1);
+        }
+        assertThat(server.requests()).isEqualTo(1);
+    }
+
+    @Test
+    void givenRefreshInFlight_whenRefreshAgain_thenJoinsIt() throws Exception {
+        // Given
+        var release = server.hold();
+        var running = source.refresh("scheduled");
+
+        // When
+        var joined = source.refresh("stale");
+
+        // Then
+        assertThat(joined).isSameAs(running);
+        release.countDown();
+        assertThat(joined.get().getKeyByKeyId("current")).isNotNull();
+        assertThat(server.requests()).isEqualTo(1);
+    }
+
+    @Test
+    void givenKeycloakDown_whenScheduledRefreshFails_thenKeepsServingPreviousKeys() {
+        // Given
+        source.run(null);
+        server.respondWith(500);
+
+        // When
+        source.prefetch();
+
+        // Then
+        assertThat(refreshes("scheduled", "failure")).isEqualTo(1.0);
+        assertThat(source.get(selectorFor("current"), null)).hasSize(1);
+    }
+
+    @Test
+    void givenStaleKeys_whenGet_thenServesThemAndRefreshesInBackground()
+            throws InterruptedException {
+        // Given
+        source.run(null);
+        nanos.addAndGet(Duration.ofSeconds(300).toNanos());
+        var release = server.hold();
+
+        // When
+        List<JWK> keys = source.get(selectorFor("current"), null);
+
+        // Then
+        assertThat(keys).hasSize(1);
+        awaitRequests(2);
+        release.countDown();
+        awaitRefresh("stale", "success");
+        assertThat(source.get(selectorFor("current"), null)).hasSize(1);
+        assertThat(server.requests()).isEqualTo(2);
+    }
+
+    @Test
+    void givenUnreachableKeycloak_whenWarmup_thenStartsWithoutKeys() {
+        // Given
+        server.close();
+
+        // When
+        source.run(null);
+
+        // Then
+        assertThat(refreshes("warmup", "failure")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("security.jwk.age").gauge().value()).isNaN();
+        assertThat(source.get(selectorFor("current"), null)).isEmpty();
+    }
+
+    @Test
+    void givenInterruptedThread_whenWarmup_thenKeepsInterruptFlag() {
+        // Given
+        server.hold();
+        Thread.currentThread().interrupt();
+
+        // When
+        source.run(null);
+
+        // Then
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    private static JWKSelector selectorFor(String keyId) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+    }
+
+    private double refreshes(String trigger, String outcome) {
+        return meterRegistry
+                .get("security.jwk.refresh")
+                .tag("trigger", trigger)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private void awaitRefresh(String trigger, String outcome) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry
+                                .find("security.jwk.refresh")
+                                .tag("trigger", trigger)
+                                .tag("outcome", outcome)
+                                .counter()
+                        == null
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitRequests(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (server.requests() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
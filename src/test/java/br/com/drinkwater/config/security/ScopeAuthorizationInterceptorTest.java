@@ -0,0 +1,185 @@
+package br.com.drinkwater.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+final class ScopeAuthorizationInterceptorTest {
+
+    private static final Jwt JWT =
+            Jwt.withTokenValue("token")
+                    .header("alg", "RS256")
+                    .subject("user-id")
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(300))
+                    .build();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private HandlerMethod readProfile;
+    private HandlerMethod publicEndpoint;
+    private ScopeAuthorizationInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        readProfile = new HandlerMethod(new Controller(), "readProfile");
+        publicEndpoint = new HandlerMethod(new Controller(), "publicEndpoint");
+
+        var mapping = mock(RequestMappingHandlerMapping.class);
+        when(mapping.getHandlerMethods())
+                .thenReturn(
+                        Map.of(
+                                RequestMappingInfo.paths("/profile").build(), readProfile,
+                                RequestMappingInfo.paths("/public").build(), publicEndpoint));
+        interceptor =
+                new ScopeAuthorizationInterceptor(
+                        new StaticListableBeanFactory(
+                                        Map.of("requestMappingHandlerMapping", mapping))
+                                .getBeanProvider(RequestMappingHandlerMapping.class));
+        interceptor.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenTokenWithRequiredScope_whenPreHandle_thenAllowsRequest() {
+        // Given
+        authenticate(
+                new ScopedJwtAuthenticationToken(
+                        JWT,
+                        List.of(),
+                        OAuthScope.bit(OAuthScope.USER_PROFILE_READ)
+                                | OAuthScope.bit(OAuthScope.WATERINTAKE_ENTRY_READ)));
+
+        // When
+        boolean result = interceptor.preHandle(request, response, readProfile);
+
+        // Then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void givenTokenWithoutRequiredScope_whenPreHandle_thenThrowsInsufficientScope() {
+        // Given
+        authenticate(
+                new ScopedJwtAuthenticationToken(
+                        JWT, List.of(), OAuthScope.bit(OAuthScope.WATERINTAKE_ENTRY_READ)));
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.preHandle(request, response, readProfile))
+                .isInstanceOfSatisfying(
+                        InsufficientScopeException.class,
+                        ex ->
+                                assertThat(ex.getRequiredScope())
+                                        .isEqualTo("drinkwater:v1:user:profile:read"));
+    }
+
+    @Test
+    void givenPlainJwtAuthenticationWithScopeAuthority_whenPreHandle_thenAllowsRequest() {
+        // Given
+        authenticate(
+                new JwtAuthenticationToken(
+                        JWT, List.of(new SimpleGrantedAuthority(OAuthScope.USER_PROFILE_READ))));
+
+        // When
+        boolean result = interceptor.preHandle(request, response, readProfile);
+
+        // Then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void givenNoAuthentication_whenPreHandle_thenThrowsInsufficientScope() {
+        // When & Then
+        assertThatThrownBy(() -> interceptor.preHandle(request, response, readProfile))
+                .isInstanceOf(InsufficientScopeException.class);
+    }
+
+    @Test
+    void givenMethodWithoutRequiredScope_whenPreHandle_thenAllowsRequest() {
+        // When
+        boolean result = interceptor.preHandle(request, response, publicEndpoint);
+
+        // Then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void givenHandlerThatIsNotAMethod_whenPreHandle_thenAllowsRequest() {
+        // When
+        boolean result = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void givenMethodNotMappedAtStartup_whenPreHandle_thenStillEnforcesScope()
+            throws NoSuchMethodException {
+        // Given
+        var unmapped = new HandlerMethod(new OtherController(), "deleteProfile");
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.preHandle(request, response, unmapped))
+                .isInstanceOfSatisfying(
+                        InsufficientScopeException.class,
+                        ex ->
+                                assertThat(ex.getRequiredScope())
+                                        .isEqualTo("drinkwater:v1:user:profile:delete"));
+    }
+
+    @Test
+    void givenMethodRequiringUnknownScope_whenRegister_thenFailsFast()
+            throws NoSuchMethodException {
+        // Given
+        var handlerMethod = new HandlerMethod(new OtherController(), "unknownScope");
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.register(List.of(handlerMethod)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SCOPE_drinkwater:v1:unknown");
+    }
+
+    private static void authenticate(JwtAuthenticationToken authentication) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    static class Controller {
+
+        @RequiresScope(OAuthScope.USER_PROFILE_READ)
+        public void readProfile() {}
+
+        public void publicEndpoint() {}
+    }
+
+    static class OtherController {
+
+        @RequiresScope(OAuthScope.USER_PROFILE_DELETE)
+        public void deleteProfile() {}
+
+        @RequiresScope("SCOPE_drinkwater:v1:unknown")
+        public void unknownScope() {}
+    }
+}
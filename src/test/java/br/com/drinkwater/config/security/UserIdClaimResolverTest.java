@@ -0,0 +1,114 @@
+package br.com.drinkwater.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+final class UserIdClaimResolverTest {
+
+    private static final UUID PUBLIC_ID = UUID.fromString("6d3f1c2e-4b5a-4c8d-9e0f-1a2b3c4d5e6f");
+    private static final long USER_ID = 42L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserIdClaimResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        UserIdClaimVerifier verifier = mock(UserIdClaimVerifier.class);
+        when(verifier.isUserIdOf(PUBLIC_ID, USER_ID)).thenReturn(true);
+        resolver = new UserIdClaimResolver("user_id", verifier, meterRegistry);
+    }
+
+    @Test
+    void givenNumericOrStringClaimOfSubject_whenResolve_thenReturnsUserId() {
+        // When
+        Long fromLong = resolver.resolve(jwt(PUBLIC_ID.toString(), USER_ID));
+        Long fromInteger = resolver.resolve(jwt(PUBLIC_ID.toString(), (int) USER_ID));
+        Long fromString = resolver.resolve(jwt(PUBLIC_ID.toString(), "42"));
+
+        // Then
+        assertThat(fromLong).isEqualTo(USER_ID);
+        assertThat(fromInteger).isEqualTo(USER_ID);
+        assertThat(fromString).isEqualTo(USER_ID);
+        assertThat(count("verified")).isEqualTo(3.0);
+    }
+
+    @Test
+    void givenClaimOfAnotherUserOrMalformed_whenResolve_thenRejectsIt() {
+        // When
+        Long mismatch = resolver.resolve(jwt(PUBLIC_ID.toString(), 7L));
+        Long notANumber = resolver.resolve(jwt(PUBLIC_ID.toString(), "forty-two"));
+        Long wrongType = resolver.resolve(jwt(PUBLIC_ID.toString(), 42.0));
+        Long subjectNotUuid = resolver.resolve(jwt("service-account", USER_ID));
+
+        // Then
+        assertThat(mismatch).isNull();
+        assertThat(notANumber).isNull();
+        assertThat(wrongType).isNull();
+        assertThat(subjectNotUuid).isNull();
+        assertThat(count("rejected")).isEqualTo(4.0);
+    }
+
+    @Test
+    void givenTokenWithoutClaim_whenResolve_thenReturnsNullWithoutCounting() {
+        // When
+        Long userId =
+                resolver.resolve(
+                        Jwt.withTokenValue("token")
+                                .header("alg", "RS256")
+                                .subject(PUBLIC_ID.toString())
+                                .build());
+
+        // Then
+        assertThat(userId).isNull();
+        assertThat(count("verified")).isZero();
+        assertThat(count("rejected")).isZero();
+    }
+
+    @Test
+    void givenDisabledResolver_whenResolve_thenIgnoresClaim() {
+        // When
+        Long userId = UserIdClaimResolver.DISABLED.resolve(jwt(PUBLIC_ID.toString(), USER_ID));
+
+        // Then
+        assertThat(userId).isNull();
+    }
+
+    @Test
+    void givenTokenWithoutSubject_whenResolve_thenRejectsClaim() {
+        // When
+        Long userId =
+                resolver.resolve(
+                        Jwt.withTokenValue("token")
+                                .header("alg", "RS256")
+                                .claim("user_id", USER_ID)
+                                .build());
+
+        // Then
+        assertThat(userId).isNull();
+        assertThat(count("rejected")).isEqualTo(1.0);
+    }
+
+    private static Jwt jwt(String subject, Object userId) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(subject)
+                .claim("user_id", userId)
+                .build();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry
+                .get("security.jwt.user-id-claim")
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
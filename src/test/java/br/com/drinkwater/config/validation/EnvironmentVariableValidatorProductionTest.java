@@ -89,7 +89,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         new LoggingProperties(
                                 "WARN", "WARN", "WARN", "WARN", "WARN", "WARN", "WARN"),
                         new WebhookProperties("webhook-secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         assertDoesNotThrow(() -> validator.run(args));
     }
@@ -108,7 +108,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         defaultLoggingProductionSafe(),
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
         assertTrue(ex.getMessage().contains("Environment-specific validation failed"));
@@ -129,7 +129,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         defaultLoggingProductionSafe(),
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
         assertTrue(ex.getMessage().contains("Environment-specific validation failed"));
@@ -160,7 +160,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         defaultLoggingProductionSafe(),
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
         assertTrue(ex.getMessage().contains("Environment-specific validation failed"));
@@ -190,7 +190,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         defaultLoggingProductionSafe(),
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
         assertTrue(ex.getMessage().contains("Environment-specific validation failed"));
@@ -214,7 +214,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         defaultLoggingProductionSafe(),
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
         assertTrue(ex.getMessage().contains("Environment-specific validation failed"));
@@ -236,7 +236,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         logging,
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
         assertTrue(ex.getMessage().contains("Environment-specific validation failed"));
@@ -277,7 +277,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         new LoggingProperties(
                                 "DEBUG", "DEBUG", "WARN", "WARN", "WARN", "WARN", "WARN"),
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         assertDoesNotThrow(() -> validator.run(args));
     }
@@ -297,7 +297,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         defaultLoggingProductionSafe(),
                         new WebhookProperties("webhook-secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         assertDoesNotThrow(() -> validator.run(args));
     }
@@ -316,7 +316,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         defaultLoggingProductionSafe(),
                         new WebhookProperties("webhook-secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         assertDoesNotThrow(() -> validator.run(args));
     }
@@ -352,7 +352,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         logging,
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         assertDoesNotThrow(() -> validator.run(args));
     }
@@ -396,7 +396,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         new LoggingProperties(
                                 "INFO", "INFO", "WARN", "WARN", "WARN", "WARN", "WARN"),
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         assertDoesNotThrow(() -> validator.run(args));
     }
@@ -440,7 +440,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         new LoggingProperties(
                                 "INFO", "INFO", "WARN", "WARN", "WARN", "WARN", "WARN"),
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         assertDoesNotThrow(() -> validator.run(args));
     }
@@ -476,7 +476,7 @@ final class EnvironmentVariableValidatorProductionTest {
                         defaultMonitoring(),
                         logging,
                         new WebhookProperties("secret"),
-                        new CacheProperties(10_000, 5));
+                        new CacheProperties(10_000, 5, 30));
 
         var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
         assertTrue(ex.getMessage().contains("Invalid logging level"));
@@ -507,6 +507,7 @@ final class EnvironmentVariableValidatorProductionTest {
                 logging,
                 webhook,
                 cache,
+                new VirtualThreadProperties(false, 200),
                 runtimeValidator,
                 validationErrorFormatter,
                 validator);
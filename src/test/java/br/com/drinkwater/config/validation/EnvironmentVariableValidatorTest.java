@@ -99,7 +99,7 @@ final class EnvironmentVariableValidatorTest {
 
         WebhookProperties webhookProps = new WebhookProperties("test-webhook-secret");
 
-        CacheProperties cacheProps = new CacheProperties(10_000, 5);
+        CacheProperties cacheProps = new CacheProperties(10_000, 5, 30);
 
         environmentValidator =
                 new EnvironmentVariableValidator(
@@ -114,6 +114,7 @@ final class EnvironmentVariableValidatorTest {
                         loggingProps,
                         webhookProps,
                         cacheProps,
+                        new VirtualThreadProperties(false, 200),
                         runtimeValidator,
                         validationErrorFormatter,
                         validator);
@@ -332,6 +333,119 @@ final class EnvironmentVariableValidatorTest {
         assertDoesNotThrow(() -> validator.run(args));
     }
 
+    @Test
+    void givenVirtualThreadsWithElasticPool_whenValidate_thenShouldFailWithCrossPropertyError() {
+        var validator =
+                createValidatorWithVirtualThreads(
+                        databaseWithPool(10, 2), new VirtualThreadProperties(true, 200));
+        doReturn(List.of())
+                .when(validationErrorFormatter)
+                .validateMultipleObjects(
+                        any(Validator.class),
+                        any(ValidationErrorFormatter.ValidationTarget[].class));
+
+        var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
+        assertTrue(ex.getMessage().contains("Cross-property validation failed"));
+        assertTrue(ex.getMessage().contains("DATABASE_MIN_IDLE"));
+    }
+
+    @Test
+    void givenVirtualThreadsWithWaitQueueBelowPoolSize_whenValidate_thenShouldFail() {
+        var validator =
+                createValidatorWithVirtualThreads(
+                        databaseWithPool(10, 10), new VirtualThreadProperties(true, 5));
+        doReturn(List.of())
+                .when(validationErrorFormatter)
+                .validateMultipleObjects(
+                        any(Validator.class),
+                        any(ValidationErrorFormatter.ValidationTarget[].class));
+
+        var ex = assertThrows(IllegalStateException.class, () -> validator.run(args));
+        assertTrue(ex.getMessage().contains("Cross-property validation failed"));
+        assertTrue(ex.getMessage().contains("VIRTUAL_THREADS_DATABASE_MAX_WAITING"));
+    }
+
+    @Test
+    void givenVirtualThreadsWithFixedPool_whenValidate_thenShouldPass() {
+        var validator =
+                createValidatorWithVirtualThreads(
+                        databaseWithPool(10, 10), new VirtualThreadProperties(true, 200));
+        doReturn(List.of())
+                .when(validationErrorFormatter)
+                .validateMultipleObjects(
+                        any(Validator.class),
+                        any(ValidationErrorFormatter.ValidationTarget[].class));
+
+        assertDoesNotThrow(() -> validator.run(args));
+    }
+
+    @Test
+    void givenVirtualThreadsWithPoolAboveProcessorBudget_whenValidate_thenShouldOnlyWarn() {
+        var validator =
+                createValidatorWithVirtualThreads(
+                        databaseWithPool(100, 100), new VirtualThreadProperties(true, 100));
+        doReturn(List.of())
+                .when(validationErrorFormatter)
+                .validateMultipleObjects(
+                        any(Validator.class),
+                        any(ValidationErrorFormatter.ValidationTarget[].class));
+
+        assertDoesNotThrow(() -> validator.run(args));
+    }
+
+    private static DatabaseProperties databaseWithPool(int poolSize, int minIdle) {
+        return new DatabaseProperties(
+                "jdbc:postgresql://localhost:5432/test",
+                "testuser",
+                "testpassword",
+                "org.postgresql.Driver",
+                poolSize,
+                minIdle,
+                30000L);
+    }
+
+    private EnvironmentVariableValidator createValidatorWithVirtualThreads(
+            DatabaseProperties database, VirtualThreadProperties virtualThreads) {
+        return new EnvironmentVariableValidator(
+                new ApplicationProperties("drink-water-api", "1.0.0", "development"),
+                new ServerProperties(8081, "on_param"),
+                database,
+                new KeycloakProperties(
+                        "http://localhost:8080",
+                        "drinkwater",
+                        "drinkwaterapp",
+                        "admin",
+                        "adminpassword",
+                        "http://localhost:8080/realms/drinkwater",
+                        "http://localhost:8080/realms/drinkwater/protocol/openid-connect/certs",
+                        null),
+                new CorsProperties(
+                        "http://localhost:3000",
+                        "http://localhost:3000",
+                        List.of("http://localhost:3000"),
+                        List.of("GET", "POST"),
+                        List.of("Authorization", "Content-Type"),
+                        true,
+                        3600L),
+                new SecurityProperties(null, null, null),
+                new ActuatorProperties(
+                        List.of("health", "info"), "/actuator", "when-authorized", "always"),
+                new MonitoringProperties(
+                        true,
+                        true,
+                        Duration.ofSeconds(10),
+                        false,
+                        0.1,
+                        "http://localhost:9411/api/v2/spans"),
+                new LoggingProperties("INFO", "INFO", "WARN", "WARN", "WARN", "WARN", "WARN"),
+                new WebhookProperties("test-webhook-secret"),
+                new CacheProperties(10_000, 5, 30),
+                virtualThreads,
+                runtimeValidator,
+                validationErrorFormatter,
+                validator);
+    }
+
     private EnvironmentVariableValidator createValidatorWithKeycloak(KeycloakProperties keycloak) {
         return new EnvironmentVariableValidator(
                 new ApplicationProperties("drink-water-api", "1.0.0", "development"),
@@ -365,7 +479,8 @@ final class EnvironmentVariableValidatorTest {
                         "http://localhost:9411/api/v2/spans"),
                 new LoggingProperties("INFO", "INFO", "WARN", "WARN", "WARN", "WARN", "WARN"),
                 new WebhookProperties("test-webhook-secret"),
-                new CacheProperties(10_000, 5),
+                new CacheProperties(10_000, 5, 30),
+                new VirtualThreadProperties(false, 200),
                 runtimeValidator,
                 validationErrorFormatter,
                 validator);
@@ -405,7 +520,8 @@ final class EnvironmentVariableValidatorTest {
                         "http://localhost:9411/api/v2/spans"),
                 new LoggingProperties("INFO", "INFO", "WARN", "WARN", "WARN", "WARN", "WARN"),
                 new WebhookProperties("test-webhook-secret"),
-                new CacheProperties(10_000, 5),
+                new CacheProperties(10_000, 5, 30),
+                new VirtualThreadProperties(false, 200),
                 runtimeValidator,
                 validationErrorFormatter,
                 validator);
@@ -447,7 +563,8 @@ final class EnvironmentVariableValidatorTest {
                 monitoring,
                 new LoggingProperties("INFO", "INFO", "WARN", "WARN", "WARN", "WARN", "WARN"),
                 new WebhookProperties("test-webhook-secret"),
-                new CacheProperties(10_000, 5),
+                new CacheProperties(10_000, 5, 30),
+                new VirtualThreadProperties(false, 200),
                 runtimeValidator,
                 validationErrorFormatter,
                 validator);
@@ -494,7 +611,8 @@ final class EnvironmentVariableValidatorTest {
                         "https://zipkin.example.com/api/v2/spans"),
                 new LoggingProperties("WARN", "WARN", "WARN", "WARN", "WARN", "WARN", "WARN"),
                 new WebhookProperties("test-webhook-secret"),
-                new CacheProperties(10_000, 5),
+                new CacheProperties(10_000, 5, 30),
+                new VirtualThreadProperties(false, 200),
                 runtimeValidator,
                 validationErrorFormatter,
                 validator);
@@ -533,7 +651,8 @@ final class EnvironmentVariableValidatorTest {
                         "https://zipkin.example.com/api/v2/spans"),
                 new LoggingProperties("WARN", "WARN", "WARN", "WARN", "WARN", "WARN", "WARN"),
                 new WebhookProperties("test-webhook-secret"),
-                new CacheProperties(10_000, 5),
+                new CacheProperties(10_000, 5, 30),
+                new VirtualThreadProperties(false, 200),
                 runtimeValidator,
                 validationErrorFormatter,
                 validator);
@@ -573,7 +692,8 @@ final class EnvironmentVariableValidatorTest {
                         "http://localhost:9411/api/v2/spans"),
                 new LoggingProperties("INFO", "INFO", "WARN", "WARN", "WARN", "WARN", "WARN"),
                 new WebhookProperties("test-webhook-secret"),
-                new CacheProperties(10_000, 5),
+                new CacheProperties(10_000, 5, 30),
+                new VirtualThreadProperties(false, 200),
                 runtimeValidator,
                 validationErrorFormatter,
                 validator);
@@ -2,39 +2,53 @@ package br.com.drinkwater.core;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
 final class PageCursorTest {
 
     private static final Instant SAMPLE_INSTANT = Instant.parse("2025-06-15T10:30:00Z");
     private static final Long SAMPLE_ID = 42L;
 
-    @Test
-    void givenValidData_whenEncode_thenReturnsNonEmptyString() {
-        // Given
-        var cursor = new PageCursor(SAMPLE_INSTANT, SAMPLE_ID);
+    private static Stream<PageCursor> cursors() {
+        return Stream.of(
+                new PageCursor("dateTimeUTC", Instant.parse("2020-01-01T00:00:00Z"), 1L),
+                new PageCursor(
+                        "dateTimeUTC", Instant.parse("2025-06-15T10:30:00.123456789Z"), 999L),
+                new PageCursor("id", 42L, 42L),
+                new PageCursor("id", Long.MAX_VALUE, Long.MAX_VALUE),
+                new PageCursor("volume", 250, 7L),
+                new PageCursor("volumeUnit", 1, 8L));
+    }
 
+    @ParameterizedTest
+    @MethodSource("cursors")
+    void givenCursor_whenEncodeAndDecode_thenValuesAndTypesPreserved(PageCursor original) {
         // When
-        var encoded = cursor.encode();
+        var decoded = PageCursor.decode(original.encode());
 
         // Then
-        assertThat(encoded).isNotBlank();
+        assertThat(decoded).isEqualTo(original);
+        assertThat(decoded.sortValue()).isExactlyInstanceOf(original.sortValue().getClass());
     }
 
     @Test
-    void givenEncodedCursor_whenDecode_thenReturnsOriginalValues() {
+    void givenValidData_whenEncode_thenReturnsUrlSafeStringWithoutPadding() {
         // Given
-        var original = new PageCursor(SAMPLE_INSTANT, SAMPLE_ID);
-        var encoded = original.encode();
+        var cursor = new PageCursor("dateTimeUTC", SAMPLE_INSTANT, SAMPLE_ID);
 
         // When
-        var decoded = PageCursor.decode(encoded);
+        var encoded = cursor.encode();
 
         // Then
-        assertThat(decoded).isNotNull();
-        assertThat(decoded.dateTimeUTC()).isEqualTo(SAMPLE_INSTANT);
-        assertThat(decoded.id()).isEqualTo(SAMPLE_ID);
+        assertThat(encoded).isNotBlank().doesNotContain("=", "+", "/");
     }
 
     @Test
@@ -72,56 +86,135 @@ final class PageCursorTest {
     }
 
     @Test
-    void givenMalformedContent_whenDecode_thenThrowsIllegalArgumentException() {
-        // Given - valid Base64 but no separator
-        var encoded =
-                java.util.Base64.getUrlEncoder()
-                        .withoutPadding()
-                        .encodeToString("noseparator".getBytes());
+    void givenLegacyTextCursor_whenDecode_thenThrowsUnsupportedVersion() {
+        // Given - the previous "<instant>|<id>" text format
+        var encoded = encode("2025-06-15T10:30:00Z|42".getBytes(StandardCharsets.UTF_8));
 
         // When & Then
         assertThatThrownBy(() -> PageCursor.decode(encoded))
-                .isInstanceOf(IllegalArgumentException.class);
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported cursor version");
+    }
+
+    @Test
+    void givenUnknownValueType_whenDecode_thenThrowsIllegalArgumentException() {
+        // Given
+        var buffer = ByteBuffer.allocate(13);
+        buffer.put((byte) 1).put((byte) 2).put("id".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 'X').putLong(1L);
+
+        // When & Then
+        assertThatThrownBy(() -> PageCursor.decode(encode(buffer.array())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown cursor value type");
     }
 
     @Test
-    void givenInvalidTimestamp_whenDecode_thenThrowsIllegalArgumentException() {
+    void givenTruncatedCursor_whenDecode_thenThrowsIllegalArgumentException() {
         // Given
-        var encoded =
-                java.util.Base64.getUrlEncoder()
-                        .withoutPadding()
-                        .encodeToString("not-a-timestamp|42".getBytes());
+        var encoded = new PageCursor("volume", 250, 7L).encode();
+        var bytes = Base64.getUrlDecoder().decode(encoded);
+        var truncated = encode(Arrays.copyOf(bytes, bytes.length - 1));
+
+        // When & Then
+        assertThatThrownBy(() -> PageCursor.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor format");
+    }
+
+    @Test
+    void givenNegativeFieldLength_whenDecode_thenThrowsIllegalArgumentException() {
+        // Given
+        var encoded = encode(new byte[] {1, -1});
 
         // When & Then
         assertThatThrownBy(() -> PageCursor.decode(encoded))
-                .isInstanceOf(IllegalArgumentException.class);
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor format");
     }
 
     @Test
-    void givenInvalidId_whenDecode_thenThrowsIllegalArgumentException() {
+    void givenInstantOutOfRange_whenDecode_thenThrowsIllegalArgumentException() {
         // Given
-        var encoded =
-                java.util.Base64.getUrlEncoder()
-                        .withoutPadding()
-                        .encodeToString("2025-06-15T10:30:00Z|not-a-number".getBytes());
+        var buffer = ByteBuffer.allocate(24);
+        buffer.put((byte) 1).put((byte) 1).put((byte) 'd');
+        buffer.put((byte) 'T').putLong(Long.MAX_VALUE).putInt(0).putLong(1L);
+
+        // When & Then
+        assertThatThrownBy(() -> PageCursor.decode(encode(buffer.array())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor format");
+    }
+
+    @Test
+    void givenTrailingBytes_whenDecode_thenThrowsIllegalArgumentException() {
+        // Given
+        var bytes = Base64.getUrlDecoder().decode(new PageCursor("id", 1L, 1L).encode());
+        var encoded = encode(Arrays.copyOf(bytes, bytes.length + 1));
 
         // When & Then
         assertThatThrownBy(() -> PageCursor.decode(encoded))
-                .isInstanceOf(IllegalArgumentException.class);
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Trailing bytes");
+    }
+
+    @Test
+    void givenZeroIdInToken_whenDecode_thenThrowsIllegalArgumentException() {
+        // Given
+        var buffer = ByteBuffer.allocate(17);
+        buffer.put((byte) 1).put((byte) 2).put("id".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 'I').putInt(1).putLong(0L);
+
+        // When & Then
+        assertThatThrownBy(() -> PageCursor.decode(encode(buffer.array())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("id");
+    }
+
+    @Test
+    void givenNullSortField_whenConstruct_thenThrowsIllegalArgumentException() {
+        // When & Then
+        assertThatThrownBy(() -> new PageCursor(null, SAMPLE_INSTANT, SAMPLE_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sortField");
     }
 
     @Test
-    void givenNullDateTimeUTC_whenConstruct_thenThrowsIllegalArgumentException() {
+    void givenEmptySortField_whenConstruct_thenThrowsIllegalArgumentException() {
         // When & Then
-        assertThatThrownBy(() -> new PageCursor(null, SAMPLE_ID))
+        assertThatThrownBy(() -> new PageCursor("", SAMPLE_INSTANT, SAMPLE_ID))
                 .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("dateTimeUTC");
+                .hasMessageContaining("sortField");
+    }
+
+    @Test
+    void givenTooLongSortField_whenConstruct_thenThrowsIllegalArgumentException() {
+        // When & Then
+        assertThatThrownBy(() -> new PageCursor("x".repeat(65), SAMPLE_INSTANT, SAMPLE_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sortField");
+    }
+
+    @Test
+    void givenNullSortValue_whenConstruct_thenThrowsIllegalArgumentException() {
+        // When & Then
+        assertThatThrownBy(() -> new PageCursor("dateTimeUTC", null, SAMPLE_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sortValue");
+    }
+
+    @Test
+    void givenUnsupportedSortValueType_whenConstruct_thenThrowsIllegalArgumentException() {
+        // When & Then
+        assertThatThrownBy(() -> new PageCursor("volume", "250", SAMPLE_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sortValue");
     }
 
     @Test
     void givenNullId_whenConstruct_thenThrowsIllegalArgumentException() {
         // When & Then
-        assertThatThrownBy(() -> new PageCursor(SAMPLE_INSTANT, null))
+        assertThatThrownBy(() -> new PageCursor("dateTimeUTC", SAMPLE_INSTANT, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("id");
     }
@@ -129,7 +222,7 @@ final class PageCursorTest {
     @Test
     void givenZeroId_whenConstruct_thenThrowsIllegalArgumentException() {
         // When & Then
-        assertThatThrownBy(() -> new PageCursor(SAMPLE_INSTANT, 0L))
+        assertThatThrownBy(() -> new PageCursor("dateTimeUTC", SAMPLE_INSTANT, 0L))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("id");
     }
@@ -137,28 +230,12 @@ final class PageCursorTest {
     @Test
     void givenNegativeId_whenConstruct_thenThrowsIllegalArgumentException() {
         // When & Then
-        assertThatThrownBy(() -> new PageCursor(SAMPLE_INSTANT, -1L))
+        assertThatThrownBy(() -> new PageCursor("dateTimeUTC", SAMPLE_INSTANT, -1L))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("id");
     }
 
-    @Test
-    void givenRoundTrip_whenEncodeAndDecode_thenValuesPreserved() {
-        // Given
-        var instants =
-                new Instant[] {
-                    Instant.parse("2020-01-01T00:00:00Z"),
-                    Instant.parse("2025-12-31T23:59:59Z"),
-                    Instant.parse("2025-06-15T10:30:00.123456789Z")
-                };
-
-        for (Instant instant : instants) {
-            var original = new PageCursor(instant, 999L);
-            var decoded = PageCursor.decode(original.encode());
-
-            assertThat(decoded).isNotNull();
-            assertThat(decoded.dateTimeUTC()).isEqualTo(instant);
-            assertThat(decoded.id()).isEqualTo(999L);
-        }
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 }
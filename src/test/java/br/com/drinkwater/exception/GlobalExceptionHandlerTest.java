@@ -15,6 +15,7 @@ import br.com.drinkwater.config.security.ScopeAwareAccessDeniedHandler;
 import br.com.drinkwater.core.MessageResolver;
 import br.com.drinkwater.hydrationtracking.exception.DuplicateDateTimeException;
 import br.com.drinkwater.hydrationtracking.exception.WaterIntakeNotFoundException;
+import br.com.drinkwater.hydrationtracking.exception.WriteBehindQueueFullException;
 import br.com.drinkwater.usermanagement.exception.UserAlreadyExistsException;
 import br.com.drinkwater.usermanagement.exception.UserNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -42,6 +43,7 @@ import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
@@ -231,6 +233,35 @@ final class GlobalExceptionHandlerTest {
         assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("60");
     }
 
+    @Test
+    void handleWriteBehindQueueFullException_returnsServiceUnavailableWithRetryAfter() {
+        WriteBehindQueueFullException ex = new WriteBehindQueueFullException("Queue full");
+
+        ResponseEntity<Object> response = handler.handleWriteBehindQueueFullException(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody()).isInstanceOf(ProblemDetail.class);
+        ProblemDetail body = (ProblemDetail) response.getBody();
+        assertThat(body.getDetail()).isEqualTo(TEST_MESSAGE);
+        assertThat(body.getType()).hasToString(PROBLEM_DETAILS_BASE_URL + "/write-behind-full");
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void handleDatabaseBusyException_returnsServiceUnavailableWithRetryAfter() {
+        CannotCreateTransactionException ex =
+                new CannotCreateTransactionException("Could not open JDBC Connection");
+
+        ResponseEntity<Object> response = handler.handleDatabaseBusyException(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody()).isInstanceOf(ProblemDetail.class);
+        ProblemDetail body = (ProblemDetail) response.getBody();
+        assertThat(body.getDetail()).isEqualTo(TEST_MESSAGE);
+        assertThat(body.getType()).hasToString(PROBLEM_DETAILS_BASE_URL + "/database-busy");
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+    }
+
     @Test
     void handleAllExceptions_returnsInternalServerError() {
         Exception ex = new Exception("Unexpected");
@@ -1,5 +1,6 @@
 package br.com.drinkwater.hydrationtracking.constants;
 
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeFilterDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeResponseDTO;
@@ -7,6 +8,7 @@ import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
 import br.com.drinkwater.hydrationtracking.model.WaterIntake;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 public final class WaterIntakeTestConstants {
 
@@ -26,6 +28,9 @@ public final class WaterIntakeTestConstants {
     public static final WaterIntakeDTO WATER_INTAKE_DTO =
             new WaterIntakeDTO(DATE_TIME_UTC, VOLUME, VOLUME_UNIT);
 
+    public static final WaterIntakeBatchDTO WATER_INTAKE_BATCH_DTO =
+            new WaterIntakeBatchDTO(List.of(WATER_INTAKE_DTO, WATER_INTAKE_DTO));
+
     public static final WaterIntakeResponseDTO RESPONSE_WATER_INTAKE_DTO =
             new WaterIntakeResponseDTO(WATER_INTAKE_ID, DATE_TIME_UTC, VOLUME, VOLUME_UNIT);
 
@@ -42,8 +47,20 @@ public final class WaterIntakeTestConstants {
 
     public static final WaterIntake WATER_INTAKE;
 
+    public static final WaterIntake NEW_WATER_INTAKE;
+
+    public static final WaterIntake PREVIOUS_WATER_INTAKE;
+
     static {
         WATER_INTAKE =
                 new WaterIntake(WATER_INTAKE_ID, DATE_TIME_UTC, VOLUME, VOLUME_UNIT, USER_ID);
+        NEW_WATER_INTAKE = new WaterIntake(DATE_TIME_UTC, VOLUME, VOLUME_UNIT, USER_ID);
+        PREVIOUS_WATER_INTAKE =
+                new WaterIntake(
+                        WATER_INTAKE_ID,
+                        DATE_TIME_UTC.minus(1, ChronoUnit.HOURS),
+                        VOLUME * 2,
+                        VOLUME_UNIT,
+                        USER_ID);
     }
 }
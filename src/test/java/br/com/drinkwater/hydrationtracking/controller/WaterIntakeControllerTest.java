@@ -2,19 +2,42 @@ package br.com.drinkwater.hydrationtracking.controller;
 
 import static br.com.drinkwater.hydrationtracking.constants.WaterIntakeTestConstants.*;
 import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import br.com.drinkwater.api.v1.controller.WaterIntakeControllerV1;
 import br.com.drinkwater.config.TestMessageSourceConfig;
 import br.com.drinkwater.core.CursorPageResponse;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchItemDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchResponseDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeImportErrorDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeImportResponseDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryBucketDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryResponseDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeTodayFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeTodayResponseDTO;
+import br.com.drinkwater.hydrationtracking.exception.WriteBehindQueueFullException;
+import br.com.drinkwater.hydrationtracking.model.ExportFormat;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeExportService;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeImportService;
 import br.com.drinkwater.hydrationtracking.service.WaterIntakeService;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeSummaryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -23,6 +46,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -39,6 +63,12 @@ final class WaterIntakeControllerTest {
 
     @MockitoBean private WaterIntakeService waterIntakeService;
 
+    @MockitoBean private WaterIntakeSummaryService waterIntakeSummaryService;
+
+    @MockitoBean private WaterIntakeExportService waterIntakeExportService;
+
+    @MockitoBean private WaterIntakeImportService waterIntakeImportService;
+
     @Test
     void
             givenValidJwtTokenAndValidWaterIntakeDTO_whenCreateWaterIntake_thenReturnCreatedWaterIntakeResponse()
@@ -70,6 +100,163 @@ final class WaterIntakeControllerTest {
         expectWaterIntakeResponse(result);
     }
 
+    @Test
+    void givenRespondAsyncPreferenceAndWriteBehindEnabled_whenCreateWaterIntake_thenReturnAccepted()
+            throws Exception {
+        // Given
+        when(waterIntakeService.isWriteBehindEnabled()).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(
+                        post("/api/v1/users/water-intakes")
+                                .with(createJwt())
+                                .content(objectMapper.writeValueAsString(WATER_INTAKE_DTO))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Prefer", "return=minimal, RESPOND-ASYNC; wait=0")
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(content().string(""));
+
+        verify(waterIntakeService).enqueue(WATER_INTAKE_DTO, USER_UUID);
+        verify(waterIntakeService, never()).create(any(), any());
+    }
+
+    @Test
+    void givenRespondAsyncPreferenceAndWriteBehindDisabled_whenCreateWaterIntake_thenCreateNow()
+            throws Exception {
+        // Given
+        when(waterIntakeService.create(WATER_INTAKE_DTO, USER_UUID))
+                .thenReturn(RESPONSE_WATER_INTAKE_DTO);
+
+        // When & Then
+        mockMvc.perform(
+                        post("/api/v1/users/water-intakes")
+                                .with(createJwt())
+                                .content(objectMapper.writeValueAsString(WATER_INTAKE_DTO))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Prefer", "respond-async")
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Preference-Applied"));
+
+        verify(waterIntakeService, never()).enqueue(any(), any());
+    }
+
+    @Test
+    void givenOtherPreference_whenCreateWaterIntake_thenCreateNow() throws Exception {
+        // Given
+        when(waterIntakeService.create(WATER_INTAKE_DTO, USER_UUID))
+                .thenReturn(RESPONSE_WATER_INTAKE_DTO);
+
+        // When & Then
+        mockMvc.perform(
+                        post("/api/v1/users/water-intakes")
+                                .with(createJwt())
+                                .content(objectMapper.writeValueAsString(WATER_INTAKE_DTO))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Prefer", "return=minimal")
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isCreated());
+
+        verify(waterIntakeService, never()).isWriteBehindEnabled();
+    }
+
+    @Test
+    void givenWriteBehindQueueFull_whenCreateWaterIntake_thenReturnServiceUnavailable()
+            throws Exception {
+        // Given
+        when(waterIntakeService.isWriteBehindEnabled()).thenReturn(true);
+        doThrow(new WriteBehindQueueFullException("Queue full"))
+                .when(waterIntakeService)
+                .enqueue(WATER_INTAKE_DTO, USER_UUID);
+
+        // When & Then
+        mockMvc.perform(
+                        post("/api/v1/users/water-intakes")
+                                .with(createJwt())
+                                .content(objectMapper.writeValueAsString(WATER_INTAKE_DTO))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Prefer", "respond-async")
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void givenValidJwtTokenAndValidBatch_whenCreateWaterIntakesInBatch_thenReturnPerItemResults()
+            throws Exception {
+        // Given
+        when(waterIntakeService.createAll(WATER_INTAKE_BATCH_DTO, USER_UUID))
+                .thenReturn(
+                        new WaterIntakeBatchResponseDTO(
+                                1,
+                                1,
+                                List.of(
+                                        new WaterIntakeBatchItemDTO(
+                                                0,
+                                                WaterIntakeBatchItemDTO.Status.CREATED,
+                                                RESPONSE_WATER_INTAKE_DTO),
+                                        new WaterIntakeBatchItemDTO(
+                                                1,
+                                                WaterIntakeBatchItemDTO.Status.DUPLICATE,
+                                                null))));
+
+        // When & Then
+        mockMvc.perform(
+                        post("/api/v1/users/water-intakes/batch")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entry:create")))
+                                .content(objectMapper.writeValueAsString(WATER_INTAKE_BATCH_DTO))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(
+                        jsonPath("$.results[0].waterIntake.id")
+                                .value(RESPONSE_WATER_INTAKE_DTO.id()))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("DUPLICATE"));
+    }
+
+    @Test
+    void givenValidJwtTokenAndEmptyBatch_whenCreateWaterIntakesInBatch_thenReturnBadRequest()
+            throws Exception {
+        // When & Then
+        mockMvc.perform(
+                        post("/api/v1/users/water-intakes/batch")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entry:create")))
+                                .content(
+                                        objectMapper.writeValueAsString(
+                                                new WaterIntakeBatchDTO(List.of())))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(waterIntakeService);
+    }
+
     @Test
     void givenValidJwtTokenAndExistingId_whenFindWaterIntakeById_thenReturnWaterIntakeResponse()
             throws Exception {
@@ -208,6 +395,267 @@ final class WaterIntakeControllerTest {
                 .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
+    @Test
+    void givenValidJwtTokenAndValidPeriod_whenSummarizeWaterIntakes_thenReturnSummaryResponse()
+            throws Exception {
+        // Given
+        var periodStart = LocalDate.now().minusDays(1);
+        var filterDTO =
+                new WaterIntakeSummaryFilterDTO(
+                        periodStart, LocalDate.now(), "day", "America/Sao_Paulo");
+        when(waterIntakeSummaryService.summarize(filterDTO, USER_UUID))
+                .thenReturn(
+                        new WaterIntakeSummaryResponseDTO(
+                                "day",
+                                "America/Sao_Paulo",
+                                2000,
+                                List.of(
+                                        new WaterIntakeSummaryBucketDTO(
+                                                periodStart, 1500, 6, 2000, 0.75, false))));
+
+        // When & Then
+        mockMvc.perform(
+                        get("/api/v1/users/water-intakes/summary")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entries:search")))
+                                .param("startDate", periodStart.toString())
+                                .param("endDate", LocalDate.now().toString())
+                                .param("granularity", "day")
+                                .param("tz", "America/Sao_Paulo")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("day"))
+                .andExpect(jsonPath("$.tz").value("America/Sao_Paulo"))
+                .andExpect(jsonPath("$.dailyGoal").value(2000))
+                .andExpect(jsonPath("$.buckets[0].periodStart").value(periodStart.toString()))
+                .andExpect(jsonPath("$.buckets[0].totalVolume").value(1500))
+                .andExpect(jsonPath("$.buckets[0].intakeCount").value(6))
+                .andExpect(jsonPath("$.buckets[0].goal").value(2000))
+                .andExpect(jsonPath("$.buckets[0].goalAttainment").value(0.75))
+                .andExpect(jsonPath("$.buckets[0].goalMet").value(false));
+    }
+
+    @Test
+    void givenInvalidTimeZone_whenSummarizeWaterIntakes_thenReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(
+                        get("/api/v1/users/water-intakes/summary")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entries:search")))
+                                .param("startDate", LocalDate.now().toString())
+                                .param("endDate", LocalDate.now().toString())
+                                .param("tz", "Mars/Olympus_Mons")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(waterIntakeSummaryService);
+    }
+
+    @Test
+    void givenValidJwtTokenAndTimeZone_whenGetToday_thenReturnTodayProgress() throws Exception {
+        // Given
+        var today = LocalDate.now();
+        when(waterIntakeSummaryService.today(
+                        new WaterIntakeTodayFilterDTO("America/Sao_Paulo"), USER_UUID))
+                .thenReturn(
+                        new WaterIntakeTodayResponseDTO(
+                                today, "America/Sao_Paulo", 1750, 7, 2000, 250, 0.875, false));
+
+        // When & Then
+        mockMvc.perform(
+                        get("/api/v1/users/water-intakes/today")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entries:search")))
+                                .param("tz", "America/Sao_Paulo")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.date").value(today.toString()))
+                .andExpect(jsonPath("$.tz").value("America/Sao_Paulo"))
+                .andExpect(jsonPath("$.totalVolume").value(1750))
+                .andExpect(jsonPath("$.intakeCount").value(7))
+                .andExpect(jsonPath("$.dailyGoal").value(2000))
+                .andExpect(jsonPath("$.remainingVolume").value(250))
+                .andExpect(jsonPath("$.goalAttainment").value(0.875))
+                .andExpect(jsonPath("$.goalMet").value(false));
+    }
+
+    @Test
+    void givenInvalidTimeZone_whenGetToday_thenReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(
+                        get("/api/v1/users/water-intakes/today")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entries:search")))
+                                .param("tz", "+03:00")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(waterIntakeSummaryService);
+    }
+
+    @Test
+    void givenValidJwtTokenAndCsvFormat_whenExport_thenStreamCsvAttachment() throws Exception {
+        // Given
+        when(waterIntakeExportService.export(ExportFormat.CSV, USER_UUID))
+                .thenReturn(
+                        outputStream ->
+                                outputStream.write(
+                                        "id,dateTimeUTC,volume,volumeUnit\n"
+                                                .getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        var asyncResult =
+                mockMvc.perform(
+                                get("/api/v1/users/water-intakes/export")
+                                        .with(
+                                                jwt().jwt(
+                                                                builder ->
+                                                                        builder.claim(
+                                                                                "sub",
+                                                                                USER_UUID
+                                                                                        .toString()))
+                                                        .authorities(
+                                                                new SimpleGrantedAuthority(
+                                                                        "SCOPE_drinkwater:v1:waterintake:entries:search")))
+                                        .param("format", "CSV")
+                                        .header("Accept-Language", "en-US"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+        // Then
+        assertThat(asyncResult.getRequest().getAsyncContext().getTimeout())
+                .isEqualTo(WaterIntakeExportService.TIMEOUT.toMillis());
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(
+                        header().string(
+                                        "Content-Disposition",
+                                        "attachment; filename=\"water-intakes.csv\""))
+                .andExpect(content().string("id,dateTimeUTC,volume,volumeUnit\n"));
+    }
+
+    @Test
+    void givenUnsupportedFormat_whenExport_thenReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(
+                        get("/api/v1/users/water-intakes/export")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entries:search")))
+                                .param("format", "xml")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(waterIntakeExportService);
+    }
+
+    @Test
+    void givenValidJwtTokenAndNdjsonBody_whenImport_thenReturnImportReport() throws Exception {
+        // Given
+        when(waterIntakeImportService.importHistory(eq(ExportFormat.NDJSON), any(), eq(USER_UUID)))
+                .thenReturn(
+                        new WaterIntakeImportResponseDTO(
+                                2,
+                                1,
+                                1,
+                                0,
+                                List.of(
+                                        new WaterIntakeImportErrorDTO(
+                                                2,
+                                                WaterIntakeImportErrorDTO.Reason.DUPLICATE,
+                                                List.of("duplicate")))));
+
+        // When & Then
+        mockMvc.perform(
+                        post("/api/v1/users/water-intakes/import")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entry:create")))
+                                .content(
+                                        """
+                                        {"dateTimeUTC":"2025-06-01T08:00:00Z","volume":250,"volumeUnit":"ML"}
+                                        {"dateTimeUTC":"2025-06-01T08:00:00Z","volume":250,"volumeUnit":"ML"}
+                                        """)
+                                .contentType("application/x-ndjson")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].reason").value("DUPLICATE"));
+    }
+
+    @Test
+    void givenUnsupportedContentType_whenImport_thenReturnUnsupportedMediaType() throws Exception {
+        // When & Then
+        mockMvc.perform(
+                        post("/api/v1/users/water-intakes/import")
+                                .with(
+                                        jwt().jwt(
+                                                        builder ->
+                                                                builder.claim(
+                                                                        "sub",
+                                                                        USER_UUID.toString()))
+                                                .authorities(
+                                                        new SimpleGrantedAuthority(
+                                                                "SCOPE_drinkwater:v1:waterintake:entry:create")))
+                                .content("<intakes/>")
+                                .contentType(MediaType.APPLICATION_XML)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header("Accept-Language", "en-US"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(waterIntakeImportService);
+    }
+
     @Test
     void givenJwtWithoutRequiredScope_whenCreateWaterIntake_thenReturnForbidden() throws Exception {
         // When & Then
@@ -242,7 +690,9 @@ final class WaterIntakeControllerTest {
                                                                 "SCOPE_drinkwater:v1:user:profile:read")))
                                 .accept(MediaType.APPLICATION_JSON)
                                 .header("Accept-Language", "en-US"))
-                .andExpect(status().isForbidden());
+                .andExpect(status().isForbidden())
+                .andExpect(
+                        jsonPath("$.required_scope").value("drinkwater:v1:waterintake:entry:read"));
     }
 
     @Test
@@ -269,4 +719,10 @@ final class WaterIntakeControllerTest {
                         jsonPath("$.volumeUnit")
                                 .value(RESPONSE_WATER_INTAKE_DTO.volumeUnit().toString()));
     }
+
+    private static SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor createJwt() {
+        return jwt().jwt(builder -> builder.claim("sub", USER_UUID.toString()))
+                .authorities(
+                        new SimpleGrantedAuthority("SCOPE_drinkwater:v1:waterintake:entry:create"));
+    }
 }
@@ -0,0 +1,22 @@
+package br.com.drinkwater.hydrationtracking.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+final class WaterIntakeExportFilterDTOTest {
+
+    @Test
+    void givenNullFormat_whenCreated_thenDefaultsToNdjson() {
+        var dto = new WaterIntakeExportFilterDTO(null);
+
+        assertThat(dto.format()).isEqualTo("ndjson");
+    }
+
+    @Test
+    void givenUppercaseFormat_whenCreated_thenConvertsToLowerCase() {
+        var dto = new WaterIntakeExportFilterDTO("CSV");
+
+        assertThat(dto.format()).isEqualTo("csv");
+    }
+}
@@ -7,8 +7,17 @@ import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TES
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
 
 import br.com.drinkwater.config.MockContainersConfig;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository;
 import br.com.drinkwater.support.MockTestAuthProvider;
 import io.restassured.RestAssured;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Locale;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +50,10 @@ final class WaterIntakeApiNoContainersIT {
 
     @Autowired private MessageSource messageSource;
 
+    @Autowired private WaterIntakeArchiveRepository archiveRepository;
+
+    @Autowired private WaterIntakeDailyTotalsRepository dailyTotalsRepository;
+
     @BeforeEach
     void setup() {
         RestAssured.port = port;
@@ -232,4 +245,50 @@ final class WaterIntakeApiNoContainersIT {
                 .body("type", equalTo("https://www.drinkwater.com.br/time-range-validation-error"))
                 .body("status", equalTo(400));
     }
+
+    @Test
+    void givenArchivedMonth_whenImportIntoIt_thenSummaryIncludesImportedRecords() {
+
+        // Given
+        String token = authProvider.getJohnDoeToken();
+        var month = YearMonth.of(2020, 5);
+        archiveRepository.saveMonth(
+                1L,
+                month,
+                List.of(
+                        new WaterIntake(
+                                900L,
+                                Instant.parse("2020-05-10T08:00:00Z"),
+                                500,
+                                VolumeUnit.ML,
+                                1L)),
+                Instant.now());
+        dailyTotalsRepository.applyDelta(1L, "UTC", LocalDate.parse("2020-05-10"), 500, 1);
+
+        // When
+        given().header("Authorization", "Bearer " + token)
+                .contentType("application/x-ndjson")
+                .body(
+                        "{\"dateTimeUTC\":\"2020-05-11T08:00:00Z\",\"volume\":250,\"volumeUnit\":\"ML\"}"
+                                .getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/api/v1/users/water-intakes/import")
+                .then()
+                .statusCode(200)
+                .body("imported", equalTo(1));
+
+        // Then
+        given().header("Authorization", "Bearer " + token)
+                .queryParam("startDate", "2020-05-01")
+                .queryParam("endDate", "2020-05-31")
+                .queryParam("granularity", "month")
+                .queryParam("tz", "UTC")
+                .when()
+                .get("/api/v1/users/water-intakes/summary")
+                .then()
+                .statusCode(200)
+                .body("buckets", hasSize(1))
+                .body("buckets[0].totalVolume", equalTo(750))
+                .body("buckets[0].intakeCount", equalTo(2));
+    }
 }
@@ -0,0 +1,65 @@
+package br.com.drinkwater.hydrationtracking.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+final class ExportFormatTest {
+
+    private static Stream<Arguments> formats() {
+        return Stream.of(
+                Arguments.of(
+                        "ndjson",
+                        ExportFormat.NDJSON,
+                        "application/x-ndjson",
+                        "water-intakes.ndjson"),
+                Arguments.of("csv", ExportFormat.CSV, "text/csv", "water-intakes.csv"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void givenValue_whenFromValue_thenReturnFormatWithMediaTypeAndFileName(
+            String value, ExportFormat expected, String mediaType, String fileName) {
+        // When
+        var format = ExportFormat.fromValue(value);
+
+        // Then
+        assertThat(format).isEqualTo(expected);
+        assertThat(format.getMediaType()).isEqualTo(mediaType);
+        assertThat(format.getFileName()).isEqualTo(fileName);
+    }
+
+    @Test
+    void givenInvalidValue_whenFromValue_thenThrowIllegalArgumentException() {
+        // When & Then
+        assertThatThrownBy(() -> ExportFormat.fromValue("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+            delimiter = '|',
+            value = {"application/x-ndjson|NDJSON", "text/csv|CSV", "TEXT/CSV; charset=UTF-8|CSV"})
+    void givenContentType_whenFromMediaType_thenReturnFormat(
+            String contentType, ExportFormat expected) {
+        // When
+        var format = ExportFormat.fromMediaType(contentType);
+
+        // Then
+        assertThat(format).isEqualTo(expected);
+    }
+
+    @Test
+    void givenUnsupportedContentType_whenFromMediaType_thenThrowIllegalArgumentException() {
+        // When & Then
+        assertThatThrownBy(() -> ExportFormat.fromMediaType("application/json"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("application/json");
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.drinkwater.hydrationtracking.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.drinkwater.core.PageCursor;
+import java.time.Instant;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+final class SearchSortFieldTest {
+
+    private static final Instant DATE_TIME = Instant.parse("2025-06-15T10:30:00Z");
+    private static final WaterIntake WATER_INTAKE =
+            new WaterIntake(7L, DATE_TIME, 250, VolumeUnit.ML, 1L);
+
+    private static Stream<Arguments> sortFields() {
+        return Stream.of(
+                Arguments.of("id", SearchSortField.ID, "id", 7L),
+                Arguments.of(
+                        "dateTimeUTC", SearchSortField.DATE_TIME_UTC, "date_time_utc", DATE_TIME),
+                Arguments.of("volume", SearchSortField.VOLUME, "volume", 250),
+                Arguments.of("volumeUnit", SearchSortField.VOLUME_UNIT, "volume_unit", 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortFields")
+    void givenFieldName_whenFromFieldName_thenReturnSortFieldWithColumn(
+            String fieldName, SearchSortField expected, String column, Object ignored) {
+        // When
+        var sut = SearchSortField.fromFieldName(fieldName);
+
+        // Then
+        assertThat(sut).isEqualTo(expected);
+        assertThat(sut.getFieldName()).isEqualTo(fieldName);
+        assertThat(sut.getColumn()).isEqualTo(column);
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortFields")
+    void givenWaterIntake_whenCursorAfter_thenCursorCarriesTypedSortValueAndIsAccepted(
+            String fieldName, SearchSortField sortField, String ignored, Object sortValue) {
+        // When
+        var sut = sortField.cursorAfter(WATER_INTAKE);
+
+        // Then
+        assertThat(sut).isEqualTo(new PageCursor(fieldName, sortValue, 7L));
+        assertThat(sortField.accepts(sut)).isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortFields")
+    void givenLaterRecord_whenAscendingAndCompareToCursor_thenSortAfterTheCursorRecord(
+            String fieldName, SearchSortField sortField, String column, Object sortValue) {
+        // Given
+        var later = new WaterIntake(8L, DATE_TIME.plusSeconds(1), 300, VolumeUnit.ML, 1L);
+        var cursor = sortField.cursorAfter(WATER_INTAKE);
+
+        // When
+        var sut = sortField.ascending();
+
+        // Then
+        assertThat(sut.compare(WATER_INTAKE, later)).isNegative();
+        assertThat(sut.compare(later, WATER_INTAKE)).isPositive();
+        assertThat(sortField.compareToCursor(later, cursor)).isPositive();
+        assertThat(sortField.compareToCursor(WATER_INTAKE, cursor)).isZero();
+    }
+
+    @Test
+    void givenNullOrUnknownFieldName_whenFromFieldName_thenDefaultToDateTimeUTC() {
+        assertThat(SearchSortField.fromFieldName(null)).isEqualTo(SearchSortField.DATE_TIME_UTC);
+        assertThat(SearchSortField.fromFieldName("user_id"))
+                .isEqualTo(SearchSortField.DATE_TIME_UTC);
+    }
+
+    @Test
+    void givenCursorForAnotherField_whenAccepts_thenReturnFalse() {
+        // Given
+        var volumeCursor = new PageCursor("volume", 250, 7L);
+
+        // When & Then
+        assertThat(SearchSortField.VOLUME_UNIT.accepts(volumeCursor)).isFalse();
+    }
+
+    @Test
+    void givenCursorWithWrongValueType_whenAccepts_thenReturnFalse() {
+        // Given
+        var forged = new PageCursor("volume", DATE_TIME, 7L);
+
+        // When & Then
+        assertThat(SearchSortField.VOLUME.accepts(forged)).isFalse();
+    }
+
+    @Test
+    void givenTransientWaterIntake_whenCursorAfter_thenThrowNullPointerException() {
+        // Given
+        var transientIntake = new WaterIntake(DATE_TIME, 250, VolumeUnit.ML, 1L);
+
+        // When & Then
+        assertThatThrownBy(() -> SearchSortField.ID.cursorAfter(transientIntake))
+                .isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.drinkwater.hydrationtracking.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+final class SummaryGranularityTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2025, 1, 27);
+
+    private static Stream<Arguments> granularities() {
+        return Stream.of(
+                Arguments.of("day", SummaryGranularity.DAY, LocalDate.of(2025, 1, 28)),
+                Arguments.of("week", SummaryGranularity.WEEK, LocalDate.of(2025, 2, 3)),
+                Arguments.of("month", SummaryGranularity.MONTH, LocalDate.of(2025, 2, 27)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("granularities")
+    void givenValue_whenFromValue_thenReturnCorrectGranularity(
+            String value, SummaryGranularity expected, LocalDate ignored) {
+        assertThat(SummaryGranularity.fromValue(value)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("granularities")
+    void givenPeriodStart_whenNextPeriodStart_thenAdvanceOneBucket(
+            String ignored, SummaryGranularity granularity, LocalDate expected) {
+        assertThat(granularity.nextPeriodStart(PERIOD_START)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("periodStarts")
+    void givenDate_whenPeriodStartOf_thenReturnFirstDayOfItsBucket(
+            SummaryGranularity granularity, LocalDate expected) {
+        assertThat(granularity.periodStartOf(LocalDate.of(2025, 1, 30))).isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> periodStarts() {
+        return Stream.of(
+                Arguments.of(SummaryGranularity.DAY, LocalDate.of(2025, 1, 30)),
+                Arguments.of(SummaryGranularity.WEEK, PERIOD_START),
+                Arguments.of(SummaryGranularity.MONTH, LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void givenInvalidValue_whenFromValue_thenThrowIllegalArgumentException() {
+        // When & Then
+        assertThatThrownBy(() -> SummaryGranularity.fromValue("year"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+
+final class WaterIntakeArchiveCodecTest {
+
+    private static final long USER_ID = 42L;
+
+    @Test
+    void givenRecords_whenEncodeAndDecode_thenRestoresEveryField() {
+        // Given
+        var records =
+                List.of(
+                        new WaterIntake(
+                                900L,
+                                Instant.parse("1969-12-31T23:59:59.999999Z"),
+                                1,
+                                VolumeUnit.ML,
+                                USER_ID),
+                        new WaterIntake(
+                                7L, Instant.parse("2024-03-01T00:00:00Z"), 250, VolumeUnit.ML, 1L),
+                        new WaterIntake(
+                                8L,
+                                Instant.parse("2024-03-31T23:59:59.123456Z"),
+                                5_000,
+                                VolumeUnit.ML,
+                                1L));
+
+        // When
+        var sut = WaterIntakeArchiveCodec.decode(WaterIntakeArchiveCodec.encode(records), USER_ID);
+
+        // Then
+        assertThat(sut)
+                .extracting(
+                        WaterIntake::getId,
+                        WaterIntake::getDateTimeUTC,
+                        WaterIntake::getVolume,
+                        WaterIntake::getVolumeUnit,
+                        WaterIntake::getUserId)
+                .containsExactly(
+                        tuple(
+                                900L,
+                                Instant.parse("1969-12-31T23:59:59.999999Z"),
+                                1,
+                                VolumeUnit.ML,
+                                USER_ID),
+                        tuple(
+                                7L,
+                                Instant.parse("2024-03-01T00:00:00Z"),
+                                250,
+                                VolumeUnit.ML,
+                                USER_ID),
+                        tuple(
+                                8L,
+                                Instant.parse("2024-03-31T23:59:59.123456Z"),
+                                5_000,
+                                VolumeUnit.ML,
+                                USER_ID));
+    }
+
+    @Test
+    void givenNoRecords_whenEncodeAndDecode_thenReturnsEmptyList() {
+        // When
+        var sut = WaterIntakeArchiveCodec.decode(WaterIntakeArchiveCodec.encode(List.of()), 1L);
+
+        // Then
+        assertThat(sut).isEmpty();
+    }
+
+    @Test
+    void givenUnknownVersion_whenDecode_thenThrowsIllegalStateException() {
+        // Given
+        var payload = deflate(2, 0);
+
+        // When & Then
+        assertThatThrownBy(() -> WaterIntakeArchiveCodec.decode(payload, USER_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("version 2");
+    }
+
+    @Test
+    void givenTruncatedPayload_whenDecode_thenThrowsIllegalStateException() {
+        // Given
+        var records =
+                List.of(
+                        new WaterIntake(
+                                1L, Instant.parse("2024-03-01T00:00:00Z"), 250, VolumeUnit.ML, 1L));
+        var encoded = WaterIntakeArchiveCodec.encode(records);
+        var payload = Arrays.copyOf(encoded, encoded.length / 2);
+
+        // When & Then
+        assertThatThrownBy(() -> WaterIntakeArchiveCodec.decode(payload, USER_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void givenDataThatIsNotDeflate_whenDecode_thenThrowsIllegalStateException() {
+        // Given
+        var payload = new byte[] {1, 2, 3, 4};
+
+        // When & Then
+        assertThatThrownBy(() -> WaterIntakeArchiveCodec.decode(payload, USER_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Corrupt");
+    }
+
+    @Test
+    void givenCountBeyondTheData_whenDecode_thenThrowsIllegalStateException() {
+        // Given
+        var payload = deflate(1, 100, 0);
+
+        // When & Then
+        assertThatThrownBy(() -> WaterIntakeArchiveCodec.decode(payload, USER_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Corrupt");
+    }
+
+    @Test
+    void givenVarintLongerThan64Bits_whenDecode_thenThrowsIllegalStateException() {
+        // Given
+        var payload = deflate(1, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01);
+
+        // When & Then
+        assertThatThrownBy(() -> WaterIntakeArchiveCodec.decode(payload, USER_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Corrupt");
+    }
+
+    private static byte[] deflate(int... bytes) {
+        var raw = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            raw[i] = (byte) bytes[i];
+        }
+        var deflater = new Deflater();
+        deflater.setInput(raw);
+        deflater.finish();
+        var out = new ByteArrayOutputStream();
+        var buffer = new byte[64];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}
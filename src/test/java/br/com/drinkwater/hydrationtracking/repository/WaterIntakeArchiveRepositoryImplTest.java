@@ -0,0 +1,367 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository.ArchiveCandidate;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository.ArchivedMonth;
+import br.com.drinkwater.usermanagement.model.User;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(WaterIntakeArchiveRepositoryImpl.class)
+final class WaterIntakeArchiveRepositoryImplTest {
+
+    private static final Instant CUTOFF = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant ARCHIVED_AT = Instant.parse("2026-01-15T12:00:00Z");
+    private static final YearMonth JANUARY = YearMonth.of(2023, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2023, 2);
+    private static final YearMonth MARCH = YearMonth.of(2023, 3);
+
+    @Autowired private WaterIntakeArchiveRepositoryImpl archiveRepository;
+
+    @Autowired private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(createTestUser());
+    }
+
+    @Test
+    void givenOldRecordsOfLiveAndTombstonedUsers_whenFindCandidates_thenReturnsLiveUserMonths() {
+        // Given
+        var template = createTestUser();
+        var tombstoned =
+                userRepository.save(
+                        new User(
+                                UUID.fromString("7a1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e"),
+                                "tombstoned@example.com",
+                                template.getPersonal(),
+                                template.getPhysical(),
+                                template.getSettings()));
+        jdbcTemplate.update(
+                "UPDATE users SET deleted_at = :now WHERE id = :id",
+                new MapSqlParameterSource()
+                        .addValue("now", Timestamp.from(ARCHIVED_AT))
+                        .addValue("id", tombstoned.getId()));
+        save(testUser, "2023-01-15T08:00:00Z");
+        save(testUser, "2023-01-20T08:00:00Z");
+        save(testUser, "2023-03-01T00:00:00Z");
+        save(testUser, "2024-01-01T00:00:00Z");
+        save(tombstoned, "2023-02-10T08:00:00Z");
+
+        // When
+        var all = archiveRepository.findCandidates(CUTOFF, 10);
+        var first = archiveRepository.findCandidates(CUTOFF, 1);
+
+        // Then
+        assertThat(all)
+                .containsExactly(
+                        new ArchiveCandidate(testUser.getId(), JANUARY),
+                        new ArchiveCandidate(testUser.getId(), MARCH));
+        assertThat(first).containsExactly(new ArchiveCandidate(testUser.getId(), JANUARY));
+    }
+
+    @Test
+    void givenHotMonth_whenSavedAndDeleted_thenTheArchiveReturnsTheSameRecords() {
+        // Given
+        save(testUser, "2022-12-31T23:59:59Z");
+        var second = save(testUser, "2023-01-31T23:59:59.999999Z");
+        var first = save(testUser, "2023-01-01T00:00:00Z");
+        save(testUser, "2023-02-01T00:00:00Z");
+
+        // When
+        archiveRepository.lockUser(testUser.getId());
+        var hot = archiveRepository.findHotMonthForUpdate(testUser.getId(), JANUARY);
+        archiveRepository.saveMonth(testUser.getId(), JANUARY, hot, ARCHIVED_AT);
+        int deleted =
+                archiveRepository.deleteHot(
+                        testUser.getId(), hot.stream().map(WaterIntake::getId).toList());
+
+        // Then
+        assertThat(hot)
+                .extracting(WaterIntake::getId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(deleted).isEqualTo(2);
+        assertThat(archiveRepository.findHotMonthForUpdate(testUser.getId(), JANUARY)).isEmpty();
+        assertThat(archiveRepository.findArchivedMonths(testUser.getId())).containsExactly(JANUARY);
+        assertThat(archiveRepository.findArchivedRecords(testUser.getId(), JANUARY, JANUARY))
+                .extracting(WaterIntake::getId, WaterIntake::getDateTimeUTC)
+                .containsExactly(
+                        tuple(first.getId(), first.getDateTimeUTC()),
+                        tuple(second.getId(), second.getDateTimeUTC()));
+        assertThat(waterIntakeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenArchivedMonth_whenSaveMonthAgain_thenReplacesTheRow() {
+        // Given
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                JANUARY,
+                List.of(record(1L, "2023-01-10T08:00:00Z")),
+                ARCHIVED_AT);
+
+        // When
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                JANUARY,
+                List.of(record(1L, "2023-01-10T08:00:00Z"), record(2L, "2023-01-11T08:00:00Z")),
+                ARCHIVED_AT.plusSeconds(60));
+
+        // Then
+        assertThat(archiveRepository.findArchivedRecords(testUser.getId(), null, null))
+                .extracting(WaterIntake::getId)
+                .containsExactly(1L, 2L);
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT intake_count FROM water_intake_archive WHERE user_id ="
+                                        + " :userId",
+                                new MapSqlParameterSource("userId", testUser.getId()),
+                                Integer.class))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void givenSeveralArchivedMonths_whenFindArchivedRecordsWithOneBound_thenHonorsTheBound() {
+        // Given
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                JANUARY,
+                List.of(record(1L, "2023-01-10T08:00:00Z")),
+                ARCHIVED_AT);
+        archiveRepository.saveMonth(
+                testUser.getId(), MARCH, List.of(record(3L, "2023-03-10T08:00:00Z")), ARCHIVED_AT);
+
+        // When
+        var fromFebruary = archiveRepository.findArchivedRecords(testUser.getId(), FEBRUARY, null);
+        var toFebruary = archiveRepository.findArchivedRecords(testUser.getId(), null, FEBRUARY);
+
+        // Then
+        assertThat(fromFebruary).extracting(WaterIntake::getId).containsExactly(3L);
+        assertThat(toFebruary).extracting(WaterIntake::getId).containsExactly(1L);
+        assertThat(toFebruary.getFirst().getUserId()).isEqualTo(testUser.getId());
+    }
+
+    @Test
+    void givenArchivedMonths_whenFindMonthSummaries_thenReturnsTheRangesOfTheMonthsInBounds() {
+        // Given
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                JANUARY,
+                List.of(
+                        new WaterIntake(
+                                7L,
+                                Instant.parse("2023-01-10T08:00:00Z"),
+                                500,
+                                VolumeUnit.ML,
+                                testUser.getId()),
+                        new WaterIntake(
+                                3L,
+                                Instant.parse("2023-01-11T08:00:00Z"),
+                                120,
+                                VolumeUnit.ML,
+                                testUser.getId())),
+                ARCHIVED_AT);
+        archiveRepository.saveMonth(
+                testUser.getId(), MARCH, List.of(record(9L, "2023-03-10T08:00:00Z")), ARCHIVED_AT);
+
+        // When
+        var all = archiveRepository.findMonthSummaries(testUser.getId(), null, null);
+        var toFebruary = archiveRepository.findMonthSummaries(testUser.getId(), null, FEBRUARY);
+
+        // Then
+        assertThat(all)
+                .containsExactly(
+                        new ArchivedMonth(JANUARY, 2, 3L, 7L, 120, 500),
+                        new ArchivedMonth(MARCH, 1, 9L, 9L, 250, 250));
+        assertThat(toFebruary).containsExactly(new ArchivedMonth(JANUARY, 2, 3L, 7L, 120, 500));
+    }
+
+    @Test
+    void givenArchivedMonths_whenFindArchivedById_thenFindsTheRecordInTheMonthOfItsIdRange() {
+        // Given
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                JANUARY,
+                List.of(record(1L, "2023-01-10T08:00:00Z"), record(4L, "2023-01-11T08:00:00Z")),
+                ARCHIVED_AT);
+        archiveRepository.saveMonth(
+                testUser.getId(), MARCH, List.of(record(3L, "2023-03-10T08:00:00Z")), ARCHIVED_AT);
+
+        // When
+        var found = archiveRepository.findArchivedById(testUser.getId(), 3L);
+        var gap = archiveRepository.findArchivedById(testUser.getId(), 2L);
+        var otherUser = archiveRepository.findArchivedById(testUser.getId() + 1, 3L);
+
+        // Then
+        assertThat(found)
+                .get()
+                .extracting(WaterIntake::getDateTimeUTC)
+                .isEqualTo(Instant.parse("2023-03-10T08:00:00Z"));
+        assertThat(gap).isEmpty();
+        assertThat(otherUser).isEmpty();
+    }
+
+    @Test
+    void givenArchivedMonth_whenRestore_thenMovesTheRecordBackAndRewritesTheMonth() {
+        // Given
+        var first = save(testUser, "2023-01-10T08:00:00Z");
+        var second = save(testUser, "2023-01-11T08:00:00Z");
+        var hot = archiveRepository.findHotMonthForUpdate(testUser.getId(), JANUARY);
+        archiveRepository.saveMonth(testUser.getId(), JANUARY, hot, ARCHIVED_AT);
+        archiveRepository.deleteHot(
+                testUser.getId(), hot.stream().map(WaterIntake::getId).toList());
+
+        // When
+        var restored = archiveRepository.restore(testUser.getId(), first.getId());
+        var missing = archiveRepository.restore(testUser.getId(), first.getId());
+
+        // Then
+        assertThat(restored).contains(first);
+        assertThat(missing).isEmpty();
+        assertThat(waterIntakeRepository.findByIdAndUserId(first.getId(), testUser.getId()))
+                .get()
+                .extracting(WaterIntake::getDateTimeUTC, WaterIntake::getVolume)
+                .containsExactly(first.getDateTimeUTC(), first.getVolume());
+        assertThat(archiveRepository.findArchivedRecords(testUser.getId(), null, null))
+                .containsExactly(second);
+        assertThat(archiveRepository.findMonthSummaries(testUser.getId(), null, null))
+                .extracting(ArchivedMonth::intakeCount, ArchivedMonth::minId)
+                .containsExactly(tuple(1, second.getId()));
+    }
+
+    @Test
+    void givenLastRecordOfAMonth_whenRestore_thenRemovesTheMonth() {
+        // Given
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                JANUARY,
+                List.of(record(1L, "2023-01-10T08:00:00Z")),
+                ARCHIVED_AT);
+
+        // When
+        var restored = archiveRepository.restore(testUser.getId(), 1L);
+
+        // Then
+        assertThat(restored).isPresent();
+        assertThat(archiveRepository.findArchivedMonths(testUser.getId())).isEmpty();
+        assertThat(waterIntakeRepository.findByIdAndUserId(1L, testUser.getId())).isPresent();
+    }
+
+    @Test
+    void givenNoArchivedMonthCanHoldTheId_whenRestore_thenReturnsEmptyWithoutLockingTheUser() {
+        // Given
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                JANUARY,
+                List.of(record(1L, "2023-01-10T08:00:00Z"), record(3L, "2023-01-11T08:00:00Z")),
+                ARCHIVED_AT);
+        var sut = spy(new WaterIntakeArchiveRepositoryImpl(jdbcTemplate));
+
+        // When
+        var outsideRange = sut.restore(testUser.getId(), 4L);
+        var insideRange = sut.restore(testUser.getId(), 2L);
+
+        // Then
+        assertThat(outsideRange).isEmpty();
+        assertThat(insideRange).isEmpty();
+        verify(sut, times(1)).lockUser(testUser.getId());
+        assertThat(archiveRepository.findArchivedRecords(testUser.getId(), null, null)).hasSize(2);
+    }
+
+    @Test
+    void givenRecordsOfSeveralUsersAndMonths_whenFindArchivedDuplicates_thenReturnsTheCollisions() {
+        // Given
+        var template = createTestUser();
+        var otherUser =
+                userRepository.save(
+                        new User(
+                                UUID.fromString("3d2c1b0a-9f8e-4d7c-b6a5-443322110000"),
+                                "other@example.com",
+                                template.getPersonal(),
+                                template.getPhysical(),
+                                template.getSettings()));
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                JANUARY,
+                List.of(record(1L, "2023-01-10T08:00:00Z")),
+                ARCHIVED_AT);
+        var collision =
+                new WaterIntake(
+                        Instant.parse("2023-01-10T08:00:00Z"),
+                        300,
+                        VolumeUnit.ML,
+                        testUser.getId());
+        var sameTimeOtherUser =
+                new WaterIntake(
+                        Instant.parse("2023-01-10T08:00:00Z"),
+                        300,
+                        VolumeUnit.ML,
+                        otherUser.getId());
+        var sameMonthOtherTime =
+                new WaterIntake(
+                        Instant.parse("2023-01-10T09:00:00Z"),
+                        300,
+                        VolumeUnit.ML,
+                        testUser.getId());
+        var notArchivedMonth =
+                new WaterIntake(
+                        Instant.parse("2023-02-10T08:00:00Z"),
+                        300,
+                        VolumeUnit.ML,
+                        testUser.getId());
+
+        // When
+        var duplicates =
+                archiveRepository.findArchivedDuplicates(
+                        List.of(
+                                sameTimeOtherUser,
+                                collision,
+                                sameMonthOtherTime,
+                                notArchivedMonth));
+        var none = archiveRepository.findArchivedDuplicates(List.of());
+
+        // Then
+        assertThat(duplicates).containsExactly(collision);
+        assertThat(none).isEmpty();
+    }
+
+    private WaterIntake record(long id, String dateTimeUTC) {
+        return new WaterIntake(
+                id, Instant.parse(dateTimeUTC), 250, VolumeUnit.ML, testUser.getId());
+    }
+
+    private WaterIntake save(User user, String dateTimeUTC) {
+        return waterIntakeRepository.save(
+                new WaterIntake(Instant.parse(dateTimeUTC), 250, VolumeUnit.ML, user.getId()));
+    }
+}
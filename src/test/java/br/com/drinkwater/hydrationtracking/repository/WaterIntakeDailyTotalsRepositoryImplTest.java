@@ -0,0 +1,245 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.hydrationtracking.constants.WaterIntakeRepositoryTestConstants.REPOSITORY_WATER_INTAKE_VOLUME_UNIT;
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository.Drift;
+import br.com.drinkwater.usermanagement.model.User;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(WaterIntakeDailyTotalsRepositoryImpl.class)
+final class WaterIntakeDailyTotalsRepositoryImplTest {
+
+    private static final String SAO_PAULO = "America/Sao_Paulo";
+    private static final LocalDate DAY = LocalDate.parse("2025-06-01");
+
+    @Autowired private WaterIntakeDailyTotalsRepositoryImpl dailyTotalsRepository;
+
+    @Autowired private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(createTestUser());
+    }
+
+    @Test
+    void givenNoRowForDay_whenApplyDelta_thenInsertsRow() {
+        // When
+        dailyTotalsRepository.applyDelta(testUser.getId(), SAO_PAULO, DAY, 250, 1);
+
+        // Then
+        assertThat(findTotals(DAY)).containsExactly(250L, 1L);
+    }
+
+    @Test
+    void givenExistingRowForDay_whenApplyDelta_thenAddsToRow() {
+        // Given
+        dailyTotalsRepository.applyDelta(testUser.getId(), SAO_PAULO, DAY, 250, 1);
+
+        // When
+        dailyTotalsRepository.applyDelta(testUser.getId(), SAO_PAULO, DAY, 300, 1);
+
+        // Then
+        assertThat(findTotals(DAY)).containsExactly(550L, 2L);
+    }
+
+    @Test
+    void givenLastRecordOfDayRemoved_whenApplyDelta_thenDeletesRow() {
+        // Given
+        dailyTotalsRepository.applyDelta(testUser.getId(), SAO_PAULO, DAY, 250, 1);
+
+        // When
+        dailyTotalsRepository.applyDelta(testUser.getId(), SAO_PAULO, DAY, -250, -1);
+
+        // Then
+        assertThat(findTotals(DAY)).isEmpty();
+    }
+
+    @Test
+    void givenRawRecordsAndStaleRows_whenRebuildForUser_thenReplacesRowsWithLocalDayTotals() {
+        // Given
+        // Sunday 2025-06-01 20:30 and 22:30 in Sao Paulo, the second one already Monday in UTC
+        saveWaterIntake("2025-06-01T23:30:00Z", 200);
+        saveWaterIntake("2025-06-02T01:30:00Z", 100);
+        dailyTotalsRepository.applyDelta(
+                testUser.getId(), SAO_PAULO, LocalDate.parse("2025-01-01"), 999, 9);
+
+        // When
+        int sut = dailyTotalsRepository.rebuildForUser(testUser.getId(), SAO_PAULO);
+
+        // Then
+        assertThat(sut).isEqualTo(1);
+        assertThat(findTotals(DAY)).containsExactly(300L, 2L);
+        assertThat(findTotals(LocalDate.parse("2025-01-01"))).isEmpty();
+    }
+
+    @Test
+    void givenRecords_whenCheckingExistence_thenReturnsTrue() {
+        // Given
+        saveWaterIntake("2025-06-01T12:00:00Z", 200);
+
+        // When & Then
+        assertThat(dailyTotalsRepository.existsAnyWaterIntake()).isTrue();
+    }
+
+    @Test
+    void givenSavedBackfillProgress_whenReadingIt_thenResumesFromItUntilCompleted() {
+        // Given
+        long before = dailyTotalsRepository.findBackfillProgress(SAO_PAULO);
+        dailyTotalsRepository.saveBackfillProgress(SAO_PAULO, 500, false);
+
+        // When
+        long progress = dailyTotalsRepository.findBackfillProgress(SAO_PAULO);
+        boolean completedMidway = dailyTotalsRepository.isBackfillCompleted(SAO_PAULO);
+        dailyTotalsRepository.saveBackfillProgress(SAO_PAULO, 700, true);
+
+        // Then
+        assertThat(before).isZero();
+        assertThat(progress).isEqualTo(500);
+        assertThat(completedMidway).isFalse();
+        assertThat(dailyTotalsRepository.findBackfillProgress(SAO_PAULO)).isEqualTo(700);
+        assertThat(dailyTotalsRepository.isBackfillCompleted(SAO_PAULO)).isTrue();
+    }
+
+    @Test
+    void givenSavedUser_whenFindUserIdsAfter_thenReturnsUsersWithGreaterIds() {
+        // When
+        List<Long> before = dailyTotalsRepository.findUserIdsAfter(testUser.getId() - 1, 1);
+        List<Long> after = dailyTotalsRepository.findUserIdsAfter(testUser.getId(), 1);
+
+        // Then
+        assertThat(before).containsExactly(testUser.getId());
+        assertThat(after).isEmpty();
+    }
+
+    @Test
+    void givenRollupOutOfSync_whenFindDrift_thenReturnsMismatchedDaysOnly() {
+        // Given
+        saveWaterIntake("2025-06-01T12:00:00Z", 200);
+        saveWaterIntake("2025-06-02T12:00:00Z", 300);
+        dailyTotalsRepository.rebuildForUser(testUser.getId(), SAO_PAULO);
+        dailyTotalsRepository.applyDelta(testUser.getId(), SAO_PAULO, DAY, 50, 0);
+
+        // When
+        List<Drift> sut = dailyTotalsRepository.findDrift(SAO_PAULO, 10);
+
+        // Then
+        assertThat(sut).containsExactly(new Drift(testUser.getId(), DAY, 200, 1, 250, 1));
+    }
+
+    @Test
+    void givenArchivedMonth_whenRebuildAndFindDrift_thenKeepsTheDaysTouchingIt() {
+        // Given
+        saveWaterIntake("2025-06-01T12:00:00Z", 200);
+        saveWaterIntake("2025-08-15T12:00:00Z", 50);
+        dailyTotalsRepository.rebuildForUser(testUser.getId(), SAO_PAULO);
+        var params = new MapSqlParameterSource("userId", testUser.getId());
+        jdbcTemplate.update(
+                """
+                INSERT INTO water_intake_archive
+                    (user_id, month_start, intake_count, min_id, max_id, min_volume, max_volume,
+                     payload, archived_at)
+                VALUES (:userId, DATE '2025-06-01', 1, 1, 1, 200, 200, X'00', CURRENT_TIMESTAMP)
+                """,
+                params);
+        jdbcTemplate.update(
+                "DELETE FROM water_intakes WHERE user_id = :userId"
+                        + " AND date_time_utc < TIMESTAMP WITH TIME ZONE '2025-07-01 00:00:00+00'",
+                params);
+        for (String day : List.of("2025-05-30", "2025-05-31", "2025-07-01", "2025-07-02")) {
+            dailyTotalsRepository.applyDelta(
+                    testUser.getId(), SAO_PAULO, LocalDate.parse(day), 10, 1);
+        }
+
+        // When
+        int rebuilt = dailyTotalsRepository.rebuildForUser(testUser.getId(), SAO_PAULO);
+        List<Drift> drift = dailyTotalsRepository.findDrift(SAO_PAULO, 10);
+
+        // Then
+        assertThat(rebuilt).isEqualTo(1);
+        assertThat(drift).isEmpty();
+        assertThat(findTotals(DAY)).containsExactly(200L, 1L);
+        assertThat(findTotals(LocalDate.parse("2025-05-31"))).containsExactly(10L, 1L);
+        assertThat(findTotals(LocalDate.parse("2025-07-01"))).containsExactly(10L, 1L);
+        assertThat(findTotals(LocalDate.parse("2025-05-30"))).isEmpty();
+        assertThat(findTotals(LocalDate.parse("2025-07-02"))).isEmpty();
+        assertThat(findTotals(LocalDate.parse("2025-08-15"))).containsExactly(50L, 1L);
+    }
+
+    @Test
+    void givenArchivedMonth_whenApplyDeltaToArchivedDay_thenAppliesOnlyToDaysTouchingIt() {
+        // Given
+        jdbcTemplate.update(
+                """
+                INSERT INTO water_intake_archive
+                    (user_id, month_start, intake_count, min_id, max_id, min_volume, max_volume,
+                     payload, archived_at)
+                VALUES (:userId, DATE '2025-06-01', 1, 1, 1, 200, 200, X'00', CURRENT_TIMESTAMP)
+                """,
+                new MapSqlParameterSource("userId", testUser.getId()));
+
+        // When
+        boolean archived =
+                dailyTotalsRepository.applyDeltaToArchivedDay(
+                        testUser.getId(), SAO_PAULO, LocalDate.parse("2025-07-01"), 250, 1);
+        boolean notArchived =
+                dailyTotalsRepository.applyDeltaToArchivedDay(
+                        testUser.getId(), SAO_PAULO, LocalDate.parse("2025-07-02"), 250, 1);
+
+        // Then
+        assertThat(archived).isTrue();
+        assertThat(notArchived).isFalse();
+        assertThat(findTotals(LocalDate.parse("2025-07-01"))).containsExactly(250L, 1L);
+        assertThat(findTotals(LocalDate.parse("2025-07-02"))).isEmpty();
+    }
+
+    private List<Long> findTotals(LocalDate localDate) {
+        return jdbcTemplate
+                .queryForList(
+                        """
+                        SELECT total_volume, intake_count FROM water_intake_daily_totals
+                        WHERE user_id = :userId AND time_zone = :timeZone AND local_date = :localDate
+                        """,
+                        new MapSqlParameterSource()
+                                .addValue("userId", testUser.getId())
+                                .addValue("timeZone", SAO_PAULO)
+                                .addValue("localDate", localDate))
+                .stream()
+                .map(Map::values)
+                .flatMap(values -> values.stream().map(value -> ((Number) value).longValue()))
+                .toList();
+    }
+
+    private void saveWaterIntake(String dateTimeUTC, int volume) {
+        waterIntakeRepository.save(
+                new WaterIntake(
+                        Instant.parse(dateTimeUTC),
+                        volume,
+                        REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                        testUser.getId()));
+    }
+}
@@ -0,0 +1,172 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.usermanagement.model.User;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({WaterIntakeExportRepositoryImpl.class, WaterIntakeArchiveRepositoryImpl.class})
+final class WaterIntakeExportRepositoryImplTest {
+
+    private static final int LARGE_HISTORY_SIZE = 200_000;
+    private static final int EARLY_SAMPLE_ROW = 10_000;
+
+    // A materialized List<WaterIntake> of LARGE_HISTORY_SIZE rows retains well over 15 MB
+    private static final long MAX_RETAINED_GROWTH_BYTES = 8L * 1024 * 1024;
+
+    private static final String INSERT_HISTORY_SQL =
+            """
+            INSERT INTO water_intakes (date_time_utc, volume, volume_unit, user_id)
+            SELECT DATEADD('MINUTE', "X", TIMESTAMP WITH TIME ZONE '2020-01-01 00:00:00+00'),
+                   250, 1, :userId
+            FROM SYSTEM_RANGE(1, :count)
+            """;
+
+    @Autowired private WaterIntakeExportRepositoryImpl exportRepository;
+
+    @Autowired private WaterIntakeArchiveRepositoryImpl archiveRepository;
+
+    @Autowired private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(createTestUser());
+    }
+
+    @Test
+    void givenRecordsOfSeveralUsers_whenForEachByUserId_thenVisitsOnlyUserRecordsOldestFirst() {
+        // Given
+        var template = createTestUser();
+        var otherUser =
+                userRepository.save(
+                        new User(
+                                UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e"),
+                                "jane.export@example.com",
+                                template.getPersonal(),
+                                template.getPhysical(),
+                                template.getSettings()));
+        var newest = save(testUser, "2025-06-02T08:00:00Z", 300);
+        var oldest = save(testUser, "2025-06-01T08:00:00Z", 250);
+        save(otherUser, "2025-06-01T09:00:00Z", 500);
+
+        // When
+        List<WaterIntake> visited = new ArrayList<>();
+        exportRepository.forEachByUserId(testUser.getId(), visited::add);
+
+        // Then
+        assertThat(visited)
+                .extracting(WaterIntake::getId, WaterIntake::getDateTimeUTC, WaterIntake::getVolume)
+                .containsExactly(
+                        tuple(oldest.getId(), oldest.getDateTimeUTC(), 250),
+                        tuple(newest.getId(), newest.getDateTimeUTC(), 300));
+        assertThat(visited).allMatch(intake -> intake.getVolumeUnit() == VolumeUnit.ML);
+    }
+
+    @Test
+    void givenArchivedMonths_whenForEachByUserId_thenMergesThemWithHotRowsOldestFirst() {
+        // Given
+        var januaryFirst = save(testUser, "2023-01-10T08:00:00Z", 250);
+        var januaryLast = save(testUser, "2023-01-20T08:00:00Z", 250);
+        var march = save(testUser, "2023-03-05T08:00:00Z", 250);
+        archive(YearMonth.of(2023, 1));
+        archive(YearMonth.of(2023, 3));
+        var backdated = save(testUser, "2023-01-15T08:00:00Z", 300);
+        var february = save(testUser, "2023-02-10T08:00:00Z", 300);
+
+        // When
+        List<WaterIntake> visited = new ArrayList<>();
+        exportRepository.forEachByUserId(testUser.getId(), visited::add);
+
+        // Then
+        assertThat(visited).containsExactly(januaryFirst, backdated, januaryLast, february, march);
+        assertThat(waterIntakeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenNoRecords_whenForEachByUserId_thenNeverInvokesAction() {
+        // When
+        List<WaterIntake> visited = new ArrayList<>();
+        exportRepository.forEachByUserId(testUser.getId(), visited::add);
+
+        // Then
+        assertThat(visited).isEmpty();
+    }
+
+    @Test
+    void givenLargeHistory_whenForEachByUserId_thenRetainedHeapDoesNotGrowWithRowCount() {
+        // Given
+        jdbcTemplate.update(
+                INSERT_HISTORY_SQL,
+                new MapSqlParameterSource()
+                        .addValue("userId", testUser.getId())
+                        .addValue("count", LARGE_HISTORY_SIZE));
+        long[] usedHeap = new long[2];
+        int[] rows = {0};
+        Instant[] previous = {Instant.MIN};
+        boolean[] ordered = {true};
+
+        // When - heap is compared while rows are consumed
+        exportRepository.forEachByUserId(
+                testUser.getId(),
+                intake -> {
+                    ordered[0] &= intake.getDateTimeUTC().isAfter(previous[0]);
+                    previous[0] = intake.getDateTimeUTC();
+                    rows[0]++;
+                    if (rows[0] == EARLY_SAMPLE_ROW) {
+                        usedHeap[0] = usedHeapAfterGc();
+                    } else if (rows[0] == LARGE_HISTORY_SIZE) {
+                        usedHeap[1] = usedHeapAfterGc();
+                    }
+                });
+
+        // Then
+        assertThat(rows[0]).isEqualTo(LARGE_HISTORY_SIZE);
+        assertThat(ordered[0]).isTrue();
+        assertThat(usedHeap[1] - usedHeap[0]).isLessThan(MAX_RETAINED_GROWTH_BYTES);
+    }
+
+    private void archive(YearMonth month) {
+        var hot = archiveRepository.findHotMonthForUpdate(testUser.getId(), month);
+        archiveRepository.saveMonth(testUser.getId(), month, hot, Instant.now());
+        archiveRepository.deleteHot(
+                testUser.getId(), hot.stream().map(WaterIntake::getId).toList());
+    }
+
+    private WaterIntake save(User user, String dateTimeUTC, int volume) {
+        return waterIntakeRepository.save(
+                new WaterIntake(Instant.parse(dateTimeUTC), volume, VolumeUnit.ML, user.getId()));
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.config.ContainersConfig;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs an import through PostgreSQL's {@code COPY} protocol into the unlogged staging table and
+ * merges it, with more rows than fit in one copy buffer.
+ */
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+    ContainersConfig.class,
+    WaterIntakeImportRepositoryImpl.class,
+    WaterIntakeArchiveRepositoryImpl.class
+})
+@ActiveProfiles("it")
+final class WaterIntakeImportRepositoryIT {
+
+    private static final int ROWS = 20_000;
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired private WaterIntakeImportRepositoryImpl importRepository;
+
+    @Autowired private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(createTestUser()).getId();
+    }
+
+    @Test
+    void givenRowsCopiedToStaging_whenMerge_thenInsertsAllButDuplicates() {
+        // Given
+        var importId = UUID.randomUUID();
+        waterIntakeRepository.save(new WaterIntake(START, 300, VolumeUnit.ML, userId));
+        try (var staging = importRepository.openStaging(importId)) {
+            for (int line = 1; line <= ROWS; line++) {
+                staging.add(line, new WaterIntake(at(line), 250, VolumeUnit.ML, userId));
+            }
+            staging.add(ROWS + 1, new WaterIntake(at(ROWS), 500, VolumeUnit.ML, userId));
+        }
+
+        // When
+        var duplicates = importRepository.findDuplicateLines(importId, userId);
+        int inserted = importRepository.merge(importId, userId).inserted();
+
+        // Then
+        assertThat(duplicates).containsExactly(ROWS, ROWS + 1);
+        assertThat(inserted).isEqualTo(ROWS - 1);
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM water_intakes WHERE user_id = :userId",
+                                new MapSqlParameterSource("userId", userId),
+                                Integer.class))
+                .isEqualTo(ROWS);
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM water_intake_import_staging",
+                                new MapSqlParameterSource(),
+                                Integer.class))
+                .isZero();
+    }
+
+    /** Line {@code ROWS} lands on {@code START}, which the user already has. */
+    private static Instant at(int line) {
+        return START.plusSeconds((long) (ROWS - line) * 60);
+    }
+}
@@ -0,0 +1,257 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.usermanagement.model.User;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({WaterIntakeImportRepositoryImpl.class, WaterIntakeArchiveRepositoryImpl.class})
+final class WaterIntakeImportRepositoryImplTest {
+
+    private static final UUID IMPORT_ID = UUID.fromString("0b6f4a52-3c1e-4d8f-9a27-5e1c0d3b7f60");
+    private static final Instant FIRST = Instant.parse("2025-06-01T08:00:00Z");
+    private static final Instant SECOND = Instant.parse("2025-06-01T12:00:00Z");
+    private static final Instant THIRD = Instant.parse("2025-06-01T18:00:00Z");
+
+    @Autowired private WaterIntakeImportRepositoryImpl importRepository;
+
+    @Autowired private WaterIntakeArchiveRepositoryImpl archiveRepository;
+
+    @Autowired private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(createTestUser());
+    }
+
+    @Test
+    void givenStagedLines_whenFindDuplicateLines_thenReportsExistingAndRepeatedDateTimes() {
+        // Given
+        waterIntakeRepository.save(new WaterIntake(SECOND, 300, VolumeUnit.ML, testUser.getId()));
+        stage(List.of(FIRST, SECOND, FIRST, THIRD));
+
+        // When
+        var duplicates = importRepository.findDuplicateLines(IMPORT_ID, testUser.getId());
+
+        // Then
+        assertThat(duplicates).containsExactly(2, 3);
+    }
+
+    @Test
+    void givenLinesOfAnArchivedMonth_whenFindDuplicateLinesAndMerge_thenSkipsArchivedDateTimes() {
+        // Given
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                YearMonth.of(2025, 6),
+                List.of(new WaterIntake(1_000_000L, SECOND, 300, VolumeUnit.ML, testUser.getId())),
+                Instant.now());
+        stage(List.of(FIRST, SECOND, SECOND, THIRD));
+
+        // When
+        var duplicates = importRepository.findDuplicateLines(IMPORT_ID, testUser.getId());
+        var merged = importRepository.merge(IMPORT_ID, testUser.getId());
+
+        // Then
+        assertThat(duplicates).containsExactly(2, 3);
+        assertThat(merged.inserted()).isEqualTo(2);
+        assertThat(merged.nearArchivedMonths())
+                .extracting(WaterIntake::getDateTimeUTC)
+                .containsExactly(FIRST, THIRD);
+        assertThat(waterIntakeRepository.findAll())
+                .extracting(WaterIntake::getDateTimeUTC)
+                .containsExactlyInAnyOrder(FIRST, THIRD);
+    }
+
+    @Test
+    void givenStagedLines_whenMerge_thenInsertsFirstOccurrencesAndClearsStaging() {
+        // Given
+        waterIntakeRepository.save(new WaterIntake(SECOND, 300, VolumeUnit.ML, testUser.getId()));
+        stage(List.of(FIRST, SECOND, FIRST, THIRD));
+
+        // When
+        var merged = importRepository.merge(IMPORT_ID, testUser.getId());
+
+        // Then
+        assertThat(merged.inserted()).isEqualTo(2);
+        assertThat(merged.nearArchivedMonths()).isEmpty();
+        assertThat(findVolumes()).containsExactly(250, 300, 253);
+        assertThat(countStaged()).isZero();
+    }
+
+    @Test
+    void givenMoreRowsThanOneBatch_whenStaged_thenEveryRowIsWritten() {
+        // Given
+        int rows = WaterIntakeImportRepositoryImpl.BATCH_SIZE + 1;
+
+        // When
+        try (var staging = importRepository.openStaging(IMPORT_ID)) {
+            for (int line = 1; line <= rows; line++) {
+                staging.add(line, intake(FIRST.plusSeconds(line), 100));
+            }
+        }
+
+        // Then
+        assertThat(countStaged()).isEqualTo(rows);
+    }
+
+    @Test
+    void givenPostgresConnection_whenStaged_thenStreamsCsvThroughCopyInChunks() throws Exception {
+        // Given
+        var copyIn = mock(CopyIn.class);
+        var repository = postgresRepository(copyIn);
+        var sent = new ByteArrayOutputStream();
+        doAnswer(
+                        invocation -> {
+                            sent.write(
+                                    invocation.getArgument(0, byte[].class),
+                                    0,
+                                    invocation.getArgument(2, Integer.class));
+                            return null;
+                        })
+                .when(copyIn)
+                .writeToCopy(any(byte[].class), anyInt(), anyInt());
+        int rows = 2_000;
+
+        // When
+        try (var staging = repository.openStaging(IMPORT_ID)) {
+            for (int line = 1; line <= rows; line++) {
+                staging.add(line, intake(FIRST.plusSeconds(line), 250));
+            }
+        }
+
+        // Then
+        verify(copyIn, atLeast(2)).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        verify(copyIn).endCopy();
+        verify(copyIn, never()).cancelCopy();
+        var csv = sent.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(csv).hasSize(rows);
+        assertThat(csv.getFirst()).isEqualTo(IMPORT_ID + ",1,2025-06-01T08:00:01Z,250,1");
+    }
+
+    @Test
+    void givenCopyCannotStart_whenOpenStaging_thenThrowsTranslatedException() throws Exception {
+        // Given
+        var copyManager = mock(CopyManager.class);
+        var repository = postgresRepository(copyManager);
+        when(copyManager.copyIn(anyString()))
+                .thenThrow(new SQLException("connection lost", "08006"));
+
+        // When & Then
+        assertThatThrownBy(() -> repository.openStaging(IMPORT_ID))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void givenCopyFailsMidway_whenClose_thenCancelsCopyAndThrows() throws Exception {
+        // Given
+        var copyIn = mock(CopyIn.class);
+        var repository = postgresRepository(copyIn);
+        doThrow(new SQLException("broken")).when(copyIn).writeToCopy(any(), anyInt(), anyInt());
+        when(copyIn.isActive()).thenReturn(true);
+        doThrow(new SQLException("already closed")).when(copyIn).cancelCopy();
+        var staging = repository.openStaging(IMPORT_ID);
+        staging.add(1, intake(FIRST, 250));
+
+        // When & Then
+        assertThatThrownBy(staging::close).isInstanceOf(UncategorizedSQLException.class);
+        verify(copyIn).cancelCopy();
+        verify(copyIn, never()).endCopy();
+    }
+
+    @Test
+    void givenCopyRejectedAtEnd_whenClose_thenThrowsTranslatedException() throws Exception {
+        // Given
+        var copyIn = mock(CopyIn.class);
+        var repository = postgresRepository(copyIn);
+        when(copyIn.endCopy()).thenThrow(new SQLException("connection lost", "08006"));
+        var staging = repository.openStaging(IMPORT_ID);
+
+        // When & Then
+        assertThatThrownBy(staging::close).isInstanceOf(DataAccessResourceFailureException.class);
+        verify(copyIn, never()).cancelCopy();
+    }
+
+    private WaterIntakeImportRepositoryImpl postgresRepository(CopyIn copyIn) throws Exception {
+        var copyManager = mock(CopyManager.class);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        return postgresRepository(copyManager);
+    }
+
+    private WaterIntakeImportRepositoryImpl postgresRepository(CopyManager copyManager)
+            throws SQLException {
+        var dataSource = mock(DataSource.class);
+        var connection = mock(Connection.class);
+        var pgConnection = mock(PGConnection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        return new WaterIntakeImportRepositoryImpl(jdbcTemplate, dataSource, archiveRepository);
+    }
+
+    private void stage(List<Instant> dateTimes) {
+        try (var staging = importRepository.openStaging(IMPORT_ID)) {
+            for (int i = 0; i < dateTimes.size(); i++) {
+                staging.add(i + 1, intake(dateTimes.get(i), 250 + i));
+            }
+        }
+    }
+
+    private static WaterIntake intake(Instant dateTimeUTC, int volume) {
+        return new WaterIntake(dateTimeUTC, volume, VolumeUnit.ML, 1L);
+    }
+
+    private List<Integer> findVolumes() {
+        return jdbcTemplate.queryForList(
+                "SELECT volume FROM water_intakes WHERE user_id = :userId ORDER BY date_time_utc",
+                new MapSqlParameterSource("userId", testUser.getId()),
+                Integer.class);
+    }
+
+    private int countStaged() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM water_intake_import_staging WHERE import_id = :importId",
+                new MapSqlParameterSource("importId", IMPORT_ID),
+                Integer.class);
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.config.ContainersConfig;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the partition functions of {@code V7__partition_water_intakes_by_month.sql} against
+ * PostgreSQL: creating a month moves its rows out of the default partition and builds the named
+ * covering indexes, and detaching it takes its rows out of {@code water_intakes}.
+ */
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ContainersConfig.class, WaterIntakePartitionRepositoryImpl.class})
+@ActiveProfiles("it")
+final class WaterIntakePartitionRepositoryIT {
+
+    private static final YearMonth MONTH = YearMonth.of(2020, 5);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO water_intakes (date_time_utc, volume, volume_unit, user_id)"
+                    + " VALUES (TIMESTAMPTZ '2020-05-10 08:00+00', 250, 1, :userId)";
+
+    private static final String PARTITION_OF_ROW_SQL =
+            "SELECT tableoid::regclass::text FROM water_intakes WHERE user_id = :userId";
+
+    @Autowired private WaterIntakePartitionRepositoryImpl partitionRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private Map<String, Long> params;
+
+    @BeforeEach
+    void setUp() {
+        params = Map.of("userId", userRepository.save(createTestUser()).getId());
+        jdbcTemplate.update(INSERT_SQL, params);
+    }
+
+    @Test
+    void givenMigratedDatabase_whenIsPartitioned_thenReturnsTrueWithUpcomingMonths() {
+        // When
+        var sut = partitionRepository.isPartitioned();
+
+        // Then
+        assertThat(sut).isTrue();
+        assertThat(partitionRepository.findMonthlyPartitions())
+                .contains(
+                        YearMonth.now(ZoneOffset.UTC), YearMonth.now(ZoneOffset.UTC).plusMonths(3))
+                .isSorted();
+    }
+
+    @Test
+    void givenRowInDefaultPartition_whenCreateMonthlyPartition_thenMovesItToTheNewPartition() {
+        // Given
+        assertThat(jdbcTemplate.queryForObject(PARTITION_OF_ROW_SQL, params, String.class))
+                .isEqualTo("water_intakes_default");
+
+        // When
+        boolean created = partitionRepository.createMonthlyPartition(MONTH);
+        boolean createdAgain = partitionRepository.createMonthlyPartition(MONTH);
+
+        // Then
+        assertThat(created).isTrue();
+        assertThat(createdAgain).isFalse();
+        assertThat(jdbcTemplate.queryForObject(PARTITION_OF_ROW_SQL, params, String.class))
+                .isEqualTo("water_intakes_p202005");
+        assertThat(partitionRepository.findMonthlyPartitions()).contains(MONTH);
+        assertThat(
+                        jdbcTemplate
+                                .getJdbcTemplate()
+                                .queryForList(
+                                        "SELECT indexname FROM pg_indexes"
+                                                + " WHERE tablename = 'water_intakes_p202005'",
+                                        String.class))
+                .containsExactlyInAnyOrder(
+                        "water_intakes_p202005_pkey",
+                        "water_intakes_p202005_user_datetime_key",
+                        "water_intakes_p202005_user_datetime_covering",
+                        "water_intakes_p202005_user_id_covering",
+                        "water_intakes_p202005_user_volume_covering",
+                        "water_intakes_p202005_user_volume_unit_covering");
+    }
+
+    @Test
+    void givenAttachedPartition_whenDetachMonthlyPartition_thenItsRowsLeaveWaterIntakes() {
+        // Given
+        partitionRepository.createMonthlyPartition(MONTH);
+
+        // When
+        partitionRepository.detachMonthlyPartition(MONTH);
+
+        // Then
+        assertThat(partitionRepository.findMonthlyPartitions()).doesNotContain(MONTH);
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM water_intakes WHERE user_id = :userId",
+                                params,
+                                Long.class))
+                .isZero();
+        assertThat(
+                        jdbcTemplate
+                                .getJdbcTemplate()
+                                .queryForObject(
+                                        "SELECT COUNT(*) FROM water_intakes_p202005", Long.class))
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(WaterIntakePartitionRepositoryImpl.class)
+final class WaterIntakePartitionRepositoryImplTest {
+
+    @Autowired private WaterIntakePartitionRepositoryImpl partitionRepository;
+
+    @Test
+    void givenH2_whenIsPartitioned_thenReturnsFalse() {
+        // When
+        var sut = partitionRepository.isPartitioned();
+
+        // Then
+        assertThat(sut).isFalse();
+    }
+}
@@ -0,0 +1,228 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.config.ContainersConfig;
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
+import br.com.drinkwater.core.PageCursor;
+import br.com.drinkwater.hydrationtracking.model.SearchSortField;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Asserts against PostgreSQL's {@code EXPLAIN} output that every sort/filter combination of the
+ * cursor search is served by the matching covering index of each monthly partition without a sort
+ * step, and that a date range only scans the partitions of the months it covers.
+ *
+ * <p>Sequential scans, bitmap scans and explicit sorts are disabled for the test transaction, so
+ * the planner picks the ordered index whenever one exists and falls back to a (disabled) sort when
+ * none does, regardless of how much data is seeded.
+ */
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnableConfigurationProperties(WaterIntakeArchiveProperties.class)
+@Import({
+    ContainersConfig.class,
+    WaterIntakeSearchRepositoryImpl.class,
+    WaterIntakePartitionRepositoryImpl.class,
+    WaterIntakeArchiveRepositoryImpl.class
+})
+@ActiveProfiles("it")
+final class WaterIntakeSearchIndexIT {
+
+    private static final Map<String, String> EXPECTED_INDEX =
+            Map.of(
+                    "id", "user_id_covering",
+                    "dateTimeUTC", "user_datetime_covering",
+                    "volume", "user_volume_covering",
+                    "volumeUnit", "user_volume_unit_covering");
+
+    // A Sort node, as opposed to the "Sort Key:" detail line of a Merge Append
+    private static final String SORT_NODE = "(?m)^\\s*(->\\s+)?(Incremental )?Sort\\s+\\(";
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant END = Instant.parse("2025-02-01T00:00:00Z");
+
+    @Autowired private WaterIntakeSearchRepositoryImpl searchRepository;
+
+    @Autowired private WaterIntakePartitionRepositoryImpl partitionRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(createTestUser()).getId();
+        partitionRepository.createMonthlyPartition(YearMonth.of(2025, 1));
+        partitionRepository.createMonthlyPartition(YearMonth.of(2025, 2));
+        partitionRepository.createMonthlyPartition(YearMonth.of(2025, 3));
+        jdbcTemplate.update(
+                "INSERT INTO water_intakes (date_time_utc, volume, volume_unit, user_id)"
+                        + " SELECT TIMESTAMPTZ '2025-01-01 00:00+00' + i * INTERVAL '15 minutes',"
+                        + " 100 + (i % 40) * 50, 1, :userId"
+                        + " FROM generate_series(0, 4999) AS i",
+                Map.of("userId", userId));
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE water_intakes");
+        jdbcTemplate.getJdbcTemplate().execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.getJdbcTemplate().execute("SET LOCAL enable_bitmapscan = off");
+        jdbcTemplate.getJdbcTemplate().execute("SET LOCAL enable_sort = off");
+    }
+
+    @ParameterizedTest(name = "{0} {1}, dates={2}, volumes={3}, cursor={4}")
+    @MethodSource("searchCombinations")
+    void givenSortAndFilters_whenExplainSearch_thenUsesCoveringIndexWithoutSort(
+            String sortField,
+            String sortDirection,
+            boolean dateFilter,
+            boolean volumeFilter,
+            boolean withCursor) {
+        // Given
+        var query =
+                searchRepository.buildQuery(
+                        userId,
+                        dateFilter ? START : null,
+                        dateFilter ? END : null,
+                        volumeFilter ? 200 : null,
+                        volumeFilter ? 1500 : null,
+                        21,
+                        withCursor ? cursorAfterSampleRow(sortField) : null,
+                        sortField,
+                        sortDirection);
+
+        // When
+        String planText = explain(query);
+
+        // Then
+        assertThat(planText)
+                .containsPattern(
+                        "Index (Only )?Scan( Backward)? using water_intakes_\\w+_"
+                                + EXPECTED_INDEX.get(sortField)
+                                + " ")
+                .doesNotContainPattern(SORT_NODE)
+                .doesNotContain("Seq Scan");
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("sortFieldsAndDirections")
+    void givenDateRangeWithinOneMonth_whenExplainSearch_thenScansOnlyThatPartition(
+            String sortField, String sortDirection) {
+        // Given
+        var query =
+                searchRepository.buildQuery(
+                        userId,
+                        Instant.parse("2025-01-10T00:00:00Z"),
+                        Instant.parse("2025-01-20T00:00:00Z"),
+                        null,
+                        null,
+                        21,
+                        null,
+                        sortField,
+                        sortDirection);
+
+        // When
+        String planText = explain(query);
+
+        // Then
+        assertThat(planText)
+                .contains("on water_intakes_p202501")
+                .doesNotContain("water_intakes_p202502")
+                .doesNotContain("water_intakes_p202503")
+                .doesNotContain("water_intakes_default");
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("sortFieldsAndDirections")
+    void givenDateRangeAcrossTwoMonths_whenExplainSearch_thenPrunesTheOtherPartitions(
+            String sortField, String sortDirection) {
+        // Given
+        var query =
+                searchRepository.buildQuery(
+                        userId,
+                        Instant.parse("2025-01-25T00:00:00Z"),
+                        Instant.parse("2025-02-05T00:00:00Z"),
+                        null,
+                        null,
+                        21,
+                        null,
+                        sortField,
+                        sortDirection);
+
+        // When
+        String planText = explain(query);
+
+        // Then
+        assertThat(planText)
+                .contains("on water_intakes_p202501")
+                .contains("on water_intakes_p202502")
+                .doesNotContain("water_intakes_p202503")
+                .doesNotContain("water_intakes_default")
+                .doesNotContainPattern(SORT_NODE);
+    }
+
+    private String explain(WaterIntakeSearchRepositoryImpl.SearchQuery query) {
+        List<String> plan =
+                jdbcTemplate
+                        .getJdbcTemplate()
+                        .queryForList("EXPLAIN " + query.sql(), String.class, query.args());
+        return String.join("\n", plan);
+    }
+
+    private PageCursor cursorAfterSampleRow(String sortField) {
+        var sampleRow =
+                new WaterIntake(100L, START.plusSeconds(86_400), 550, VolumeUnit.ML, userId);
+        return SearchSortField.fromFieldName(sortField).cursorAfter(sampleRow);
+    }
+
+    static Stream<Arguments> sortFieldsAndDirections() {
+        return EXPECTED_INDEX.keySet().stream()
+                .flatMap(
+                        sortField ->
+                                Stream.of(
+                                        Arguments.of(sortField, "ASC"),
+                                        Arguments.of(sortField, "DESC")));
+    }
+
+    static Stream<Arguments> searchCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (String sortField : EXPECTED_INDEX.keySet()) {
+            for (String sortDirection : List.of("ASC", "DESC")) {
+                for (boolean dateFilter : List.of(false, true)) {
+                    for (boolean volumeFilter : List.of(false, true)) {
+                        for (boolean withCursor : List.of(false, true)) {
+                            combinations.add(
+                                    Arguments.of(
+                                            sortField,
+                                            sortDirection,
+                                            dateFilter,
+                                            volumeFilter,
+                                            withCursor));
+                        }
+                    }
+                }
+            }
+        }
+        return combinations.stream();
+    }
+}
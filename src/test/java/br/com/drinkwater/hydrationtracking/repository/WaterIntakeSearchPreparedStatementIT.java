@@ -0,0 +1,134 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.config.ContainersConfig;
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
+import br.com.drinkwater.hydrationtracking.model.SearchSortField;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Confirms on PostgreSQL that every search SQL shape is turned into a single server-side prepared
+ * statement by pgjdbc once it has been executed {@code prepareThreshold} times (default 5) on a
+ * connection, and that later executions reuse it instead of preparing it again.
+ *
+ * <p>The test runs in one transaction, so all executions share a connection and its {@code
+ * pg_prepared_statements} view.
+ */
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnableConfigurationProperties(WaterIntakeArchiveProperties.class)
+@Import({
+    ContainersConfig.class,
+    WaterIntakeSearchRepositoryImpl.class,
+    WaterIntakeArchiveRepositoryImpl.class
+})
+@ActiveProfiles("it")
+final class WaterIntakeSearchPreparedStatementIT {
+
+    private static final int EXECUTIONS_TO_SERVER_PREPARE = 6;
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant END = Instant.parse("2025-02-01T00:00:00Z");
+
+    private static final String PREPARED_SEARCHES_SQL =
+            "SELECT statement FROM pg_prepared_statements"
+                    + " WHERE NOT from_sql AND statement LIKE 'SELECT id, date_time_utc, %'";
+
+    @Autowired private WaterIntakeSearchRepositoryImpl searchRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(createTestUser()).getId();
+    }
+
+    @Test
+    void givenEveryShapePastThreshold_whenSearchedAgain_thenReusesOneStatementPerShape() {
+        // Given
+        Set<String> templates = new HashSet<>();
+        for (int execution = 0; execution < EXECUTIONS_TO_SERVER_PREPARE; execution++) {
+            templates.addAll(searchEveryShape());
+        }
+        List<String> prepared = preparedSearches();
+
+        // When
+        searchEveryShape();
+
+        // Then
+        assertThat(templates).hasSize(SearchSortField.values().length * 32);
+        assertThat(prepared)
+                .containsExactlyInAnyOrderElementsOf(
+                        templates.stream()
+                                .map(WaterIntakeSearchPreparedStatementIT::toServerSyntax)
+                                .toList());
+        assertThat(preparedSearches()).containsExactlyInAnyOrderElementsOf(prepared);
+    }
+
+    private List<String> searchEveryShape() {
+        var sampleRow =
+                new WaterIntake(100L, START.plusSeconds(86_400), 550, VolumeUnit.ML, userId);
+        List<String> templates = new ArrayList<>();
+        for (SearchSortField sortKey : SearchSortField.values()) {
+            for (String direction : List.of("ASC", "DESC")) {
+                for (int filters = 0; filters < 16; filters++) {
+                    Instant startDate = (filters & 1) != 0 ? START : null;
+                    Instant endDate = (filters & 1) != 0 ? END : null;
+                    Integer minVolume = (filters & 2) != 0 ? 200 : null;
+                    Integer maxVolume = (filters & 4) != 0 ? 1500 : null;
+                    var cursor = (filters & 8) != 0 ? sortKey.cursorAfter(sampleRow) : null;
+                    String sortField = sortKey.getFieldName();
+
+                    searchRepository.search(
+                            userId, startDate, endDate, minVolume, maxVolume, 11, cursor, sortField,
+                            direction);
+                    var query =
+                            searchRepository.buildQuery(
+                                    userId, startDate, endDate, minVolume, maxVolume, 11, cursor,
+                                    sortField, direction);
+                    templates.add(query.sql());
+                }
+            }
+        }
+        return templates;
+    }
+
+    private List<String> preparedSearches() {
+        return jdbcTemplate.getJdbcTemplate().queryForList(PREPARED_SEARCHES_SQL, String.class);
+    }
+
+    /** pgjdbc sends positional parameters to the server as {@code $1, $2, ...}. */
+    private static String toServerSyntax(String template) {
+        var sql = new StringBuilder();
+        int parameter = 0;
+        for (char c : template.toCharArray()) {
+            if (c == '?') {
+                sql.append('$').append(++parameter);
+            } else {
+                sql.append(c);
+            }
+        }
+        return sql.toString();
+    }
+}
@@ -2,34 +2,54 @@ package br.com.drinkwater.hydrationtracking.repository;
 
 import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
 import br.com.drinkwater.core.PageCursor;
+import br.com.drinkwater.hydrationtracking.model.SearchSortField;
 import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
 import br.com.drinkwater.hydrationtracking.model.WaterIntake;
 import br.com.drinkwater.usermanagement.model.User;
 import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 @DataJdbcTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnableConfigurationProperties(WaterIntakeArchiveProperties.class)
 @ActiveProfiles("test")
-@Import(WaterIntakeSearchRepositoryImpl.class)
+@Import({WaterIntakeSearchRepositoryImpl.class, WaterIntakeArchiveRepositoryImpl.class})
 final class WaterIntakeSearchRepositoryImplTest {
 
     @Autowired private WaterIntakeSearchRepositoryImpl searchRepository;
 
+    @Autowired private WaterIntakeArchiveRepositoryImpl archiveRepository;
+
     @Autowired private WaterIntakeRepository waterIntakeRepository;
 
     @Autowired private UserRepository userRepository;
 
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
     private User testUser;
     private Instant baseTime;
 
@@ -134,7 +154,7 @@ final class WaterIntakeSearchRepositoryImplTest {
         var item2 = saveWaterIntake(baseTime.plus(2, ChronoUnit.MINUTES), 200);
         var item3 = saveWaterIntake(baseTime.plus(3, ChronoUnit.MINUTES), 300);
 
-        var cursor = new PageCursor(item3.getDateTimeUTC(), item3.getId());
+        var cursor = new PageCursor("dateTimeUTC", item3.getDateTimeUTC(), item3.getId());
 
         // When
         var results =
@@ -160,7 +180,7 @@ final class WaterIntakeSearchRepositoryImplTest {
         // Given
         var item1 = saveWaterIntake(baseTime.plus(1, ChronoUnit.MINUTES), 100);
 
-        var cursor = new PageCursor(item1.getDateTimeUTC(), item1.getId());
+        var cursor = new PageCursor("dateTimeUTC", item1.getDateTimeUTC(), item1.getId());
 
         // When
         var results =
@@ -277,7 +297,7 @@ final class WaterIntakeSearchRepositoryImplTest {
         var item2 = saveWaterIntake(baseTime.plus(2, ChronoUnit.MINUTES), 200);
         var item3 = saveWaterIntake(baseTime.plus(3, ChronoUnit.MINUTES), 300);
 
-        var cursor = new PageCursor(item1.getDateTimeUTC(), item1.getId());
+        var cursor = new PageCursor("dateTimeUTC", item1.getDateTimeUTC(), item1.getId());
 
         // When
         var results =
@@ -290,8 +310,533 @@ final class WaterIntakeSearchRepositoryImplTest {
         assertThat(results.getLast().getId()).isEqualTo(item3.getId());
     }
 
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("sortFieldsAndDirections")
+    void givenSortAndDirection_whenPagingWithCursors_thenPagesFollowSortOrderWithoutGapsOrRepeats(
+            String sortField, String sortDirection) {
+        // Given
+        saveWaterIntake(baseTime.plus(1, ChronoUnit.MINUTES), 200);
+        saveWaterIntake(baseTime.plus(2, ChronoUnit.MINUTES), 100);
+        saveWaterIntake(baseTime.plus(3, ChronoUnit.MINUTES), 200);
+        saveWaterIntake(baseTime.plus(4, ChronoUnit.MINUTES), 300);
+        saveWaterIntake(baseTime.plus(5, ChronoUnit.MINUTES), 100);
+        var expected =
+                searchRepository.search(
+                        testUser.getId(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        10,
+                        null,
+                        sortField,
+                        sortDirection);
+        var sortKey = SearchSortField.fromFieldName(sortField);
+
+        // When
+        List<WaterIntake> paged = new ArrayList<>();
+        PageCursor cursor = null;
+        List<WaterIntake> page;
+        do {
+            page =
+                    searchRepository.search(
+                            testUser.getId(),
+                            null,
+                            null,
+                            null,
+                            null,
+                            2,
+                            cursor == null ? null : PageCursor.decode(cursor.encode()),
+                            sortField,
+                            sortDirection);
+            paged.addAll(page);
+            cursor = page.isEmpty() ? null : sortKey.cursorAfter(page.getLast());
+        } while (!page.isEmpty());
+
+        // Then
+        assertThat(expected).hasSize(5).isSortedAccordingTo(comparator(sortKey, sortDirection));
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("sortFieldsAndDirections")
+    void givenHistorySplitAcrossHotAndArchive_whenPagingADateRange_thenPagesMatchTheOriginalOrder(
+            String sortField, String sortDirection) {
+        // Given
+        saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 200);
+        saveWaterIntake(Instant.parse("2023-01-20T08:00:00Z"), 100);
+        saveWaterIntake(Instant.parse("2023-01-31T23:59:59Z"), 300);
+        saveWaterIntake(Instant.parse("2023-02-01T00:00:00Z"), 100);
+        saveWaterIntake(Instant.parse("2023-02-14T08:00:00Z"), 200);
+        saveWaterIntake(baseTime.plus(1, ChronoUnit.MINUTES), 200);
+        saveWaterIntake(baseTime.plus(2, ChronoUnit.MINUTES), 100);
+        saveWaterIntake(baseTime.plus(3, ChronoUnit.MINUTES), 300);
+        var start = Instant.parse("2023-01-01T00:00:00Z");
+        var end = baseTime.plus(1, ChronoUnit.HOURS);
+        var expected =
+                searchRepository.search(
+                        testUser.getId(),
+                        start,
+                        end,
+                        null,
+                        null,
+                        20,
+                        null,
+                        sortField,
+                        sortDirection);
+        archive(YearMonth.of(2023, 1));
+        archive(YearMonth.of(2023, 2));
+        var sortKey = SearchSortField.fromFieldName(sortField);
+
+        // When
+        List<WaterIntake> paged = new ArrayList<>();
+        PageCursor cursor = null;
+        List<WaterIntake> page;
+        do {
+            page =
+                    searchRepository.search(
+                            testUser.getId(),
+                            start,
+                            end,
+                            null,
+                            null,
+                            2,
+                            cursor,
+                            sortField,
+                            sortDirection);
+            paged.addAll(page);
+            cursor = page.isEmpty() ? null : sortKey.cursorAfter(page.getLast());
+        } while (!page.isEmpty());
+
+        // Then
+        assertThat(waterIntakeRepository.count()).isEqualTo(3);
+        assertThat(expected).hasSize(8);
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"ASC", "DESC"})
+    void givenHistorySplitAcrossHotAndArchive_whenPagingByDate_thenPagesMatchTheOriginalOrder(
+            String sortDirection) {
+        // Given
+        saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 200);
+        saveWaterIntake(Instant.parse("2023-01-31T23:59:59Z"), 300);
+        saveWaterIntake(Instant.parse("2023-02-01T00:00:00Z"), 100);
+        saveWaterIntake(Instant.parse("2023-03-14T08:00:00Z"), 200);
+        saveWaterIntake(baseTime.plus(1, ChronoUnit.MINUTES), 200);
+        saveWaterIntake(baseTime.plus(2, ChronoUnit.MINUTES), 100);
+        var expected =
+                searchRepository.search(
+                        testUser.getId(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        20,
+                        null,
+                        "dateTimeUTC",
+                        sortDirection);
+        archive(YearMonth.of(2023, 1));
+        archive(YearMonth.of(2023, 2));
+        archive(YearMonth.of(2023, 3));
+
+        // When
+        List<WaterIntake> paged = new ArrayList<>();
+        PageCursor cursor = null;
+        List<WaterIntake> page;
+        do {
+            page =
+                    searchRepository.search(
+                            testUser.getId(),
+                            null,
+                            null,
+                            null,
+                            null,
+                            2,
+                            cursor,
+                            "dateTimeUTC",
+                            sortDirection);
+            paged.addAll(page);
+            cursor =
+                    page.isEmpty()
+                            ? null
+                            : SearchSortField.DATE_TIME_UTC.cursorAfter(page.getLast());
+        } while (!page.isEmpty());
+
+        // Then
+        assertThat(expected).hasSize(6);
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("sortFieldsAndDirections")
+    void
+            givenHistorySplitAcrossHotAndArchive_whenPagingWithoutDateRange_thenPagesMatchTheOriginalOrder(
+                    String sortField, String sortDirection) {
+        // Given
+        saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 200);
+        saveWaterIntake(Instant.parse("2023-01-31T23:59:59Z"), 300);
+        saveWaterIntake(Instant.parse("2023-02-01T00:00:00Z"), 100);
+        saveWaterIntake(Instant.parse("2023-03-14T08:00:00Z"), 200);
+        saveWaterIntake(baseTime.plus(1, ChronoUnit.MINUTES), 200);
+        saveWaterIntake(baseTime.plus(2, ChronoUnit.MINUTES), 100);
+        var expected =
+                searchRepository.search(
+                        testUser.getId(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        20,
+                        null,
+                        sortField,
+                        sortDirection);
+        archive(YearMonth.of(2023, 1));
+        archive(YearMonth.of(2023, 2));
+        archive(YearMonth.of(2023, 3));
+        var sortKey = SearchSortField.fromFieldName(sortField);
+
+        // When
+        List<WaterIntake> paged = new ArrayList<>();
+        PageCursor cursor = null;
+        List<WaterIntake> page;
+        do {
+            page =
+                    searchRepository.search(
+                            testUser.getId(),
+                            null,
+                            null,
+                            null,
+                            null,
+                            2,
+                            cursor,
+                            sortField,
+                            sortDirection);
+            paged.addAll(page);
+            cursor = page.isEmpty() ? null : sortKey.cursorAfter(page.getLast());
+        } while (!page.isEmpty());
+
+        // Then
+        assertThat(waterIntakeRepository.count()).isEqualTo(2);
+        assertThat(expected).hasSize(6);
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void givenMoreArchivedMonthsThanAllowed_whenSearchByVolumeUnitWithoutDateRange_thenThrows() {
+        // Given
+        saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 100);
+        saveWaterIntake(Instant.parse("2023-02-10T08:00:00Z"), 200);
+        saveWaterIntake(baseTime, 300);
+        archive(YearMonth.of(2023, 1));
+        archive(YearMonth.of(2023, 2));
+        var sut = searchRepositoryDecodingAtMost(1);
+
+        // When & Then
+        assertThatThrownBy(
+                        () ->
+                                sut.search(
+                                        testUser.getId(),
+                                        null,
+                                        null,
+                                        null,
+                                        null,
+                                        11,
+                                        null,
+                                        "volumeUnit",
+                                        "ASC"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("more than 1 archived months");
+    }
+
+    @Test
+    void givenFullPageFromTheNewestArchivedMonth_whenSearchByDate_thenStopsBeforeOlderMonths() {
+        // Given
+        saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 100);
+        var second = saveWaterIntake(Instant.parse("2023-02-10T08:00:00Z"), 200);
+        var first = saveWaterIntake(Instant.parse("2023-02-20T08:00:00Z"), 300);
+        archive(YearMonth.of(2023, 1));
+        archive(YearMonth.of(2023, 2));
+        var sut = searchRepositoryDecodingAtMost(1);
+
+        // When
+        var results =
+                sut.search(
+                        testUser.getId(), null, null, null, null, 2, null, "dateTimeUTC", "DESC");
+
+        // Then
+        assertThat(results).containsExactly(first, second);
+    }
+
+    @Test
+    void givenArchivedMonthOutsideTheVolumeFilter_whenSearch_thenSkipsItWithoutDecoding() {
+        // Given
+        saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 100);
+        var match = saveWaterIntake(Instant.parse("2023-02-10T08:00:00Z"), 500);
+        archive(YearMonth.of(2023, 1));
+        archive(YearMonth.of(2023, 2));
+        var sut = searchRepositoryDecodingAtMost(1);
+
+        // When
+        var results =
+                sut.search(
+                        testUser.getId(),
+                        Instant.parse("2023-01-01T00:00:00Z"),
+                        Instant.parse("2023-02-28T23:59:59Z"),
+                        400,
+                        null,
+                        11,
+                        null,
+                        "volume",
+                        "ASC");
+
+        // Then
+        assertThat(results).containsExactly(match);
+    }
+
+    @Test
+    void givenMoreArchivedMonthsThanAllowed_whenSearch_thenThrowsIllegalArgumentException() {
+        // Given
+        saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 100);
+        saveWaterIntake(Instant.parse("2023-02-10T08:00:00Z"), 200);
+        archive(YearMonth.of(2023, 1));
+        archive(YearMonth.of(2023, 2));
+        var sut = searchRepositoryDecodingAtMost(1);
+
+        // When & Then
+        assertThatThrownBy(
+                        () ->
+                                sut.search(
+                                        testUser.getId(),
+                                        Instant.parse("2023-01-01T00:00:00Z"),
+                                        Instant.parse("2023-02-28T23:59:59Z"),
+                                        null,
+                                        null,
+                                        11,
+                                        null,
+                                        "volumeUnit",
+                                        "ASC"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("more than 1 archived months");
+    }
+
+    @Test
+    void givenArchivedRecords_whenSearchWithDateAndVolumeFilters_thenFiltersThemLikeHotRows() {
+        // Given
+        var early = saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 100);
+        var middle = saveWaterIntake(Instant.parse("2023-01-20T08:00:00Z"), 250);
+        saveWaterIntake(Instant.parse("2023-01-25T08:00:00Z"), 500);
+        archive(YearMonth.of(2023, 1));
+        var januaryStart = Instant.parse("2023-01-01T00:00:00Z");
+        var januaryEnd = Instant.parse("2023-01-31T23:59:59Z");
+
+        // When
+        var byVolume =
+                searchRepository.search(
+                        testUser.getId(),
+                        Instant.parse("2023-01-15T00:00:00Z"),
+                        januaryEnd,
+                        200,
+                        400,
+                        11,
+                        null,
+                        "dateTimeUTC",
+                        "DESC");
+        var byDate =
+                searchRepository.search(
+                        testUser.getId(),
+                        januaryStart,
+                        Instant.parse("2023-01-12T00:00:00Z"),
+                        null,
+                        null,
+                        11,
+                        null,
+                        "dateTimeUTC",
+                        "DESC");
+        var afterCursor =
+                searchRepository.search(
+                        testUser.getId(),
+                        januaryStart,
+                        januaryEnd,
+                        null,
+                        null,
+                        1,
+                        SearchSortField.DATE_TIME_UTC.cursorAfter(early),
+                        "dateTimeUTC",
+                        "ASC");
+
+        // Then
+        assertThat(byVolume).containsExactly(middle);
+        assertThat(byDate).containsExactly(early);
+        assertThat(afterCursor).containsExactly(middle);
+    }
+
+    @Test
+    void givenDateCursorBeforeTheRange_whenSearchDescending_thenReturnsNothing() {
+        // Given
+        var early = saveWaterIntake(Instant.parse("2023-01-10T08:00:00Z"), 100);
+        saveWaterIntake(Instant.parse("2023-01-20T08:00:00Z"), 250);
+        archive(YearMonth.of(2023, 1));
+
+        // When
+        var results =
+                searchRepository.search(
+                        testUser.getId(),
+                        Instant.parse("2023-01-15T00:00:00Z"),
+                        baseTime,
+                        null,
+                        null,
+                        11,
+                        SearchSortField.DATE_TIME_UTC.cursorAfter(early),
+                        "dateTimeUTC",
+                        "DESC");
+
+        // Then
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    void givenCursorIssuedForAnotherSortField_whenSearch_thenThrowsIllegalArgumentException() {
+        // Given
+        var cursor = new PageCursor("volume", 200, 1L);
+
+        // When & Then
+        assertThatThrownBy(
+                        () ->
+                                searchRepository.search(
+                                        testUser.getId(),
+                                        null,
+                                        null,
+                                        null,
+                                        null,
+                                        11,
+                                        cursor,
+                                        "volumeUnit",
+                                        "ASC"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("volumeUnit");
+    }
+
+    @Test
+    void givenVolumeSort_whenBuildQuery_thenProjectsMappedColumnsAndOrdersByVolumeAndId() {
+        // When
+        var query =
+                searchRepository.buildQuery(
+                        testUser.getId(), null, null, null, null, 11, null, "volume", "ASC");
+
+        // Then
+        assertThat(query.sql())
+                .startsWith(
+                        "SELECT id, date_time_utc, volume, volume_unit, user_id FROM water_intakes")
+                .endsWith("ORDER BY volume ASC, id ASC LIMIT ?");
+        assertThat(query.args()).containsExactly(testUser.getId(), 11);
+    }
+
+    @Test
+    void givenSameShapeWithDifferentValues_whenBuildQuery_thenReusesTheSameTemplate() {
+        // Given
+        var cursor = new PageCursor("volume", 200, 5L);
+
+        // When
+        var first =
+                searchRepository.buildQuery(
+                        testUser.getId(),
+                        baseTime,
+                        baseTime,
+                        100,
+                        null,
+                        11,
+                        cursor,
+                        "volume",
+                        "DESC");
+        var second =
+                searchRepository.buildQuery(
+                        testUser.getId() + 1,
+                        baseTime.minusSeconds(60),
+                        baseTime,
+                        300,
+                        null,
+                        21,
+                        new PageCursor("volume", 400, 9L),
+                        "volume",
+                        "desc");
+
+        // Then
+        assertThat(second.sql()).isSameAs(first.sql());
+        assertThat(first.sql())
+                .contains(" AND volume >= ?")
+                .doesNotContain("volume <= ?")
+                .contains(" AND (volume, id) < (?, ?)");
+        assertThat(first.args())
+                .containsExactly(
+                        testUser.getId(),
+                        Timestamp.from(baseTime),
+                        Timestamp.from(baseTime),
+                        100,
+                        200,
+                        5L,
+                        11);
+    }
+
+    @Test
+    void givenUnknownDirection_whenBuildQuery_thenSortsAndSeeksDescending() {
+        // When
+        var query =
+                searchRepository.buildQuery(
+                        testUser.getId(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        11,
+                        new PageCursor("id", 5L, 5L),
+                        "id",
+                        "sideways");
+
+        // Then
+        assertThat(query.sql())
+                .contains("(id, id) < (?, ?)")
+                .endsWith("ORDER BY id DESC, id DESC LIMIT ?");
+    }
+
+    private WaterIntakeSearchRepositoryImpl searchRepositoryDecodingAtMost(int maxSearchMonths) {
+        return new WaterIntakeSearchRepositoryImpl(
+                jdbcTemplate,
+                archiveRepository,
+                new WaterIntakeArchiveProperties("-", 12, 1000, maxSearchMonths));
+    }
+
+    private void archive(YearMonth month) {
+        var hot = archiveRepository.findHotMonthForUpdate(testUser.getId(), month);
+        archiveRepository.saveMonth(testUser.getId(), month, hot, Instant.now());
+        archiveRepository.deleteHot(
+                testUser.getId(), hot.stream().map(WaterIntake::getId).toList());
+    }
+
     private WaterIntake saveWaterIntake(Instant dateTime, int volume) {
         var waterIntake = new WaterIntake(dateTime, volume, VolumeUnit.ML, testUser.getId());
         return waterIntakeRepository.save(waterIntake);
     }
+
+    private static Stream<Arguments> sortFieldsAndDirections() {
+        return Stream.of("id", "dateTimeUTC", "volume", "volumeUnit")
+                .flatMap(
+                        field ->
+                                Stream.of(Arguments.of(field, "ASC"), Arguments.of(field, "DESC")));
+    }
+
+    private static Comparator<WaterIntake> comparator(
+            SearchSortField sortKey, String sortDirection) {
+        Comparator<WaterIntake> byKey =
+                switch (sortKey) {
+                    case ID -> Comparator.comparing(WaterIntake::getId);
+                    case DATE_TIME_UTC -> Comparator.comparing(WaterIntake::getDateTimeUTC);
+                    case VOLUME -> Comparator.comparingInt(WaterIntake::getVolume);
+                    case VOLUME_UNIT ->
+                            Comparator.comparingInt(
+                                    waterIntake -> waterIntake.getVolumeUnit().getCode());
+                };
+        Comparator<WaterIntake> ascending = byKey.thenComparing(WaterIntake::getId);
+        return "DESC".equals(sortDirection) ? ascending.reversed() : ascending;
+    }
 }
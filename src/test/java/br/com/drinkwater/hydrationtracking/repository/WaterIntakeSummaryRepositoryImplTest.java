@@ -0,0 +1,189 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.hydrationtracking.constants.WaterIntakeRepositoryTestConstants.REPOSITORY_WATER_INTAKE_VOLUME_UNIT;
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.hydrationtracking.model.SummaryGranularity;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeSummaryRepository.PeriodTotal;
+import br.com.drinkwater.usermanagement.model.User;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({WaterIntakeSummaryRepositoryImpl.class, WaterIntakeDailyTotalsRepositoryImpl.class})
+final class WaterIntakeSummaryRepositoryImplTest {
+
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+    private static final Instant PERIOD_START = Instant.parse("2025-05-01T03:00:00Z");
+    private static final Instant PERIOD_END = Instant.parse("2025-07-01T03:00:00Z");
+
+    @Autowired private WaterIntakeSummaryRepositoryImpl summaryRepository;
+
+    @Autowired private WaterIntakeDailyTotalsRepositoryImpl dailyTotalsRepository;
+
+    @Autowired private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(createTestUser());
+        // Saturday 2025-05-31 09:00 in Sao Paulo
+        saveWaterIntake("2025-05-31T12:00:00Z", 50);
+        // Sunday 2025-06-01 20:30 in Sao Paulo
+        saveWaterIntake("2025-06-01T23:30:00Z", 200);
+        // Still Sunday 2025-06-01 (22:30) in Sao Paulo, Monday in UTC
+        saveWaterIntake("2025-06-02T01:30:00Z", 100);
+        // Monday 2025-06-02 09:00 in Sao Paulo
+        saveWaterIntake("2025-06-02T12:00:00Z", 300);
+        // Outside the requested period
+        saveWaterIntake("2025-07-01T12:00:00Z", 999);
+    }
+
+    @Test
+    void givenDayGranularity_whenSumByPeriod_thenGroupsByLocalDay() {
+        // When
+        var sut =
+                summaryRepository.sumByPeriod(
+                        testUser.getId(),
+                        PERIOD_START,
+                        PERIOD_END,
+                        SummaryGranularity.DAY,
+                        SAO_PAULO);
+
+        // Then
+        assertThat(sut)
+                .containsExactly(
+                        new PeriodTotal(LocalDate.parse("2025-05-31"), 50, 1),
+                        new PeriodTotal(LocalDate.parse("2025-06-01"), 300, 2),
+                        new PeriodTotal(LocalDate.parse("2025-06-02"), 300, 1));
+    }
+
+    @Test
+    void givenWeekGranularity_whenSumByPeriod_thenGroupsByIsoWeekStartingMonday() {
+        // When
+        var sut =
+                summaryRepository.sumByPeriod(
+                        testUser.getId(),
+                        PERIOD_START,
+                        PERIOD_END,
+                        SummaryGranularity.WEEK,
+                        SAO_PAULO);
+
+        // Then
+        assertThat(sut)
+                .containsExactly(
+                        new PeriodTotal(LocalDate.parse("2025-05-26"), 350, 3),
+                        new PeriodTotal(LocalDate.parse("2025-06-02"), 300, 1));
+    }
+
+    @Test
+    void givenMonthGranularity_whenSumByPeriod_thenGroupsByLocalMonth() {
+        // When
+        var sut =
+                summaryRepository.sumByPeriod(
+                        testUser.getId(),
+                        PERIOD_START,
+                        PERIOD_END,
+                        SummaryGranularity.MONTH,
+                        SAO_PAULO);
+
+        // Then
+        assertThat(sut)
+                .containsExactly(
+                        new PeriodTotal(LocalDate.parse("2025-05-01"), 50, 1),
+                        new PeriodTotal(LocalDate.parse("2025-06-01"), 600, 3));
+    }
+
+    @Test
+    void givenDailyTotals_whenSumDailyTotalsByPeriodPerDay_thenMatchesRawAggregation() {
+        // Given
+        dailyTotalsRepository.rebuildForUser(testUser.getId(), SAO_PAULO.getId());
+
+        // When
+        var sut = sumDailyTotalsByPeriod(SummaryGranularity.DAY);
+
+        // Then
+        assertThat(sut)
+                .isEqualTo(
+                        summaryRepository.sumByPeriod(
+                                testUser.getId(),
+                                PERIOD_START,
+                                PERIOD_END,
+                                SummaryGranularity.DAY,
+                                SAO_PAULO));
+    }
+
+    @Test
+    void givenDailyTotals_whenSumDailyTotalsByPeriodPerWeek_thenGroupsByIsoWeekStartingMonday() {
+        // Given
+        dailyTotalsRepository.rebuildForUser(testUser.getId(), SAO_PAULO.getId());
+
+        // When
+        var sut = sumDailyTotalsByPeriod(SummaryGranularity.WEEK);
+
+        // Then
+        assertThat(sut)
+                .containsExactly(
+                        new PeriodTotal(LocalDate.parse("2025-05-26"), 350, 3),
+                        new PeriodTotal(LocalDate.parse("2025-06-02"), 300, 1));
+    }
+
+    @Test
+    void givenDailyTotals_whenSumDailyTotalsByPeriodPerMonth_thenGroupsByLocalMonth() {
+        // Given
+        dailyTotalsRepository.rebuildForUser(testUser.getId(), SAO_PAULO.getId());
+
+        // When
+        var sut = sumDailyTotalsByPeriod(SummaryGranularity.MONTH);
+
+        // Then
+        assertThat(sut)
+                .containsExactly(
+                        new PeriodTotal(LocalDate.parse("2025-05-01"), 50, 1),
+                        new PeriodTotal(LocalDate.parse("2025-06-01"), 600, 3));
+    }
+
+    @Test
+    void givenUserWithAlarmSettings_whenFindDailyGoal_thenReturnsGoal() {
+        // When
+        var sut = summaryRepository.findDailyGoal(testUser.getId());
+
+        // Then
+        assertThat(sut).isEqualTo(testUser.getSettings().getGoal());
+    }
+
+    private List<PeriodTotal> sumDailyTotalsByPeriod(SummaryGranularity granularity) {
+        return summaryRepository.sumDailyTotalsByPeriod(
+                testUser.getId(),
+                LocalDate.parse("2025-05-01"),
+                LocalDate.parse("2025-07-01"),
+                granularity,
+                SAO_PAULO);
+    }
+
+    private void saveWaterIntake(String dateTimeUTC, int volume) {
+        waterIntakeRepository.save(
+                new WaterIntake(
+                        Instant.parse(dateTimeUTC),
+                        volume,
+                        REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                        testUser.getId()));
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.drinkwater.config.ContainersConfig;
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the single-statement update and delete through PostgreSQL's {@code UPDATE ... FROM ...
+ * RETURNING} and {@code DELETE ... RETURNING}, which the H2 test database cannot execute.
+ */
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+    ContainersConfig.class,
+    WaterIntakeWriteRepositoryImpl.class,
+    WaterIntakeArchiveRepositoryImpl.class
+})
+@EnableConfigurationProperties(WaterIntakeArchiveProperties.class)
+@ActiveProfiles("it")
+final class WaterIntakeWriteRepositoryIT {
+
+    private static final Instant DATE_TIME = Instant.parse("2025-06-01T08:00:00Z");
+    private static final Instant LATER_DATE_TIME = Instant.parse("2025-06-01T09:00:00Z");
+
+    @Autowired private WaterIntakeWriteRepositoryImpl writeRepository;
+
+    @Autowired private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(createTestUser()).getId();
+    }
+
+    @Test
+    void givenOwnedWaterIntake_whenUpdate_thenAppliesChangesAndReturnsPreviousValues() {
+        // Given
+        var original =
+                waterIntakeRepository.save(new WaterIntake(DATE_TIME, 250, VolumeUnit.ML, userId));
+
+        // When
+        var sut =
+                writeRepository.update(
+                        new WaterIntake(
+                                original.getId(), LATER_DATE_TIME, 500, VolumeUnit.ML, userId));
+
+        // Then
+        assertThat(sut).isPresent();
+        assertThat(sut.get().getDateTimeUTC()).isEqualTo(DATE_TIME);
+        assertThat(sut.get().getVolume()).isEqualTo(250);
+        assertThat(waterIntakeRepository.findByIdAndUserId(original.getId(), userId))
+                .get()
+                .extracting(WaterIntake::getDateTimeUTC, WaterIntake::getVolume)
+                .containsExactly(LATER_DATE_TIME, 500);
+    }
+
+    @Test
+    void givenUnknownId_whenUpdate_thenReturnsEmpty() {
+        // When
+        var sut =
+                writeRepository.update(
+                        new WaterIntake(Long.MAX_VALUE, DATE_TIME, 250, VolumeUnit.ML, userId));
+
+        // Then
+        assertThat(sut).isEmpty();
+    }
+
+    @Test
+    void givenDateTimeOfAnotherRecord_whenUpdate_thenThrowsDuplicateKeyException() {
+        // Given
+        waterIntakeRepository.save(new WaterIntake(DATE_TIME, 250, VolumeUnit.ML, userId));
+        var other =
+                waterIntakeRepository.save(
+                        new WaterIntake(LATER_DATE_TIME, 250, VolumeUnit.ML, userId));
+
+        // When & Then
+        assertThatThrownBy(
+                        () ->
+                                writeRepository.update(
+                                        new WaterIntake(
+                                                other.getId(),
+                                                DATE_TIME,
+                                                250,
+                                                VolumeUnit.ML,
+                                                userId)))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void givenOwnedWaterIntake_whenDeleteByIdAndUserId_thenRemovesAndReturnsIt() {
+        // Given
+        var original =
+                waterIntakeRepository.save(new WaterIntake(DATE_TIME, 250, VolumeUnit.ML, userId));
+
+        // When
+        var sut = writeRepository.deleteByIdAndUserId(original.getId(), userId);
+
+        // Then
+        assertThat(sut).contains(original);
+        assertThat(waterIntakeRepository.findByIdAndUserId(original.getId(), userId)).isEmpty();
+    }
+
+    @Test
+    void givenUnknownId_whenDeleteByIdAndUserId_thenReturnsEmpty() {
+        // When
+        var sut = writeRepository.deleteByIdAndUserId(Long.MAX_VALUE, userId);
+
+        // Then
+        assertThat(sut).isEmpty();
+    }
+}
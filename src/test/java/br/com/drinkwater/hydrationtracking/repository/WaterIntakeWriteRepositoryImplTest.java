@@ -0,0 +1,429 @@
+package br.com.drinkwater.hydrationtracking.repository;
+
+import static br.com.drinkwater.hydrationtracking.constants.WaterIntakeRepositoryTestConstants.*;
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.usermanagement.model.User;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({WaterIntakeWriteRepositoryImpl.class, WaterIntakeArchiveRepositoryImpl.class})
+@EnableConfigurationProperties(WaterIntakeArchiveProperties.class)
+final class WaterIntakeWriteRepositoryImplTest {
+
+    private static final Instant ARCHIVED_DATE_TIME = Instant.parse("2023-01-10T08:00:00Z");
+
+    @Autowired private WaterIntakeWriteRepositoryImpl writeRepository;
+
+    @Autowired private WaterIntakeArchiveRepositoryImpl archiveRepository;
+
+    @Autowired private WaterIntakeRepository waterIntakeRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(createTestUser());
+    }
+
+    @Test
+    void givenNewWaterIntake_whenInsertIfAbsent_thenReturnsPersistedEntityWithId() {
+        // Given
+        var waterIntake = newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME);
+
+        // When
+        var sut = writeRepository.insertIfAbsent(waterIntake);
+
+        // Then
+        assertThat(sut).isPresent();
+        assertThat(sut.get().getId()).isNotNull().isPositive();
+        assertThat(sut.get().getDateTimeUTC()).isEqualTo(REPOSITORY_WATER_INTAKE_DATE_TIME_UTC);
+        assertThat(sut.get().getVolume()).isEqualTo(REPOSITORY_WATER_INTAKE_VOLUME);
+        assertThat(sut.get().getVolumeUnit()).isEqualTo(REPOSITORY_WATER_INTAKE_VOLUME_UNIT);
+        assertThat(sut.get().getUserId()).isEqualTo(testUser.getId());
+        assertThat(waterIntakeRepository.findByIdAndUserId(sut.get().getId(), testUser.getId()))
+                .isPresent();
+    }
+
+    @Test
+    void givenExistingDateTimeForUser_whenInsertIfAbsent_thenReturnsEmptyAndKeepsOriginal() {
+        // Given
+        var original =
+                writeRepository.insertIfAbsent(newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME));
+
+        // When
+        var sut =
+                writeRepository.insertIfAbsent(
+                        newWaterIntake(REPOSITORY_DUPLICATE_WATER_INTAKE_VOLUME));
+
+        // Then
+        assertThat(original).isPresent();
+        assertThat(sut).isEmpty();
+        assertThat(waterIntakeRepository.count()).isEqualTo(1);
+        assertThat(
+                        waterIntakeRepository
+                                .findByIdAndUserId(original.get().getId(), testUser.getId())
+                                .map(WaterIntake::getVolume))
+                .contains(REPOSITORY_WATER_INTAKE_VOLUME);
+    }
+
+    @Test
+    void givenWaterIntakeWithId_whenInsertIfAbsent_thenThrowsIllegalArgumentException() {
+        // Given
+        var persisted =
+                new WaterIntake(
+                        1L,
+                        REPOSITORY_WATER_INTAKE_DATE_TIME_UTC,
+                        REPOSITORY_WATER_INTAKE_VOLUME,
+                        REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                        testUser.getId());
+
+        // When & Then
+        assertThatThrownBy(() -> writeRepository.insertIfAbsent(persisted))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenBatchWithExistingAndRepeatedDateTimes_whenInsertAllIfAbsent_thenSkipsDuplicates() {
+        // Given
+        writeRepository.insertIfAbsent(newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME));
+        var laterDateTime = REPOSITORY_WATER_INTAKE_DATE_TIME_UTC.plus(1, ChronoUnit.MINUTES);
+        var batch =
+                List.of(
+                        new WaterIntake(
+                                laterDateTime,
+                                REPOSITORY_WATER_INTAKE_VOLUME,
+                                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                testUser.getId()),
+                        newWaterIntake(REPOSITORY_DUPLICATE_WATER_INTAKE_VOLUME),
+                        new WaterIntake(
+                                laterDateTime,
+                                REPOSITORY_DUPLICATE_WATER_INTAKE_VOLUME,
+                                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                testUser.getId()));
+
+        // When
+        var sut = writeRepository.insertAllIfAbsent(batch);
+
+        // Then
+        assertThat(sut).hasSize(3);
+        assertThat(sut.get(0)).isPresent();
+        assertThat(sut.get(0).get().getId()).isNotNull().isPositive();
+        assertThat(sut.get(0).get().getDateTimeUTC()).isEqualTo(laterDateTime);
+        assertThat(sut.get(1)).isEmpty();
+        assertThat(sut.get(2)).isEmpty();
+        assertThat(waterIntakeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenArchivedRecordAtSameDateTime_whenInsertIfAbsent_thenReturnsEmptyAndKeepsNoRow() {
+        // Given
+        archiveRecordAt(ARCHIVED_DATE_TIME);
+
+        // When
+        var sut =
+                writeRepository.insertIfAbsent(
+                        new WaterIntake(
+                                ARCHIVED_DATE_TIME,
+                                REPOSITORY_WATER_INTAKE_VOLUME,
+                                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                testUser.getId()));
+
+        // Then
+        assertThat(sut).isEmpty();
+        assertThat(waterIntakeRepository.count()).isZero();
+    }
+
+    @Test
+    void givenRecordNewerThanArchiveCutoff_whenInsertIfAbsent_thenDoesNotCheckTheArchive() {
+        // Given
+        Instant recent = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        archiveRecordAt(recent);
+
+        // When
+        var sut =
+                writeRepository.insertIfAbsent(
+                        new WaterIntake(
+                                recent,
+                                REPOSITORY_WATER_INTAKE_VOLUME,
+                                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                testUser.getId()));
+
+        // Then
+        assertThat(sut).isPresent();
+        assertThat(waterIntakeRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenArchivingOff_whenInsertIfAbsent_thenChecksEveryRecordAgainstTheArchive() {
+        // Given
+        Instant recent = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        archiveRecordAt(recent);
+        var sut =
+                new WaterIntakeWriteRepositoryImpl(
+                        jdbcTemplate,
+                        archiveRepository,
+                        new WaterIntakeArchiveProperties("-", 0, 1, 1));
+
+        // When
+        var inserted =
+                sut.insertIfAbsent(
+                        new WaterIntake(
+                                recent,
+                                REPOSITORY_WATER_INTAKE_VOLUME,
+                                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                testUser.getId()));
+
+        // Then
+        assertThat(inserted).isEmpty();
+        assertThat(waterIntakeRepository.count()).isZero();
+    }
+
+    @Test
+    void givenBatchCollidingWithArchivedRecord_whenInsertAllIfAbsent_thenSkipsItAsDuplicate() {
+        // Given
+        archiveRecordAt(ARCHIVED_DATE_TIME);
+        var sameMonth = ARCHIVED_DATE_TIME.plus(1, ChronoUnit.HOURS);
+        var batch =
+                List.of(
+                        new WaterIntake(
+                                ARCHIVED_DATE_TIME,
+                                REPOSITORY_WATER_INTAKE_VOLUME,
+                                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                testUser.getId()),
+                        new WaterIntake(
+                                sameMonth,
+                                REPOSITORY_WATER_INTAKE_VOLUME,
+                                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                testUser.getId()));
+
+        // When
+        var sut = writeRepository.insertAllIfAbsent(batch);
+
+        // Then
+        assertThat(sut).hasSize(2);
+        assertThat(sut.get(0)).isEmpty();
+        assertThat(sut.get(1)).get().extracting(WaterIntake::getDateTimeUTC).isEqualTo(sameMonth);
+        assertThat(waterIntakeRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenEmptyBatch_whenInsertAllIfAbsent_thenReturnsEmptyList() {
+        // When
+        var sut = writeRepository.insertAllIfAbsent(List.of());
+
+        // Then
+        assertThat(sut).isEmpty();
+    }
+
+    @Test
+    void givenOwnedWaterIntake_whenUpdate_thenAppliesChangesAndReturnsPreviousValues() {
+        // Given
+        var original =
+                writeRepository
+                        .insertIfAbsent(newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME))
+                        .orElseThrow();
+        var laterDateTime = REPOSITORY_WATER_INTAKE_DATE_TIME_UTC.plus(1, ChronoUnit.MINUTES);
+        var changed =
+                new WaterIntake(
+                        original.getId(),
+                        laterDateTime,
+                        REPOSITORY_DUPLICATE_WATER_INTAKE_VOLUME,
+                        REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                        testUser.getId());
+
+        // When
+        var sut = writeRepository.update(changed);
+
+        // Then
+        assertThat(sut).isPresent();
+        assertThat(sut.get().getId()).isEqualTo(original.getId());
+        assertThat(sut.get().getDateTimeUTC()).isEqualTo(REPOSITORY_WATER_INTAKE_DATE_TIME_UTC);
+        assertThat(sut.get().getVolume()).isEqualTo(REPOSITORY_WATER_INTAKE_VOLUME);
+        assertThat(sut.get().getVolumeUnit()).isEqualTo(REPOSITORY_WATER_INTAKE_VOLUME_UNIT);
+        assertThat(sut.get().getUserId()).isEqualTo(testUser.getId());
+        var stored = waterIntakeRepository.findByIdAndUserId(original.getId(), testUser.getId());
+        assertThat(stored.map(WaterIntake::getDateTimeUTC)).contains(laterDateTime);
+        assertThat(stored.map(WaterIntake::getVolume))
+                .contains(REPOSITORY_DUPLICATE_WATER_INTAKE_VOLUME);
+    }
+
+    @Test
+    void givenWaterIntakeOfAnotherUser_whenUpdate_thenReturnsEmptyAndKeepsRecord() {
+        // Given
+        var original =
+                writeRepository
+                        .insertIfAbsent(newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME))
+                        .orElseThrow();
+        var template = createTestUser();
+        var otherUser =
+                userRepository.save(
+                        new User(
+                                UUID.fromString("7a2b3c4d-5e6f-4a8b-9c0d-1e2f3a4b5c6d"),
+                                "jane.write@example.com",
+                                template.getPersonal(),
+                                template.getPhysical(),
+                                template.getSettings()));
+        var changed =
+                new WaterIntake(
+                        original.getId(),
+                        REPOSITORY_WATER_INTAKE_DATE_TIME_UTC,
+                        REPOSITORY_DUPLICATE_WATER_INTAKE_VOLUME,
+                        REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                        otherUser.getId());
+
+        // When
+        var sut = writeRepository.update(changed);
+
+        // Then
+        assertThat(sut).isEmpty();
+        assertThat(
+                        waterIntakeRepository
+                                .findByIdAndUserId(original.getId(), testUser.getId())
+                                .map(WaterIntake::getVolume))
+                .contains(REPOSITORY_WATER_INTAKE_VOLUME);
+    }
+
+    @Test
+    void givenDateTimeOfAnotherRecord_whenUpdate_thenThrowsDuplicateKeyException() {
+        // Given
+        writeRepository.insertIfAbsent(newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME));
+        var other =
+                writeRepository
+                        .insertIfAbsent(
+                                new WaterIntake(
+                                        REPOSITORY_WATER_INTAKE_DATE_TIME_UTC.plus(
+                                                1, ChronoUnit.MINUTES),
+                                        REPOSITORY_WATER_INTAKE_VOLUME,
+                                        REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                        testUser.getId()))
+                        .orElseThrow();
+        var changed =
+                new WaterIntake(
+                        other.getId(),
+                        REPOSITORY_WATER_INTAKE_DATE_TIME_UTC,
+                        REPOSITORY_WATER_INTAKE_VOLUME,
+                        REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                        testUser.getId());
+
+        // When & Then
+        assertThatThrownBy(() -> writeRepository.update(changed))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void givenDateTimeOfAnArchivedRecord_whenUpdate_thenThrowsDuplicateKeyException() {
+        // Given
+        archiveRecordAt(ARCHIVED_DATE_TIME);
+        var saved =
+                writeRepository
+                        .insertIfAbsent(newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME))
+                        .orElseThrow();
+        var changed =
+                new WaterIntake(
+                        saved.getId(),
+                        ARCHIVED_DATE_TIME,
+                        REPOSITORY_WATER_INTAKE_VOLUME,
+                        REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                        testUser.getId());
+
+        // When & Then
+        assertThatThrownBy(() -> writeRepository.update(changed))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void givenWaterIntakeWithoutId_whenUpdate_thenThrowsNullPointerException() {
+        // Given
+        var unsaved = newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME);
+
+        // When & Then
+        assertThatThrownBy(() -> writeRepository.update(unsaved))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void givenOwnedWaterIntake_whenDeleteByIdAndUserId_thenRemovesAndReturnsIt() {
+        // Given
+        var original =
+                writeRepository
+                        .insertIfAbsent(newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME))
+                        .orElseThrow();
+
+        // When
+        var sut = writeRepository.deleteByIdAndUserId(original.getId(), testUser.getId());
+
+        // Then
+        assertThat(sut).contains(original);
+        assertThat(sut.get().getDateTimeUTC()).isEqualTo(REPOSITORY_WATER_INTAKE_DATE_TIME_UTC);
+        assertThat(sut.get().getVolume()).isEqualTo(REPOSITORY_WATER_INTAKE_VOLUME);
+        assertThat(sut.get().getVolumeUnit()).isEqualTo(REPOSITORY_WATER_INTAKE_VOLUME_UNIT);
+        assertThat(waterIntakeRepository.findByIdAndUserId(original.getId(), testUser.getId()))
+                .isEmpty();
+    }
+
+    @Test
+    void givenWaterIntakeOfAnotherUser_whenDeleteByIdAndUserId_thenReturnsEmptyAndKeepsRecord() {
+        // Given
+        var original =
+                writeRepository
+                        .insertIfAbsent(newWaterIntake(REPOSITORY_WATER_INTAKE_VOLUME))
+                        .orElseThrow();
+
+        // When
+        var sut = writeRepository.deleteByIdAndUserId(original.getId(), Long.MAX_VALUE);
+
+        // Then
+        assertThat(sut).isEmpty();
+        assertThat(waterIntakeRepository.findByIdAndUserId(original.getId(), testUser.getId()))
+                .isPresent();
+    }
+
+    private void archiveRecordAt(Instant dateTime) {
+        archiveRepository.saveMonth(
+                testUser.getId(),
+                YearMonth.from(dateTime.atOffset(ZoneOffset.UTC)),
+                List.of(
+                        new WaterIntake(
+                                1_000_000L,
+                                dateTime,
+                                REPOSITORY_WATER_INTAKE_VOLUME,
+                                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                                testUser.getId())),
+                Instant.now());
+    }
+
+    private WaterIntake newWaterIntake(int volume) {
+        return new WaterIntake(
+                REPOSITORY_WATER_INTAKE_DATE_TIME_UTC,
+                volume,
+                REPOSITORY_WATER_INTAKE_VOLUME_UNIT,
+                testUser.getId());
+    }
+}
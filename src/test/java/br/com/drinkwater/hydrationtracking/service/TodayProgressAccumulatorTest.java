@@ -0,0 +1,307 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.config.properties.TodayProgressCacheProperties;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.service.TodayProgressAccumulator.TodayTotal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class TodayProgressAccumulatorTest {
+
+    private static final Long USER_ID = 1L;
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+    private static final LocalDate TODAY = LocalDate.parse("2025-06-01");
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<Instant> now = new AtomicReference<>(NOW);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private TodayProgressAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        accumulator =
+                new TodayProgressAccumulator(
+                        new TodayProgressCacheProperties(100, 15),
+                        new SimpleMeterRegistry(),
+                        nanos::get,
+                        new MutableClock(now, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenPublicConstructor_whenGet_thenLoadsFromDatabase() {
+        // Given
+        var sut =
+                new TodayProgressAccumulator(
+                        new TodayProgressCacheProperties(100, 15), new SimpleMeterRegistry());
+
+        // When
+        var total = sut.get(USER_ID, UTC, loader(500, 2));
+
+        // Then
+        assertThat(total.totalVolume()).isEqualTo(500);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void givenCachedTotal_whenGetWithinReloadPeriod_thenDoesNotReload() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+        nanos.addAndGet(Duration.ofMinutes(14).toNanos());
+
+        // When
+        var total = accumulator.get(USER_ID, UTC, loader(900, 3));
+
+        // Then
+        assertThat(total).isEqualTo(new TodayTotal(UTC, TODAY, 500, 2, 0));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void givenCachedTotal_whenReloadPeriodElapses_thenReloads() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+        long reloadAt = nanos.addAndGet(Duration.ofMinutes(15).toNanos());
+
+        // When
+        var total = accumulator.get(USER_ID, UTC, loader(900, 3));
+
+        // Then
+        assertThat(total).isEqualTo(new TodayTotal(UTC, TODAY, 900, 3, reloadAt));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void givenCachedTotalForAnotherZone_whenGet_thenReloadsForRequestedZone() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+
+        // When
+        var total = accumulator.get(USER_ID, SAO_PAULO, loader(SAO_PAULO, 300, 1));
+
+        // Then
+        assertThat(total.zone()).isEqualTo(SAO_PAULO);
+        assertThat(total.totalVolume()).isEqualTo(300);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void givenCachedTotalFromYesterday_whenDateRollsOver_thenReloadsForNewDate() {
+        // Given
+        now.set(NOW.minus(Duration.ofDays(1)));
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+        now.set(NOW);
+
+        // When
+        var total = accumulator.get(USER_ID, UTC, loader(0, 0));
+
+        // Then
+        assertThat(total.date()).isEqualTo(TODAY);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void givenNoTransaction_whenRecordCreated_thenAppliesImmediately() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+
+        // When
+        accumulator.recordCreated(List.of(intake(NOW, 250), intake(NOW.minusSeconds(60), 100)));
+
+        // Then
+        assertThat(accumulator.get(USER_ID, UTC, loader(0, 0)).totalVolume()).isEqualTo(850);
+        assertThat(accumulator.get(USER_ID, UTC, loader(0, 0)).intakeCount()).isEqualTo(4);
+    }
+
+    @Test
+    void givenIntakeFromAnotherDay_whenRecordCreated_thenLeavesTotalUnchanged() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+
+        // When
+        accumulator.recordCreated(List.of(intake(NOW.minus(Duration.ofDays(1)), 250)));
+
+        // Then
+        assertThat(accumulator.get(USER_ID, UTC, loader(0, 0)).totalVolume()).isEqualTo(500);
+    }
+
+    @Test
+    void givenUncachedUser_whenRecordCreated_thenDoesNotPopulateCache() {
+        // When
+        accumulator.recordCreated(List.of(intake(NOW, 250)));
+
+        // Then
+        assertThat(accumulator.get(USER_ID, UTC, loader(0, 0)).totalVolume()).isZero();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void givenActiveTransaction_whenRecordDeleted_thenAppliesOnlyAfterCommit() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        accumulator.recordDeleted(intake(NOW, 200));
+
+        // Then
+        assertThat(accumulator.get(USER_ID, UTC, loader(0, 0)).totalVolume()).isEqualTo(500);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        var total = accumulator.get(USER_ID, UTC, loader(0, 0));
+        assertThat(total.totalVolume()).isEqualTo(300);
+        assertThat(total.intakeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenCachedTotal_whenInvalidated_thenReloadsOnNextGet() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+
+        // When
+        accumulator.invalidate(USER_ID);
+
+        // Then
+        assertThat(accumulator.get(USER_ID, UTC, loader(900, 4)).totalVolume()).isEqualTo(900);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void givenIntakeMovedToAnotherDay_whenRecordUpdated_thenSubtractsPreviousVolume() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+
+        // When
+        accumulator.recordUpdated(intake(NOW, 200), intake(NOW.minus(Duration.ofDays(1)), 400));
+
+        // Then
+        var total = accumulator.get(USER_ID, UTC, loader(0, 0));
+        assertThat(total.totalVolume()).isEqualTo(300);
+        assertThat(total.intakeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenVolumeChangedWithinDay_whenRecordUpdated_thenAppliesDifference() {
+        // Given
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+
+        // When
+        accumulator.recordUpdated(intake(NOW, 200), intake(NOW, 350));
+
+        // Then
+        var total = accumulator.get(USER_ID, UTC, loader(0, 0));
+        assertThat(total.totalVolume()).isEqualTo(650);
+        assertThat(total.intakeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void givenWriteAppliedDuringLoad_whenGet_thenReturnsLoadedTotalWithoutCachingIt() {
+        // Given
+        Function<LocalDate, TodayTotal> racingLoader =
+                date -> {
+                    accumulator.recordCreated(List.of(intake(NOW, 250)));
+                    return loader(500, 2).apply(date);
+                };
+
+        // When
+        var total = accumulator.get(USER_ID, UTC, racingLoader);
+
+        // Then
+        assertThat(total.totalVolume()).isEqualTo(500);
+        assertThat(accumulator.get(USER_ID, UTC, loader(750, 3)).totalVolume()).isEqualTo(750);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void givenWriteInFlight_whenGet_thenCachesOnlyAfterItsTransactionCompletes() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        accumulator.recordCreated(List.of(intake(NOW, 250)));
+
+        // When
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+        accumulator.get(USER_ID, UTC, loader(500, 2));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(
+                        synchronization -> {
+                            synchronization.afterCommit();
+                            synchronization.afterCompletion(
+                                    TransactionSynchronization.STATUS_COMMITTED);
+                        });
+        accumulator.get(USER_ID, UTC, loader(750, 3));
+        var total = accumulator.get(USER_ID, UTC, loader(0, 0));
+
+        // Then
+        assertThat(total.totalVolume()).isEqualTo(750);
+        assertThat(loads).hasValue(3);
+    }
+
+    private Function<LocalDate, TodayTotal> loader(long totalVolume, long intakeCount) {
+        return loader(UTC, totalVolume, intakeCount);
+    }
+
+    private Function<LocalDate, TodayTotal> loader(
+            ZoneId zone, long totalVolume, long intakeCount) {
+        return date -> {
+            loads.incrementAndGet();
+            return new TodayTotal(zone, date, totalVolume, intakeCount);
+        };
+    }
+
+    private static WaterIntake intake(Instant dateTimeUTC, int volume) {
+        return new WaterIntake(dateTimeUTC, volume, VolumeUnit.ML, USER_ID);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final AtomicReference<Instant> instant;
+        private final ZoneId zone;
+
+        MutableClock(AtomicReference<Instant> instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant.get();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.config.properties.WaterIntakeArchiveProperties;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository.ArchiveCandidate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakeArchiveServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T12:00:00Z");
+    private static final Instant CUTOFF = Instant.parse("2025-01-01T00:00:00Z");
+    private static final long USER_ID = 1L;
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+    @Mock private WaterIntakeArchiveRepository archiveRepository;
+
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+                .when(transactionTemplate.execute(any()))
+                .thenAnswer(
+                        invocation -> {
+                            TransactionCallback<?> action = invocation.getArgument(0);
+                            return action.doInTransaction(null);
+                        });
+    }
+
+    @Test
+    void givenOldMonths_whenArchive_thenMergesEachIntoItsArchivedMonthAndDeletesTheHotRows() {
+        // Given
+        var service = service(12, 3);
+        when(archiveRepository.findCandidates(CUTOFF, 3))
+                .thenReturn(
+                        List.of(
+                                new ArchiveCandidate(USER_ID, JANUARY),
+                                new ArchiveCandidate(USER_ID, FEBRUARY)));
+        when(archiveRepository.findCandidates(CUTOFF, 1)).thenReturn(List.of());
+        when(archiveRepository.findHotMonthForUpdate(USER_ID, JANUARY))
+                .thenReturn(
+                        List.of(
+                                record(6L, "2024-01-10T08:00:00Z"),
+                                record(5L, "2024-01-20T08:00:00Z")));
+        when(archiveRepository.findArchivedRecords(USER_ID, JANUARY, JANUARY))
+                .thenReturn(List.of(record(1L, "2024-01-15T08:00:00Z")));
+        when(archiveRepository.findHotMonthForUpdate(USER_ID, FEBRUARY)).thenReturn(List.of());
+        when(archiveRepository.deleteHot(USER_ID, List.of(6L, 5L))).thenReturn(2);
+
+        // When
+        var sut = service.archive();
+
+        // Then
+        assertThat(sut).isEqualTo(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<WaterIntake>> saved = ArgumentCaptor.forClass(List.class);
+        verify(archiveRepository).saveMonth(eq(USER_ID), eq(JANUARY), saved.capture(), eq(NOW));
+        assertThat(saved.getValue()).extracting(WaterIntake::getId).containsExactly(6L, 1L, 5L);
+        verify(archiveRepository, times(2)).lockUser(USER_ID);
+        verify(archiveRepository, never()).saveMonth(anyLong(), eq(FEBRUARY), any(), any());
+        assertThat(meterRegistry.get("water_intakes.archive.rows").counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("water_intakes.archive.months").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void givenMoreMonthsThanTheRunAllows_whenArchive_thenStopsAtTheLimit() {
+        // Given
+        var service = service(12, 1);
+        when(archiveRepository.findCandidates(CUTOFF, 1))
+                .thenReturn(List.of(new ArchiveCandidate(USER_ID, JANUARY)));
+        when(archiveRepository.findHotMonthForUpdate(USER_ID, JANUARY))
+                .thenReturn(List.of(record(5L, "2024-01-20T08:00:00Z")));
+        when(archiveRepository.deleteHot(USER_ID, List.of(5L))).thenReturn(1);
+
+        // When
+        var sut = service.archive();
+
+        // Then
+        assertThat(sut).isEqualTo(1);
+        verify(archiveRepository, times(1)).findCandidates(any(), anyInt());
+    }
+
+    @Test
+    void givenTransactionReturningNoResult_whenArchive_thenCountsNothingArchived() {
+        // Given
+        var service = service(12, 1);
+        when(archiveRepository.findCandidates(CUTOFF, 1))
+                .thenReturn(List.of(new ArchiveCandidate(USER_ID, JANUARY)));
+        doReturn(null).when(transactionTemplate).execute(any());
+
+        // When
+        var sut = service.archive();
+
+        // Then
+        assertThat(sut).isZero();
+        assertThat(meterRegistry.get("water_intakes.archive.rows").counter().count()).isZero();
+        assertThat(meterRegistry.get("water_intakes.archive.months").counter().count()).isZero();
+    }
+
+    @Test
+    void givenArchiveDisabled_whenArchive_thenTouchesNothing() {
+        // Given
+        var service = service(0, 1_000);
+
+        // When
+        var sut = service.archive();
+
+        // Then
+        assertThat(sut).isZero();
+        verifyNoInteractions(archiveRepository, transactionTemplate);
+    }
+
+    private WaterIntakeArchiveService service(int afterMonths, int monthsPerRun) {
+        return new WaterIntakeArchiveService(
+                archiveRepository,
+                transactionTemplate,
+                new WaterIntakeArchiveProperties("-", afterMonths, monthsPerRun, 24),
+                meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static WaterIntake record(long id, String dateTimeUTC) {
+        return new WaterIntake(id, Instant.parse(dateTimeUTC), 250, VolumeUnit.ML, USER_ID);
+    }
+}
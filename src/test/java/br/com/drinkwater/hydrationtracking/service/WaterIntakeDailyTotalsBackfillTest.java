@@ -0,0 +1,159 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakeDailyTotalsBackfillTest {
+
+    @Mock private WaterIntakeDailyTotalsRepository dailyTotalsRepository;
+
+    @Mock private WaterIntakeDailyTotalsService dailyTotalsService;
+
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WaterIntakeDailyTotalsBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(dailyTotalsService.timeZones()).thenReturn(List.of(ZoneId.of("UTC")));
+        lenient()
+                .doAnswer(
+                        invocation -> {
+                            Consumer<TransactionStatus> action = invocation.getArgument(0);
+                            action.accept(null);
+                            return null;
+                        })
+                .when(transactionTemplate)
+                .executeWithoutResult(any());
+        backfill =
+                new WaterIntakeDailyTotalsBackfill(
+                        dailyTotalsRepository,
+                        dailyTotalsService,
+                        transactionTemplate,
+                        meterRegistry,
+                        Runnable::run);
+    }
+
+    @Test
+    void givenMissingZoneAndExistingRecords_whenBackfillIfMissing_thenRebuildsEveryUserByPage() {
+        // Given
+        List<Long> firstPage =
+                LongStream.rangeClosed(1, WaterIntakeDailyTotalsBackfill.PAGE_SIZE)
+                        .boxed()
+                        .toList();
+        when(dailyTotalsRepository.isBackfillCompleted("UTC")).thenReturn(false);
+        when(dailyTotalsRepository.existsAnyWaterIntake()).thenReturn(true);
+        when(dailyTotalsRepository.findUserIdsAfter(0, WaterIntakeDailyTotalsBackfill.PAGE_SIZE))
+                .thenReturn(firstPage);
+        when(dailyTotalsRepository.findUserIdsAfter(
+                        WaterIntakeDailyTotalsBackfill.PAGE_SIZE,
+                        WaterIntakeDailyTotalsBackfill.PAGE_SIZE))
+                .thenReturn(List.of(1_000L));
+
+        // When
+        backfill.backfillIfMissing();
+
+        // Then
+        verify(dailyTotalsService, times(WaterIntakeDailyTotalsBackfill.PAGE_SIZE + 1))
+                .rebuild(any());
+        verify(dailyTotalsService).rebuild(1_000L);
+        verify(dailyTotalsRepository)
+                .saveBackfillProgress("UTC", WaterIntakeDailyTotalsBackfill.PAGE_SIZE, false);
+        verify(dailyTotalsRepository).saveBackfillProgress("UTC", 1_000L, true);
+        verify(dailyTotalsService).backfillStarted(List.of(ZoneId.of("UTC")));
+        verify(dailyTotalsService).backfillCompleted(List.of(ZoneId.of("UTC")));
+        assertThat(
+                        meterRegistry
+                                .get("water_intakes.daily_totals.backfilled_users")
+                                .counter()
+                                .count())
+                .isEqualTo(WaterIntakeDailyTotalsBackfill.PAGE_SIZE + 1.0);
+    }
+
+    @Test
+    void givenInterruptedBackfill_whenBackfillIfMissing_thenResumesAfterLastSavedUser() {
+        // Given
+        when(dailyTotalsRepository.isBackfillCompleted("UTC")).thenReturn(false);
+        when(dailyTotalsRepository.existsAnyWaterIntake()).thenReturn(true);
+        when(dailyTotalsRepository.findBackfillProgress("UTC")).thenReturn(700L);
+        when(dailyTotalsRepository.findUserIdsAfter(700L, WaterIntakeDailyTotalsBackfill.PAGE_SIZE))
+                .thenReturn(List.of(701L));
+
+        // When
+        backfill.backfillIfMissing();
+
+        // Then
+        verify(dailyTotalsService).rebuild(701L);
+        verify(dailyTotalsService, times(1)).rebuild(any());
+        verify(dailyTotalsRepository).saveBackfillProgress("UTC", 701L, true);
+    }
+
+    @Test
+    void givenRebuildFailure_whenBackfillIfMissing_thenKeepsProgressAndZoneOnRawRecords() {
+        // Given
+        when(dailyTotalsRepository.isBackfillCompleted("UTC")).thenReturn(false);
+        when(dailyTotalsRepository.existsAnyWaterIntake()).thenReturn(true);
+        when(dailyTotalsRepository.findUserIdsAfter(0, WaterIntakeDailyTotalsBackfill.PAGE_SIZE))
+                .thenReturn(List.of(1L, 2L));
+        when(dailyTotalsService.rebuild(2L)).thenThrow(new IllegalStateException("boom"));
+
+        // When
+        backfill.backfillIfMissing();
+
+        // Then
+        verify(dailyTotalsRepository, never())
+                .saveBackfillProgress(anyString(), anyLong(), anyBoolean());
+        verify(dailyTotalsService).backfillStarted(List.of(ZoneId.of("UTC")));
+        verify(dailyTotalsService, never()).backfillCompleted(any());
+    }
+
+    @Test
+    void givenAllZonesCompleted_whenBackfillIfMissing_thenSkipsBackfill() {
+        // Given
+        when(dailyTotalsRepository.isBackfillCompleted("UTC")).thenReturn(true);
+
+        // When
+        backfill.backfillIfMissing();
+
+        // Then
+        verify(dailyTotalsRepository, never()).findUserIdsAfter(anyLong(), anyInt());
+        verify(dailyTotalsRepository, never())
+                .saveBackfillProgress(anyString(), anyLong(), anyBoolean());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void givenNoRecords_whenBackfillIfMissing_thenMarksZoneCompleted() {
+        // Given
+        when(dailyTotalsRepository.isBackfillCompleted("UTC")).thenReturn(false);
+        when(dailyTotalsRepository.existsAnyWaterIntake()).thenReturn(false);
+
+        // When
+        backfill.backfillIfMissing();
+
+        // Then
+        verify(dailyTotalsRepository).saveBackfillProgress("UTC", 0L, true);
+        verify(dailyTotalsRepository, never()).findUserIdsAfter(anyLong(), anyInt());
+        verify(dailyTotalsService, never()).backfillStarted(any());
+        verifyNoInteractions(transactionTemplate);
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository.Drift;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakeDailyTotalsConsistencyCheckerTest {
+
+    @Mock private WaterIntakeDailyTotalsRepository dailyTotalsRepository;
+
+    @Mock private WaterIntakeDailyTotalsService dailyTotalsService;
+
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WaterIntakeDailyTotalsConsistencyChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        when(dailyTotalsService.timeZones())
+                .thenReturn(List.of(ZoneId.of("UTC"), ZoneId.of("America/Sao_Paulo")));
+        lenient()
+                .doAnswer(
+                        invocation -> {
+                            Consumer<TransactionStatus> action = invocation.getArgument(0);
+                            action.accept(null);
+                            return null;
+                        })
+                .when(transactionTemplate)
+                .executeWithoutResult(any());
+        checker =
+                new WaterIntakeDailyTotalsConsistencyChecker(
+                        dailyTotalsRepository,
+                        dailyTotalsService,
+                        transactionTemplate,
+                        meterRegistry);
+    }
+
+    @Test
+    void givenDriftInSeveralZones_whenCheckAndRepair_thenRebuildsEachDriftedUserOnce() {
+        // Given
+        when(dailyTotalsRepository.findDrift(
+                        "UTC", WaterIntakeDailyTotalsConsistencyChecker.MAX_DRIFT_PER_RUN))
+                .thenReturn(
+                        List.of(
+                                new Drift(1L, LocalDate.parse("2025-06-01"), 200, 1, 250, 1),
+                                new Drift(2L, LocalDate.parse("2025-06-01"), 300, 2, 0, 0)));
+        when(dailyTotalsRepository.findDrift(
+                        "America/Sao_Paulo",
+                        WaterIntakeDailyTotalsConsistencyChecker.MAX_DRIFT_PER_RUN))
+                .thenReturn(List.of(new Drift(1L, LocalDate.parse("2025-05-31"), 200, 1, 250, 1)));
+
+        // When
+        int sut = checker.checkAndRepair();
+
+        // Then
+        assertThat(sut).isEqualTo(2);
+        assertThat(meterRegistry.get("water_intakes.daily_totals.drift").counter().count())
+                .isEqualTo(3.0);
+        verify(dailyTotalsService, times(1)).rebuild(1L);
+        verify(dailyTotalsService, times(1)).rebuild(2L);
+    }
+
+    @Test
+    void givenNoDrift_whenCheckAndRepair_thenRebuildsNothing() {
+        // Given
+        when(dailyTotalsRepository.findDrift(any(), anyInt())).thenReturn(List.of());
+
+        // When
+        int sut = checker.checkAndRepair();
+
+        // Then
+        assertThat(sut).isZero();
+        assertThat(meterRegistry.get("water_intakes.daily_totals.drift").counter().count())
+                .isZero();
+        verifyNoInteractions(transactionTemplate);
+    }
+}
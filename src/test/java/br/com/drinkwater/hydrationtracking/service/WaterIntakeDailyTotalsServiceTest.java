@@ -0,0 +1,197 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.config.properties.DailyTotalsProperties;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeDailyTotalsRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakeDailyTotalsServiceTest {
+
+    private static final String UTC = "UTC";
+    private static final String SAO_PAULO = "America/Sao_Paulo";
+
+    @Mock private WaterIntakeDailyTotalsRepository dailyTotalsRepository;
+
+    private WaterIntakeDailyTotalsService dailyTotalsService;
+
+    @BeforeEach
+    void setUp() {
+        dailyTotalsService =
+                new WaterIntakeDailyTotalsService(
+                        dailyTotalsRepository,
+                        new DailyTotalsProperties(List.of(UTC, SAO_PAULO, UTC), "-"));
+    }
+
+    @Test
+    void givenDuplicateTimeZones_whenCreated_thenMaintainsEachZoneOnce() {
+        // When & Then
+        assertThat(dailyTotalsService.timeZones())
+                .containsExactly(ZoneId.of(UTC), ZoneId.of(SAO_PAULO));
+        assertThat(dailyTotalsService.isMaintained(ZoneId.of(SAO_PAULO))).isTrue();
+        assertThat(dailyTotalsService.isMaintained(ZoneId.of("Europe/Lisbon"))).isFalse();
+    }
+
+    @Test
+    void givenZoneBeingBackfilled_whenIsMaintained_thenFalseUntilBackfillCompletes() {
+        // When
+        dailyTotalsService.backfillStarted(List.of(ZoneId.of(SAO_PAULO)));
+        boolean duringBackfill = dailyTotalsService.isMaintained(ZoneId.of(SAO_PAULO));
+        dailyTotalsService.backfillCompleted(List.of(ZoneId.of(SAO_PAULO)));
+
+        // Then
+        assertThat(duringBackfill).isFalse();
+        assertThat(dailyTotalsService.isMaintained(ZoneId.of(UTC))).isTrue();
+        assertThat(dailyTotalsService.isMaintained(ZoneId.of(SAO_PAULO))).isTrue();
+    }
+
+    @Test
+    void givenInvalidTimeZone_whenCreated_thenThrowsIllegalStateException() {
+        // Given
+        var properties = new DailyTotalsProperties(List.of("Mars/Olympus_Mons"), "-");
+
+        // When & Then
+        assertThatThrownBy(
+                        () -> new WaterIntakeDailyTotalsService(dailyTotalsRepository, properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("WATER_INTAKE_DAILY_TOTALS_TIME_ZONES")
+                .hasMessageContaining("Mars/Olympus_Mons");
+    }
+
+    @Test
+    void givenRecordNearMidnight_whenRecordCreated_thenAddsToLocalDayOfEachZone() {
+        // Given
+        var waterIntake = waterIntake(1L, "2025-06-02T01:30:00Z", 250);
+
+        // When
+        dailyTotalsService.recordCreated(waterIntake);
+
+        // Then
+        verify(dailyTotalsRepository).applyDelta(1L, UTC, LocalDate.parse("2025-06-02"), 250, 1);
+        verify(dailyTotalsRepository)
+                .applyDelta(1L, SAO_PAULO, LocalDate.parse("2025-06-01"), 250, 1);
+        verifyNoMoreInteractions(dailyTotalsRepository);
+    }
+
+    @Test
+    void givenBatchAcrossUsersAndDays_whenRecordCreated_thenAppliesOneDeltaPerUserDayInOrder() {
+        // Given
+        var waterIntakes =
+                List.of(
+                        waterIntake(2L, "2025-06-01T12:00:00Z", 100),
+                        waterIntake(1L, "2025-06-02T12:00:00Z", 200),
+                        waterIntake(1L, "2025-06-01T12:00:00Z", 300),
+                        waterIntake(1L, "2025-06-01T13:00:00Z", 400));
+        dailyTotalsService =
+                new WaterIntakeDailyTotalsService(
+                        dailyTotalsRepository, new DailyTotalsProperties(List.of(UTC), "-"));
+
+        // When
+        dailyTotalsService.recordCreated(waterIntakes);
+
+        // Then
+        InOrder inOrder = inOrder(dailyTotalsRepository);
+        inOrder.verify(dailyTotalsRepository)
+                .applyDelta(1L, UTC, LocalDate.parse("2025-06-01"), 700, 2);
+        inOrder.verify(dailyTotalsRepository)
+                .applyDelta(1L, UTC, LocalDate.parse("2025-06-02"), 200, 1);
+        inOrder.verify(dailyTotalsRepository)
+                .applyDelta(2L, UTC, LocalDate.parse("2025-06-01"), 100, 1);
+        verifyNoMoreInteractions(dailyTotalsRepository);
+    }
+
+    @Test
+    void givenImportedRecords_whenRecordCreatedOnArchivedDays_thenAppliesDeltasOnlyIfArchived() {
+        // Given
+        var waterIntakes =
+                List.of(
+                        waterIntake(1L, "2025-06-01T12:00:00Z", 300),
+                        waterIntake(1L, "2025-06-01T13:00:00Z", 400));
+
+        // When
+        dailyTotalsService.recordCreatedOnArchivedDays(waterIntakes);
+
+        // Then
+        verify(dailyTotalsRepository)
+                .applyDeltaToArchivedDay(1L, UTC, LocalDate.parse("2025-06-01"), 700, 2);
+        verify(dailyTotalsRepository)
+                .applyDeltaToArchivedDay(1L, SAO_PAULO, LocalDate.parse("2025-06-01"), 700, 2);
+        verifyNoMoreInteractions(dailyTotalsRepository);
+    }
+
+    @Test
+    void givenRecordMovedToAnotherDay_whenRecordUpdated_thenMovesContributionBetweenDays() {
+        // Given
+        var previous = waterIntake(1L, "2025-06-01T12:00:00Z", 250);
+        var current = waterIntake(1L, "2025-06-02T02:00:00Z", 300);
+
+        // When
+        dailyTotalsService.recordUpdated(previous, current);
+
+        // Then
+        verify(dailyTotalsRepository).applyDelta(1L, UTC, LocalDate.parse("2025-06-01"), -250, -1);
+        verify(dailyTotalsRepository).applyDelta(1L, UTC, LocalDate.parse("2025-06-02"), 300, 1);
+        verify(dailyTotalsRepository)
+                .applyDelta(1L, SAO_PAULO, LocalDate.parse("2025-06-01"), 50, 0);
+        verifyNoMoreInteractions(dailyTotalsRepository);
+    }
+
+    @Test
+    void givenSameDayAndVolume_whenRecordUpdated_thenLeavesTotalsUntouched() {
+        // Given
+        var previous = waterIntake(1L, "2025-06-01T12:00:00Z", 250);
+        var current = waterIntake(1L, "2025-06-01T13:00:00Z", 250);
+
+        // When
+        dailyTotalsService.recordUpdated(previous, current);
+
+        // Then
+        verifyNoInteractions(dailyTotalsRepository);
+    }
+
+    @Test
+    void givenRecord_whenRecordDeleted_thenSubtractsFromLocalDayOfEachZone() {
+        // Given
+        var waterIntake = waterIntake(1L, "2025-06-02T01:30:00Z", 250);
+
+        // When
+        dailyTotalsService.recordDeleted(waterIntake);
+
+        // Then
+        verify(dailyTotalsRepository).applyDelta(1L, UTC, LocalDate.parse("2025-06-02"), -250, -1);
+        verify(dailyTotalsRepository)
+                .applyDelta(1L, SAO_PAULO, LocalDate.parse("2025-06-01"), -250, -1);
+        verifyNoMoreInteractions(dailyTotalsRepository);
+    }
+
+    @Test
+    void givenUser_whenRebuild_thenRebuildsEveryZoneAndSumsRows() {
+        // Given
+        when(dailyTotalsRepository.rebuildForUser(1L, UTC)).thenReturn(3);
+        when(dailyTotalsRepository.rebuildForUser(1L, SAO_PAULO)).thenReturn(4);
+
+        // When
+        int sut = dailyTotalsService.rebuild(1L);
+
+        // Then
+        assertThat(sut).isEqualTo(7);
+    }
+
+    private static WaterIntake waterIntake(Long userId, String dateTimeUTC, int volume) {
+        return new WaterIntake(Instant.parse(dateTimeUTC), volume, VolumeUnit.ML, userId);
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_ID;
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.hydrationtracking.mapper.WaterIntakeMapper;
+import br.com.drinkwater.hydrationtracking.model.ExportFormat;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeExportRepository;
+import br.com.drinkwater.usermanagement.exception.UserNotFoundException;
+import br.com.drinkwater.usermanagement.service.UserService;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakeExportServiceTest {
+
+    private static final List<WaterIntake> HISTORY =
+            List.of(
+                    new WaterIntake(
+                            1L, Instant.parse("2025-06-01T08:00:00Z"), 250, VolumeUnit.ML, USER_ID),
+                    new WaterIntake(
+                            2L,
+                            Instant.parse("2025-06-01T12:30:00Z"),
+                            500,
+                            VolumeUnit.ML,
+                            USER_ID));
+
+    @Mock private WaterIntakeExportRepository waterIntakeExportRepository;
+
+    @Mock private UserService userService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WaterIntakeExportService waterIntakeExportService;
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+                .doAnswer(
+                        invocation -> {
+                            Consumer<WaterIntake> action = invocation.getArgument(1);
+                            HISTORY.forEach(action);
+                            return null;
+                        })
+                .when(waterIntakeExportRepository)
+                .forEachByUserId(eq(USER_ID), any());
+        waterIntakeExportService =
+                new WaterIntakeExportService(
+                        waterIntakeExportRepository,
+                        new WaterIntakeMapper(),
+                        userService,
+                        JsonMapper.builder()
+                                .findAndAddModules()
+                                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                .build(),
+                        meterRegistry);
+    }
+
+    @Test
+    void givenHistory_whenExportAsNdjson_thenWritesOneJsonObjectPerLine() throws IOException {
+        // Given
+        when(userService.resolveUserIdByPublicId(USER_UUID)).thenReturn(USER_ID);
+        var output = new ByteArrayOutputStream();
+
+        // When
+        waterIntakeExportService.export(ExportFormat.NDJSON, USER_UUID).writeTo(output);
+
+        // Then
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .isEqualTo(
+                        """
+                        {"id":1,"dateTimeUTC":"2025-06-01T08:00:00Z","volume":250,"volumeUnit":"ML"}
+                        {"id":2,"dateTimeUTC":"2025-06-01T12:30:00Z","volume":500,"volumeUnit":"ML"}
+                        """);
+        assertThat(meterRegistry.counter("water_intakes.exported").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenHistory_whenExportAsCsv_thenWritesHeaderAndOneRowPerRecord() throws IOException {
+        // Given
+        when(userService.resolveUserIdByPublicId(USER_UUID)).thenReturn(USER_ID);
+        var output = new ByteArrayOutputStream();
+
+        // When
+        waterIntakeExportService.export(ExportFormat.CSV, USER_UUID).writeTo(output);
+
+        // Then
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .isEqualTo(
+                        """
+                        id,dateTimeUTC,volume,volumeUnit
+                        1,2025-06-01T08:00:00Z,250,ML
+                        2,2025-06-01T12:30:00Z,500,ML
+                        """);
+    }
+
+    @Test
+    void givenUnknownUser_whenExport_thenThrowsBeforeStreaming() {
+        // Given
+        when(userService.resolveUserIdByPublicId(USER_UUID))
+                .thenThrow(new UserNotFoundException("User not found"));
+
+        // When & Then
+        assertThatThrownBy(() -> waterIntakeExportService.export(ExportFormat.NDJSON, USER_UUID))
+                .isInstanceOf(UserNotFoundException.class);
+        verifyNoInteractions(waterIntakeExportRepository);
+    }
+
+    @Test
+    void givenClientDisconnects_whenStreaming_thenPropagatesIOException() {
+        // Given - enough records to overflow the writer buffer while rows are still being read
+        when(userService.resolveUserIdByPublicId(USER_UUID)).thenReturn(USER_ID);
+        doAnswer(
+                        invocation -> {
+                            Consumer<WaterIntake> action = invocation.getArgument(1);
+                            LongStream.rangeClosed(1, 1_000)
+                                    .mapToObj(
+                                            id ->
+                                                    new WaterIntake(
+                                                            id,
+                                                            Instant.parse("2025-06-01T08:00:00Z")
+                                                                    .plusSeconds(id),
+                                                            250,
+                                                            VolumeUnit.ML,
+                                                            USER_ID))
+                                    .forEach(action);
+                            return null;
+                        })
+                .when(waterIntakeExportRepository)
+                .forEachByUserId(eq(USER_ID), any());
+        var body = waterIntakeExportService.export(ExportFormat.NDJSON, USER_UUID);
+        var disconnected =
+                new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("Broken pipe");
+                    }
+                };
+
+        // When & Then
+        assertThatThrownBy(() -> body.writeTo(disconnected))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        assertThat(meterRegistry.counter("water_intakes.exported").count()).isLessThan(1_000.0);
+    }
+}
@@ -0,0 +1,292 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_ID;
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.core.MessageResolver;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeImportErrorDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeImportErrorDTO.Reason;
+import br.com.drinkwater.hydrationtracking.mapper.WaterIntakeMapper;
+import br.com.drinkwater.hydrationtracking.model.ExportFormat;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeImportRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeImportRepository.MergeResult;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeImportRepository.StagingWriter;
+import br.com.drinkwater.usermanagement.service.UserService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakeImportServiceTest {
+
+    private static final String VALID_LINE =
+            "{\"dateTimeUTC\":\"2025-06-01T08:00:00Z\",\"volume\":250,\"volumeUnit\":\"ML\"}";
+
+    @Mock private WaterIntakeImportRepository waterIntakeImportRepository;
+
+    @Mock private StagingWriter stagingWriter;
+
+    @Mock private TransactionTemplate transactionTemplate;
+
+    @Mock private WaterIntakeDailyTotalsService dailyTotalsService;
+
+    @Mock private TodayProgressAccumulator todayProgressAccumulator;
+
+    @Mock private MessageResolver messageResolver;
+
+    @Mock private UserService userService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WaterIntakeImportService waterIntakeImportService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userService.resolveUserIdByPublicId(USER_UUID)).thenReturn(USER_ID);
+        lenient()
+                .when(waterIntakeImportRepository.openStaging(any(UUID.class)))
+                .thenReturn(stagingWriter);
+        lenient().when(messageResolver.resolve(anyString())).thenAnswer(i -> i.getArgument(0));
+        lenient()
+                .when(transactionTemplate.execute(any()))
+                .thenAnswer(
+                        invocation -> {
+                            TransactionCallback<?> action = invocation.getArgument(0);
+                            return action.doInTransaction(null);
+                        });
+        waterIntakeImportService =
+                new WaterIntakeImportService(
+                        waterIntakeImportRepository,
+                        transactionTemplate,
+                        dailyTotalsService,
+                        todayProgressAccumulator,
+                        new WaterIntakeMapper(),
+                        messageResolver,
+                        userService,
+                        Validation.buildDefaultValidatorFactory().getValidator(),
+                        JsonMapper.builder()
+                                .findAndAddModules()
+                                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                                .build(),
+                        meterRegistry);
+    }
+
+    @Test
+    void givenNdjsonWithInvalidLines_whenImport_thenStagesValidLinesAndReportsTheRest()
+            throws IOException {
+        // Given
+        var nearArchivedMonth =
+                new WaterIntake(Instant.parse("2025-06-01T08:00:00Z"), 250, VolumeUnit.ML, USER_ID);
+        when(waterIntakeImportRepository.merge(any(UUID.class), eq(USER_ID)))
+                .thenReturn(new MergeResult(2, List.of(nearArchivedMonth)));
+        var body =
+                body(
+                        VALID_LINE,
+                        "",
+                        "{\"id\":9,\"dateTimeUTC\":\"2025-06-01T12:00:00Z\",\"volume\":500,"
+                                + "\"volumeUnit\":\"ML\"}",
+                        "{\"dateTimeUTC\":\"2025-06-01T13:00:00Z\",\"volume\":0}",
+                        "not json");
+
+        // When
+        var result = waterIntakeImportService.importHistory(ExportFormat.NDJSON, body, USER_UUID);
+
+        // Then
+        var staged = ArgumentCaptor.forClass(WaterIntake.class);
+        verify(stagingWriter).add(eq(1), staged.capture());
+        verify(stagingWriter).add(eq(3), staged.capture());
+        verify(stagingWriter).close();
+        assertThat(staged.getAllValues())
+                .extracting(WaterIntake::getVolume, WaterIntake::getUserId)
+                .containsExactly(tuple(250, USER_ID), tuple(500, USER_ID));
+        assertThat(result.lines()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.duplicates()).isZero();
+        assertThat(result.errors())
+                .extracting(WaterIntakeImportErrorDTO::line, WaterIntakeImportErrorDTO::reason)
+                .containsExactly(tuple(4, Reason.INVALID), tuple(5, Reason.INVALID));
+        assertThat(result.errors().getFirst().messages())
+                .containsExactly(
+                        "{water-intake.volume-unit.not-null}", "{water-intake.volume.positive}");
+        assertThat(result.errors().getLast().messages())
+                .containsExactly("water-intake.import.line.malformed");
+        verify(dailyTotalsService).rebuild(USER_ID);
+        verify(dailyTotalsService).recordCreatedOnArchivedDays(List.of(nearArchivedMonth));
+        verify(todayProgressAccumulator).invalidate(USER_ID);
+        assertThat(meterRegistry.counter("water_intakes.imported").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("water_intakes.import.rejected").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.timer("water_intakes.import").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenBody_whenImport_thenReadsItBeforeOpeningTheTransaction() throws IOException {
+        // Given
+        var body = body(VALID_LINE, VALID_LINE.replace("08:00", "09:00"));
+        doAnswer(
+                        invocation -> {
+                            assertThat(body.available()).isZero();
+                            TransactionCallback<?> action = invocation.getArgument(0);
+                            return action.doInTransaction(null);
+                        })
+                .when(transactionTemplate)
+                .execute(any());
+        when(waterIntakeImportRepository.merge(any(UUID.class), eq(USER_ID)))
+                .thenReturn(new MergeResult(2, List.of()));
+
+        // When
+        var result = waterIntakeImportService.importHistory(ExportFormat.NDJSON, body, USER_UUID);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(2);
+        verify(transactionTemplate).execute(any());
+        verify(stagingWriter, times(2)).add(anyInt(), any());
+    }
+
+    @Test
+    void givenExportedCsv_whenImport_thenIgnoresIdColumnAndRejectsMalformedRows()
+            throws IOException {
+        // Given
+        when(waterIntakeImportRepository.merge(any(UUID.class), eq(USER_ID)))
+                .thenReturn(new MergeResult(1, List.of()));
+        var body =
+                body(
+                        "id,dateTimeUTC,volume,volumeUnit",
+                        "1,2025-06-01T08:00:00Z,250,ML",
+                        "2,2025-06-01T12:00:00Z,500",
+                        "3,yesterday,500,ML",
+                        "4,2025-06-01T14:00:00Z,five,ML",
+                        "5,2025-06-01T15:00:00Z,500,LITERS",
+                        "6,,500,");
+
+        // When
+        var result = waterIntakeImportService.importHistory(ExportFormat.CSV, body, USER_UUID);
+
+        // Then
+        var staged = ArgumentCaptor.forClass(WaterIntake.class);
+        verify(stagingWriter).add(eq(2), staged.capture());
+        verify(stagingWriter, times(1)).add(anyInt(), any());
+        assertThat(staged.getValue().getDateTimeUTC())
+                .isEqualTo(Instant.parse("2025-06-01T08:00:00Z"));
+        assertThat(staged.getValue().getVolumeUnit()).isEqualTo(VolumeUnit.ML);
+        assertThat(result.lines()).isEqualTo(6);
+        assertThat(result.rejected()).isEqualTo(5);
+        assertThat(result.errors())
+                .extracting(WaterIntakeImportErrorDTO::line)
+                .containsExactly(3, 4, 5, 6, 7);
+        assertThat(result.errors().getLast().messages())
+                .containsExactly(
+                        "{water-intake.datetime.not-null}", "{water-intake.volume-unit.not-null}");
+    }
+
+    @Test
+    void givenCsvWithoutRequiredColumn_whenImport_thenThrowsIllegalArgumentException() {
+        // Given
+        var body = body("id,dateTimeUTC,volume", "1,2025-06-01T08:00:00Z,250");
+
+        // When & Then
+        assertThatThrownBy(
+                        () ->
+                                waterIntakeImportService.importHistory(
+                                        ExportFormat.CSV, body, USER_UUID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("water-intake.import.csv-header.invalid");
+        verifyNoInteractions(waterIntakeImportRepository, transactionTemplate);
+    }
+
+    @Test
+    void givenTooManyLines_whenImport_thenThrowsIllegalArgumentException() {
+        // Given
+        when(messageResolver.resolve(
+                        "water-intake.import.too-many-lines", WaterIntakeImportService.MAX_LINES))
+                .thenReturn("too many lines");
+        var lines = new String[WaterIntakeImportService.MAX_LINES + 1];
+        Arrays.fill(lines, VALID_LINE);
+
+        // When & Then
+        assertThatThrownBy(
+                        () ->
+                                waterIntakeImportService.importHistory(
+                                        ExportFormat.NDJSON, body(lines), USER_UUID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("too many lines");
+        verifyNoInteractions(waterIntakeImportRepository, transactionTemplate);
+    }
+
+    @Test
+    void givenDuplicateLines_whenImport_thenReportsThemWithoutRebuildingTotals()
+            throws IOException {
+        // Given
+        when(waterIntakeImportRepository.findDuplicateLines(any(UUID.class), eq(USER_ID)))
+                .thenReturn(List.of(1, 2));
+        when(waterIntakeImportRepository.merge(any(UUID.class), eq(USER_ID)))
+                .thenReturn(new MergeResult(0, List.of()));
+        var body = body(VALID_LINE, VALID_LINE);
+
+        // When
+        var result = waterIntakeImportService.importHistory(ExportFormat.NDJSON, body, USER_UUID);
+
+        // Then
+        assertThat(result.imported()).isZero();
+        assertThat(result.duplicates()).isEqualTo(2);
+        assertThat(result.errors())
+                .extracting(WaterIntakeImportErrorDTO::line, WaterIntakeImportErrorDTO::reason)
+                .containsExactly(tuple(1, Reason.DUPLICATE), tuple(2, Reason.DUPLICATE));
+        assertThat(result.errors().getFirst().messages())
+                .containsExactly("exception.water-intake.duplicate-datetime");
+        verifyNoInteractions(dailyTotalsService, todayProgressAccumulator);
+        assertThat(meterRegistry.counter("water_intakes.import.duplicates").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenMoreErrorsThanReported_whenImport_thenCountsAllButReportsTheFirst()
+            throws IOException {
+        // Given
+        int invalidLines = WaterIntakeImportService.MAX_REPORTED_ERRORS + 5;
+        var lines = new String[invalidLines];
+        Arrays.fill(lines, "{}");
+
+        // When
+        var result =
+                waterIntakeImportService.importHistory(ExportFormat.NDJSON, body(lines), USER_UUID);
+
+        // Then
+        assertThat(result.rejected()).isEqualTo(invalidLines);
+        assertThat(result.errors()).hasSize(WaterIntakeImportService.MAX_REPORTED_ERRORS);
+        assertThat(result.errors().getLast().line())
+                .isEqualTo(WaterIntakeImportService.MAX_REPORTED_ERRORS);
+        verifyNoInteractions(waterIntakeImportRepository, transactionTemplate);
+    }
+
+    private static InputStream body(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.config.properties.WaterIntakePartitionProperties;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakePartitionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakePartitionMaintenanceTest {
+
+    private static final Clock CLOCK =
+            Clock.fixed(Instant.parse("2026-01-15T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock private WaterIntakePartitionRepository partitionRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenMissingUpcomingMonths_whenMaintain_thenCreatesOnlyTheMissingOnes() {
+        // Given
+        var maintenance = maintenance(2, 0);
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthlyPartitions())
+                .thenReturn(List.of(YearMonth.of(2025, 12), YearMonth.of(2026, 1)));
+        when(partitionRepository.createMonthlyPartition(YearMonth.of(2026, 2))).thenReturn(true);
+        when(partitionRepository.createMonthlyPartition(YearMonth.of(2026, 3))).thenReturn(false);
+
+        // When
+        var sut = maintenance.maintain();
+
+        // Then
+        assertThat(sut).isEqualTo(1);
+        verify(partitionRepository, never()).createMonthlyPartition(YearMonth.of(2026, 1));
+        verify(partitionRepository, never()).detachMonthlyPartition(any());
+        assertThat(meterRegistry.get("water_intakes.partitions.created").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("water_intakes.partitions").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void givenRetention_whenMaintain_thenDetachesOnlyOlderMonths() {
+        // Given
+        var maintenance = maintenance(1, 2);
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthlyPartitions())
+                .thenReturn(
+                        List.of(
+                                YearMonth.of(2025, 10),
+                                YearMonth.of(2025, 11),
+                                YearMonth.of(2026, 1),
+                                YearMonth.of(2026, 2)));
+
+        // When
+        var sut = maintenance.maintain();
+
+        // Then
+        assertThat(sut).isZero();
+        verify(partitionRepository).detachMonthlyPartition(YearMonth.of(2025, 10));
+        verify(partitionRepository, never()).detachMonthlyPartition(YearMonth.of(2025, 11));
+        verify(partitionRepository, never()).createMonthlyPartition(any());
+        assertThat(meterRegistry.get("water_intakes.partitions.detached").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("water_intakes.partitions").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void givenUnpartitionedTable_whenMaintain_thenDoesNothing() {
+        // Given
+        var maintenance = maintenance(3, 12);
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        // When
+        var sut = maintenance.maintain();
+
+        // Then
+        assertThat(sut).isZero();
+        verifyNoMoreInteractions(partitionRepository);
+    }
+
+    private WaterIntakePartitionMaintenance maintenance(int monthsAhead, int retentionMonths) {
+        return new WaterIntakePartitionMaintenance(
+                partitionRepository,
+                new WaterIntakePartitionProperties("-", monthsAhead, retentionMonths),
+                meterRegistry,
+                CLOCK);
+    }
+}
@@ -7,6 +7,9 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import br.com.drinkwater.core.MessageResolver;
+import br.com.drinkwater.core.PageCursor;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchItemDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeBatchResponseDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeFilterDTO;
 import br.com.drinkwater.hydrationtracking.dto.WaterIntakeResponseDTO;
 import br.com.drinkwater.hydrationtracking.exception.DuplicateDateTimeException;
@@ -14,8 +17,10 @@ import br.com.drinkwater.hydrationtracking.exception.WaterIntakeNotFoundExceptio
 import br.com.drinkwater.hydrationtracking.mapper.WaterIntakeMapper;
 import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
 import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeArchiveRepository;
 import br.com.drinkwater.hydrationtracking.repository.WaterIntakeRepository;
 import br.com.drinkwater.hydrationtracking.repository.WaterIntakeSearchRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeWriteRepository;
 import br.com.drinkwater.usermanagement.exception.UserNotFoundException;
 import br.com.drinkwater.usermanagement.service.UserService;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -27,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
 @ExtendWith(MockitoExtension.class)
 final class WaterIntakeServiceTest {
@@ -35,6 +41,16 @@ final class WaterIntakeServiceTest {
 
     @Mock private WaterIntakeSearchRepository waterIntakeSearchRepository;
 
+    @Mock private WaterIntakeWriteRepository waterIntakeWriteRepository;
+
+    @Mock private WaterIntakeArchiveRepository waterIntakeArchiveRepository;
+
+    @Mock private WaterIntakeDailyTotalsService dailyTotalsService;
+
+    @Mock private TodayProgressAccumulator todayProgressAccumulator;
+
+    @Mock private WaterIntakeWriteBehindBuffer writeBehindBuffer;
+
     @Mock private WaterIntakeMapper waterIntakeMapper;
 
     @Mock private MessageResolver messageResolver;
@@ -55,6 +71,11 @@ final class WaterIntakeServiceTest {
                 new WaterIntakeService(
                         waterIntakeRepository,
                         waterIntakeSearchRepository,
+                        waterIntakeWriteRepository,
+                        waterIntakeArchiveRepository,
+                        dailyTotalsService,
+                        todayProgressAccumulator,
+                        writeBehindBuffer,
                         waterIntakeMapper,
                         messageResolver,
                         userService,
@@ -64,13 +85,9 @@ final class WaterIntakeServiceTest {
     @Test
     void givenValidWaterIntakeDataAndUser_whenCreate_thenReturnsWaterIntakeResponseDTO() {
         // Given
-        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID)).thenReturn(WATER_INTAKE);
-        when(waterIntakeRepository.existsByDateTimeUTCAndUserIdAndIdIsNot(
-                        WATER_INTAKE.getDateTimeUTC(),
-                        WATER_INTAKE.getUserId(),
-                        WATER_INTAKE.getId()))
-                .thenReturn(false);
-        when(waterIntakeRepository.save(WATER_INTAKE)).thenReturn(WATER_INTAKE);
+        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID)).thenReturn(NEW_WATER_INTAKE);
+        when(waterIntakeWriteRepository.insertIfAbsent(NEW_WATER_INTAKE))
+                .thenReturn(Optional.of(WATER_INTAKE));
         when(waterIntakeMapper.toDto(WATER_INTAKE)).thenReturn(RESPONSE_WATER_INTAKE_DTO);
 
         // When
@@ -78,28 +95,91 @@ final class WaterIntakeServiceTest {
 
         // Then
         assertThat(sut).isEqualTo(RESPONSE_WATER_INTAKE_DTO);
+        assertThat(meterRegistry.get("water_intakes.created").counter().count()).isEqualTo(1.0);
         verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
         verify(waterIntakeMapper, times(1)).toEntity(WATER_INTAKE_DTO, USER_ID);
-        verify(waterIntakeRepository, times(1))
-                .existsByDateTimeUTCAndUserIdAndIdIsNot(
-                        WATER_INTAKE.getDateTimeUTC(),
-                        WATER_INTAKE.getUserId(),
-                        WATER_INTAKE.getId());
-        verify(waterIntakeRepository, times(1)).save(WATER_INTAKE);
+        verify(waterIntakeWriteRepository, times(1)).insertIfAbsent(NEW_WATER_INTAKE);
+        verify(dailyTotalsService, times(1)).recordCreated(WATER_INTAKE);
+        verify(todayProgressAccumulator, times(1)).recordCreated(List.of(WATER_INTAKE));
         verify(waterIntakeMapper, times(1)).toDto(WATER_INTAKE);
-        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeRepository);
+        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeWriteRepository);
+        verifyNoInteractions(waterIntakeRepository);
+    }
+
+    @Test
+    void givenWriteBehindEnabled_whenIsWriteBehindEnabled_thenReturnsBufferState() {
+        // Given
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+
+        // When & Then
+        assertThat(waterIntakeService.isWriteBehindEnabled()).isTrue();
+    }
+
+    @Test
+    void givenValidWaterIntakeDataAndUser_whenEnqueue_thenQueuesEntityWithoutInserting() {
+        // Given
+        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID)).thenReturn(NEW_WATER_INTAKE);
+
+        // When
+        waterIntakeService.enqueue(WATER_INTAKE_DTO, USER_UUID);
+
+        // Then
+        verify(writeBehindBuffer, times(1)).enqueue(NEW_WATER_INTAKE);
+        verifyNoInteractions(
+                waterIntakeWriteRepository, dailyTotalsService, todayProgressAccumulator);
+    }
+
+    @Test
+    void givenBatchWithDuplicateItem_whenCreateAll_thenReportsPerItemResultsAndMetrics() {
+        // Given
+        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID)).thenReturn(NEW_WATER_INTAKE);
+        when(waterIntakeWriteRepository.insertAllIfAbsent(
+                        List.of(NEW_WATER_INTAKE, NEW_WATER_INTAKE)))
+                .thenReturn(List.of(Optional.of(WATER_INTAKE), Optional.empty()));
+        when(waterIntakeMapper.toDto(WATER_INTAKE)).thenReturn(RESPONSE_WATER_INTAKE_DTO);
+
+        // When
+        var sut = waterIntakeService.createAll(WATER_INTAKE_BATCH_DTO, USER_UUID);
+
+        // Then
+        assertThat(sut)
+                .isEqualTo(
+                        new WaterIntakeBatchResponseDTO(
+                                1,
+                                1,
+                                List.of(
+                                        new WaterIntakeBatchItemDTO(
+                                                0,
+                                                WaterIntakeBatchItemDTO.Status.CREATED,
+                                                RESPONSE_WATER_INTAKE_DTO),
+                                        new WaterIntakeBatchItemDTO(
+                                                1,
+                                                WaterIntakeBatchItemDTO.Status.DUPLICATE,
+                                                null))));
+        assertThat(meterRegistry.get("water_intakes.created").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("water_intakes.batch.duplicates").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("water_intakes.batch.size").summary().totalAmount())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("water_intakes.batch").timer().count()).isEqualTo(1);
+        verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
+        verify(waterIntakeMapper, times(2)).toEntity(WATER_INTAKE_DTO, USER_ID);
+        verify(waterIntakeWriteRepository, times(1))
+                .insertAllIfAbsent(List.of(NEW_WATER_INTAKE, NEW_WATER_INTAKE));
+        verify(dailyTotalsService, times(1)).recordCreated(List.of(WATER_INTAKE));
+        verify(todayProgressAccumulator, times(1)).recordCreated(List.of(WATER_INTAKE));
+        verify(waterIntakeMapper, times(1)).toDto(WATER_INTAKE);
+        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeWriteRepository);
+        verifyNoInteractions(waterIntakeRepository);
     }
 
     @Test
     void givenValidIdWaterIntakeDataAndUser_whenUpdate_thenReturnsUpdatedWaterIntakeResponseDTO() {
         // Given
-        when(waterIntakeRepository.existsByIdAndUserId(WATER_INTAKE_ID, USER_ID)).thenReturn(true);
         when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID, WATER_INTAKE_ID))
                 .thenReturn(WATER_INTAKE);
-        when(waterIntakeRepository.existsByDateTimeUTCAndUserIdAndIdIsNot(
-                        WATER_INTAKE.getDateTimeUTC(), USER_ID, WATER_INTAKE_ID))
-                .thenReturn(false);
-        when(waterIntakeRepository.save(WATER_INTAKE)).thenReturn(WATER_INTAKE);
+        when(waterIntakeWriteRepository.update(WATER_INTAKE))
+                .thenReturn(Optional.of(PREVIOUS_WATER_INTAKE));
         when(waterIntakeMapper.toDto(WATER_INTAKE)).thenReturn(RESPONSE_WATER_INTAKE_DTO);
 
         // When
@@ -108,14 +188,14 @@ final class WaterIntakeServiceTest {
         // Then
         assertThat(sut).isEqualTo(RESPONSE_WATER_INTAKE_DTO);
         verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
-        verify(waterIntakeRepository, times(1)).existsByIdAndUserId(WATER_INTAKE_ID, USER_ID);
         verify(waterIntakeMapper, times(1)).toEntity(WATER_INTAKE_DTO, USER_ID, WATER_INTAKE_ID);
-        verify(waterIntakeRepository, times(1))
-                .existsByDateTimeUTCAndUserIdAndIdIsNot(
-                        WATER_INTAKE.getDateTimeUTC(), USER_ID, WATER_INTAKE_ID);
-        verify(waterIntakeRepository, times(1)).save(WATER_INTAKE);
+        verify(waterIntakeWriteRepository, times(1)).update(WATER_INTAKE);
+        verify(dailyTotalsService, times(1)).recordUpdated(PREVIOUS_WATER_INTAKE, WATER_INTAKE);
+        verify(todayProgressAccumulator, times(1))
+                .recordUpdated(PREVIOUS_WATER_INTAKE, WATER_INTAKE);
         verify(waterIntakeMapper, times(1)).toDto(WATER_INTAKE);
-        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeRepository);
+        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeWriteRepository);
+        verifyNoInteractions(waterIntakeRepository);
     }
 
     @Test
@@ -138,13 +218,58 @@ final class WaterIntakeServiceTest {
 
     @Test
     void givenValidIdAndUserId_whenDeleteByIdAndUserId_thenRecordShouldBeDeleted() {
+        // Given
+        when(waterIntakeWriteRepository.deleteByIdAndUserId(WATER_INTAKE_ID, USER_ID))
+                .thenReturn(Optional.of(WATER_INTAKE));
+
         // When & Then
         assertThatCode(() -> waterIntakeService.deleteByIdAndUserId(WATER_INTAKE_ID, USER_UUID))
                 .doesNotThrowAnyException();
 
         verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
-        verify(waterIntakeRepository, times(1)).deleteByIdAndUserId(WATER_INTAKE_ID, USER_ID);
-        verifyNoMoreInteractions(waterIntakeRepository);
+        verify(waterIntakeWriteRepository, times(1)).deleteByIdAndUserId(WATER_INTAKE_ID, USER_ID);
+        verify(dailyTotalsService, times(1)).recordDeleted(WATER_INTAKE);
+        verify(todayProgressAccumulator, times(1)).recordDeleted(WATER_INTAKE);
+        verifyNoMoreInteractions(waterIntakeWriteRepository);
+        verifyNoInteractions(waterIntakeRepository, waterIntakeArchiveRepository);
+    }
+
+    @Test
+    void givenUnknownId_whenDeleteByIdAndUserId_thenCompletesWithoutTouchingDailyTotals() {
+        // Given
+        when(waterIntakeWriteRepository.deleteByIdAndUserId(WATER_INTAKE_ID, USER_ID))
+                .thenReturn(Optional.empty());
+        when(waterIntakeArchiveRepository.restore(USER_ID, WATER_INTAKE_ID))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatCode(() -> waterIntakeService.deleteByIdAndUserId(WATER_INTAKE_ID, USER_UUID))
+                .doesNotThrowAnyException();
+
+        verify(waterIntakeWriteRepository, times(1)).deleteByIdAndUserId(WATER_INTAKE_ID, USER_ID);
+        verify(waterIntakeArchiveRepository, times(1)).restore(USER_ID, WATER_INTAKE_ID);
+        verifyNoMoreInteractions(waterIntakeWriteRepository);
+        verifyNoInteractions(dailyTotalsService, todayProgressAccumulator);
+    }
+
+    @Test
+    void givenArchivedRecord_whenDeleteByIdAndUserId_thenRestoresAndDeletesIt() {
+        // Given
+        when(waterIntakeWriteRepository.deleteByIdAndUserId(WATER_INTAKE_ID, USER_ID))
+                .thenReturn(Optional.empty(), Optional.of(WATER_INTAKE));
+        when(waterIntakeArchiveRepository.restore(USER_ID, WATER_INTAKE_ID))
+                .thenReturn(Optional.of(WATER_INTAKE));
+
+        // When
+        waterIntakeService.deleteByIdAndUserId(WATER_INTAKE_ID, USER_UUID);
+
+        // Then
+        var inOrder = inOrder(waterIntakeArchiveRepository, waterIntakeWriteRepository);
+        inOrder.verify(waterIntakeWriteRepository).deleteByIdAndUserId(WATER_INTAKE_ID, USER_ID);
+        inOrder.verify(waterIntakeArchiveRepository).restore(USER_ID, WATER_INTAKE_ID);
+        inOrder.verify(waterIntakeWriteRepository).deleteByIdAndUserId(WATER_INTAKE_ID, USER_ID);
+        verify(dailyTotalsService, times(1)).recordDeleted(WATER_INTAKE);
+        verify(todayProgressAccumulator, times(1)).recordDeleted(WATER_INTAKE);
     }
 
     @Test
@@ -191,31 +316,28 @@ final class WaterIntakeServiceTest {
     @Test
     void givenDuplicateDateTime_whenCreate_thenThrowsDuplicateDateTimeException() {
         // Given
-        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID)).thenReturn(WATER_INTAKE);
-        when(waterIntakeRepository.existsByDateTimeUTCAndUserIdAndIdIsNot(
-                        WATER_INTAKE.getDateTimeUTC(),
-                        WATER_INTAKE.getUserId(),
-                        WATER_INTAKE.getId()))
-                .thenReturn(true);
+        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID)).thenReturn(NEW_WATER_INTAKE);
+        when(waterIntakeWriteRepository.insertIfAbsent(NEW_WATER_INTAKE))
+                .thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> waterIntakeService.create(WATER_INTAKE_DTO, USER_UUID))
                 .isInstanceOf(DuplicateDateTimeException.class);
 
+        assertThat(meterRegistry.get("water_intakes.created").counter().count()).isZero();
         verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
         verify(waterIntakeMapper, times(1)).toEntity(WATER_INTAKE_DTO, USER_ID);
-        verify(waterIntakeRepository, times(1))
-                .existsByDateTimeUTCAndUserIdAndIdIsNot(
-                        WATER_INTAKE.getDateTimeUTC(),
-                        WATER_INTAKE.getUserId(),
-                        WATER_INTAKE.getId());
-        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeRepository);
+        verify(waterIntakeWriteRepository, times(1)).insertIfAbsent(NEW_WATER_INTAKE);
+        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeWriteRepository);
+        verifyNoInteractions(waterIntakeRepository);
     }
 
     @Test
     void givenInvalidId_whenUpdate_thenThrowsWaterIntakeNotFoundException() {
         // Given
-        when(waterIntakeRepository.existsByIdAndUserId(WATER_INTAKE_ID, USER_ID)).thenReturn(false);
+        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID, WATER_INTAKE_ID))
+                .thenReturn(WATER_INTAKE);
+        when(waterIntakeWriteRepository.update(WATER_INTAKE)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(
@@ -225,19 +347,45 @@ final class WaterIntakeServiceTest {
                 .isInstanceOf(WaterIntakeNotFoundException.class);
 
         verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
-        verify(waterIntakeRepository, times(1)).existsByIdAndUserId(WATER_INTAKE_ID, USER_ID);
-        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeRepository);
+        verify(waterIntakeMapper, times(1)).toEntity(WATER_INTAKE_DTO, USER_ID, WATER_INTAKE_ID);
+        verify(waterIntakeWriteRepository, times(2)).update(WATER_INTAKE);
+        verify(waterIntakeArchiveRepository, times(1)).restore(USER_ID, WATER_INTAKE_ID);
+        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeWriteRepository);
+        verifyNoInteractions(waterIntakeRepository, dailyTotalsService, todayProgressAccumulator);
+    }
+
+    @Test
+    void givenArchivedRecord_whenUpdate_thenRestoresItBeforeUpdating() {
+        // Given
+        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID, WATER_INTAKE_ID))
+                .thenReturn(WATER_INTAKE);
+        when(waterIntakeWriteRepository.update(WATER_INTAKE))
+                .thenReturn(Optional.empty(), Optional.of(PREVIOUS_WATER_INTAKE));
+        when(waterIntakeArchiveRepository.restore(USER_ID, WATER_INTAKE_ID))
+                .thenReturn(Optional.of(PREVIOUS_WATER_INTAKE));
+        when(waterIntakeMapper.toDto(WATER_INTAKE)).thenReturn(RESPONSE_WATER_INTAKE_DTO);
+
+        // When
+        var sut = waterIntakeService.update(WATER_INTAKE_ID, WATER_INTAKE_DTO, USER_UUID);
+
+        // Then
+        assertThat(sut).isEqualTo(RESPONSE_WATER_INTAKE_DTO);
+        var inOrder = inOrder(waterIntakeWriteRepository, waterIntakeArchiveRepository);
+        inOrder.verify(waterIntakeWriteRepository).update(WATER_INTAKE);
+        inOrder.verify(waterIntakeArchiveRepository).restore(USER_ID, WATER_INTAKE_ID);
+        inOrder.verify(waterIntakeWriteRepository).update(WATER_INTAKE);
+        verify(dailyTotalsService, times(1)).recordUpdated(PREVIOUS_WATER_INTAKE, WATER_INTAKE);
+        verify(todayProgressAccumulator, times(1))
+                .recordUpdated(PREVIOUS_WATER_INTAKE, WATER_INTAKE);
     }
 
     @Test
     void givenDuplicateDateTime_whenUpdate_thenThrowsDuplicateDateTimeException() {
         // Given
-        when(waterIntakeRepository.existsByIdAndUserId(WATER_INTAKE_ID, USER_ID)).thenReturn(true);
         when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID, WATER_INTAKE_ID))
                 .thenReturn(WATER_INTAKE);
-        when(waterIntakeRepository.existsByDateTimeUTCAndUserIdAndIdIsNot(
-                        WATER_INTAKE.getDateTimeUTC(), USER_ID, WATER_INTAKE_ID))
-                .thenReturn(true);
+        when(waterIntakeWriteRepository.update(WATER_INTAKE))
+                .thenThrow(new DuplicateKeyException("duplicate key"));
 
         // When & Then
         assertThatThrownBy(
@@ -247,12 +395,10 @@ final class WaterIntakeServiceTest {
                 .isInstanceOf(DuplicateDateTimeException.class);
 
         verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
-        verify(waterIntakeRepository, times(1)).existsByIdAndUserId(WATER_INTAKE_ID, USER_ID);
         verify(waterIntakeMapper, times(1)).toEntity(WATER_INTAKE_DTO, USER_ID, WATER_INTAKE_ID);
-        verify(waterIntakeRepository, times(1))
-                .existsByDateTimeUTCAndUserIdAndIdIsNot(
-                        WATER_INTAKE.getDateTimeUTC(), USER_ID, WATER_INTAKE_ID);
-        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeRepository);
+        verify(waterIntakeWriteRepository, times(1)).update(WATER_INTAKE);
+        verifyNoMoreInteractions(waterIntakeMapper, waterIntakeWriteRepository);
+        verifyNoInteractions(waterIntakeRepository, dailyTotalsService, todayProgressAccumulator);
     }
 
     @Test
@@ -267,34 +413,25 @@ final class WaterIntakeServiceTest {
 
         verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
         verify(waterIntakeRepository, times(1)).findByIdAndUserId(WATER_INTAKE_ID, USER_ID);
+        verify(waterIntakeArchiveRepository, times(1)).findArchivedById(USER_ID, WATER_INTAKE_ID);
         verifyNoMoreInteractions(waterIntakeMapper, waterIntakeRepository);
     }
 
     @Test
-    void givenWaterIntakeWithNullId_whenCreate_thenUsesQueryWithoutExcludeId() {
+    void givenArchivedRecord_whenFindByIdAndUserId_thenReturnsItFromTheArchive() {
         // Given
-        var waterIntakeWithNullId =
-                new WaterIntake(
-                        WATER_INTAKE.getDateTimeUTC(),
-                        WATER_INTAKE.getVolume(),
-                        WATER_INTAKE.getVolumeUnit(),
-                        USER_ID);
-
-        when(waterIntakeMapper.toEntity(WATER_INTAKE_DTO, USER_ID))
-                .thenReturn(waterIntakeWithNullId);
-        when(waterIntakeRepository.existsByDateTimeUTCAndUserId(
-                        waterIntakeWithNullId.getDateTimeUTC(), USER_ID))
-                .thenReturn(false);
-        when(waterIntakeRepository.save(waterIntakeWithNullId)).thenReturn(waterIntakeWithNullId);
-        when(waterIntakeMapper.toDto(waterIntakeWithNullId)).thenReturn(RESPONSE_WATER_INTAKE_DTO);
+        when(waterIntakeRepository.findByIdAndUserId(WATER_INTAKE_ID, USER_ID))
+                .thenReturn(Optional.empty());
+        when(waterIntakeArchiveRepository.findArchivedById(USER_ID, WATER_INTAKE_ID))
+                .thenReturn(Optional.of(WATER_INTAKE));
+        when(waterIntakeMapper.toDto(WATER_INTAKE)).thenReturn(RESPONSE_WATER_INTAKE_DTO);
 
         // When
-        waterIntakeService.create(WATER_INTAKE_DTO, USER_UUID);
+        var sut = waterIntakeService.findByIdAndUserId(WATER_INTAKE_ID, USER_UUID);
 
         // Then
-        verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
-        verify(waterIntakeRepository)
-                .existsByDateTimeUTCAndUserId(waterIntakeWithNullId.getDateTimeUTC(), USER_ID);
+        assertThat(sut).isEqualTo(RESPONSE_WATER_INTAKE_DTO);
+        verify(waterIntakeArchiveRepository, times(1)).findArchivedById(USER_ID, WATER_INTAKE_ID);
     }
 
     @Test
@@ -309,7 +446,7 @@ final class WaterIntakeServiceTest {
                 .isInstanceOf(UserNotFoundException.class);
 
         verify(userService, times(1)).resolveUserIdByPublicId(unknownUuid);
-        verifyNoInteractions(waterIntakeRepository, waterIntakeMapper);
+        verifyNoInteractions(waterIntakeRepository, waterIntakeWriteRepository, waterIntakeMapper);
     }
 
     @Test
@@ -398,6 +535,46 @@ final class WaterIntakeServiceTest {
 
         assertThat(result.content()).hasSize(2);
         assertThat(result.hasNext()).isTrue();
-        assertThat(result.nextCursor()).isNotNull();
+        assertThat(PageCursor.decode(result.nextCursor()))
+                .isEqualTo(new PageCursor("dateTimeUTC", waterIntake2.getDateTimeUTC(), 2L));
+    }
+
+    @Test
+    void givenVolumeSortWithMoreResultsThanPageSize_whenSearch_thenNextCursorCarriesVolume() {
+        // Given
+        var filter =
+                new WaterIntakeFilterDTO(
+                        FILTER_DTO.startDate(),
+                        FILTER_DTO.endDate(),
+                        null,
+                        null,
+                        null,
+                        1,
+                        "volume",
+                        "ASC");
+        var first = new WaterIntake(5L, FILTER_DTO.endDate(), 150, VolumeUnit.ML, USER_ID);
+        var second = new WaterIntake(3L, FILTER_DTO.startDate(), 300, VolumeUnit.ML, USER_ID);
+        when(waterIntakeSearchRepository.search(
+                        USER_ID,
+                        filter.startDate(),
+                        filter.endDate(),
+                        null,
+                        null,
+                        2,
+                        null,
+                        "volume",
+                        "ASC"))
+                .thenReturn(List.of(first, second));
+        when(waterIntakeMapper.toDto(first))
+                .thenReturn(
+                        new WaterIntakeResponseDTO(5L, first.getDateTimeUTC(), 150, VolumeUnit.ML));
+
+        // When
+        var result = waterIntakeService.search(filter, USER_UUID);
+
+        // Then
+        assertThat(result.hasNext()).isTrue();
+        assertThat(PageCursor.decode(result.nextCursor()))
+                .isEqualTo(new PageCursor("volume", 150, 5L));
     }
 }
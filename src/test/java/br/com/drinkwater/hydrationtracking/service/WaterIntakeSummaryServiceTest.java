@@ -0,0 +1,293 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_ID;
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryBucketDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeTodayFilterDTO;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeTodayResponseDTO;
+import br.com.drinkwater.hydrationtracking.model.SummaryGranularity;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeSummaryRepository;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeSummaryRepository.PeriodTotal;
+import br.com.drinkwater.hydrationtracking.service.TodayProgressAccumulator.TodayTotal;
+import br.com.drinkwater.usermanagement.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakeSummaryServiceTest {
+
+    private static final int DAILY_GOAL = 2000;
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+
+    @Mock private WaterIntakeSummaryRepository waterIntakeSummaryRepository;
+
+    @Mock private WaterIntakeDailyTotalsService dailyTotalsService;
+
+    @Mock private TodayProgressAccumulator todayProgressAccumulator;
+
+    @Mock private UserService userService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WaterIntakeSummaryService waterIntakeSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        when(userService.resolveUserIdByPublicId(USER_UUID)).thenReturn(USER_ID);
+        lenient().when(waterIntakeSummaryRepository.findDailyGoal(USER_ID)).thenReturn(DAILY_GOAL);
+        waterIntakeSummaryService =
+                new WaterIntakeSummaryService(
+                        waterIntakeSummaryRepository,
+                        dailyTotalsService,
+                        todayProgressAccumulator,
+                        userService,
+                        meterRegistry);
+    }
+
+    @Test
+    void givenDayGranularity_whenSummarize_thenComparesEachDayWithDailyGoal() {
+        // Given
+        var filter =
+                new WaterIntakeSummaryFilterDTO(
+                        LocalDate.parse("2025-06-01"),
+                        LocalDate.parse("2025-06-02"),
+                        "day",
+                        "America/Sao_Paulo");
+        when(waterIntakeSummaryRepository.sumByPeriod(
+                        USER_ID,
+                        Instant.parse("2025-06-01T03:00:00Z"),
+                        Instant.parse("2025-06-03T03:00:00Z"),
+                        SummaryGranularity.DAY,
+                        SAO_PAULO))
+                .thenReturn(
+                        List.of(
+                                new PeriodTotal(LocalDate.parse("2025-06-01"), 1500, 6),
+                                new PeriodTotal(LocalDate.parse("2025-06-02"), 2500, 8)));
+
+        // When
+        var sut = waterIntakeSummaryService.summarize(filter, USER_UUID);
+
+        // Then
+        assertThat(sut.granularity()).isEqualTo("day");
+        assertThat(sut.tz()).isEqualTo("America/Sao_Paulo");
+        assertThat(sut.dailyGoal()).isEqualTo(DAILY_GOAL);
+        assertThat(sut.buckets())
+                .containsExactly(
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-01"), 1500, 6, 2000, 0.75, false),
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-02"), 2500, 8, 2000, 1.25, true));
+        assertThat(meterRegistry.get("water_intakes.summary").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenWeeksCrossingPeriodEdges_whenSummarize_thenGoalCountsOnlyDaysInsidePeriod() {
+        // Given
+        var filter =
+                new WaterIntakeSummaryFilterDTO(
+                        LocalDate.parse("2025-06-05"), LocalDate.parse("2025-06-10"), "week", null);
+        when(waterIntakeSummaryRepository.sumByPeriod(
+                        USER_ID,
+                        Instant.parse("2025-06-05T00:00:00Z"),
+                        Instant.parse("2025-06-11T00:00:00Z"),
+                        SummaryGranularity.WEEK,
+                        ZoneId.of("UTC")))
+                .thenReturn(
+                        List.of(
+                                new PeriodTotal(LocalDate.parse("2025-06-02"), 8000, 20),
+                                new PeriodTotal(LocalDate.parse("2025-06-09"), 3000, 9)));
+
+        // When
+        var sut = waterIntakeSummaryService.summarize(filter, USER_UUID);
+
+        // Then
+        assertThat(sut.tz()).isEqualTo("UTC");
+        assertThat(sut.buckets())
+                .containsExactly(
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-02"), 8000, 20, 8000, 1.0, true),
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-09"), 3000, 9, 4000, 0.75, false));
+    }
+
+    @Test
+    void givenDaysWithoutIntakes_whenSummarize_thenFillsThemWithZeroBuckets() {
+        // Given
+        var filter =
+                new WaterIntakeSummaryFilterDTO(
+                        LocalDate.parse("2025-06-01"), LocalDate.parse("2025-06-03"), "day", "UTC");
+        when(waterIntakeSummaryRepository.sumByPeriod(
+                        USER_ID,
+                        Instant.parse("2025-06-01T00:00:00Z"),
+                        Instant.parse("2025-06-04T00:00:00Z"),
+                        SummaryGranularity.DAY,
+                        ZoneId.of("UTC")))
+                .thenReturn(List.of(new PeriodTotal(LocalDate.parse("2025-06-02"), 2000, 8)));
+
+        // When
+        var sut = waterIntakeSummaryService.summarize(filter, USER_UUID);
+
+        // Then
+        assertThat(sut.buckets())
+                .containsExactly(
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-01"), 0, 0, 2000, 0.0, false),
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-02"), 2000, 8, 2000, 1.0, true),
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-03"), 0, 0, 2000, 0.0, false));
+    }
+
+    @Test
+    void givenNoIntakesInPeriod_whenSummarize_thenReturnsZeroBuckets() {
+        // Given
+        var filter =
+                new WaterIntakeSummaryFilterDTO(
+                        LocalDate.parse("2025-06-01"),
+                        LocalDate.parse("2025-06-30"),
+                        "month",
+                        "UTC");
+        when(waterIntakeSummaryRepository.sumByPeriod(
+                        USER_ID,
+                        Instant.parse("2025-06-01T00:00:00Z"),
+                        Instant.parse("2025-07-01T00:00:00Z"),
+                        SummaryGranularity.MONTH,
+                        ZoneId.of("UTC")))
+                .thenReturn(List.of());
+
+        // When
+        var sut = waterIntakeSummaryService.summarize(filter, USER_UUID);
+
+        // Then
+        assertThat(sut.granularity()).isEqualTo("month");
+        assertThat(sut.buckets())
+                .containsExactly(
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-01"), 0, 0, 60000, 0.0, false));
+        verify(userService, times(1)).resolveUserIdByPublicId(USER_UUID);
+    }
+
+    @Test
+    void givenMaintainedTimeZone_whenSummarize_thenReadsDailyTotalsRollup() {
+        // Given
+        var filter =
+                new WaterIntakeSummaryFilterDTO(
+                        LocalDate.parse("2025-06-01"),
+                        LocalDate.parse("2025-06-30"),
+                        "month",
+                        "UTC");
+        when(dailyTotalsService.isMaintained(ZoneId.of("UTC"))).thenReturn(true);
+        when(waterIntakeSummaryRepository.sumDailyTotalsByPeriod(
+                        USER_ID,
+                        LocalDate.parse("2025-06-01"),
+                        LocalDate.parse("2025-07-01"),
+                        SummaryGranularity.MONTH,
+                        ZoneId.of("UTC")))
+                .thenReturn(List.of(new PeriodTotal(LocalDate.parse("2025-06-01"), 60000, 240)));
+
+        // When
+        var sut = waterIntakeSummaryService.summarize(filter, USER_UUID);
+
+        // Then
+        assertThat(sut.buckets())
+                .containsExactly(
+                        new WaterIntakeSummaryBucketDTO(
+                                LocalDate.parse("2025-06-01"), 60000, 240, 60000, 1.0, true));
+        verify(waterIntakeSummaryRepository, never())
+                .sumByPeriod(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void givenAccumulatorMiss_whenToday_thenLoadsDayTotalAndComparesWithCachedGoal() {
+        // Given
+        var today = LocalDate.parse("2025-06-01");
+        stubAccumulatorLoad(SAO_PAULO, today);
+        when(userService.resolveDailyGoalByPublicId(USER_UUID)).thenReturn(DAILY_GOAL);
+        when(waterIntakeSummaryRepository.sumByPeriod(
+                        USER_ID,
+                        Instant.parse("2025-06-01T03:00:00Z"),
+                        Instant.parse("2025-06-02T03:00:00Z"),
+                        SummaryGranularity.DAY,
+                        SAO_PAULO))
+                .thenReturn(List.of(new PeriodTotal(today, 1750, 7)));
+
+        // When
+        var sut =
+                waterIntakeSummaryService.today(
+                        new WaterIntakeTodayFilterDTO("America/Sao_Paulo"), USER_UUID);
+
+        // Then
+        assertThat(sut)
+                .isEqualTo(
+                        new WaterIntakeTodayResponseDTO(
+                                today, "America/Sao_Paulo", 1750, 7, 2000, 250, 0.875, false));
+        verify(waterIntakeSummaryRepository, never()).findDailyGoal(any());
+    }
+
+    @Test
+    void givenNoIntakesToday_whenToday_thenReportsZeroTotalsAndFullGoalRemaining() {
+        // Given
+        var today = LocalDate.parse("2025-06-01");
+        stubAccumulatorLoad(ZoneId.of("UTC"), today);
+        when(userService.resolveDailyGoalByPublicId(USER_UUID)).thenReturn(DAILY_GOAL);
+        when(dailyTotalsService.isMaintained(ZoneId.of("UTC"))).thenReturn(true);
+        when(waterIntakeSummaryRepository.sumDailyTotalsByPeriod(
+                        USER_ID,
+                        today,
+                        LocalDate.parse("2025-06-02"),
+                        SummaryGranularity.DAY,
+                        ZoneId.of("UTC")))
+                .thenReturn(List.of());
+
+        // When
+        var sut = waterIntakeSummaryService.today(new WaterIntakeTodayFilterDTO(null), USER_UUID);
+
+        // Then
+        assertThat(sut)
+                .isEqualTo(
+                        new WaterIntakeTodayResponseDTO(
+                                today, "UTC", 0, 0, 2000, 2000, 0.0, false));
+    }
+
+    @Test
+    void givenCachedTotalAboveGoal_whenToday_thenReportsGoalMetWithoutQueryingDatabase() {
+        // Given
+        var today = LocalDate.parse("2025-06-01");
+        when(todayProgressAccumulator.get(eq(USER_ID), eq(ZoneId.of("UTC")), any()))
+                .thenReturn(new TodayTotal(ZoneId.of("UTC"), today, 2500, 9));
+        when(userService.resolveDailyGoalByPublicId(USER_UUID)).thenReturn(DAILY_GOAL);
+
+        // When
+        var sut = waterIntakeSummaryService.today(new WaterIntakeTodayFilterDTO("UTC"), USER_UUID);
+
+        // Then
+        assertThat(sut)
+                .isEqualTo(
+                        new WaterIntakeTodayResponseDTO(
+                                today, "UTC", 2500, 9, 2000, 0, 1.25, true));
+        verifyNoInteractions(waterIntakeSummaryRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubAccumulatorLoad(ZoneId zone, LocalDate today) {
+        when(todayProgressAccumulator.get(eq(USER_ID), eq(zone), any()))
+                .thenAnswer(
+                        invocation ->
+                                ((Function<LocalDate, TodayTotal>) invocation.getArgument(2))
+                                        .apply(today));
+    }
+}
@@ -0,0 +1,315 @@
+package br.com.drinkwater.hydrationtracking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.config.properties.WriteBehindProperties;
+import br.com.drinkwater.core.MessageResolver;
+import br.com.drinkwater.hydrationtracking.exception.WriteBehindQueueFullException;
+import br.com.drinkwater.hydrationtracking.model.VolumeUnit;
+import br.com.drinkwater.hydrationtracking.model.WaterIntake;
+import br.com.drinkwater.hydrationtracking.repository.WaterIntakeWriteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+final class WaterIntakeWriteBehindBufferTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Mock private WaterIntakeWriteRepository waterIntakeWriteRepository;
+
+    @Mock private WaterIntakeDailyTotalsService dailyTotalsService;
+
+    @Mock private TodayProgressAccumulator todayProgressAccumulator;
+
+    @Mock private TransactionTemplate transactionTemplate;
+
+    @Mock private MessageResolver messageResolver;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<List<WaterIntake>> writtenBatches = new CopyOnWriteArrayList<>();
+
+    private WaterIntakeWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+                .when(transactionTemplate.execute(any()))
+                .thenAnswer(
+                        invocation ->
+                                invocation
+                                        .<TransactionCallback<?>>getArgument(0)
+                                        .doInTransaction(null));
+        lenient()
+                .when(waterIntakeWriteRepository.insertAllIfAbsent(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<WaterIntake> batch = List.copyOf(invocation.getArgument(0));
+                            writtenBatches.add(batch);
+                            return batch.stream().map(Optional::of).toList();
+                        });
+        lenient().when(messageResolver.resolve(anyString())).thenReturn("queue full");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.stop();
+        }
+        Thread.interrupted();
+    }
+
+    @Test
+    void givenDisabled_whenStart_thenDoesNotRunAndRejectsRecords() {
+        // Given
+        buffer = buffer(new WriteBehindProperties(false, 100, 10, 50, 0, 5));
+
+        // When
+        buffer.start();
+
+        // Then
+        assertThat(buffer.isEnabled()).isFalse();
+        assertThat(buffer.isRunning()).isFalse();
+        assertThat(buffer.getPhase()).isEqualTo(WaterIntakeWriteBehindBuffer.PHASE);
+        assertThatThrownBy(() -> buffer.enqueue(intake(1L, 0)))
+                .isInstanceOf(WriteBehindQueueFullException.class)
+                .hasMessage("queue full");
+        assertThat(meterRegistry.counter("water_intakes.write_behind.rejected").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void givenFullBatchQueued_whenFlushing_thenWritesItWithoutWaitingForInterval() {
+        // Given
+        buffer = buffer(new WriteBehindProperties(true, 100, 2, 60_000, 0, 5));
+        buffer.start();
+        buffer.start();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            buffer.enqueue(intake(1L, i));
+        }
+
+        // Then
+        verify(waterIntakeWriteRepository, timeout(5_000).times(2)).insertAllIfAbsent(anyList());
+        assertThat(writtenBatches).allSatisfy(batch -> assertThat(batch).hasSize(2));
+        verify(dailyTotalsService, times(2)).recordCreated(anyList());
+        verify(todayProgressAccumulator, times(2)).recordCreated(anyList());
+        assertThat(meterRegistry.counter("water_intakes.created").count()).isEqualTo(4.0);
+        assertThat(meterRegistry.summary("water_intakes.write_behind.batch.size").totalAmount())
+                .isEqualTo(4.0);
+        assertThat(meterRegistry.timer("water_intakes.write_behind.flush").count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenPartialBatch_whenFlushIntervalElapses_thenWritesIt() {
+        // Given
+        buffer = buffer(new WriteBehindProperties(true, 100, 100, 50, 0, 5));
+        buffer.start();
+
+        // When
+        buffer.enqueue(intake(1L, 0));
+
+        // Then
+        verify(waterIntakeWriteRepository, timeout(5_000)).insertAllIfAbsent(anyList());
+        assertThat(writtenBatches).singleElement().satisfies(b -> assertThat(b).hasSize(1));
+        assertThat(buffer.isRunning()).isTrue();
+    }
+
+    @Test
+    void givenQueuedRecords_whenStopped_thenDrainsQueueBeforeReturning() {
+        // Given
+        buffer = buffer(new WriteBehindProperties(true, 100, 2, 60_000, 0, 5));
+        buffer.start();
+        for (int i = 0; i < 5; i++) {
+            buffer.enqueue(intake(1L, i));
+        }
+
+        // When
+        buffer.stop();
+        buffer.stop();
+
+        // Then
+        assertThat(buffer.isRunning()).isFalse();
+        assertThat(writtenBatches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(meterRegistry.get("water_intakes.write_behind.queue").gauge().value()).isZero();
+        assertThatThrownBy(() -> buffer.enqueue(intake(1L, 5)))
+                .isInstanceOf(WriteBehindQueueFullException.class);
+    }
+
+    @Test
+    void givenQueueFull_whenEnqueue_thenRejectsAfterOfferTimeout() throws InterruptedException {
+        // Given - the flusher is stuck writing the first record while the second fills the queue
+        var release = new CountDownLatch(1);
+        blockWritesUntil(release);
+        buffer = buffer(new WriteBehindProperties(true, 1, 10, 10, 20, 5));
+        buffer.start();
+        buffer.enqueue(intake(1L, 0));
+        verify(waterIntakeWriteRepository, timeout(5_000)).insertAllIfAbsent(anyList());
+        buffer.enqueue(intake(1L, 1));
+
+        // When & Then
+        assertThatThrownBy(() -> buffer.enqueue(intake(1L, 2)))
+                .isInstanceOf(WriteBehindQueueFullException.class);
+        assertThat(meterRegistry.counter("water_intakes.write_behind.rejected").count())
+                .isEqualTo(1.0);
+        release.countDown();
+    }
+
+    @Test
+    void givenInterruptedRequestThread_whenEnqueue_thenRejectsAndKeepsInterruptFlag() {
+        // Given
+        buffer = buffer(new WriteBehindProperties(true, 100, 10, 50, 100, 5));
+        buffer.start();
+        Thread.currentThread().interrupt();
+
+        // When & Then
+        assertThatThrownBy(() -> buffer.enqueue(intake(1L, 0)))
+                .isInstanceOf(WriteBehindQueueFullException.class);
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void givenBatchFails_whenFlushing_thenRetriesPerUserAndCountsDroppedRecords() {
+        // Given - user 2 was deleted after its records were queued
+        doAnswer(
+                        invocation -> {
+                            List<WaterIntake> batch = invocation.getArgument(0);
+                            if (batch.stream().anyMatch(w -> w.getUserId() == 2L)) {
+                                throw new DataIntegrityViolationException("fk_user");
+                            }
+                            writtenBatches.add(List.copyOf(batch));
+                            return List.of(Optional.of(batch.get(0)), Optional.empty());
+                        })
+                .when(waterIntakeWriteRepository)
+                .insertAllIfAbsent(anyList());
+        buffer = buffer(new WriteBehindProperties(true, 100, 4, 60_000, 0, 5));
+        buffer.start();
+
+        // When
+        buffer.enqueue(intake(1L, 0));
+        buffer.enqueue(intake(2L, 1));
+        buffer.enqueue(intake(1L, 2));
+        buffer.enqueue(intake(2L, 3));
+        buffer.stop();
+
+        // Then
+        verify(waterIntakeWriteRepository, times(3)).insertAllIfAbsent(anyList());
+        assertThat(writtenBatches)
+                .singleElement()
+                .satisfies(
+                        batch ->
+                                assertThat(batch)
+                                        .extracting(WaterIntake::getUserId)
+                                        .containsOnly(1L));
+        assertThat(meterRegistry.counter("water_intakes.write_behind.dropped").count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.counter("water_intakes.write_behind.duplicates").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("water_intakes.created").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenFlushStuck_whenStopInterrupted_thenInterruptsFlusherAndReturns() throws Exception {
+        // Given
+        var release = new CountDownLatch(1);
+        var flusherInterrupted = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            try {
+                                release.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                flusherInterrupted.countDown();
+                            }
+                            return List.of(Optional.empty());
+                        })
+                .when(waterIntakeWriteRepository)
+                .insertAllIfAbsent(anyList());
+        buffer = buffer(new WriteBehindProperties(true, 100, 10, 10, 0, 1));
+        buffer.start();
+        buffer.enqueue(intake(1L, 0));
+        buffer.enqueue(intake(1L, 1));
+        verify(waterIntakeWriteRepository, timeout(5_000)).insertAllIfAbsent(anyList());
+        buffer.enqueue(intake(1L, 2));
+        Thread.currentThread().interrupt();
+
+        // When
+        buffer.stop();
+
+        // Then
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(flusherInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(buffer.isRunning()).isFalse();
+    }
+
+    @Test
+    void givenFlusherInterruptedWhileRunning_whenWaitingForRecords_thenFlusherExits() {
+        // Given
+        doAnswer(
+                        invocation -> {
+                            Thread.currentThread().interrupt();
+                            return List.of(Optional.empty());
+                        })
+                .when(waterIntakeWriteRepository)
+                .insertAllIfAbsent(anyList());
+        buffer = buffer(new WriteBehindProperties(true, 100, 1, 10, 0, 5));
+        buffer.start();
+
+        // When
+        buffer.enqueue(intake(1L, 0));
+        verify(waterIntakeWriteRepository, timeout(5_000)).insertAllIfAbsent(anyList());
+        buffer.stop();
+
+        // Then
+        verify(waterIntakeWriteRepository, times(1)).insertAllIfAbsent(anyList());
+        assertThat(buffer.isRunning()).isFalse();
+    }
+
+    private void blockWritesUntil(CountDownLatch release) {
+        doAnswer(
+                        invocation -> {
+                            release.await(5, TimeUnit.SECONDS);
+                            List<WaterIntake> batch = invocation.getArgument(0);
+                            return batch.stream().map(Optional::of).toList();
+                        })
+                .when(waterIntakeWriteRepository)
+                .insertAllIfAbsent(anyList());
+    }
+
+    private WaterIntakeWriteBehindBuffer buffer(WriteBehindProperties properties) {
+        return new WaterIntakeWriteBehindBuffer(
+                properties,
+                waterIntakeWriteRepository,
+                dailyTotalsService,
+                todayProgressAccumulator,
+                transactionTemplate,
+                messageResolver,
+                meterRegistry);
+    }
+
+    private static WaterIntake intake(Long userId, int minute) {
+        return new WaterIntake(NOW.plusSeconds(minute * 60L), 250, VolumeUnit.ML, userId);
+    }
+}
@@ -9,7 +9,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import br.com.drinkwater.api.v1.controller.WaterIntakeControllerV1;
 import br.com.drinkwater.config.TestMessageSourceConfig;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeExportService;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeImportService;
 import br.com.drinkwater.hydrationtracking.service.WaterIntakeService;
+import br.com.drinkwater.hydrationtracking.service.WaterIntakeSummaryService;
 import br.com.drinkwater.usermanagement.service.UserService;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -37,6 +40,12 @@ final class DateRangeValidatorTest {
 
     @MockitoBean private WaterIntakeService waterIntakeService;
 
+    @MockitoBean private WaterIntakeSummaryService waterIntakeSummaryService;
+
+    @MockitoBean private WaterIntakeExportService waterIntakeExportService;
+
+    @MockitoBean private WaterIntakeImportService waterIntakeImportService;
+
     @MockitoBean private UserService userService;
 
     @Test
@@ -0,0 +1,88 @@
+package br.com.drinkwater.hydrationtracking.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.core.MessageResolver;
+import br.com.drinkwater.hydrationtracking.dto.WaterIntakeSummaryFilterDTO;
+import jakarta.validation.ConstraintValidatorContext;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryPeriodValidatorUnitTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock private MessageResolver messageResolver;
+
+    @Mock private ConstraintValidatorContext context;
+
+    @Mock private ConstraintValidatorContext.ConstraintViolationBuilder violationBuilder;
+
+    @Mock
+    private ConstraintValidatorContext.ConstraintViolationBuilder.NodeBuilderCustomizableContext
+            nodeBuilder;
+
+    private SummaryPeriodValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new SummaryPeriodValidator(messageResolver);
+    }
+
+    @Test
+    void givenValidPeriodAndTimeZone_whenIsValid_thenReturnTrue() {
+        var filter = new WaterIntakeSummaryFilterDTO(TODAY, TODAY, "day", "Europe/Lisbon");
+
+        assertThat(validator.isValid(filter, context)).isTrue();
+
+        verify(context, never()).buildConstraintViolationWithTemplate(anyString());
+    }
+
+    @Test
+    void givenNullDates_whenIsValid_thenReturnTrue() {
+        var filter = new WaterIntakeSummaryFilterDTO(null, null, null, null);
+
+        assertThat(validator.isValid(filter, context)).isTrue();
+
+        verify(context, never()).buildConstraintViolationWithTemplate(anyString());
+    }
+
+    @Test
+    void givenNullEndDate_whenIsValid_thenReturnTrue() {
+        var filter = new WaterIntakeSummaryFilterDTO(TODAY, null, null, null);
+
+        assertThat(validator.isValid(filter, context)).isTrue();
+    }
+
+    @Test
+    void givenEndDateBeforeStartDate_whenIsValid_thenReturnFalseOnEndDate() {
+        var filter = new WaterIntakeSummaryFilterDTO(TODAY, TODAY.minusDays(1), "day", "UTC");
+        stubViolation("water-intake.summary.date-range.end-before-start", "endDate");
+
+        assertThat(validator.isValid(filter, context)).isFalse();
+
+        verify(nodeBuilder).addConstraintViolation();
+    }
+
+    @Test
+    void givenOffsetTimeZone_whenIsValid_thenReturnFalseOnTz() {
+        var filter = new WaterIntakeSummaryFilterDTO(TODAY, TODAY, "day", "+03:00");
+        stubViolation("water-intake.summary.tz.invalid", "tz");
+
+        assertThat(validator.isValid(filter, context)).isFalse();
+
+        verify(nodeBuilder).addConstraintViolation();
+    }
+
+    private void stubViolation(String messageKey, String propertyNode) {
+        when(messageResolver.resolve(messageKey)).thenReturn(messageKey);
+        when(context.buildConstraintViolationWithTemplate(messageKey)).thenReturn(violationBuilder);
+        when(violationBuilder.addPropertyNode(propertyNode)).thenReturn(nodeBuilder);
+    }
+}
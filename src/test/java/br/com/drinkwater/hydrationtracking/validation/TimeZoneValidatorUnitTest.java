@@ -0,0 +1,30 @@
+package br.com.drinkwater.hydrationtracking.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TimeZoneValidatorUnitTest {
+
+    private final TimeZoneValidator validator = new TimeZoneValidator();
+
+    @Test
+    void givenNullTimeZone_whenIsValid_thenReturnTrue() {
+        assertThat(validator.isValid(null, null)).isTrue();
+    }
+
+    @Test
+    void givenIanaRegionId_whenIsValid_thenReturnTrue() {
+        assertThat(validator.isValid("America/Sao_Paulo", null)).isTrue();
+    }
+
+    @Test
+    void givenRawOffset_whenIsValid_thenReturnFalse() {
+        assertThat(validator.isValid("+03:00", null)).isFalse();
+    }
+
+    @Test
+    void givenUnknownRegion_whenIsValid_thenReturnFalse() {
+        assertThat(validator.isValid("Mars/Olympus_Mons", null)).isFalse();
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.drinkwater.support;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for Keycloak's JWK set endpoint. Serves the public part of the keys it is given,
+ * counts requests, and can fail or hold requests to simulate an unavailable or slow Keycloak.
+ */
+public final class StubJwkServer implements AutoCloseable {
+
+    public static final String ISSUER = "http://localhost:8080/realms/drinkwater";
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private volatile List<RSAKey> keys = List.of();
+    private volatile int status = 200;
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    public StubJwkServer() throws IOException {
+        this.server =
+                HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext(
+                "/certs",
+                exchange -> {
+                    requests.incrementAndGet();
+                    try {
+                        gate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    byte[] body =
+                            new JWKSet(List.copyOf(keys))
+                                    .toPublicJWKSet()
+                                    .toString()
+                                    .getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(status, body.length);
+                    exchange.getResponseBody().write(body);
+                    exchange.close();
+                });
+        this.server.start();
+    }
+
+    public static RSAKey generateKey(String keyId) throws JOSEException {
+        return new RSAKeyGenerator(2048).keyID(keyId).generate();
+    }
+
+    /** Signs a token for {@link #ISSUER} that expires in five minutes. */
+    public static String sign(RSAKey key, String subject) throws JOSEException {
+        var now = new Date();
+        var claims =
+                new JWTClaimsSet.Builder()
+                        .issuer(ISSUER)
+                        .subject(subject)
+                        .issueTime(now)
+                        .expirationTime(new Date(now.getTime() + 300_000))
+                        .build();
+        var jwt =
+                new SignedJWT(
+                        new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                        claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    public URI uri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/certs");
+    }
+
+    public void serve(RSAKey... keys) {
+        this.keys = List.of(keys);
+    }
+
+    public void respondWith(int status) {
+        this.status = status;
+    }
+
+    /** Holds every request until the returned latch is counted down. */
+    public CountDownLatch hold() {
+        var latch = new CountDownLatch(1);
+        this.gate = latch;
+        return latch;
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        gate.countDown();
+        if (closed.compareAndSet(false, true)) {
+            server.stop(0);
+        }
+    }
+}
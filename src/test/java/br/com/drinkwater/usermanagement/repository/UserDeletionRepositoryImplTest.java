@@ -0,0 +1,142 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.usermanagement.model.User;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(UserDeletionRepositoryImpl.class)
+final class UserDeletionRepositoryImplTest {
+
+    private static final UUID UNKNOWN_PUBLIC_ID =
+            UUID.fromString("9c1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e");
+    private static final Instant DELETED_AT = Instant.parse("2026-01-15T12:00:00Z");
+
+    private static final String INSERT_INTAKES_SQL =
+            """
+            INSERT INTO water_intakes (date_time_utc, volume, volume_unit, user_id)
+            SELECT DATEADD('MINUTE', "X", TIMESTAMP WITH TIME ZONE '2020-01-01 00:00:00+00'),
+                   250, 1, :userId
+            FROM SYSTEM_RANGE(1, :count)
+            """;
+
+    @Autowired private UserDeletionRepositoryImpl userDeletionRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenSeveralUsers_whenTombstoneAllByPublicId_thenReleasesOnlyTheListedOnes() {
+        // Given
+        var kept = userRepository.save(createTestUser());
+        var first = save("7a1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e", "first@example.com");
+        var second = save("8b1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e", "second@example.com");
+
+        // When
+        int tombstoned =
+                userDeletionRepository.tombstoneAllByPublicId(
+                        List.of(first.getPublicId(), second.getPublicId(), UNKNOWN_PUBLIC_ID),
+                        DELETED_AT);
+
+        // Then
+        assertThat(tombstoned).isEqualTo(2);
+        assertThat(userRepository.existsByPublicId(first.getPublicId())).isFalse();
+        assertThat(userRepository.existsByPublicId(second.getPublicId())).isFalse();
+        assertThat(userRepository.existsByPublicId(kept.getPublicId())).isTrue();
+        assertThat(userDeletionRepository.findTombstonedUserIds(10))
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(userDeletionRepository.countTombstoned()).isEqualTo(2);
+    }
+
+    @Test
+    void givenTombstonedUser_whenSameAccountIsCreatedAgain_thenItIsAccepted() {
+        // Given
+        var first = save("7a1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e", "first@example.com");
+        userDeletionRepository.tombstoneAllByPublicId(List.of(first.getPublicId()), DELETED_AT);
+
+        // When
+        var recreated = save("7a1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e", "first@example.com");
+
+        // Then
+        assertThat(recreated.getId()).isNotEqualTo(first.getId());
+        assertThat(userRepository.existsByPublicId(recreated.getPublicId())).isTrue();
+    }
+
+    @Test
+    void givenNoPublicIds_whenTombstoneAllByPublicId_thenTombstonesNothing() {
+        // Given
+        userRepository.save(createTestUser());
+
+        // When
+        int tombstoned = userDeletionRepository.tombstoneAllByPublicId(List.of(), DELETED_AT);
+
+        // Then
+        assertThat(tombstoned).isZero();
+        assertThat(userDeletionRepository.countTombstoned()).isZero();
+    }
+
+    @Test
+    void givenTombstonedUserWithIntakes_whenDeleteWaterIntakes_thenDeletesAtMostTheLimit() {
+        // Given
+        var user = save("7a1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e", "first@example.com");
+        insertIntakes(user, 5);
+        userDeletionRepository.tombstoneAllByPublicId(List.of(user.getPublicId()), DELETED_AT);
+
+        // When
+        int firstChunk = userDeletionRepository.deleteWaterIntakes(user.getId(), 3);
+        int secondChunk = userDeletionRepository.deleteWaterIntakes(user.getId(), 3);
+
+        // Then
+        assertThat(firstChunk).isEqualTo(3);
+        assertThat(secondChunk).isEqualTo(2);
+        assertThat(userDeletionRepository.deleteTombstoned(user.getId())).isTrue();
+        assertThat(userDeletionRepository.countTombstoned()).isZero();
+    }
+
+    @Test
+    void givenLiveUser_whenDeleteTombstoned_thenKeepsIt() {
+        // Given
+        var live = userRepository.save(createTestUser());
+
+        // When
+        boolean deleted = userDeletionRepository.deleteTombstoned(live.getId());
+
+        // Then
+        assertThat(deleted).isFalse();
+        assertThat(userRepository.existsByPublicId(live.getPublicId())).isTrue();
+    }
+
+    private void insertIntakes(User user, int count) {
+        jdbcTemplate.update(
+                INSERT_INTAKES_SQL,
+                new MapSqlParameterSource()
+                        .addValue("userId", user.getId())
+                        .addValue("count", count));
+    }
+
+    private User save(String publicId, String email) {
+        var template = createTestUser();
+        return userRepository.save(
+                new User(
+                        UUID.fromString(publicId),
+                        email,
+                        template.getPersonal(),
+                        template.getPhysical(),
+                        template.getSettings()));
+    }
+}
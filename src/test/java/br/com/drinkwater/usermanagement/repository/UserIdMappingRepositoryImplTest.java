@@ -0,0 +1,78 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import static br.com.drinkwater.usermanagement.constants.UserRepositoryTestConstants.createTestUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.usermanagement.model.User;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(UserIdMappingRepositoryImpl.class)
+final class UserIdMappingRepositoryImplTest {
+
+    @Autowired private UserIdMappingRepositoryImpl userIdMappingRepository;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenSeveralUsers_whenForEachRecent_thenVisitsNewestMappingsUpToLimit() {
+        // Given
+        var oldest = userRepository.save(createTestUser());
+        var middle = save("7a1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e", "middle@example.com");
+        var newest = save("8b1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e", "newest@example.com");
+
+        // When
+        Map<UUID, Long> visited = new LinkedHashMap<>();
+        userIdMappingRepository.forEachRecent(2, visited::put);
+
+        // Then
+        assertThat(visited)
+                .containsExactly(
+                        Map.entry(newest.getPublicId(), newest.getId()),
+                        Map.entry(middle.getPublicId(), middle.getId()))
+                .doesNotContainKey(oldest.getPublicId());
+    }
+
+    @Test
+    void givenTombstonedUser_whenForEachRecent_thenSkipsIt() {
+        // Given
+        var live = userRepository.save(createTestUser());
+        var deleted = save("7a1c2d3e-4b5a-4c6d-8e7f-901a2b3c4d5e", "deleted@example.com");
+        jdbcTemplate
+                .getJdbcOperations()
+                .update(
+                        "UPDATE users SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?",
+                        deleted.getId());
+
+        // When
+        Map<UUID, Long> visited = new LinkedHashMap<>();
+        userIdMappingRepository.forEachRecent(10, visited::put);
+
+        // Then
+        assertThat(visited).containsExactly(Map.entry(live.getPublicId(), live.getId()));
+    }
+
+    private User save(String publicId, String email) {
+        var template = createTestUser();
+        return userRepository.save(
+                new User(
+                        UUID.fromString(publicId),
+                        email,
+                        template.getPersonal(),
+                        template.getPhysical(),
+                        template.getSettings()));
+    }
+}
@@ -65,6 +65,30 @@ class UserRepositoryTest {
         assertThat(sut).isEmpty();
     }
 
+    @Test
+    void givenValidPublicId_whenFindIdByPublicId_thenReturnOnlyId() {
+        // Given
+        User savedUser = userRepository.save(createTestUser());
+
+        // When
+        Optional<Long> sut = userRepository.findIdByPublicId(REPOSITORY_USER_UUID);
+
+        // Then
+        assertThat(sut).contains(savedUser.getId());
+    }
+
+    @Test
+    void givenNonExistentPublicId_whenFindIdByPublicId_thenReturnEmpty() {
+        // Given
+        var nonExistentUuid = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
+        // When
+        Optional<Long> sut = userRepository.findIdByPublicId(nonExistentUuid);
+
+        // Then
+        assertThat(sut).isEmpty();
+    }
+
     @Test
     void givenNonExistentPublicId_whenExistsByPublicId_thenReturnFalse() {
         // Given
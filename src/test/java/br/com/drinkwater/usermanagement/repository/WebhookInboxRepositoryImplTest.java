@@ -0,0 +1,94 @@
+package br.com.drinkwater.usermanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository.InboxEvent;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository.PendingEvent;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(WebhookInboxRepositoryImpl.class)
+final class WebhookInboxRepositoryImplTest {
+
+    private static final Instant RECEIVED_AT = Instant.parse("2026-01-15T12:00:00Z");
+    private static final UUID FIRST_USER = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID SECOND_USER = UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8");
+
+    @Autowired private WebhookInboxRepositoryImpl webhookInboxRepository;
+
+    @Test
+    void givenRedeliveredEvent_whenInsertAllIfAbsent_thenStoresItOnce() {
+        // Given
+        webhookInboxRepository.insertAllIfAbsent(
+                List.of(new InboxEvent("e1", "DELETE_ACCOUNT", FIRST_USER)), RECEIVED_AT);
+
+        // When
+        int stored =
+                webhookInboxRepository.insertAllIfAbsent(
+                        List.of(
+                                new InboxEvent("e1", "DELETE_ACCOUNT", FIRST_USER),
+                                new InboxEvent("e2", "ADMIN_DELETE_USER", SECOND_USER)),
+                        RECEIVED_AT.plusSeconds(5));
+
+        // Then
+        assertThat(stored).isEqualTo(1);
+        assertThat(webhookInboxRepository.findPending(10))
+                .containsExactly(
+                        new PendingEvent("e1", FIRST_USER, RECEIVED_AT),
+                        new PendingEvent("e2", SECOND_USER, RECEIVED_AT.plusSeconds(5)));
+    }
+
+    @Test
+    void givenPendingEvents_whenFindPending_thenReturnsOldestUpToLimit() {
+        // Given
+        webhookInboxRepository.insertAllIfAbsent(
+                List.of(new InboxEvent("late", "DELETE_ACCOUNT", SECOND_USER)),
+                RECEIVED_AT.plusSeconds(60));
+        webhookInboxRepository.insertAllIfAbsent(
+                List.of(new InboxEvent("early", "DELETE_ACCOUNT", FIRST_USER)), RECEIVED_AT);
+
+        // When
+        var pending = webhookInboxRepository.findPending(1);
+
+        // Then
+        assertThat(pending).containsExactly(new PendingEvent("early", FIRST_USER, RECEIVED_AT));
+    }
+
+    @Test
+    void givenProcessedEvents_whenMarkProcessedAndPurge_thenLeavesPendingAndRecentOnes() {
+        // Given
+        webhookInboxRepository.insertAllIfAbsent(
+                List.of(
+                        new InboxEvent("old", "DELETE_ACCOUNT", FIRST_USER),
+                        new InboxEvent("recent", "DELETE_ACCOUNT", SECOND_USER),
+                        new InboxEvent("pending", "DELETE_ACCOUNT", SECOND_USER)),
+                RECEIVED_AT);
+        webhookInboxRepository.markProcessed(List.of("old"), RECEIVED_AT.plusSeconds(10));
+        webhookInboxRepository.markProcessed(List.of("recent"), RECEIVED_AT.plusSeconds(100));
+
+        // When
+        int purged = webhookInboxRepository.deleteProcessedBefore(RECEIVED_AT.plusSeconds(50));
+
+        // Then
+        assertThat(purged).isEqualTo(1);
+        assertThat(webhookInboxRepository.findPending(10))
+                .containsExactly(new PendingEvent("pending", SECOND_USER, RECEIVED_AT));
+        int redelivered =
+                webhookInboxRepository.insertAllIfAbsent(
+                        List.of(
+                                new InboxEvent("old", "DELETE_ACCOUNT", FIRST_USER),
+                                new InboxEvent("recent", "DELETE_ACCOUNT", SECOND_USER)),
+                        RECEIVED_AT.plusSeconds(200));
+        assertThat(redelivered).isEqualTo(1);
+    }
+}
@@ -0,0 +1,263 @@
+package br.com.drinkwater.usermanagement.service;
+
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_ID;
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import br.com.drinkwater.config.properties.CacheProperties;
+import br.com.drinkwater.config.security.UserIdRevocationListener;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class UserIdCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserIdCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache =
+                new UserIdCache(
+                        userRepository,
+                        new CacheProperties(100, 5, 30),
+                        meterRegistry,
+                        nanos::get,
+                        refreshes::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenKnownUser_whenFindTwice_thenLoadsIdOnce() {
+        // Given
+        when(userRepository.findIdByPublicId(USER_UUID)).thenReturn(Optional.of(USER_ID));
+        cache.find(USER_UUID);
+
+        // When
+        Optional<Long> userId = cache.find(USER_UUID);
+
+        // Then
+        assertThat(userId).contains(USER_ID);
+        verify(userRepository, times(1)).findIdByPublicId(USER_UUID);
+        assertThat(gets("hit")).isEqualTo(1.0);
+        assertThat(gets("miss")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.load.duration").tag("cache", "userIdByPublicId"))
+                .isNotNull();
+    }
+
+    @Test
+    void givenUnknownUser_whenFindWithinNegativeTtl_thenAnswersFromCache() {
+        // Given
+        when(userRepository.findIdByPublicId(USER_UUID)).thenReturn(Optional.empty());
+        cache.find(USER_UUID);
+        nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+
+        // When
+        Optional<Long> userId = cache.find(USER_UUID);
+
+        // Then
+        assertThat(userId).isEmpty();
+        verify(userRepository, times(1)).findIdByPublicId(USER_UUID);
+        assertThat(meterRegistry.get("cache.gets.unknown").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenUnknownUser_whenNegativeTtlElapses_thenLoadsAgain() {
+        // Given
+        when(userRepository.findIdByPublicId(USER_UUID))
+                .thenReturn(Optional.empty(), Optional.of(USER_ID));
+        cache.find(USER_UUID);
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // When
+        Optional<Long> userId = cache.find(USER_UUID);
+
+        // Then
+        assertThat(userId).contains(USER_ID);
+        verify(userRepository, times(2)).findIdByPublicId(USER_UUID);
+    }
+
+    @Test
+    void givenKnownUserPastRefreshInterval_whenFind_thenServesCachedIdAndReloads() {
+        // Given
+        when(userRepository.findIdByPublicId(USER_UUID))
+                .thenReturn(Optional.of(USER_ID), Optional.empty());
+        cache.find(USER_UUID);
+        nanos.addAndGet(Duration.ofMinutes(5).plusSeconds(1).toNanos());
+
+        // When
+        Optional<Long> served = cache.find(USER_UUID);
+        runRefreshes();
+        Optional<Long> reloaded = cache.find(USER_UUID);
+
+        // Then
+        assertThat(served).contains(USER_ID);
+        assertThat(reloaded).isEmpty();
+        verify(userRepository, times(2)).findIdByPublicId(USER_UUID);
+    }
+
+    @Test
+    void givenKnownUserAndDatabaseDown_whenRefreshFails_thenKeepsCachedId() {
+        // Given
+        when(userRepository.findIdByPublicId(USER_UUID))
+                .thenReturn(Optional.of(USER_ID))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        cache.find(USER_UUID);
+        nanos.addAndGet(Duration.ofMinutes(5).plusSeconds(1).toNanos());
+
+        // When
+        cache.find(USER_UUID);
+        runRefreshes();
+        Optional<Long> userId = cache.find(USER_UUID);
+
+        // Then
+        assertThat(userId).contains(USER_ID);
+        verify(userRepository, times(2)).findIdByPublicId(USER_UUID);
+    }
+
+    @Test
+    void givenActiveTransaction_whenInvalidate_thenEntryIsDroppedAfterCommit() {
+        // Given
+        when(userRepository.findIdByPublicId(USER_UUID))
+                .thenReturn(Optional.empty(), Optional.of(USER_ID));
+        cache.find(USER_UUID);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.invalidate(USER_UUID);
+
+        // Then
+        assertThat(cache.find(USER_UUID)).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.find(USER_UUID)).contains(USER_ID);
+    }
+
+    @Test
+    void givenNoTransaction_whenInvalidate_thenEntryIsDroppedImmediately() {
+        // Given
+        when(userRepository.findIdByPublicId(USER_UUID))
+                .thenReturn(Optional.empty(), Optional.of(USER_ID));
+        cache.find(USER_UUID);
+
+        // When
+        cache.invalidate(USER_UUID);
+
+        // Then
+        assertThat(cache.find(USER_UUID)).contains(USER_ID);
+    }
+
+    @Test
+    void givenKnownUser_whenVerifyUserIdClaim_thenAcceptsOnlyItsId() {
+        // Given
+        when(userRepository.findIdByPublicId(USER_UUID)).thenReturn(Optional.of(USER_ID));
+
+        // When
+        boolean own = cache.isUserIdOf(USER_UUID, USER_ID);
+        boolean other = cache.isUserIdOf(USER_UUID, USER_ID + 1);
+
+        // Then
+        assertThat(own).isTrue();
+        assertThat(other).isFalse();
+        verify(userRepository, times(1)).findIdByPublicId(USER_UUID);
+    }
+
+    @Test
+    void givenRevocationListener_whenEntriesInvalidatedOrEvicted_thenRevokesTheirClaims() {
+        // Given
+        var listener = mock(UserIdRevocationListener.class);
+        cache.addRevocationListener(listener);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.invalidate(USER_UUID);
+        verifyNoInteractions(listener);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        cache.evictLocally(USER_UUID);
+        cache.evictAllLocally();
+
+        // Then
+        verify(listener, times(2)).revoke(USER_UUID);
+        verify(listener).revokeAll();
+    }
+
+    @Test
+    void givenWarmedEntry_whenFind_thenAnswersWithoutLoading() {
+        // Given
+        cache.put(USER_UUID, USER_ID);
+
+        // When
+        var userId = cache.find(USER_UUID);
+
+        // Then
+        assertThat(userId).contains(USER_ID);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void givenEntriesEvictedByAnotherInstance_whenFind_thenLoadsAgain() {
+        // Given
+        UUID other = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        cache.put(USER_UUID, USER_ID);
+        cache.put(other, USER_ID + 1);
+        when(userRepository.findIdByPublicId(USER_UUID)).thenReturn(Optional.empty());
+        when(userRepository.findIdByPublicId(other)).thenReturn(Optional.empty());
+
+        // When
+        cache.evictLocally(USER_UUID);
+        var evicted = cache.find(USER_UUID);
+        var kept = cache.find(other);
+        cache.evictAllLocally();
+
+        // Then
+        assertThat(cache.cacheName()).isEqualTo("userIdByPublicId");
+        assertThat(evicted).isEmpty();
+        assertThat(kept).contains(USER_ID + 1);
+        assertThat(cache.find(other)).isEmpty();
+    }
+
+    private void runRefreshes() {
+        while (!refreshes.isEmpty()) {
+            refreshes.poll().run();
+        }
+    }
+
+    private double gets(String result) {
+        return meterRegistry
+                .get("cache.gets")
+                .tag("cache", "userIdByPublicId")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
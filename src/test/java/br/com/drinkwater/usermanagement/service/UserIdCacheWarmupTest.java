@@ -0,0 +1,64 @@
+package br.com.drinkwater.usermanagement.service;
+
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_ID;
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_UUID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import br.com.drinkwater.config.properties.ClusterCacheProperties;
+import br.com.drinkwater.usermanagement.repository.UserIdMappingRepository;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class UserIdCacheWarmupTest {
+
+    private UserIdMappingRepository userIdMappingRepository;
+    private UserIdCache userIdCache;
+
+    @BeforeEach
+    void setUp() {
+        userIdMappingRepository = mock(UserIdMappingRepository.class);
+        userIdCache = mock(UserIdCache.class);
+    }
+
+    @Test
+    void givenWarmupSize_whenRun_thenPutsRecentMappingsIntoCache() {
+        // Given
+        doAnswer(
+                        invocation -> {
+                            BiConsumer<UUID, Long> action = invocation.getArgument(1);
+                            action.accept(USER_UUID, USER_ID);
+                            return null;
+                        })
+                .when(userIdMappingRepository)
+                .forEachRecent(eq(1000), any());
+
+        // When
+        warmup(1000).run(null);
+
+        // Then
+        verify(userIdCache).put(USER_UUID, USER_ID);
+    }
+
+    @Test
+    void givenWarmupDisabled_whenRun_thenDoesNotQuery() {
+        // When
+        warmup(0).run(null);
+
+        // Then
+        verifyNoInteractions(userIdMappingRepository, userIdCache);
+    }
+
+    private UserIdCacheWarmup warmup(int size) {
+        return new UserIdCacheWarmup(
+                userIdMappingRepository,
+                userIdCache,
+                new ClusterCacheProperties("local", "cache_invalidation", size));
+    }
+}
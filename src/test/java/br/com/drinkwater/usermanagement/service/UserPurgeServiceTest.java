@@ -0,0 +1,172 @@
+package br.com.drinkwater.usermanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.config.properties.UserPurgeProperties;
+import br.com.drinkwater.usermanagement.repository.UserDeletionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+final class UserPurgeServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T12:00:00Z");
+    private static final long FIRST_USER = 1L;
+    private static final long SECOND_USER = 2L;
+
+    @Mock private UserDeletionRepository userDeletionRepository;
+
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<Duration> pauses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+                .when(transactionTemplate.execute(any()))
+                .thenAnswer(
+                        invocation -> {
+                            TransactionCallback<?> action = invocation.getArgument(0);
+                            return action.doInTransaction(null);
+                        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void givenTombstonedUsers_whenPurge_thenDeletesInChunksAndRemovesEachUser() {
+        // Given
+        var service = service(2, 10, 100);
+        when(userDeletionRepository.findTombstonedUserIds(100))
+                .thenReturn(List.of(FIRST_USER, SECOND_USER));
+        when(userDeletionRepository.deleteWaterIntakes(FIRST_USER, 2)).thenReturn(2, 2, 1);
+        when(userDeletionRepository.deleteWaterIntakes(SECOND_USER, 2)).thenReturn(0);
+        when(userDeletionRepository.deleteTombstoned(anyLong())).thenReturn(true);
+
+        // When
+        var sut = service.purge();
+
+        // Then
+        assertThat(sut).isEqualTo(5);
+        verify(userDeletionRepository).deleteTombstoned(FIRST_USER);
+        verify(userDeletionRepository).deleteTombstoned(SECOND_USER);
+        assertThat(pauses)
+                .containsExactly(
+                        Duration.ofMillis(200), Duration.ofMillis(200), Duration.ofMillis(100));
+        assertThat(meterRegistry.get("users.purge.rows").counter().count()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("users.purge.completed").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("users.purge.chunk").timer().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("users.purge.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void givenMoreChunksThanTheRunAllows_whenPurge_thenStopsAndLeavesTheUserTombstoned() {
+        // Given
+        var service = service(2, 1_000, 2);
+        when(userDeletionRepository.findTombstonedUserIds(2))
+                .thenReturn(List.of(FIRST_USER, SECOND_USER));
+        when(userDeletionRepository.deleteWaterIntakes(FIRST_USER, 2)).thenReturn(2);
+        when(userDeletionRepository.countTombstoned()).thenReturn(2L);
+
+        // When
+        var sut = service.purge();
+
+        // Then
+        assertThat(sut).isEqualTo(4);
+        verify(userDeletionRepository, times(2)).deleteWaterIntakes(FIRST_USER, 2);
+        verify(userDeletionRepository, never()).deleteWaterIntakes(eq(SECOND_USER), anyInt());
+        verify(userDeletionRepository, never()).deleteTombstoned(anyLong());
+        assertThat(meterRegistry.get("users.purge.pending").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenLastChunkAtTheRunLimit_whenPurge_thenRemovesTheUserAndStops() {
+        // Given
+        var service = service(2, 1_000, 1);
+        when(userDeletionRepository.findTombstonedUserIds(1))
+                .thenReturn(List.of(FIRST_USER, SECOND_USER));
+        when(userDeletionRepository.deleteWaterIntakes(FIRST_USER, 2)).thenReturn(1);
+        when(userDeletionRepository.deleteTombstoned(FIRST_USER)).thenReturn(false);
+
+        // When
+        var sut = service.purge();
+
+        // Then
+        assertThat(sut).isEqualTo(1);
+        verify(userDeletionRepository, never()).deleteWaterIntakes(eq(SECOND_USER), anyInt());
+        assertThat(meterRegistry.get("users.purge.completed").counter().count()).isZero();
+    }
+
+    @Test
+    void givenInterruptDuringPause_whenPurge_thenStopsAndRestoresInterruptFlag() {
+        // Given
+        var service =
+                new UserPurgeService(
+                        userDeletionRepository,
+                        transactionTemplate,
+                        new UserPurgeProperties("-", 2, 10, 100),
+                        meterRegistry,
+                        Clock.fixed(NOW, ZoneOffset.UTC),
+                        duration -> {
+                            throw new InterruptedException();
+                        });
+        when(userDeletionRepository.findTombstonedUserIds(100))
+                .thenReturn(List.of(FIRST_USER, SECOND_USER));
+        when(userDeletionRepository.deleteWaterIntakes(FIRST_USER, 2)).thenReturn(2);
+
+        // When
+        var sut = service.purge();
+
+        // Then
+        assertThat(sut).isEqualTo(2);
+        assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        verify(userDeletionRepository).deleteWaterIntakes(FIRST_USER, 2);
+        verify(userDeletionRepository, never()).deleteWaterIntakes(eq(SECOND_USER), anyInt());
+    }
+
+    @Test
+    void givenNothingTombstoned_whenPurge_thenDeletesNothing() {
+        // Given
+        var service = service(2, 10, 100);
+        when(userDeletionRepository.findTombstonedUserIds(100)).thenReturn(List.of());
+
+        // When
+        var sut = service.purge();
+
+        // Then
+        assertThat(sut).isZero();
+        assertThat(pauses).isEmpty();
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    private UserPurgeService service(int chunkSize, int rowsPerSecond, int maxChunksPerRun) {
+        return new UserPurgeService(
+                userDeletionRepository,
+                transactionTemplate,
+                new UserPurgeProperties("-", chunkSize, rowsPerSecond, maxChunksPerRun),
+                meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                pauses::add);
+    }
+}
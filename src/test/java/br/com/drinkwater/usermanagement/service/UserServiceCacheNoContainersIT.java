@@ -1,10 +1,16 @@
 package br.com.drinkwater.usermanagement.service;
 
+import static br.com.drinkwater.usermanagement.constants.UserTestConstants.USER_DTO;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import br.com.drinkwater.config.MockContainersConfig;
+import br.com.drinkwater.config.cache.CacheInvalidation;
+import br.com.drinkwater.config.cache.CacheInvalidationDispatcher;
 import br.com.drinkwater.usermanagement.exception.UserNotFoundException;
+import br.com.drinkwater.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,23 +34,38 @@ final class UserServiceCacheNoContainersIT {
     private static final UUID JOHN_DOE_PUBLIC_ID =
             UUID.fromString("fbc58717-5d48-4041-9f1c-257e8052428f");
     private static final Long JOHN_DOE_USER_ID = 1L;
+    private static final UUID UNKNOWN_PUBLIC_ID =
+            UUID.fromString("00000000-0000-0000-0000-000000000000");
 
     @Autowired private UserService userService;
 
+    @Autowired private UserIdCache userIdCache;
+
     @Autowired private CacheManager cacheManager;
 
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Autowired private UserRepository userRepository;
+
+    @Autowired private CacheInvalidationDispatcher cacheInvalidationDispatcher;
+
     @BeforeEach
     void clearCache() {
-        var cache = cacheManager.getCache("userIdByPublicId");
-        if (cache != null) {
-            cache.clear();
+        for (String name : cacheManager.getCacheNames()) {
+            var cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
         }
+        userIdCache.invalidate(JOHN_DOE_PUBLIC_ID);
+        userIdCache.invalidate(UNKNOWN_PUBLIC_ID);
     }
 
     @Test
     void givenExistingUser_whenResolveUserIdTwice_thenSecondCallUsesCache() {
         // Given - first call populates the cache
         Long firstResult = userService.resolveUserIdByPublicId(JOHN_DOE_PUBLIC_ID);
+        double hitsBefore = userIdCacheGets("hit");
 
         // When - second call should hit cache
         Long secondResult = userService.resolveUserIdByPublicId(JOHN_DOE_PUBLIC_ID);
@@ -52,34 +73,89 @@ final class UserServiceCacheNoContainersIT {
         // Then
         assertThat(firstResult).isEqualTo(JOHN_DOE_USER_ID);
         assertThat(secondResult).isEqualTo(JOHN_DOE_USER_ID);
-
-        var cachedValue =
-                cacheManager.getCache("userIdByPublicId").get(JOHN_DOE_PUBLIC_ID, Long.class);
-        assertThat(cachedValue).isEqualTo(JOHN_DOE_USER_ID);
+        assertThat(userIdCacheGets("hit")).isEqualTo(hitsBefore + 1);
     }
 
     @Test
-    void givenCachedUser_whenDeleteByPublicId_thenCacheEntryIsEvicted() {
+    void givenCachedUser_whenDeleteByPublicId_thenUserIsNoLongerResolved() {
         // Given - populate cache
         userService.resolveUserIdByPublicId(JOHN_DOE_PUBLIC_ID);
-        assertThat(cacheManager.getCache("userIdByPublicId").get(JOHN_DOE_PUBLIC_ID)).isNotNull();
 
         // When
         userService.deleteByPublicId(JOHN_DOE_PUBLIC_ID);
 
         // Then
-        assertThat(cacheManager.getCache("userIdByPublicId").get(JOHN_DOE_PUBLIC_ID)).isNull();
+        assertThatThrownBy(() -> userService.resolveUserIdByPublicId(JOHN_DOE_PUBLIC_ID))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void givenCachedDailyGoal_whenDeleteByPublicId_thenDailyGoalEntryIsEvicted() {
+        // Given - populate cache
+        int goal = userService.resolveDailyGoalByPublicId(JOHN_DOE_PUBLIC_ID);
+        assertThat(
+                        cacheManager
+                                .getCache("dailyGoalByPublicId")
+                                .get(JOHN_DOE_PUBLIC_ID, Integer.class))
+                .isEqualTo(goal);
+
+        // When
+        userService.deleteByPublicId(JOHN_DOE_PUBLIC_ID);
+
+        // Then
+        assertThat(cacheManager.getCache("dailyGoalByPublicId").get(JOHN_DOE_PUBLIC_ID)).isNull();
     }
 
     @Test
-    void givenNonExistentUser_whenResolveUserId_thenThrowsUserNotFoundException() {
+    void givenNonExistentUser_whenResolveUserIdTwice_thenSecondCallUsesNegativeEntry() {
         // Given
-        var unknownPublicId = UUID.fromString("00000000-0000-0000-0000-000000000000");
+        assertThatThrownBy(() -> userService.resolveUserIdByPublicId(UNKNOWN_PUBLIC_ID))
+                .isInstanceOf(UserNotFoundException.class);
+        double hitsBefore = userIdCacheGets("hit");
 
         // When & Then
-        assertThatThrownBy(() -> userService.resolveUserIdByPublicId(unknownPublicId))
+        assertThatThrownBy(() -> userService.resolveUserIdByPublicId(UNKNOWN_PUBLIC_ID))
                 .isInstanceOf(UserNotFoundException.class);
+        assertThat(userIdCacheGets("hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void givenUnknownPublicIdCached_whenCreateUser_thenNewUserIsResolved() {
+        // Given
+        assertThatThrownBy(() -> userService.resolveUserIdByPublicId(UNKNOWN_PUBLIC_ID))
+                .isInstanceOf(UserNotFoundException.class);
+
+        // When
+        userService.createUser(UNKNOWN_PUBLIC_ID, USER_DTO);
+
+        // Then
+        assertThat(userService.resolveUserIdByPublicId(UNKNOWN_PUBLIC_ID)).isNotNull();
+    }
+
+    @Test
+    void givenUserDeletedByAnotherInstance_whenInvalidationArrives_thenUserIsNoLongerResolved() {
+        // Given - cached here, deleted elsewhere
+        userService.resolveUserIdByPublicId(JOHN_DOE_PUBLIC_ID);
+        userRepository.deleteByPublicId(JOHN_DOE_PUBLIC_ID);
+        assertThat(userService.resolveUserIdByPublicId(JOHN_DOE_PUBLIC_ID))
+                .isEqualTo(JOHN_DOE_USER_ID);
+
+        // When
+        cacheInvalidationDispatcher.apply(
+                new CacheInvalidation(
+                        "other-node", "userIdByPublicId", JOHN_DOE_PUBLIC_ID, Instant.now()));
+
+        // Then
+        assertThatThrownBy(() -> userService.resolveUserIdByPublicId(JOHN_DOE_PUBLIC_ID))
+                .isInstanceOf(UserNotFoundException.class);
+    }
 
-        assertThat(cacheManager.getCache("userIdByPublicId").get(unknownPublicId)).isNull();
+    private double userIdCacheGets(String result) {
+        return meterRegistry
+                .get("cache.gets")
+                .tag("cache", "userIdByPublicId")
+                .tag("result", result)
+                .functionCounter()
+                .count();
     }
 }
@@ -4,33 +4,64 @@ import static br.com.drinkwater.usermanagement.constants.UserTestConstants.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import br.com.drinkwater.config.cache.CacheInvalidationBus;
+import br.com.drinkwater.config.security.ScopedJwtAuthenticationToken;
 import br.com.drinkwater.usermanagement.exception.UserAlreadyExistsException;
 import br.com.drinkwater.usermanagement.exception.UserNotFoundException;
 import br.com.drinkwater.usermanagement.mapper.UserMapper;
+import br.com.drinkwater.usermanagement.repository.UserDeletionRepository;
 import br.com.drinkwater.usermanagement.repository.UserRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 
 @ExtendWith(MockitoExtension.class)
 final class UserServiceTest {
 
     @Mock private UserRepository userRepository;
 
+    @Mock private UserDeletionRepository userDeletionRepository;
+
     @Mock private UserMapper userMapper;
 
+    @Mock private UserIdCache userIdCache;
+
+    @Mock private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock private CacheManager cacheManager;
+
     private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private UserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserService(userRepository, userMapper, meterRegistry);
+        userService =
+                new UserService(
+                        userRepository,
+                        userDeletionRepository,
+                        userMapper,
+                        userIdCache,
+                        cacheInvalidationBus,
+                        cacheManager,
+                        meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -50,6 +81,8 @@ final class UserServiceTest {
         verify(userMapper).toEntity(USER_DTO, USER_UUID);
         verify(userRepository).save(USER);
         verify(userMapper).toDto(USER);
+        verify(userIdCache).invalidate(USER_UUID);
+        verify(cacheInvalidationBus).publish("userIdByPublicId", USER_UUID);
         verifyNoMoreInteractions(userRepository, userMapper);
     }
 
@@ -116,6 +149,7 @@ final class UserServiceTest {
         verify(userMapper).updateUser(USER, USER_DTO);
         verify(userRepository).save(USER);
         verify(userMapper).toDto(USER);
+        verify(cacheInvalidationBus).publish("dailyGoalByPublicId", USER_UUID);
         verifyNoMoreInteractions(userRepository, userMapper);
     }
 
@@ -136,13 +170,58 @@ final class UserServiceTest {
     }
 
     @Test
-    void givenValidPublicId_whenDeleteUser_thenByPublicIdShouldBeDeleted() {
+    void givenValidPublicId_whenDeleteUser_thenByPublicIdShouldBeTombstoned() {
         // When & Then
         assertThatCode(() -> this.userService.deleteByPublicId(USER_UUID))
                 .doesNotThrowAnyException();
 
-        verify(userRepository).deleteByPublicId(USER_UUID);
-        verifyNoMoreInteractions(userRepository);
+        verify(userDeletionRepository).tombstoneAllByPublicId(eq(List.of(USER_UUID)), any());
+        verify(userIdCache).invalidate(USER_UUID);
+        verify(cacheInvalidationBus).publish("userIdByPublicId", USER_UUID);
+        verify(cacheInvalidationBus).publish("dailyGoalByPublicId", USER_UUID);
+        verifyNoMoreInteractions(cacheInvalidationBus);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void givenPublicIds_whenDeleteAllByPublicId_thenDeletesInOneCallAndEvictsEach() {
+        // Given
+        var otherUuid = UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8");
+        var dailyGoalCache = mock(Cache.class);
+        when(cacheManager.getCache("dailyGoalByPublicId")).thenReturn(dailyGoalCache);
+        when(userDeletionRepository.tombstoneAllByPublicId(
+                        eq(List.of(USER_UUID, otherUuid)), any()))
+                .thenReturn(1);
+
+        // When
+        var sut = this.userService.deleteAllByPublicId(List.of(USER_UUID, otherUuid));
+
+        // Then
+        assertThat(sut).isEqualTo(1);
+        assertThat(meterRegistry.get("users.deleted").counter().count()).isEqualTo(1.0);
+        for (UUID publicId : List.of(USER_UUID, otherUuid)) {
+            verify(userIdCache).invalidate(publicId);
+            verify(dailyGoalCache).evict(publicId);
+            verify(cacheInvalidationBus).publish("userIdByPublicId", publicId);
+            verify(cacheInvalidationBus).publish("dailyGoalByPublicId", publicId);
+        }
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void givenNoDailyGoalCache_whenDeleteAllByPublicId_thenStillInvalidatesUserIds() {
+        // Given
+        when(cacheManager.getCache("dailyGoalByPublicId")).thenReturn(null);
+        when(userDeletionRepository.tombstoneAllByPublicId(eq(List.of(USER_UUID)), any()))
+                .thenReturn(0);
+
+        // When
+        var sut = this.userService.deleteAllByPublicId(List.of(USER_UUID));
+
+        // Then
+        assertThat(sut).isZero();
+        verify(userIdCache).invalidate(USER_UUID);
+        verify(cacheInvalidationBus).publish("userIdByPublicId", USER_UUID);
     }
 
     @Test
@@ -175,26 +254,59 @@ final class UserServiceTest {
     @Test
     void givenValidPublicId_whenResolveUserIdByPublicId_thenReturnUserId() {
         // Given
-        when(userRepository.findByPublicId(USER_UUID)).thenReturn(Optional.of(USER));
+        when(userIdCache.find(USER_UUID)).thenReturn(Optional.of(USER_ID));
 
         // When
         var sut = this.userService.resolveUserIdByPublicId(USER_UUID);
 
         // Then
         assertThat(sut).isEqualTo(USER_ID);
-        verify(userRepository).findByPublicId(USER_UUID);
-        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void givenTokenWithVerifiedUserIdClaim_whenResolveUserIdByPublicId_thenSkipsCache() {
+        // Given
+        var jwt =
+                Jwt.withTokenValue("token")
+                        .header("alg", "RS256")
+                        .subject(USER_UUID.toString())
+                        .build();
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new ScopedJwtAuthenticationToken(
+                                jwt, List.of(), USER_UUID.toString(), 0L, USER_ID));
+
+        // When
+        var sut = this.userService.resolveUserIdByPublicId(USER_UUID);
+
+        // Then
+        assertThat(sut).isEqualTo(USER_ID);
+        verifyNoInteractions(userIdCache, userRepository);
     }
 
     @Test
     void givenInvalidPublicId_whenResolveUserIdByPublicId_thenThrowUserNotFoundException() {
         // Given
-        when(userRepository.findByPublicId(USER_UUID)).thenReturn(Optional.empty());
+        when(userIdCache.find(USER_UUID)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> this.userService.resolveUserIdByPublicId(USER_UUID))
                 .isInstanceOf(UserNotFoundException.class);
 
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void givenValidPublicId_whenResolveDailyGoalByPublicId_thenReturnAlarmSettingsGoal() {
+        // Given
+        when(userRepository.findByPublicId(USER_UUID)).thenReturn(Optional.of(USER));
+
+        // When
+        var sut = this.userService.resolveDailyGoalByPublicId(USER_UUID);
+
+        // Then
+        assertThat(sut).isEqualTo(USER.getSettings().getGoal());
         verify(userRepository).findByPublicId(USER_UUID);
         verifyNoMoreInteractions(userRepository);
     }
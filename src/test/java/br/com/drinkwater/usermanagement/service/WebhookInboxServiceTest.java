@@ -0,0 +1,171 @@
+package br.com.drinkwater.usermanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import br.com.drinkwater.config.properties.WebhookInboxProperties;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository.InboxEvent;
+import br.com.drinkwater.usermanagement.repository.WebhookInboxRepository.PendingEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+final class WebhookInboxServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T12:00:00Z");
+    private static final UUID FIRST_USER = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID SECOND_USER = UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8");
+
+    @Mock private WebhookInboxRepository webhookInboxRepository;
+
+    @Mock private UserService userService;
+
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WebhookInboxService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+                .doAnswer(
+                        invocation -> {
+                            Consumer<TransactionStatus> action = invocation.getArgument(0);
+                            action.accept(null);
+                            return null;
+                        })
+                .when(transactionTemplate)
+                .executeWithoutResult(any());
+        service =
+                new WebhookInboxService(
+                        webhookInboxRepository,
+                        userService,
+                        transactionTemplate,
+                        new WebhookInboxProperties("-", 2, 24),
+                        meterRegistry,
+                        Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void givenEventsWithDuplicate_whenAccept_thenStoresNewOnesAndCountsDuplicates() {
+        // Given
+        var events =
+                List.of(
+                        new InboxEvent("e1", "DELETE_ACCOUNT", FIRST_USER),
+                        new InboxEvent("e2", "DELETE_ACCOUNT", SECOND_USER));
+        when(webhookInboxRepository.insertAllIfAbsent(events, NOW)).thenReturn(1);
+
+        // When
+        var sut = service.accept(events);
+
+        // Then
+        assertThat(sut).isEqualTo(1);
+        assertThat(meterRegistry.get("webhook.inbox.received").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("webhook.inbox.duplicates").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenNoEvents_whenAccept_thenDoesNotTouchTheInbox() {
+        // When
+        var sut = service.accept(List.of());
+
+        // Then
+        assertThat(sut).isZero();
+        verifyNoInteractions(webhookInboxRepository);
+    }
+
+    @Test
+    void givenMorePendingThanBatchSize_whenProcessPending_thenAppliesOneChunkPerTransaction() {
+        // Given
+        var first = new PendingEvent("e1", FIRST_USER, NOW.minusSeconds(30));
+        var duplicateUser = new PendingEvent("e2", FIRST_USER, NOW.minusSeconds(20));
+        var second = new PendingEvent("e3", SECOND_USER, NOW.minusSeconds(10));
+        when(webhookInboxRepository.findPending(2))
+                .thenReturn(List.of(first, duplicateUser), List.of(second));
+
+        // When
+        var sut = service.processPending();
+
+        // Then
+        assertThat(sut).isEqualTo(3);
+        var order = inOrder(userService, webhookInboxRepository);
+        order.verify(userService).deleteAllByPublicId(List.of(FIRST_USER));
+        order.verify(webhookInboxRepository).markProcessed(List.of("e1", "e2"), NOW);
+        order.verify(userService).deleteAllByPublicId(List.of(SECOND_USER));
+        order.verify(webhookInboxRepository).markProcessed(List.of("e3"), NOW);
+        order.verify(webhookInboxRepository).deleteProcessedBefore(NOW.minusSeconds(24 * 3600));
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        assertThat(meterRegistry.get("webhook.inbox.processed").counter().count()).isEqualTo(3.0);
+        var lag = meterRegistry.get("webhook.inbox.lag").timer();
+        assertThat(lag.count()).isEqualTo(3);
+        assertThat(lag.max(TimeUnit.SECONDS)).isEqualTo(30.0);
+        assertThat(meterRegistry.get("webhook.inbox.oldest.pending.age").gauge().value()).isZero();
+    }
+
+    @Test
+    void givenFullLastChunk_whenProcessPending_thenChecksForMoreBeforeStopping() {
+        // Given
+        var first = new PendingEvent("e1", FIRST_USER, NOW);
+        var second = new PendingEvent("e2", SECOND_USER, NOW.plusSeconds(1));
+        when(webhookInboxRepository.findPending(2)).thenReturn(List.of(first, second), List.of());
+
+        // When
+        var sut = service.processPending();
+
+        // Then
+        assertThat(sut).isEqualTo(2);
+        verify(webhookInboxRepository, times(2)).findPending(2);
+        verify(userService).deleteAllByPublicId(List.of(FIRST_USER, SECOND_USER));
+        assertThat(meterRegistry.get("webhook.inbox.lag").timer().max(TimeUnit.SECONDS)).isZero();
+    }
+
+    @Test
+    void givenFailingChunk_whenProcessPending_thenLeavesOldestPendingAgeSet() {
+        // Given
+        var first = new PendingEvent("e1", FIRST_USER, NOW.minusSeconds(90));
+        when(webhookInboxRepository.findPending(2)).thenReturn(List.of(first));
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(userService)
+                .deleteAllByPublicId(List.of(FIRST_USER));
+
+        // When & Then
+        assertThatThrownBy(() -> service.processPending())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("webhook.inbox.oldest.pending.age").gauge().value())
+                .isEqualTo(90.0);
+        verify(webhookInboxRepository, never()).markProcessed(any(), any());
+    }
+
+    @Test
+    void givenNothingPending_whenProcessPending_thenOnlyPurgesExpiredEvents() {
+        // Given
+        when(webhookInboxRepository.findPending(2)).thenReturn(List.of());
+        when(webhookInboxRepository.deleteProcessedBefore(NOW.minusSeconds(24 * 3600)))
+                .thenReturn(4);
+
+        // When
+        var sut = service.processPending();
+
+        // Then
+        assertThat(sut).isZero();
+        verifyNoInteractions(userService, transactionTemplate);
+    }
+}
@@ -2,6 +2,7 @@
 -- This is a repeatable migration: Flyway re-applies it whenever the checksum changes.
 -- Tables are truncated before insert to guarantee a clean, deterministic state.
 
+DELETE FROM water_intake_daily_totals;
 DELETE FROM water_intakes;
 DELETE FROM alarm_settings;
 DELETE FROM users;
@@ -36,3 +37,9 @@ VALUES
     ('2024-08-14T12:30:00Z', 450, 1, 3),
     ('2024-08-14T13:30:00Z', 550, 1, 3);
 
+INSERT INTO water_intake_daily_totals (user_id, time_zone, local_date, total_volume, intake_count)
+VALUES
+    (1, 'UTC', '2024-08-14', 1650, 5),
+    (2, 'UTC', '2024-08-14', 1850, 5),
+    (3, 'UTC', '2024-08-14', 2100, 5);
+
@@ -28,6 +28,12 @@ VALUES
     ('2024-08-14T12:30:00Z', 450, 1, 3),
     ('2024-08-14T13:30:00Z', 550, 1, 3);
 
+INSERT INTO water_intake_daily_totals (user_id, time_zone, local_date, total_volume, intake_count)
+VALUES
+    (1, 'UTC', '2024-08-14', 1650, 5),
+    (2, 'UTC', '2024-08-14', 1850, 5),
+    (3, 'UTC', '2024-08-14', 2100, 5);
+
 ALTER TABLE users ALTER COLUMN id RESTART WITH 4;
 ALTER TABLE alarm_settings ALTER COLUMN id RESTART WITH 4;
 ALTER TABLE water_intakes ALTER COLUMN id RESTART WITH 16;
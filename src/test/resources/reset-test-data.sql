@@ -1,3 +1,4 @@
+DELETE FROM water_intake_daily_totals;
 DELETE FROM water_intakes;
 DELETE FROM alarm_settings;
 DELETE FROM users;